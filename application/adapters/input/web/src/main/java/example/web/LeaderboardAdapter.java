@@ -0,0 +1,43 @@
+package example.web;
+
+import example.domain.ports.input.LeaderboardPort;
+import example.spring_cassandra.api.controller.LeaderboardApi;
+import example.spring_cassandra.api.model.AuthorRankingDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Controller
+@RequestMapping("/api/v1")
+public class LeaderboardAdapter implements LeaderboardApi {
+
+    @Autowired
+    private LeaderboardPort leaderboardPort;
+
+    @Override
+    public ResponseEntity<List<AuthorRankingDto>> getTopAuthors(Integer limit) {
+        try {
+            int actualLimit = (limit != null) ? limit : 10;
+            List<AuthorRankingDto> dtos = leaderboardPort.getTopAuthors(actualLimit).stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(dtos);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    private AuthorRankingDto convertToDto(LeaderboardPort.AuthorRanking ranking) {
+        AuthorRankingDto dto = new AuthorRankingDto();
+        dto.setRank(ranking.getRank());
+        dto.setUserId(ranking.getUserId());
+        dto.setPublishedPosts(ranking.getPublishedPosts());
+        dto.setTotalPosts(ranking.getTotalPosts());
+        return dto;
+    }
+}
\ No newline at end of file
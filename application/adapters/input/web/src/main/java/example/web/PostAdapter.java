@@ -4,6 +4,7 @@ import example.domain.exceptions.PostNotFoundException;
 import example.domain.exceptions.UserNotFoundException;
 import example.domain.model.PostById;
 import example.domain.model.PostByUser;
+import example.domain.model.PostStatus;
 import example.domain.ports.input.CreatePostRequest;
 import example.domain.ports.input.PostPort;
 import example.domain.ports.input.UpdatePostRequest;
@@ -12,6 +13,7 @@ import example.spring_cassandra.api.model.CreatePostRequestDto;
 import example.spring_cassandra.api.model.PostByIdDto;
 import example.spring_cassandra.api.model.PostByUserDto;
 import example.spring_cassandra.api.model.UpdatePostRequestDto;
+import example.web.cache.ResponseByteCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +32,9 @@ public class PostAdapter implements PostsApi {
     @Autowired
     private PostPort postPort;
 
+    @Autowired
+    private ResponseByteCache responseCache;
+
     @Override
     public ResponseEntity<PostByUserDto> createPost(UUID userId, CreatePostRequestDto createPostRequestDto) {
         try {
@@ -47,6 +52,7 @@ public class PostAdapter implements PostsApi {
     public ResponseEntity<Void> deletePost(UUID userId, UUID postId) {
         try {
             postPort.deletePost(userId, postId);
+            responseCache.evict(ResponseByteCache.postKey(postId));
             return ResponseEntity.noContent().build();
         } catch (PostNotFoundException e) {
             return ResponseEntity.notFound().build();
@@ -59,27 +65,44 @@ public class PostAdapter implements PostsApi {
     public ResponseEntity<PostByIdDto> getPost(UUID postId) {
         try {
             Optional<PostById> post = postPort.getPostById(postId);
-            return post.map(p -> ResponseEntity.ok(convertToPostByIdDto(p)))
-                    .orElse(ResponseEntity.notFound().build());
+            if (post.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            PostByIdDto dto = convertToPostByIdDto(post.get());
+            // Later reads of this post are served from the encoded bytes
+            responseCache.put(ResponseByteCache.postKey(postId), dto, post.get().getUpdatedAt());
+            return ResponseEntity.ok(dto);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
     @Override
-    public ResponseEntity<List<PostByUserDto>> getUserPosts(UUID userId, Integer limit, String status) {
+    public ResponseEntity<List<PostByUserDto>> getUserPosts(UUID userId, Integer limit, String status, UUID after) {
         try {
             List<PostByUser> posts;
             if (status != null) {
-                posts = postPort.getUserPostsByStatus(userId, status);
+                PostStatus postStatus;
+                try {
+                    postStatus = PostStatus.valueOf(status);
+                } catch (IllegalArgumentException e) {
+                    // No post has an unknown status
+                    return ResponseEntity.ok(List.of());
+                }
+                posts = postPort.getUserPostsByStatus(userId, postStatus);
             } else {
                 int actualLimit = (limit != null) ? limit : 20;
-                posts = postPort.getUserPosts(userId, actualLimit);
+                posts = after != null
+                        ? postPort.getUserPostsAfter(userId, after, actualLimit)
+                        : postPort.getUserPosts(userId, actualLimit);
             }
             List<PostByUserDto> postDtos = posts.stream()
                     .map(this::convertToPostByUserDto)
                     .collect(Collectors.toList());
             return ResponseEntity.ok(postDtos);
+        } catch (IllegalArgumentException e) {
+            // The after post id is not time ordered
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -89,6 +112,7 @@ public class PostAdapter implements PostsApi {
     public ResponseEntity<PostByUserDto> publishPost(UUID userId, UUID postId) {
         try {
             PostByUser post = postPort.publishPost(userId, postId);
+            responseCache.evict(ResponseByteCache.postKey(postId), post.getUpdatedAt());
             return ResponseEntity.ok(convertToPostByUserDto(post));
         } catch (PostNotFoundException e) {
             return ResponseEntity.notFound().build();
@@ -102,6 +126,7 @@ public class PostAdapter implements PostsApi {
         try {
             UpdatePostRequest request = convertToUpdateRequest(updatePostRequestDto);
             PostByUser post = postPort.updatePost(userId, postId, request);
+            responseCache.evict(ResponseByteCache.postKey(postId), post.getUpdatedAt());
             return ResponseEntity.ok(convertToPostByUserDto(post));
         } catch (PostNotFoundException e) {
             return ResponseEntity.notFound().build();
@@ -130,7 +155,7 @@ public class PostAdapter implements PostsApi {
         dto.setUserId(post.getKey().getUserId());
         dto.setTitle(post.getTitle());
         dto.setContent(post.getContent());
-        dto.setStatus(PostByUserDto.StatusEnum.fromValue(post.getStatus()));
+        dto.setStatus(PostByUserDto.StatusEnum.fromValue(post.getStatus().name()));
         if (post.getCreatedAt() != null) {
             dto.setCreatedAt(post.getCreatedAt());
         }
@@ -145,7 +170,7 @@ public class PostAdapter implements PostsApi {
         dto.setId(post.getPostId());
         dto.setTitle(post.getTitle());
         dto.setContent(post.getContent());
-        dto.setStatus(PostByIdDto.StatusEnum.fromValue(post.getStatus()));
+        dto.setStatus(PostByIdDto.StatusEnum.fromValue(post.getStatus().name()));
         if (post.getCreatedAt() != null) {
             dto.setCreatedAt(post.getCreatedAt());
         }
@@ -0,0 +1,59 @@
+package example.web;
+
+import example.domain.ports.input.StatsReconciliationPort;
+import example.spring_cassandra.api.controller.StatsReconciliationApi;
+import example.spring_cassandra.api.model.ReconciliationStatusDto;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequestMapping("/api/v1")
+public class StatsReconciliationAdapter implements StatsReconciliationApi {
+
+    @Autowired
+    private StatsReconciliationPort statsReconciliationPort;
+
+    @Override
+    public ResponseEntity<ReconciliationStatusDto> getStatsReconciliationStatus() {
+        try {
+            return ResponseEntity.ok(convertToDto(statsReconciliationPort.getReconciliationStatus()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<ReconciliationStatusDto> startStatsReconciliation() {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(convertToDto(statsReconciliationPort.startReconciliation()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    private ReconciliationStatusDto convertToDto(StatsReconciliationPort.ReconciliationStatus status) {
+        ReconciliationStatusDto dto = new ReconciliationStatusDto();
+        dto.setState(ReconciliationStatusDto.StateEnum.fromValue(status.getState()));
+        dto.setRangesTotal(status.getRangesTotal());
+        dto.setRangesCompleted(status.getRangesCompleted());
+        dto.setRowsScanned(status.getRowsScanned());
+        dto.setUsersRepaired(status.getUsersRepaired());
+
+        if (status.getStartedAt() != null) {
+            dto.setStartedAt(JsonNullable.of(status.getStartedAt()));
+        }
+        if (status.getFinishedAt() != null) {
+            dto.setFinishedAt(JsonNullable.of(status.getFinishedAt()));
+        }
+        if (status.getErrorMessage() != null) {
+            dto.setErrorMessage(JsonNullable.of(status.getErrorMessage()));
+        }
+
+        return dto;
+    }
+}
\ No newline at end of file
@@ -12,6 +12,7 @@ import example.spring_cassandra.api.model.CreateUserRequestDto;
 import example.spring_cassandra.api.model.UpdateUserRequestDto;
 import example.spring_cassandra.api.model.UserDto;
 import example.spring_cassandra.api.model.UserWithStatsDto;
+import example.web.cache.ResponseByteCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +31,9 @@ public class UserAdapter implements UsersApi {
     @Autowired
     private UserPort userPort;
 
+    @Autowired
+    private ResponseByteCache responseCache;
+
     @Override
     public ResponseEntity<UserDto> createUser(CreateUserRequestDto createUserRequestDto) {
         try {
@@ -47,8 +51,13 @@ public class UserAdapter implements UsersApi {
     public ResponseEntity<UserDto> getUser(UUID userId) {
         try {
             Optional<User> user = userPort.getUserById(userId);
-            return user.map(u -> ResponseEntity.ok(convertToUserDto(u)))
-                    .orElse(ResponseEntity.notFound().build());
+            if (user.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            UserDto dto = convertToUserDto(user.get());
+            // Later reads of this user are served from the encoded bytes
+            responseCache.put(ResponseByteCache.userKey(userId), dto, user.get().getUpdatedAt());
+            return ResponseEntity.ok(dto);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -71,6 +80,7 @@ public class UserAdapter implements UsersApi {
         try {
             UpdateUserRequest request = convertToUpdateRequest(updateUserRequestDto);
             User user = userPort.updateUser(userId, request);
+            responseCache.evict(ResponseByteCache.userKey(userId), user.getUpdatedAt());
             return ResponseEntity.ok(convertToUserDto(user));
         } catch (UserNotFoundException e) {
             return ResponseEntity.notFound().build();
@@ -0,0 +1,190 @@
+package example.web.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-encoded JSON bodies of single resource GETs ({@code /posts/{id}}, {@code /users/{id}}).
+ * <p>
+ * Adapters put the DTO they just built; it is serialized once with the MVC
+ * {@link ObjectMapper} (and gzipped when large enough) and served by
+ * {@link ResponseCacheFilter} until a write through the adapters evicts it. Entries carry
+ * the resource's {@code updatedAt}: it is the ETag, and an older version never replaces a
+ * newer one. Evictions leave a marker of the written version behind, so a read that raced
+ * with the write cannot cache the old body again. Writes through other instances are only
+ * seen once the entry's TTL expires.
+ * Disabled unless {@code app.web.response-cache.enabled} is set.
+ */
+@Component
+public class ResponseByteCache {
+    private static final Logger log = LoggerFactory.getLogger(ResponseByteCache.class);
+
+    public static final String POSTS_PATH = "/api/v1/posts/";
+    public static final String USERS_PATH = "/api/v1/users/";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.web.response-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.web.response-cache.ttl:30s}")
+    private Duration ttl;
+
+    @Value("${app.web.response-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.web.response-cache.gzip:true}")
+    private boolean gzip;
+
+    @Value("${app.web.response-cache.gzip-min-size:1024}")
+    private int gzipMinSize;
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+
+    public static String postKey(UUID postId) {
+        return POSTS_PATH + postId;
+    }
+
+    public static String userKey(UUID userId) {
+        return USERS_PATH + userId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CachedResponse get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        CachedResponse response = entries.get(key);
+        if (response == null) {
+            return null;
+        }
+        if (System.nanoTime() - response.expiresAtNanos >= 0) {
+            entries.remove(key, response);
+            return null;
+        }
+        return response.json != null ? response : null;
+    }
+
+    public void put(String key, Object body, OffsetDateTime updatedAt) {
+        if (!enabled) {
+            return;
+        }
+        long version = version(updatedAt);
+        CachedResponse cached = entries.get(key);
+        if (cached != null && cached.version > version) {
+            return;
+        }
+        CachedResponse response;
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzipped = gzip && json.length >= gzipMinSize ? gzip(json) : null;
+            response = new CachedResponse(json, gzipped, version, System.nanoTime() + ttl.toNanos());
+        } catch (IOException e) {
+            log.warn("Could not encode response for {}: {}", key, e.getMessage());
+            return;
+        }
+        store(key, response);
+    }
+
+    /**
+     * The resource was written, its version is now {@code updatedAt}
+     */
+    public void evict(String key, OffsetDateTime updatedAt) {
+        if (enabled) {
+            store(key, new CachedResponse(null, null, version(updatedAt), System.nanoTime() + ttl.toNanos()));
+        }
+    }
+
+    /**
+     * The resource was deleted
+     */
+    public void evict(String key) {
+        if (enabled) {
+            store(key, new CachedResponse(null, null, Long.MAX_VALUE, System.nanoTime() + ttl.toNanos()));
+        }
+    }
+
+    private void store(String key, CachedResponse response) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        entries.merge(key, response, (existing, fresh) -> existing.version > fresh.version ? existing : fresh);
+    }
+
+    private static long version(OffsetDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.toInstant().toEpochMilli() : 0;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom() {
+        long now = System.nanoTime();
+        entries.values().removeIf(response -> now - response.expiresAtNanos >= 0);
+        // Still full: drop a tenth of the entries, in hash (effectively random) order
+        Iterator<String> iterator = entries.keySet().iterator();
+        for (int i = entries.size() - maxEntries + maxEntries / 10; i > 0 && iterator.hasNext(); i--) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    public static final class CachedResponse {
+        private final byte[] json;
+        private final byte[] gzipped;
+        private final long version;
+        private final long expiresAtNanos;
+        private final String etag;
+
+        private CachedResponse(byte[] json, byte[] gzipped, long version, long expiresAtNanos) {
+            this.json = json;
+            this.gzipped = gzipped;
+            this.version = version;
+            this.expiresAtNanos = expiresAtNanos;
+            this.etag = json != null ? "\"" + Long.toHexString(version) + "\"" : null;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * The gzipped body, {@code null} when the body is too small to be worth it
+         */
+        public byte[] getGzipped() {
+            return gzipped;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package example.cache;
+
+import example.domain.model.PostById;
+import example.domain.ports.output.PostCachePort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Off-heap {@link PostCachePort}: posts are stored in their {@link PostByIdCodec} encoding
+ * in direct buffer slabs, so cached contents never reach the old generation.
+ * <p>
+ * Keys are spread over the slabs by hash and each slab has its own lock, so writers of
+ * different slabs do not contend. Slabs evict their oldest entries when full, keeping the
+ * cache within its capacity. Entries expire after the TTL, which bounds how long writes
+ * through other instances go unseen, and an evicted post is kept out for one TTL so a read
+ * that raced with its delete cannot cache it again. Direct memory is limited by
+ * {@code -XX:MaxDirectMemorySize} (the maximum heap size by default), which has to be
+ * raised for large capacities. Disabled unless {@code app.post-cache.enabled} is set.
+ */
+public class OffHeapPostCache implements PostCachePort, MeterBinder {
+
+    public static final String METER_PREFIX = "app.post-cache";
+
+    private final OffHeapSlab[] slabs;
+    private final long maxEntryBytes;
+    private final long capacityBytes;
+    private final LongSupplier nanoTime;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public OffHeapPostCache(DataSize capacity, DataSize slabSize, DataSize maxEntrySize, Duration ttl) {
+        this(capacity, slabSize, maxEntrySize, ttl, System::nanoTime);
+    }
+
+    OffHeapPostCache(DataSize capacity, DataSize slabSize, DataSize maxEntrySize, Duration ttl,
+                     LongSupplier nanoTime) {
+        long slabBytes = Math.min(slabSize.toBytes(), capacity.toBytes());
+        if (slabBytes <= 0 || slabBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Slab size must be between 1 byte and 2GB: " + slabSize);
+        }
+        int count = (int) Math.max(1, (capacity.toBytes() + slabBytes - 1) / slabBytes);
+        this.slabs = new OffHeapSlab[count];
+        for (int i = 0; i < count; i++) {
+            slabs[i] = new OffHeapSlab((int) slabBytes, ttl.toNanos());
+        }
+        this.capacityBytes = slabBytes * count;
+        this.maxEntryBytes = Math.min(maxEntrySize.toBytes(), slabBytes);
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public Optional<PostById> get(UUID postId) {
+        PostById post = slab(postId).get(postId, nanoTime.getAsLong());
+        if (post == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(post);
+    }
+
+    @Override
+    public void put(PostById post) {
+        store(post, false);
+    }
+
+    @Override
+    public void putIfAbsent(PostById post) {
+        store(post, true);
+    }
+
+    @Override
+    public void evict(UUID postId) {
+        slab(postId).remove(postId, Long.MAX_VALUE, nanoTime.getAsLong());
+    }
+
+    public void clear() {
+        for (OffHeapSlab slab : slabs) {
+            slab.clear();
+        }
+    }
+
+    private void store(PostById post, boolean onlyIfAbsent) {
+        UUID postId = post.getPostId();
+        if (postId == null) {
+            return;
+        }
+        byte[] bytes = PostByIdCodec.encode(post);
+        if (bytes.length > maxEntryBytes) {
+            // Too large to cache, make sure an older version is not served either
+            if (!onlyIfAbsent) {
+                slab(postId).remove(postId, version(post), nanoTime.getAsLong());
+            }
+            return;
+        }
+        slab(postId).put(postId, version(post), bytes, onlyIfAbsent, nanoTime.getAsLong());
+    }
+
+    private static long version(PostById post) {
+        return post.getUpdatedAt() != null ? post.getUpdatedAt().toInstant().toEpochMilli() : Long.MIN_VALUE;
+    }
+
+    private OffHeapSlab slab(UUID postId) {
+        int hash = postId.hashCode();
+        return slabs[Math.floorMod(hash ^ (hash >>> 16), slabs.length)];
+    }
+
+    public int size() {
+        return Arrays.stream(slabs).mapToInt(OffHeapSlab::entries).sum();
+    }
+
+    public long usedBytes() {
+        return Arrays.stream(slabs).mapToLong(OffHeapSlab::usedBytes).sum();
+    }
+
+    public long evictions() {
+        return Arrays.stream(slabs).mapToLong(OffHeapSlab::evictions).sum();
+    }
+
+    public long getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    public int getSlabCount() {
+        return slabs.length;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METER_PREFIX + ".requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METER_PREFIX + ".requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(METER_PREFIX + ".evictions", this, OffHeapPostCache::evictions)
+                .register(registry);
+        Gauge.builder(METER_PREFIX + ".entries", this, OffHeapPostCache::size)
+                .register(registry);
+        Gauge.builder(METER_PREFIX + ".used", this, OffHeapPostCache::usedBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(METER_PREFIX + ".allocated", this,
+                        cache -> Arrays.stream(cache.slabs).mapToLong(OffHeapSlab::allocatedBytes).sum())
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(METER_PREFIX + ".capacity", this, OffHeapPostCache::getCapacityBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
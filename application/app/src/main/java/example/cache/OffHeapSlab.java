@@ -0,0 +1,242 @@
+package example.cache;
+
+import example.domain.model.PostById;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One direct buffer of the off-heap cache, written as a ring.
+ * <p>
+ * Entries are appended at the write position; when the end is reached the writer wraps to
+ * the start. Whatever the new entry overlaps is the oldest data in the slab and is evicted
+ * (FIFO by insertion), so the slab never holds more than its capacity. The index and the
+ * insertion queue are the only on-heap state. Reads share the slab's read lock and decode
+ * through absolute buffer views; writes take the write lock.
+ * <p>
+ * Entries expire after the TTL. Removals leave a marker of the removed version in the index
+ * for one TTL, so a read that raced with the write cannot cache the old post again; markers take no
+ * buffer space and are dropped by the writes that follow their expiry.
+ */
+final class OffHeapSlab {
+    private static final Logger log = LoggerFactory.getLogger(OffHeapSlab.class);
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Entry> index = new HashMap<>();
+    // Insertion order; replaced and removed entries stay here until the writer passes them
+    private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+    // Removal markers in expiry order, all of them live for the same TTL
+    private final ArrayDeque<Entry> markers = new ArrayDeque<>();
+
+    private ByteBuffer buffer;
+    private boolean allocationFailed;
+    private int writePosition;
+    private long usedBytes;
+    private long evictions;
+    private int markerCount;
+
+    OffHeapSlab(int capacity, long ttlNanos) {
+        this.capacity = capacity;
+        this.ttlNanos = ttlNanos;
+    }
+
+    PostById get(UUID key, long now) {
+        lock.readLock().lock();
+        try {
+            Entry entry = index.get(key);
+            if (entry == null || entry.isMarker() || entry.isExpired(now)) {
+                return null;
+            }
+            return PostByIdCodec.decode(buffer.slice(entry.offset, entry.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param onlyIfAbsent keep any cached version of the key
+     * @return whether the entry was stored
+     */
+    boolean put(UUID key, long version, byte[] bytes, boolean onlyIfAbsent, long now) {
+        if (bytes.length > capacity) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            purgeMarkers(now);
+            Entry existing = index.get(key);
+            if (existing != null && !existing.isExpired(now) && (onlyIfAbsent || existing.version > version)) {
+                return false;
+            }
+            if (!allocate()) {
+                return false;
+            }
+            if (writePosition + bytes.length > capacity) {
+                // Entries between the write position and the end are the oldest ones
+                while (!queue.isEmpty() && queue.peekFirst().offset >= writePosition) {
+                    evict(queue.pollFirst());
+                }
+                writePosition = 0;
+            }
+            int end = writePosition + bytes.length;
+            while (!queue.isEmpty() && queue.peekFirst().offset >= writePosition && queue.peekFirst().offset < end) {
+                evict(queue.pollFirst());
+            }
+
+            buffer.put(writePosition, bytes);
+            Entry entry = new Entry(key, writePosition, bytes.length, version, now + ttlNanos);
+            index(entry);
+            queue.addLast(entry);
+            writePosition = end;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the key and keep versions older than {@code version}, and reads of any version,
+     * out until the TTL expires
+     */
+    void remove(UUID key, long version, long now) {
+        lock.writeLock().lock();
+        try {
+            purgeMarkers(now);
+            Entry marker = new Entry(key, -1, 0, version, now + ttlNanos);
+            index(marker);
+            markers.addLast(marker);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            queue.clear();
+            markers.clear();
+            writePosition = 0;
+            usedBytes = 0;
+            markerCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Entry entry) {
+        Entry replaced = index.put(entry.key, entry);
+        if (replaced != null) {
+            usedBytes -= replaced.length;
+            if (replaced.isMarker()) {
+                markerCount--;
+            }
+        }
+        usedBytes += entry.length;
+        if (entry.isMarker()) {
+            markerCount++;
+        }
+    }
+
+    private void purgeMarkers(long now) {
+        while (!markers.isEmpty() && markers.peekFirst().isExpired(now)) {
+            Entry marker = markers.pollFirst();
+            if (index.remove(marker.key, marker)) {
+                markerCount--;
+            }
+        }
+    }
+
+    private void evict(Entry entry) {
+        if (index.get(entry.key) == entry) {
+            index.remove(entry.key);
+            usedBytes -= entry.length;
+            evictions++;
+        }
+    }
+
+    /**
+     * The buffer is allocated on first write, so unused capacity costs no memory
+     */
+    private boolean allocate() {
+        if (buffer == null && !allocationFailed) {
+            try {
+                buffer = ByteBuffer.allocateDirect(capacity);
+            } catch (OutOfMemoryError e) {
+                allocationFailed = true;
+                log.warn("Could not allocate a {} byte cache slab, raise -XX:MaxDirectMemorySize: {}",
+                        capacity, e.getMessage());
+            }
+        }
+        return buffer != null;
+    }
+
+    int entries() {
+        lock.readLock().lock();
+        try {
+            return index.size() - markerCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long allocatedBytes() {
+        lock.readLock().lock();
+        try {
+            return buffer != null ? capacity : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long evictions() {
+        lock.readLock().lock();
+        try {
+            return evictions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final UUID key;
+        private final int offset;
+        private final int length;
+        private final long version;
+        private final long expiresAtNanos;
+
+        private Entry(UUID key, int offset, int length, long version, long expiresAtNanos) {
+            this.key = key;
+            this.offset = offset;
+            this.length = length;
+            this.version = version;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isMarker() {
+            return offset < 0;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
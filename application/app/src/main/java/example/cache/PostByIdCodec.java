@@ -0,0 +1,196 @@
+package example.cache;
+
+import example.domain.model.PostById;
+import example.domain.model.PostStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of {@link PostById} for the off-heap cache.
+ * <p>
+ * Layout: a format byte, a presence bitmask, then only the fields that are set. UUIDs are
+ * two longs, the status is its code byte, strings and the tag count are prefixed with an
+ * unsigned varint length, and timestamps are epoch seconds, nanoseconds and the zone
+ * offset in seconds.
+ */
+final class PostByIdCodec {
+
+    static final byte FORMAT = 2;
+
+    private static final int POST_ID = 1;
+    private static final int USER_ID = 1 << 1;
+    private static final int TITLE = 1 << 2;
+    private static final int CONTENT = 1 << 3;
+    private static final int STATUS = 1 << 4;
+    private static final int TAGS = 1 << 5;
+    private static final int CREATED_AT = 1 << 6;
+    private static final int UPDATED_AT = 1 << 7;
+
+    private PostByIdCodec() {
+    }
+
+    static byte[] encode(PostById post) {
+        byte[] title = utf8(post.getTitle());
+        byte[] content = utf8(post.getContent());
+        PostStatus status = post.getStatus();
+        byte[][] tags = null;
+        if (post.getTags() != null) {
+            tags = post.getTags().stream().map(PostByIdCodec::utf8).toArray(byte[][]::new);
+        }
+
+        int flags = (post.getPostId() != null ? POST_ID : 0)
+                | (post.getUserId() != null ? USER_ID : 0)
+                | (title != null ? TITLE : 0)
+                | (content != null ? CONTENT : 0)
+                | (status != null ? STATUS : 0)
+                | (tags != null ? TAGS : 0)
+                | (post.getCreatedAt() != null ? CREATED_AT : 0)
+                | (post.getUpdatedAt() != null ? UPDATED_AT : 0);
+
+        int size = 2
+                + (post.getPostId() != null ? 16 : 0)
+                + (post.getUserId() != null ? 16 : 0)
+                + sizeOf(title) + sizeOf(content) + (status != null ? 1 : 0)
+                + (post.getCreatedAt() != null ? 16 : 0)
+                + (post.getUpdatedAt() != null ? 16 : 0);
+        if (tags != null) {
+            size += varintSize(tags.length) + Arrays.stream(tags).mapToInt(PostByIdCodec::sizeOf).sum();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(FORMAT).put((byte) flags);
+        putUuid(buffer, post.getPostId());
+        putUuid(buffer, post.getUserId());
+        putBytes(buffer, title);
+        putBytes(buffer, content);
+        if (status != null) {
+            buffer.put(status.getCode());
+        }
+        if (tags != null) {
+            putVarint(buffer, tags.length);
+            for (byte[] tag : tags) {
+                putBytes(buffer, tag);
+            }
+        }
+        putTimestamp(buffer, post.getCreatedAt());
+        putTimestamp(buffer, post.getUpdatedAt());
+        return buffer.array();
+    }
+
+    static PostById decode(ByteBuffer buffer) {
+        byte format = buffer.get();
+        if (format != FORMAT) {
+            throw new IllegalStateException("Unknown cache entry format " + format);
+        }
+        int flags = buffer.get() & 0xFF;
+        PostById post = new PostById();
+        if ((flags & POST_ID) != 0) {
+            post.setPostId(new UUID(buffer.getLong(), buffer.getLong()));
+        }
+        if ((flags & USER_ID) != 0) {
+            post.setUserId(new UUID(buffer.getLong(), buffer.getLong()));
+        }
+        if ((flags & TITLE) != 0) {
+            post.setTitle(getString(buffer));
+        }
+        if ((flags & CONTENT) != 0) {
+            post.setContent(getString(buffer));
+        }
+        if ((flags & STATUS) != 0) {
+            post.setStatus(PostStatus.fromCode(buffer.get()));
+        }
+        if ((flags & TAGS) != 0) {
+            int count = getVarint(buffer);
+            Set<String> tags = new HashSet<>(Math.max(4, count * 2));
+            for (int i = 0; i < count; i++) {
+                tags.add(getString(buffer));
+            }
+            post.setTags(tags);
+        }
+        if ((flags & CREATED_AT) != 0) {
+            post.setCreatedAt(getTimestamp(buffer));
+        }
+        if ((flags & UPDATED_AT) != 0) {
+            post.setUpdatedAt(getTimestamp(buffer));
+        }
+        return post;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return bytes != null ? varintSize(bytes.length) + bytes.length : 0;
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        if (uuid != null) {
+            buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes != null) {
+            putVarint(buffer, bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[getVarint(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putTimestamp(ByteBuffer buffer, OffsetDateTime timestamp) {
+        if (timestamp != null) {
+            Instant instant = timestamp.toInstant();
+            buffer.putLong(instant.getEpochSecond())
+                    .putInt(instant.getNano())
+                    .putInt(timestamp.getOffset().getTotalSeconds());
+        }
+    }
+
+    private static OffsetDateTime getTimestamp(ByteBuffer buffer) {
+        Instant instant = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(buffer.getInt()));
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+}
@@ -0,0 +1,362 @@
+package example.cache;
+
+import example.domain.model.PostByUser;
+import example.domain.model.PostByUserKey;
+import example.domain.model.PostStatus;
+import example.domain.ports.output.TimelineCachePort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-process {@link TimelineCachePort} holding the newest {@code depth} posts per user.
+ * <p>
+ * A miss reads {@code depth} rows, so the page stays useful for any limit up to the depth.
+ * Post writes through this instance update the cached page in place, writes through
+ * other instances are seen once the entry's TTL expires. Deeper pages bypass the cache.
+ * <p>
+ * A page filled from a read that raced with a write of the same user would be stale, so
+ * every write bumps a stamp of the user's stripe and a fill only lands when the stamp did
+ * not move since its read started. Memory is capped by an estimate of the cached posts'
+ * size; when over, arbitrary users are dropped. Disabled unless
+ * {@code app.timeline-cache.enabled} is set.
+ */
+public class TimelineCache implements TimelineCachePort, MeterBinder {
+
+    public static final String METER_PREFIX = "app.timeline-cache";
+
+    private static final int STRIPES = 1024;
+
+    // Object headers, references and the timestamps/ids of a cached post
+    private static final long POST_OVERHEAD_BYTES = 160;
+    private static final long PAGE_OVERHEAD_BYTES = 96;
+
+    // The clustering order of posts_by_user: created_at DESC (a millisecond timestamp), post_id ASC
+    private static final Comparator<CachedPost> CLUSTERING_ORDER = Comparator
+            .comparingLong((CachedPost post) -> post.createdAt.toInstant().toEpochMilli()).reversed()
+            .thenComparing(post -> post.postId, TimelineCache::compareUuids);
+
+    private final int depth;
+    private final long ttlNanos;
+    private final long maxBytes;
+    private final LongSupplier nanoTime;
+
+    private final Map<UUID, Page> pages = new ConcurrentHashMap<>();
+    private final AtomicLongArray writeStamps = new AtomicLongArray(STRIPES);
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+
+    public TimelineCache(int depth, Duration ttl, long maxBytes) {
+        this(depth, ttl, maxBytes, System::nanoTime);
+    }
+
+    TimelineCache(int depth, Duration ttl, long maxBytes, LongSupplier nanoTime) {
+        this.depth = depth;
+        this.ttlNanos = ttl.toNanos();
+        this.maxBytes = maxBytes;
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public List<PostByUser> firstPage(UUID userId, int limit, IntFunction<List<PostByUser>> loader) {
+        if (limit > depth) {
+            bypasses.increment();
+            return loader.apply(limit);
+        }
+        long now = nanoTime.getAsLong();
+        Page page = pages.get(userId);
+        if (page != null && now - page.expiresAtNanos < 0 && page.covers(limit)) {
+            hits.increment();
+            return page.toPosts(limit);
+        }
+
+        misses.increment();
+        long stamp = writeStamps.get(stripe(userId));
+        List<PostByUser> newest = loader.apply(depth);
+        fill(userId, newest, stamp, now);
+        return newest.size() > limit ? new ArrayList<>(newest.subList(0, limit)) : newest;
+    }
+
+    private void fill(UUID userId, List<PostByUser> newest, long stamp, long now) {
+        List<CachedPost> posts = new ArrayList<>(newest.size());
+        for (PostByUser post : newest) {
+            posts.add(new CachedPost(post));
+        }
+        // Fewer rows than asked for: this is every post of the user
+        Page fresh = new Page(posts, newest.size() < depth, now + ttlNanos);
+        pages.compute(userId, (id, existing) -> {
+            if (writeStamps.get(stripe(id)) != stamp) {
+                // A write landed while reading, the rows may predate it
+                return existing;
+            }
+            account(existing, fresh);
+            return fresh;
+        });
+        enforceMemoryCap();
+    }
+
+    @Override
+    public void created(PostByUser post) {
+        write(post.getUserId(), page -> page.withCreated(new CachedPost(post), depth));
+    }
+
+    @Override
+    public void updated(PostByUser post) {
+        write(post.getUserId(), page -> page.withUpdated(new CachedPost(post)));
+    }
+
+    @Override
+    public void deleted(UUID userId, UUID postId) {
+        write(userId, page -> page.withDeleted(postId));
+    }
+
+    /**
+     * Applies a write to the cached page of the user (if any) and invalidates in-flight fills
+     */
+    private void write(UUID userId, UnaryOperator<Page> change) {
+        pages.compute(userId, (id, existing) -> {
+            writeStamps.incrementAndGet(stripe(id));
+            if (existing == null) {
+                return null;
+            }
+            Page changed = change.apply(existing);
+            account(existing, changed);
+            return changed;
+        });
+        enforceMemoryCap();
+    }
+
+    private void account(Page removed, Page added) {
+        bytes.addAndGet((added != null ? added.bytes : 0) - (removed != null ? removed.bytes : 0));
+    }
+
+    private void enforceMemoryCap() {
+        if (bytes.get() <= maxBytes) {
+            return;
+        }
+        long now = nanoTime.getAsLong();
+        for (Map.Entry<UUID, Page> entry : pages.entrySet()) {
+            if (now - entry.getValue().expiresAtNanos >= 0) {
+                evict(entry.getKey());
+            }
+        }
+        if (bytes.get() <= maxBytes) {
+            return;
+        }
+        // Still over: drop users in hash (effectively random) order down to 90% of the cap
+        Iterator<UUID> iterator = pages.keySet().iterator();
+        while (bytes.get() > maxBytes / 10 * 9 && iterator.hasNext()) {
+            evict(iterator.next());
+        }
+    }
+
+    private void evict(UUID userId) {
+        pages.computeIfPresent(userId, (id, existing) -> {
+            account(existing, null);
+            return null;
+        });
+    }
+
+    /**
+     * Order of Cassandra's {@code uuid} type, which differs from {@link UUID#compareTo}: by
+     * version, then by timestamp for version 1 or unsigned most significant bits otherwise,
+     * then by the least significant bits as signed bytes
+     */
+    public static int compareUuids(UUID left, UUID right) {
+        int byVersion = Integer.compare(left.version(), right.version());
+        if (byVersion != 0) {
+            return byVersion;
+        }
+        int byMostSignificant = left.version() == 1
+                ? Long.compare(left.timestamp(), right.timestamp())
+                : Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        if (byMostSignificant != 0) {
+            return byMostSignificant;
+        }
+        // Flipping the sign bit of every byte but the first makes a signed long comparison byte-wise signed
+        return Long.compare(left.getLeastSignificantBits() ^ 0x0080808080808080L,
+                right.getLeastSignificantBits() ^ 0x0080808080808080L);
+    }
+
+    private static int stripe(UUID userId) {
+        int hash = userId.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    public int size() {
+        return pages.size();
+    }
+
+    public long estimatedBytes() {
+        return bytes.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METER_PREFIX + ".requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METER_PREFIX + ".requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(METER_PREFIX + ".requests", bypasses, LongAdder::sum)
+                .tag("result", "bypass")
+                .register(registry);
+        Gauge.builder(METER_PREFIX + ".users", pages, Map::size)
+                .register(registry);
+        Gauge.builder(METER_PREFIX + ".estimated-size", bytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Immutable newest-first posts of a user, {@code complete} when they are all of them
+     */
+    private static final class Page {
+        private final List<CachedPost> posts;
+        private final boolean complete;
+        private final long expiresAtNanos;
+        private final long bytes;
+
+        private Page(List<CachedPost> posts, boolean complete, long expiresAtNanos) {
+            this.posts = posts;
+            this.complete = complete;
+            this.expiresAtNanos = expiresAtNanos;
+            long size = PAGE_OVERHEAD_BYTES;
+            for (CachedPost post : posts) {
+                size += post.bytes;
+            }
+            this.bytes = size;
+        }
+
+        private boolean covers(int limit) {
+            return complete || posts.size() >= limit;
+        }
+
+        private List<PostByUser> toPosts(int limit) {
+            int size = Math.min(limit, posts.size());
+            List<PostByUser> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(posts.get(i).toPostByUser());
+            }
+            return result;
+        }
+
+        private Page withCreated(CachedPost created, int depth) {
+            List<CachedPost> changed = new ArrayList<>(posts.size() + 1);
+            boolean inserted = false;
+            for (CachedPost post : posts) {
+                if (!inserted && CLUSTERING_ORDER.compare(created, post) < 0) {
+                    changed.add(created);
+                    inserted = true;
+                }
+                changed.add(post);
+            }
+            if (!inserted) {
+                if (!complete) {
+                    // Older than every cached post, it belongs to a deeper page
+                    return this;
+                }
+                changed.add(created);
+            }
+            boolean stillComplete = complete;
+            if (changed.size() > depth) {
+                changed.remove(changed.size() - 1);
+                stillComplete = false;
+            }
+            return new Page(changed, stillComplete, expiresAtNanos);
+        }
+
+        private Page withUpdated(CachedPost updated) {
+            List<CachedPost> changed = new ArrayList<>(posts);
+            for (int i = 0; i < changed.size(); i++) {
+                if (changed.get(i).postId.equals(updated.postId)) {
+                    changed.set(i, updated);
+                    return new Page(changed, complete, expiresAtNanos);
+                }
+            }
+            // Not on the first page
+            return this;
+        }
+
+        private Page withDeleted(UUID postId) {
+            List<CachedPost> changed = new ArrayList<>(posts);
+            if (!changed.removeIf(post -> post.postId.equals(postId))) {
+                return this;
+            }
+            // An incomplete page now covers one post less, covers() keeps limits past it reading
+            return new Page(changed, complete, expiresAtNanos);
+        }
+    }
+
+    /**
+     * The columns of a {@code posts_by_user} row, copied so later changes to the entity
+     * do not leak into the cache
+     */
+    private static final class CachedPost {
+        private final UUID userId;
+        private final UUID postId;
+        private final OffsetDateTime createdAt;
+        private final OffsetDateTime updatedAt;
+        private final String title;
+        private final String content;
+        private final PostStatus status;
+        private final List<String> tags;
+        private final long bytes;
+
+        private CachedPost(PostByUser post) {
+            this.userId = post.getUserId();
+            this.postId = post.getPostId();
+            this.createdAt = post.getCreatedAt() != null ? post.getCreatedAt() : post.getKey().getCreatedAt();
+            this.updatedAt = post.getUpdatedAt();
+            this.title = post.getTitle();
+            this.content = post.getContent();
+            this.status = post.getStatus();
+            this.tags = post.getTags() != null ? List.copyOf(post.getTags()) : null;
+            long size = POST_OVERHEAD_BYTES + length(title) + length(content);
+            if (tags != null) {
+                for (String tag : tags) {
+                    size += 16 + length(tag);
+                }
+            }
+            this.bytes = size;
+        }
+
+        private PostByUser toPostByUser() {
+            PostByUser post = new PostByUser();
+            post.setKey(new PostByUserKey(userId, createdAt, postId));
+            post.setTitle(title);
+            post.setContent(content);
+            post.setStatus(status);
+            post.setTags(tags != null ? new ArrayList<>(tags) : null);
+            post.setCreatedAt(createdAt);
+            post.setUpdatedAt(updatedAt);
+            return post;
+        }
+
+        private static long length(String value) {
+            // String header plus up to two bytes per char
+            return value != null ? 40 + 2L * value.length() : 0;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package example.cache;
+
+import example.domain.ports.output.UserExistencePort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * In-process {@link UserExistencePort}.
+ * <p>
+ * Known users are cached for {@code positive-ttl} and unknown ones for the much shorter
+ * {@code negative-ttl}: a user created through another instance is found once the
+ * negative entry expires. The map is bounded by {@code max-entries}; when full, expired
+ * entries are swept first, then arbitrary ones.
+ * <p>
+ * Optionally every confirmed user is also added to a Bloom filter, which remembers far
+ * more users than the map in a fixed amount of memory. A Bloom hit is answered without a
+ * read, so an id that does not exist passes the check with the configured false positive
+ * probability. The filter is rebuilt empty once more users were added than it was sized
+ * for.
+ */
+public class UserExistenceCache implements UserExistencePort, MeterBinder {
+
+    public static final String METER_PREFIX = "app.user-existence-cache";
+
+    private final long positiveTtlNanos;
+    private final long negativeTtlNanos;
+    private final int maxEntries;
+    private final long bloomExpectedUsers;
+    private final double bloomFalsePositiveProbability;
+    private final LongSupplier nanoTime;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder bloomHits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public UserExistenceCache(Duration positiveTtl, Duration negativeTtl, int maxEntries,
+                              long bloomExpectedUsers, double bloomFalsePositiveProbability) {
+        this(positiveTtl, negativeTtl, maxEntries, bloomExpectedUsers, bloomFalsePositiveProbability, System::nanoTime);
+    }
+
+    /**
+     * @param bloomExpectedUsers 0 disables the Bloom filter
+     */
+    UserExistenceCache(Duration positiveTtl, Duration negativeTtl, int maxEntries,
+                       long bloomExpectedUsers, double bloomFalsePositiveProbability, LongSupplier nanoTime) {
+        this.positiveTtlNanos = positiveTtl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.maxEntries = maxEntries;
+        this.bloomExpectedUsers = bloomExpectedUsers;
+        this.bloomFalsePositiveProbability = bloomFalsePositiveProbability;
+        this.nanoTime = nanoTime;
+        if (bloomExpectedUsers > 0) {
+            this.bloomFilter = new BloomFilter(bloomExpectedUsers, bloomFalsePositiveProbability);
+        }
+    }
+
+    @Override
+    public boolean exists(UUID userId, Predicate<UUID> loader) {
+        long now = nanoTime.getAsLong();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.expiresAtNanos < 0) {
+            if (entry.exists) {
+                hits.increment();
+            } else {
+                negativeHits.increment();
+            }
+            return entry.exists;
+        }
+        BloomFilter bloom = bloomFilter;
+        if (bloom != null && bloom.mightContain(userId)) {
+            bloomHits.increment();
+            return true;
+        }
+
+        loads.increment();
+        boolean exists = loader.test(userId);
+        remember(userId, exists, now);
+        return exists;
+    }
+
+    @Override
+    public void created(UUID userId) {
+        remember(userId, true, nanoTime.getAsLong());
+    }
+
+    private void remember(UUID userId, boolean exists, long now) {
+        if (exists) {
+            addToBloomFilter(userId);
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(userId)) {
+            makeRoom(now);
+        }
+        entries.put(userId, new Entry(exists, now + (exists ? positiveTtlNanos : negativeTtlNanos)));
+    }
+
+    private void addToBloomFilter(UUID userId) {
+        BloomFilter bloom = bloomFilter;
+        if (bloom == null) {
+            return;
+        }
+        if (bloom.isSaturated()) {
+            // Past its sizing the false positive rate climbs, start over
+            bloom = new BloomFilter(bloomExpectedUsers, bloomFalsePositiveProbability);
+            bloomFilter = bloom;
+        }
+        bloom.put(userId);
+    }
+
+    private void makeRoom(long now) {
+        entries.values().removeIf(entry -> now - entry.expiresAtNanos >= 0);
+        // Still full: drop a tenth of the entries, in hash (effectively random) order
+        Iterator<UUID> iterator = entries.keySet().iterator();
+        for (int i = entries.size() - maxEntries + maxEntries / 10; i > 0 && iterator.hasNext(); i--) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METER_PREFIX + ".requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METER_PREFIX + ".requests", negativeHits, LongAdder::sum)
+                .tag("result", "negative-hit")
+                .register(registry);
+        FunctionCounter.builder(METER_PREFIX + ".requests", bloomHits, LongAdder::sum)
+                .tag("result", "bloom-hit")
+                .register(registry);
+        FunctionCounter.builder(METER_PREFIX + ".requests", loads, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder(METER_PREFIX + ".entries", entries, Map::size)
+                .register(registry);
+        Gauge.builder(METER_PREFIX + ".bloom.insertions", this,
+                        cache -> cache.bloomFilter != null ? cache.bloomFilter.insertions() : 0)
+                .register(registry);
+    }
+
+    private static final class Entry {
+        private final boolean exists;
+        private final long expiresAtNanos;
+
+        private Entry(boolean exists, long expiresAtNanos) {
+            this.exists = exists;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
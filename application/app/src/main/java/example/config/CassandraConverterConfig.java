@@ -1,5 +1,6 @@
 package example.config;
 
+import example.domain.model.PostStatus;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -17,7 +18,9 @@ public class CassandraConverterConfig {
     public CassandraCustomConversions cassandraCustomConversions() {
         return new CassandraCustomConversions(Arrays.asList(
                 new OffsetDateTimeToInstantWritingConverter(),
-                new InstantToOffsetDateTimeReadingConverter()
+                new InstantToOffsetDateTimeReadingConverter(),
+                new PostStatusToCodeWritingConverter(),
+                new CodeToPostStatusReadingConverter()
         ));
     }
 
@@ -44,4 +47,26 @@ public class CassandraConverterConfig {
             return source != null ? source.atOffset(ZoneOffset.UTC) : null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Stores a PostStatus as its one byte code (TINYINT) instead of its name
+     */
+    @org.springframework.data.convert.WritingConverter
+    public static class PostStatusToCodeWritingConverter implements Converter<PostStatus, Byte> {
+        @Override
+        public Byte convert(PostStatus source) {
+            return source.getCode();
+        }
+    }
+
+    /**
+     * Reads a PostStatus from its one byte code
+     */
+    @org.springframework.data.convert.ReadingConverter
+    public static class CodeToPostStatusReadingConverter implements Converter<Byte, PostStatus> {
+        @Override
+        public PostStatus convert(Byte source) {
+            return PostStatus.fromCode(source);
+        }
+    }
+}
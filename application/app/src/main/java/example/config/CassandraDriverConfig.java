@@ -0,0 +1,87 @@
+package example.config;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.internal.core.specex.ConstantSpeculativeExecutionPolicy;
+import com.datastax.oss.driver.internal.core.specex.NoSpeculativeExecutionPolicy;
+import example.cql.CqlSessionInterceptor;
+import example.cql.CqlSessionProxyPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cassandra.DriverConfigLoaderBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ExecutionProfileProperties.class)
+public class CassandraDriverConfig {
+
+    @Value("${app.cassandra.speculative-execution.enabled:true}")
+    private boolean speculativeExecutionEnabled;
+
+    @Value("${app.cassandra.speculative-execution.max-executions:2}")
+    private int speculativeMaxExecutions;
+
+    @Value("${app.cassandra.speculative-execution.delay:50ms}")
+    private Duration speculativeDelay;
+
+    /**
+     * Applies the {@link CqlSessionInterceptor} beans to the session.
+     */
+    @Bean
+    public static CqlSessionProxyPostProcessor cqlSessionProxyPostProcessor(
+            ObjectProvider<CqlSessionInterceptor> interceptors) {
+        return new CqlSessionProxyPostProcessor(interceptors);
+    }
+
+    /**
+     * Enables a constant speculative execution policy.
+     * The driver only applies it to statements flagged as idempotent, so writes and
+     * non-idempotent statements are never executed twice. Named profiles inherit it unless
+     * they turn it off (see {@link ExecutionProfileProperties}).
+     */
+    @Bean
+    public DriverConfigLoaderBuilderCustomizer speculativeExecutionCustomizer() {
+        return builder -> {
+            if (!speculativeExecutionEnabled) {
+                return;
+            }
+            builder.withClass(DefaultDriverOption.SPECULATIVE_EXECUTION_POLICY_CLASS, ConstantSpeculativeExecutionPolicy.class)
+                    .withInt(DefaultDriverOption.SPECULATIVE_EXECUTION_MAX, speculativeMaxExecutions)
+                    .withDuration(DefaultDriverOption.SPECULATIVE_EXECUTION_DELAY, speculativeDelay);
+        };
+    }
+
+    /**
+     * Declares the named execution profiles (consistency, timeout, page size, speculative execution)
+     * that repository methods are bound to.
+     */
+    @Bean
+    public DriverConfigLoaderBuilderCustomizer executionProfilesCustomizer(ExecutionProfileProperties properties) {
+        return builder -> {
+            for (Map.Entry<String, ExecutionProfileProperties.Profile> entry : properties.getEffectiveProfiles().entrySet()) {
+                ExecutionProfileProperties.Profile profile = entry.getValue();
+                builder.startProfile(entry.getKey());
+                if (profile.getConsistency() != null) {
+                    builder.withString(DefaultDriverOption.REQUEST_CONSISTENCY, profile.getConsistency());
+                }
+                if (profile.getSerialConsistency() != null) {
+                    builder.withString(DefaultDriverOption.REQUEST_SERIAL_CONSISTENCY, profile.getSerialConsistency());
+                }
+                if (profile.getTimeout() != null) {
+                    builder.withDuration(DefaultDriverOption.REQUEST_TIMEOUT, profile.getTimeout());
+                }
+                if (profile.getPageSize() != null) {
+                    builder.withInt(DefaultDriverOption.REQUEST_PAGE_SIZE, profile.getPageSize());
+                }
+                if (Boolean.FALSE.equals(profile.getSpeculativeExecution())) {
+                    builder.withClass(DefaultDriverOption.SPECULATIVE_EXECUTION_POLICY_CLASS, NoSpeculativeExecutionPolicy.class);
+                }
+                builder.endProfile();
+            }
+        };
+    }
+}
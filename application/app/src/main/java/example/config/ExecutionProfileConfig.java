@@ -0,0 +1,46 @@
+package example.config;
+
+import example.cql.ExecutionProfileInterceptor;
+import example.cql.OperationExecutionProfileResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.cassandra.SessionFactory;
+import org.springframework.data.cassandra.core.CassandraTemplate;
+import org.springframework.data.cassandra.core.convert.CassandraConverter;
+import org.springframework.data.cassandra.core.cql.CqlTemplate;
+import org.springframework.data.cassandra.core.cql.ExecutionProfileResolver;
+import org.springframework.data.repository.core.support.RepositoryFactoryCustomizer;
+
+/**
+ * Routes repository statements to the driver execution profiles declared with
+ * {@link example.domain.repository.ExecutionProfile}.
+ */
+@Configuration
+@Profile("!in-memory")
+public class ExecutionProfileConfig {
+
+    @Bean
+    public ExecutionProfileResolver executionProfileResolver() {
+        return new OperationExecutionProfileResolver();
+    }
+
+    @Bean
+    public RepositoryFactoryCustomizer executionProfileRepositoryCustomizer() {
+        ExecutionProfileInterceptor interceptor = new ExecutionProfileInterceptor();
+        return factory -> factory.addRepositoryProxyPostProcessor(
+                (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(interceptor));
+    }
+
+    @Bean
+    public CqlTemplate cqlTemplate(SessionFactory sessionFactory, ExecutionProfileResolver executionProfileResolver) {
+        CqlTemplate cqlTemplate = new CqlTemplate(sessionFactory);
+        cqlTemplate.setExecutionProfileResolver(executionProfileResolver);
+        return cqlTemplate;
+    }
+
+    @Bean
+    public CassandraTemplate cassandraTemplate(CqlTemplate cqlTemplate, CassandraConverter converter) {
+        return new CassandraTemplate(cqlTemplate, converter);
+    }
+}
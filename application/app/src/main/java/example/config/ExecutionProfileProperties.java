@@ -0,0 +1,130 @@
+package example.config;
+
+import example.domain.repository.ExecutionProfile;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named driver execution profiles, e.g.
+ * <pre>
+ * app.cassandra.profiles.point-read.consistency=LOCAL_ONE
+ * app.cassandra.profiles.point-read.timeout=1s
+ * app.cassandra.profiles.point-read.page-size=100
+ * app.cassandra.profiles.scan.speculative-execution=false
+ * </pre>
+ * The profiles referenced by {@link ExecutionProfile} always exist: configured values are
+ * merged over the defaults below one setting at a time, so setting only the timeout keeps
+ * the default consistency. Values unset in both inherit from the driver default profile.
+ * <p>
+ * Speculative execution is off for the list, scan and migration profiles: their pages are
+ * large or slow by nature, and re-sending them would multiply the load the scans are
+ * throttled to.
+ */
+@ConfigurationProperties(prefix = "app.cassandra")
+public class ExecutionProfileProperties {
+
+    private static final Map<String, Profile> DEFAULTS = Map.of(
+            ExecutionProfile.POINT_READ, new Profile("LOCAL_ONE", Duration.ofSeconds(1), 100),
+            ExecutionProfile.LIST_READ, new Profile("LOCAL_ONE", Duration.ofSeconds(2), 100, false),
+            ExecutionProfile.WRITE, new Profile("LOCAL_QUORUM", Duration.ofSeconds(2), null),
+            ExecutionProfile.MIGRATION, new Profile("LOCAL_QUORUM", Duration.ofSeconds(60), 5000, false),
+            ExecutionProfile.SCAN, new Profile("LOCAL_QUORUM", Duration.ofSeconds(10), 5000, false));
+
+    // Only what is configured, the defaults are applied by getEffectiveProfiles()
+    private Map<String, Profile> profiles = new LinkedHashMap<>();
+
+    public Map<String, Profile> getProfiles() {
+        return profiles;
+    }
+
+    public void setProfiles(Map<String, Profile> profiles) {
+        this.profiles = profiles;
+    }
+
+    /**
+     * Every default and configured profile, configured values taking precedence
+     */
+    public Map<String, Profile> getEffectiveProfiles() {
+        Map<String, Profile> effective = new LinkedHashMap<>(DEFAULTS);
+        profiles.forEach((name, profile) -> effective.merge(name, profile, (defaults, configured) -> configured.over(defaults)));
+        return effective;
+    }
+
+    public static class Profile {
+        private String consistency;
+        private String serialConsistency;
+        private Duration timeout;
+        private Integer pageSize;
+        private Boolean speculativeExecution;
+
+        public Profile() {
+        }
+
+        public Profile(String consistency, Duration timeout, Integer pageSize) {
+            this(consistency, timeout, pageSize, null);
+        }
+
+        public Profile(String consistency, Duration timeout, Integer pageSize, Boolean speculativeExecution) {
+            this.consistency = consistency;
+            this.timeout = timeout;
+            this.pageSize = pageSize;
+            this.speculativeExecution = speculativeExecution;
+        }
+
+        private Profile over(Profile defaults) {
+            Profile merged = new Profile(
+                    consistency != null ? consistency : defaults.consistency,
+                    timeout != null ? timeout : defaults.timeout,
+                    pageSize != null ? pageSize : defaults.pageSize,
+                    speculativeExecution != null ? speculativeExecution : defaults.speculativeExecution);
+            merged.serialConsistency = serialConsistency != null ? serialConsistency : defaults.serialConsistency;
+            return merged;
+        }
+
+        public String getConsistency() {
+            return consistency;
+        }
+
+        public void setConsistency(String consistency) {
+            this.consistency = consistency;
+        }
+
+        public String getSerialConsistency() {
+            return serialConsistency;
+        }
+
+        public void setSerialConsistency(String serialConsistency) {
+            this.serialConsistency = serialConsistency;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Integer getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(Integer pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        /**
+         * False to never speculate in this profile, null to inherit the default profile
+         */
+        public Boolean getSpeculativeExecution() {
+            return speculativeExecution;
+        }
+
+        public void setSpeculativeExecution(Boolean speculativeExecution) {
+            this.speculativeExecution = speculativeExecution;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package example.config;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.metrics.DefaultNodeMetric;
+import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
+import example.cql.StatementCostInterceptor;
+import example.metrics.OperationCost;
+import example.metrics.OperationCostFilter;
+import example.metrics.OperationCostInterceptor;
+import example.metrics.PortMetricsPostProcessor;
+import example.metrics.TimedInvocationInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cassandra.CqlSessionBuilderCustomizer;
+import org.springframework.boot.autoconfigure.cassandra.DriverConfigLoaderBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.data.cassandra.core.mapping.Table;
+import org.springframework.data.repository.core.support.RepositoryFactoryCustomizer;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Micrometer instrumentation:
+ * <ul>
+ *     <li>{@value PortMetricsPostProcessor#METER_NAME} - one timer per input port method</li>
+ *     <li>{@value OperationCostInterceptor#METER_PREFIX}.* - statements and request/response bytes
+ *     per input port method</li>
+ *     <li>{@value #REPOSITORY_METER_NAME} - one timer per repository method and table</li>
+ *     <li>the driver's session and node metrics ({@code cassandra.*})</li>
+ * </ul>
+ * All of them are exposed through the actuator Prometheus endpoint.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String REPOSITORY_METER_NAME = "app.repository.calls";
+
+    private static final String OPERATION_COST_ENABLED = "app.metrics.operation-cost.enabled";
+
+    @Bean
+    public static PortMetricsPostProcessor portMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                    Environment environment) {
+        return new PortMetricsPostProcessor(meterRegistry,
+                environment.getProperty(OPERATION_COST_ENABLED, Boolean.class, true));
+    }
+
+    /**
+     * Counts the statements of the running port operation, see {@link OperationCost}
+     */
+    @Bean
+    @ConditionalOnProperty(name = OPERATION_COST_ENABLED, havingValue = "true", matchIfMissing = true)
+    public StatementCostInterceptor statementCostInterceptor() {
+        return new StatementCostInterceptor();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.metrics.operation-cost.debug-header", havingValue = "true")
+    public OperationCostFilter operationCostFilter() {
+        return new OperationCostFilter();
+    }
+
+    @Bean
+    public RepositoryFactoryCustomizer repositoryMetricsCustomizer(ObjectProvider<MeterRegistry> meterRegistry) {
+        return factory -> factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> {
+            Table table = AnnotationUtils.findAnnotation(repositoryInformation.getDomainType(), Table.class);
+            Tags tags = Tags.of(
+                    "repository", repositoryInformation.getRepositoryInterface().getSimpleName(),
+                    "table", table != null ? table.value() : "unknown");
+            proxyFactory.addAdvice(new TimedInvocationInterceptor(meterRegistry, REPOSITORY_METER_NAME, tags));
+        });
+    }
+
+    @Bean
+    public DriverConfigLoaderBuilderCustomizer driverMetricsCustomizer() {
+        return builder -> builder
+                .withString(DefaultDriverOption.METRICS_FACTORY_CLASS, "MicrometerMetricsFactory")
+                .withStringList(DefaultDriverOption.METRICS_SESSION_ENABLED, Stream.of(
+                                DefaultSessionMetric.CQL_REQUESTS,
+                                DefaultSessionMetric.CQL_CLIENT_TIMEOUTS,
+                                DefaultSessionMetric.BYTES_SENT,
+                                DefaultSessionMetric.BYTES_RECEIVED,
+                                DefaultSessionMetric.CONNECTED_NODES,
+                                DefaultSessionMetric.THROTTLING_ERRORS)
+                        .map(DefaultSessionMetric::getPath)
+                        .toList())
+                .withStringList(DefaultDriverOption.METRICS_NODE_ENABLED, List.of(
+                        DefaultNodeMetric.OPEN_CONNECTIONS.getPath(),
+                        DefaultNodeMetric.IN_FLIGHT.getPath(),
+                        DefaultNodeMetric.CQL_MESSAGES.getPath(),
+                        DefaultNodeMetric.RETRIES.getPath(),
+                        DefaultNodeMetric.SPECULATIVE_EXECUTIONS.getPath(),
+                        DefaultNodeMetric.READ_TIMEOUTS.getPath(),
+                        DefaultNodeMetric.WRITE_TIMEOUTS.getPath(),
+                        DefaultNodeMetric.UNAVAILABLES.getPath()));
+    }
+
+    @Bean
+    public CqlSessionBuilderCustomizer driverMetricRegistryCustomizer(MeterRegistry meterRegistry) {
+        return builder -> builder.withMetricRegistry(meterRegistry);
+    }
+}
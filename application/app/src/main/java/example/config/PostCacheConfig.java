@@ -0,0 +1,35 @@
+package example.config;
+
+import example.cache.OffHeapPostCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.post-cache.enabled", havingValue = "true")
+public class PostCacheConfig {
+
+    @Value("${app.post-cache.capacity:256MB}")
+    private DataSize capacity;
+
+    @Value("${app.post-cache.slab-size:64MB}")
+    private DataSize slabSize;
+
+    @Value("${app.post-cache.max-entry-size:1MB}")
+    private DataSize maxEntrySize;
+
+    @Value("${app.post-cache.ttl:30s}")
+    private Duration ttl;
+
+    /**
+     * Off-heap cache of {@code posts_by_id} rows behind {@code PostService.getPostById}
+     */
+    @Bean
+    public OffHeapPostCache postCache() {
+        return new OffHeapPostCache(capacity, slabSize, maxEntrySize, ttl);
+    }
+}
@@ -0,0 +1,29 @@
+package example.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies every {@link RepositoryFactoryCustomizer} bean to the Spring Data repository
+ * factories, so cross-cutting advice can be added to all repository proxies.
+ */
+@Component
+public class RepositoryFactoryCustomizerPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RepositoryFactoryCustomizer> customizers;
+
+    public RepositoryFactoryCustomizerPostProcessor(ObjectProvider<RepositoryFactoryCustomizer> customizers) {
+        this.customizers = customizers;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            customizers.orderedStream().forEach(factoryBean::addRepositoryFactoryCustomizer);
+        }
+        return bean;
+    }
+}
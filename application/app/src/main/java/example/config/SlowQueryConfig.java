@@ -0,0 +1,52 @@
+package example.config;
+
+import example.cql.QueryTracingInterceptor;
+import example.cql.SlowQueryEndpoint;
+import example.cql.SlowQueryLog;
+import example.cql.SlowQueryTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cassandra.CqlSessionBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * Slow query log of the driver session, listed by {@code /actuator/slowqueries}.
+ */
+@Configuration
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "app.cassandra.slow-query.enabled", havingValue = "true")
+public class SlowQueryConfig {
+
+    @Value("${app.cassandra.slow-query.threshold:500ms}")
+    private Duration threshold;
+
+    @Value("${app.cassandra.slow-query.max-entries:100}")
+    private int maxEntries;
+
+    @Value("${app.cassandra.slow-query.trace-sample-rate:0.001}")
+    private double traceSampleRate;
+
+    @Bean
+    public SlowQueryLog slowQueryLog() {
+        return new SlowQueryLog(threshold, maxEntries);
+    }
+
+    @Bean
+    public CqlSessionBuilderCustomizer slowQueryTrackerCustomizer(SlowQueryLog slowQueryLog) {
+        return builder -> builder.addRequestTracker(new SlowQueryTracker(slowQueryLog));
+    }
+
+    @Bean
+    public QueryTracingInterceptor queryTracingInterceptor(SlowQueryLog slowQueryLog) {
+        return new QueryTracingInterceptor(slowQueryLog, traceSampleRate);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueryEndpoint(slowQueryLog);
+    }
+}
@@ -0,0 +1,25 @@
+package example.config;
+
+import example.domain.ports.output.TimeSource;
+import example.time.CachingTimeSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class TimeConfig {
+
+    @Value("${app.time.tick:1ms}")
+    private Duration tick;
+
+    /**
+     * Coarse UTC time source used to stamp entities, one shared instance per tick
+     */
+    @Bean
+    public TimeSource timeSource() {
+        return new CachingTimeSource(Clock.systemUTC(), tick);
+    }
+}
@@ -0,0 +1,32 @@
+package example.config;
+
+import example.cache.TimelineCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.timeline-cache.enabled", havingValue = "true")
+public class TimelineCacheConfig {
+
+    @Value("${app.timeline-cache.depth:20}")
+    private int depth;
+
+    @Value("${app.timeline-cache.ttl:30s}")
+    private Duration ttl;
+
+    @Value("${app.timeline-cache.max-size:64MB}")
+    private DataSize maxSize;
+
+    /**
+     * First page of {@code PostService.getUserPosts}, kept current by the post writes
+     */
+    @Bean
+    public TimelineCache timelineCache() {
+        return new TimelineCache(depth, ttl, maxSize.toBytes());
+    }
+}
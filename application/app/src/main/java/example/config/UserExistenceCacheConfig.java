@@ -0,0 +1,41 @@
+package example.config;
+
+import example.cache.UserExistenceCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.user-existence-cache.enabled", havingValue = "true")
+public class UserExistenceCacheConfig {
+
+    @Value("${app.user-existence-cache.positive-ttl:10m}")
+    private Duration positiveTtl;
+
+    @Value("${app.user-existence-cache.negative-ttl:5s}")
+    private Duration negativeTtl;
+
+    @Value("${app.user-existence-cache.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${app.user-existence-cache.bloom.enabled:false}")
+    private boolean bloomEnabled;
+
+    @Value("${app.user-existence-cache.bloom.expected-users:1000000}")
+    private long bloomExpectedUsers;
+
+    @Value("${app.user-existence-cache.bloom.false-positive-probability:0.001}")
+    private double bloomFalsePositiveProbability;
+
+    /**
+     * Existence check of the author in {@code PostService.createPost}
+     */
+    @Bean
+    public UserExistenceCache userExistenceCache() {
+        return new UserExistenceCache(positiveTtl, negativeTtl, maxEntries,
+                bloomEnabled ? bloomExpectedUsers : 0, bloomFalsePositiveProbability);
+    }
+}
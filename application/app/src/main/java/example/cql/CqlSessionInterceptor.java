@@ -0,0 +1,25 @@
+package example.cql;
+
+import com.datastax.oss.driver.api.core.cql.Statement;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Advice applied to the {@code CqlSession} bean by {@link CqlSessionProxyPostProcessor}.
+ */
+public interface CqlSessionInterceptor extends MethodInterceptor {
+
+    /**
+     * The statement of an {@code execute(Statement)} or {@code executeAsync(Statement)} call,
+     * null for any other session method
+     */
+    static Statement<?> executedStatement(MethodInvocation invocation) {
+        Object[] arguments = invocation.getArguments();
+        String method = invocation.getMethod().getName();
+        if (arguments.length == 1 && arguments[0] instanceof Statement<?> statement
+                && (method.equals("execute") || method.equals("executeAsync"))) {
+            return statement;
+        }
+        return null;
+    }
+}
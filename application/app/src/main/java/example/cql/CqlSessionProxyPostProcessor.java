@@ -0,0 +1,36 @@
+package example.cql;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.util.List;
+
+/**
+ * Wraps the {@link CqlSession} bean in a proxy applying every {@link CqlSessionInterceptor}
+ * bean to the calls made through it. The session is left as it is when there are none.
+ */
+public class CqlSessionProxyPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<CqlSessionInterceptor> interceptors;
+
+    public CqlSessionProxyPostProcessor(ObjectProvider<CqlSessionInterceptor> interceptors) {
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof CqlSession)) {
+            return bean;
+        }
+        List<CqlSessionInterceptor> advices = interceptors.orderedStream().toList();
+        if (advices.isEmpty()) {
+            return bean;
+        }
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        advices.forEach(proxyFactory::addAdvice);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+}
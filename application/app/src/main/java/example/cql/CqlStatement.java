@@ -0,0 +1,71 @@
+package example.cql;
+
+import example.domain.repository.ExecutionProfile;
+
+/**
+ * Statements executed directly through the driver (outside of Spring Data repositories).
+ * Every entry carries its idempotence flag, so the driver can retry or speculatively
+ * execute it safely, and the execution profile it runs with.
+ */
+public enum CqlStatement {
+
+    // Stats reconciliation, token bounds are bound with setToken
+    SCAN_POST_STATUSES("SELECT user_id, status_code FROM posts_by_user_status_v2 WHERE token(user_id) > ? AND token(user_id) <= ?", true, ExecutionProfile.SCAN),
+    SCAN_USER_STATS("SELECT user_id, total_posts, published_posts, draft_posts FROM user_stats WHERE token(user_id) > ? AND token(user_id) <= ?", true, ExecutionProfile.SCAN),
+    SELECT_USER_POST_STATUSES("SELECT status_code FROM posts_by_user_status_v2 WHERE user_id = ?", true, ExecutionProfile.SCAN),
+    // posts_by_user_status, kept in step with posts_by_user_status_v2 until it is dropped
+    INSERT_LEGACY_POST_STATUS("""
+            INSERT INTO posts_by_user_status (user_id, status, created_at, post_id, title, content, tags, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """, true, ExecutionProfile.WRITE),
+    DELETE_LEGACY_POST_STATUS("DELETE FROM posts_by_user_status WHERE user_id = ? AND status = ? AND created_at = ? AND post_id = ?", true, ExecutionProfile.WRITE),
+    SELECT_LEGACY_POSTS_BY_STATUS("SELECT * FROM posts_by_user_status WHERE user_id = ? AND status = ?", true, ExecutionProfile.LIST_READ),
+
+    // Scan checkpoints
+    SELECT_SCAN_CHECKPOINTS("SELECT range_start, range_end, rows_scanned, completed, paging_state FROM scan_checkpoints WHERE job = ?", true, ExecutionProfile.SCAN),
+    INSERT_SCAN_CHECKPOINT("""
+            INSERT INTO scan_checkpoints (job, range_start, range_end, rows_scanned, completed, paging_state, completed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """, true, ExecutionProfile.WRITE),
+    DELETE_SCAN_CHECKPOINTS("DELETE FROM scan_checkpoints WHERE job = ?", true, ExecutionProfile.WRITE),
+
+    // Leaderboard snapshots
+    SELECT_LEADERBOARD_SNAPSHOTS("SELECT entries, taken_at FROM leaderboard_snapshots WHERE board = ?", true, ExecutionProfile.LIST_READ),
+    INSERT_LEADERBOARD_SNAPSHOT("INSERT INTO leaderboard_snapshots (board, instance, entries, taken_at) VALUES (?, ?, ?, ?) USING TTL ?", true, ExecutionProfile.WRITE),
+
+    // Migration bookkeeping
+    SELECT_MIGRATION_HISTORY("SELECT version, success FROM migration_history", true, ExecutionProfile.MIGRATION),
+    INSERT_MIGRATION_RECORD("""
+            INSERT INTO migration_history (version, description, applied_at, applied_by, success, error_message, execution_time_ms)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """, true, ExecutionProfile.MIGRATION),
+    SELECT_SCHEMA_FINGERPRINT("SELECT fingerprint FROM schema_fingerprint WHERE keyspace_name = ?", true, ExecutionProfile.MIGRATION),
+    INSERT_SCHEMA_FINGERPRINT("INSERT INTO schema_fingerprint (keyspace_name, fingerprint, updated_at) VALUES (?, ?, ?)", true, ExecutionProfile.MIGRATION),
+
+    // Migration lock (lightweight transactions, never retried or speculatively executed)
+    ACQUIRE_MIGRATION_LOCK("INSERT INTO migration_lock (name, owner, acquired_at) VALUES (?, ?, ?) IF NOT EXISTS USING TTL ?", false, ExecutionProfile.MIGRATION),
+    RENEW_MIGRATION_LOCK("UPDATE migration_lock USING TTL ? SET owner = ?, acquired_at = ? WHERE name = ? IF owner = ?", false, ExecutionProfile.MIGRATION),
+    RELEASE_MIGRATION_LOCK("DELETE FROM migration_lock WHERE name = ? IF owner = ?", false, ExecutionProfile.MIGRATION);
+
+    private final String cql;
+    private final boolean idempotent;
+    private final String executionProfile;
+
+    CqlStatement(String cql, boolean idempotent, String executionProfile) {
+        this.cql = cql;
+        this.idempotent = idempotent;
+        this.executionProfile = executionProfile;
+    }
+
+    public String getCql() {
+        return cql;
+    }
+
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    public String getExecutionProfile() {
+        return executionProfile;
+    }
+}
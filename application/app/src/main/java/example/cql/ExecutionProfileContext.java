@@ -0,0 +1,32 @@
+package example.cql;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Tracks the execution profile of the repository call currently running on this thread.
+ * Nested calls push their own profile; the innermost one wins.
+ */
+public final class ExecutionProfileContext {
+
+    private static final ThreadLocal<Deque<String>> PROFILES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private ExecutionProfileContext() {
+    }
+
+    public static String current() {
+        return PROFILES.get().peek();
+    }
+
+    static void push(String profile) {
+        PROFILES.get().push(profile);
+    }
+
+    static void pop() {
+        Deque<String> profiles = PROFILES.get();
+        profiles.pop();
+        if (profiles.isEmpty()) {
+            PROFILES.remove();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package example.cql;
+
+import example.domain.repository.ExecutionProfile;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotationUtils;
+
+/**
+ * Exposes the {@link ExecutionProfile} of the invoked repository method through
+ * {@link ExecutionProfileContext} for the duration of the call.
+ */
+public class ExecutionProfileInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ExecutionProfile profile = AnnotationUtils.findAnnotation(invocation.getMethod(), ExecutionProfile.class);
+        if (profile == null) {
+            return invocation.proceed();
+        }
+
+        ExecutionProfileContext.push(profile.value());
+        try {
+            return invocation.proceed();
+        } finally {
+            ExecutionProfileContext.pop();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package example.cql;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import example.domain.repository.ExecutionProfile;
+import org.springframework.data.cassandra.core.cql.ExecutionProfileResolver;
+
+/**
+ * Picks the driver execution profile for statements issued through Spring Data.
+ * <p>
+ * The profile of the current repository method wins; statements without one fall back
+ * to the {@value ExecutionProfile#WRITE} profile for writes and to the driver default
+ * profile for reads. Statements that already carry a profile are left untouched.
+ */
+public class OperationExecutionProfileResolver implements ExecutionProfileResolver {
+
+    @Override
+    public Statement<?> apply(Statement<?> statement) {
+        if (statement.getExecutionProfileName() != null || statement.getExecutionProfile() != null) {
+            return statement;
+        }
+
+        String profile = ExecutionProfileContext.current();
+        if (profile == null && !isRead(statement)) {
+            profile = ExecutionProfile.WRITE;
+        }
+        return profile != null ? statement.setExecutionProfileName(profile) : statement;
+    }
+
+    static boolean isRead(Statement<?> statement) {
+        String cql = null;
+        if (statement instanceof SimpleStatement simpleStatement) {
+            cql = simpleStatement.getQuery();
+        } else if (statement instanceof BoundStatement boundStatement) {
+            cql = boundStatement.getPreparedStatement().getQuery();
+        }
+        return cql != null && cql.stripLeading().regionMatches(true, 0, "SELECT", 0, 6);
+    }
+}
@@ -0,0 +1,67 @@
+package example.cql;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Central registry of prepared statements.
+ * <p>
+ * All {@link CqlStatement}s are prepared once at startup (after the schema migrations
+ * have run) and bound from the cached {@link PreparedStatement} afterwards. Statements
+ * that cannot be prepared yet (e.g. their table does not exist) are prepared lazily on
+ * first use.
+ */
+@Component
+@Profile("!in-memory")
+public class PreparedStatementRegistry {
+    private static final Logger log = LoggerFactory.getLogger(PreparedStatementRegistry.class);
+
+    @Autowired
+    private CqlSession cqlSession;
+
+    private final Map<CqlStatement, PreparedStatement> prepared = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2)
+    public void prepareAll() {
+        int count = 0;
+        for (CqlStatement statement : CqlStatement.values()) {
+            try {
+                get(statement);
+                count++;
+            } catch (Exception e) {
+                log.warn("Could not prepare statement {} at startup, will retry on first use: {}",
+                        statement, e.getMessage());
+            }
+        }
+        log.info("Prepared {}/{} statements", count, CqlStatement.values().length);
+    }
+
+    /**
+     * Bind the given statement, applying its idempotence flag and execution profile.
+     */
+    public BoundStatement bind(CqlStatement statement, Object... values) {
+        return get(statement).bind(values)
+                .setIdempotent(statement.isIdempotent())
+                .setExecutionProfileName(statement.getExecutionProfile());
+    }
+
+    public PreparedStatement get(CqlStatement statement) {
+        return prepared.computeIfAbsent(statement, key -> {
+            log.debug("Preparing {} (idempotent: {})", key, key.isIdempotent());
+            return cqlSession.prepare(key.getCql());
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package example.cql;
+
+import com.datastax.oss.driver.api.core.DriverException;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Enables CQL query tracing on a sample of the statements executed through the
+ * {@code CqlSession}, and records the traced ones that turn out slow in {@link SlowQueryLog}
+ * with their trace events, fetched in the background.
+ * <p>
+ * Tracing makes the coordinator and replicas write every step of the request to
+ * {@code system_traces}, so the sample rate should stay low.
+ */
+public class QueryTracingInterceptor implements CqlSessionInterceptor {
+
+    private final SlowQueryLog slowQueryLog;
+    private final double sampleRate;
+
+    public QueryTracingInterceptor(SlowQueryLog slowQueryLog, double sampleRate) {
+        this.slowQueryLog = slowQueryLog;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Statement<?> statement = CqlSessionInterceptor.executedStatement(invocation);
+        if (statement == null) {
+            return invocation.proceed();
+        }
+        if (!statement.isTracing()) {
+            if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                return invocation.proceed();
+            }
+            statement = statement.setTracing(true);
+            invocation.getArguments()[0] = statement;
+        }
+
+        Statement<?> traced = statement;
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            completed(traced, start, null, e);
+            throw e;
+        }
+        if (result instanceof ResultSet resultSet) {
+            completed(traced, start, resultSet.getExecutionInfo(), null);
+        } else if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((asyncResult, error) -> completed(traced, start,
+                    asyncResult instanceof AsyncResultSet resultSet ? resultSet.getExecutionInfo() : null,
+                    error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+        }
+        return result;
+    }
+
+    private void completed(Statement<?> statement, long start, ExecutionInfo executionInfo, Throwable error) {
+        long latencyNanos = System.nanoTime() - start;
+        if (!slowQueryLog.isSlow(latencyNanos)) {
+            return;
+        }
+        if (executionInfo == null && error instanceof DriverException driverException) {
+            executionInfo = driverException.getExecutionInfo();
+        }
+
+        List<String> failedAttempts = new ArrayList<>();
+        Node coordinator = null;
+        if (executionInfo != null) {
+            coordinator = executionInfo.getCoordinator();
+            for (Map.Entry<Node, Throwable> attempt : executionInfo.getErrors()) {
+                failedAttempts.add(attempt.getKey().getEndPoint() + " " + attempt.getValue().getClass().getSimpleName());
+            }
+        }
+        SlowQuery slowQuery = new SlowQuery(statement, latencyNanos, profileName(statement), coordinator,
+                failedAttempts, error, executionInfo != null ? executionInfo.getTracingId() : null);
+        slowQueryLog.record(slowQuery);
+
+        if (slowQuery.getTracingId() != null) {
+            executionInfo.getQueryTraceAsync().whenComplete((trace, traceError) -> {
+                if (traceError != null) {
+                    slowQuery.traceFailed(traceError);
+                } else {
+                    slowQuery.traced(trace);
+                }
+            });
+        }
+    }
+
+    private static String profileName(Statement<?> statement) {
+        if (statement.getExecutionProfile() != null) {
+            return statement.getExecutionProfile().getName();
+        }
+        return statement.getExecutionProfileName() != null ? statement.getExecutionProfileName() : "default";
+    }
+}
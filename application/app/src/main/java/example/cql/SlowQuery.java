@@ -0,0 +1,206 @@
+package example.cql;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.QueryTrace;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.TraceEvent;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * A statement that took longer than the slow query threshold.
+ * <p>
+ * Bound values are redacted down to their type and serialized size, string literals in
+ * the CQL text are masked. {@link #getTrace()} is filled asynchronously for statements
+ * that were traced.
+ */
+public class SlowQuery {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private final Instant completedAt;
+    private final long latencyMillis;
+    private final String cql;
+    private final List<String> values;
+    private final String executionProfile;
+    private final String coordinator;
+    private final List<String> failedAttempts;
+    private final String error;
+    private final UUID tracingId;
+
+    private volatile List<TraceStep> trace;
+    private volatile String traceError;
+
+    public SlowQuery(Request request, long latencyNanos, String executionProfile, Node coordinator,
+                     List<String> failedAttempts, Throwable error, UUID tracingId) {
+        this.completedAt = Instant.now();
+        this.latencyMillis = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        this.cql = cql(request);
+        this.values = redactedValues(request);
+        this.executionProfile = executionProfile;
+        this.coordinator = coordinator != null ? String.valueOf(coordinator.getEndPoint()) : null;
+        this.failedAttempts = failedAttempts;
+        this.error = error != null ? error.getClass().getSimpleName() + ": " + error.getMessage() : null;
+        this.tracingId = tracingId;
+    }
+
+    void traced(QueryTrace queryTrace) {
+        List<TraceStep> steps = new ArrayList<>(queryTrace.getEvents().size());
+        for (TraceEvent event : queryTrace.getEvents()) {
+            steps.add(new TraceStep(event));
+        }
+        this.trace = steps;
+    }
+
+    void traceFailed(Throwable e) {
+        this.traceError = e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public String getCql() {
+        return cql;
+    }
+
+    public List<String> getValues() {
+        return values;
+    }
+
+    public String getExecutionProfile() {
+        return executionProfile;
+    }
+
+    public String getCoordinator() {
+        return coordinator;
+    }
+
+    /**
+     * Node and error of every execution that failed before the final one (retries and
+     * speculative executions)
+     */
+    public List<String> getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public UUID getTracingId() {
+        return tracingId;
+    }
+
+    public List<TraceStep> getTrace() {
+        return trace;
+    }
+
+    public String getTraceError() {
+        return traceError;
+    }
+
+    @Override
+    public String toString() {
+        return latencyMillis + " ms, profile " + executionProfile + ", coordinator " + coordinator
+                + (failedAttempts.isEmpty() ? "" : ", failed attempts " + failedAttempts)
+                + (error != null ? ", error " + error : "")
+                + (tracingId != null ? ", trace " + tracingId : "")
+                + ": " + cql + " " + values;
+    }
+
+    static String cql(Request request) {
+        if (request instanceof BoundStatement boundStatement) {
+            return boundStatement.getPreparedStatement().getQuery();
+        }
+        if (request instanceof SimpleStatement simpleStatement) {
+            return STRING_LITERAL.matcher(simpleStatement.getQuery()).replaceAll("'?'");
+        }
+        if (request instanceof BatchStatement batchStatement) {
+            StringBuilder cql = new StringBuilder("BATCH of ").append(batchStatement.size()).append(':');
+            for (BatchableStatement<?> statement : batchStatement) {
+                cql.append(' ').append(cql(statement)).append(';');
+            }
+            return cql.toString();
+        }
+        return request.getClass().getSimpleName();
+    }
+
+    static List<String> redactedValues(Request request) {
+        List<String> values = new ArrayList<>();
+        if (request instanceof BoundStatement boundStatement) {
+            ColumnDefinitions variables = boundStatement.getPreparedStatement().getVariableDefinitions();
+            for (int i = 0; i < boundStatement.size(); i++) {
+                if (!boundStatement.isSet(i)) {
+                    values.add("<unset>");
+                    continue;
+                }
+                ByteBuffer bytes = boundStatement.getBytesUnsafe(i);
+                values.add(bytes == null ? "<null>"
+                        : "<" + variables.get(i).getType().asCql(false, true) + ", " + bytes.remaining() + " bytes>");
+            }
+        } else if (request instanceof SimpleStatement simpleStatement) {
+            for (Object value : simpleStatement.getPositionalValues()) {
+                values.add(redacted(value));
+            }
+            for (Map.Entry<CqlIdentifier, Object> value : simpleStatement.getNamedValues().entrySet()) {
+                values.add(value.getKey().asCql(true) + "=" + redacted(value.getValue()));
+            }
+        }
+        return values;
+    }
+
+    private static String redacted(Object value) {
+        return value == null ? "<null>" : "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    /**
+     * One event of a query trace, with the time since the coordinator received the request
+     */
+    public static class TraceStep {
+        private final String source;
+        private final int elapsedMicros;
+        private final String thread;
+        private final String activity;
+
+        private TraceStep(TraceEvent event) {
+            this.source = String.valueOf(event.getSourceAddress());
+            this.elapsedMicros = event.getSourceElapsedMicros();
+            this.thread = event.getThreadName();
+            this.activity = event.getActivity();
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public int getElapsedMicros() {
+            return elapsedMicros;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public String getActivity() {
+            return activity;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package example.cql;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs statements slower than the threshold and keeps the most recent ones for
+ * {@link SlowQueryEndpoint}.
+ */
+public class SlowQueryLog implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    public static final String METER_NAME = "app.cassandra.slow-queries";
+
+    private final long thresholdNanos;
+    private final int capacity;
+
+    private final Deque<SlowQuery> recent = new ArrayDeque<>();
+    private final LongAdder count = new LongAdder();
+
+    public SlowQueryLog(Duration threshold, int capacity) {
+        this.thresholdNanos = threshold.toNanos();
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public boolean isSlow(long latencyNanos) {
+        return latencyNanos >= thresholdNanos;
+    }
+
+    public void record(SlowQuery query) {
+        count.increment();
+        log.warn("Slow CQL: {}", query);
+        synchronized (recent) {
+            if (recent.size() >= capacity) {
+                recent.removeLast();
+            }
+            recent.addFirst(query);
+        }
+    }
+
+    /**
+     * Most recent slow statements, newest first
+     */
+    public List<SlowQuery> recent() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METER_NAME, count, LongAdder::sum)
+                .register(registry);
+    }
+}
@@ -0,0 +1,95 @@
+package example.cql;
+
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.tracker.RequestTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Driver {@link RequestTracker} feeding {@link SlowQueryLog} with every request slower than
+ * the threshold, together with the coordinator and the executions that failed before it
+ * (retries and speculative executions).
+ * <p>
+ * Traced statements are left to {@link QueryTracingInterceptor}: the tracker callbacks do
+ * not carry the tracing id needed to fetch their trace.
+ */
+public class SlowQueryTracker implements RequestTracker {
+
+    private final SlowQueryLog slowQueryLog;
+
+    // Failed executions of requests still running, only populated when a node errors
+    private final Map<RequestKey, List<String>> failedAttempts = new ConcurrentHashMap<>();
+
+    public SlowQueryTracker(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public void onNodeError(Request request, Throwable error, long latencyNanos,
+                            DriverExecutionProfile executionProfile, Node node, String requestLogPrefix) {
+        String attempt = node.getEndPoint() + " " + error.getClass().getSimpleName();
+        failedAttempts.compute(new RequestKey(request), (key, attempts) -> {
+            List<String> updated = attempts != null ? attempts : new ArrayList<>(2);
+            updated.add(attempt);
+            return updated;
+        });
+    }
+
+    @Override
+    public void onSuccess(Request request, long latencyNanos, DriverExecutionProfile executionProfile,
+                          Node node, String requestLogPrefix) {
+        completed(request, latencyNanos, executionProfile, node, null);
+    }
+
+    @Override
+    public void onError(Request request, Throwable error, long latencyNanos, DriverExecutionProfile executionProfile,
+                        Node node, String requestLogPrefix) {
+        completed(request, latencyNanos, executionProfile, node, error);
+    }
+
+    private void completed(Request request, long latencyNanos, DriverExecutionProfile executionProfile,
+                           Node node, Throwable error) {
+        List<String> attempts = failedAttempts.isEmpty() ? null : failedAttempts.remove(new RequestKey(request));
+        if (!slowQueryLog.isSlow(latencyNanos) || isTraced(request)) {
+            return;
+        }
+        slowQueryLog.record(new SlowQuery(request, latencyNanos, executionProfile.getName(), node,
+                attempts != null ? attempts : List.of(), error, null));
+    }
+
+    static boolean isTraced(Request request) {
+        return request instanceof Statement<?> statement && statement.isTracing();
+    }
+
+    @Override
+    public void close() {
+        failedAttempts.clear();
+    }
+
+    /**
+     * Identity of a request: equal statements executed concurrently are separate requests
+     */
+    private static final class RequestKey {
+        private final Request request;
+
+        private RequestKey(Request request) {
+            this.request = request;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RequestKey other && other.request == request;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(request);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package example.cql;
+
+import com.datastax.oss.driver.api.core.DriverException;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.session.Session;
+import example.metrics.OperationCost;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Adds every statement executed during an input port operation to its {@link OperationCost}:
+ * the serialized size of the statement and the size of the first response page.
+ * <p>
+ * This runs on the calling thread, where the operation is known; the driver's request
+ * tracker callbacks run on its I/O threads. Statements outside of an operation (background
+ * jobs, migrations) are not counted.
+ */
+public class StatementCostInterceptor implements CqlSessionInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        OperationCost cost = OperationCost.current();
+        Statement<?> statement = cost != null ? CqlSessionInterceptor.executedStatement(invocation) : null;
+        if (statement == null) {
+            return invocation.proceed();
+        }
+
+        cost.statement(statement.computeSizeInBytes(((Session) invocation.getThis()).getContext()));
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (DriverException e) {
+            response(cost, e.getExecutionInfo());
+            throw e;
+        }
+        if (result instanceof ResultSet resultSet) {
+            response(cost, resultSet.getExecutionInfo());
+        } else if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((asyncResult, error) -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (asyncResult instanceof AsyncResultSet resultSet) {
+                    response(cost, resultSet.getExecutionInfo());
+                } else if (cause instanceof DriverException e) {
+                    response(cost, e.getExecutionInfo());
+                }
+            });
+        }
+        return result;
+    }
+
+    private static void response(OperationCost cost, ExecutionInfo executionInfo) {
+        if (executionInfo != null && executionInfo.getResponseSizeInBytes() > 0) {
+            cost.response(executionInfo.getResponseSizeInBytes());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package example.inmemory;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link CassandraRepository} operations on an {@link InMemoryTable}. Subclasses implement the
+ * query methods of their repository interface on top of {@link #table}.
+ */
+public abstract class InMemoryCassandraRepository<T, ID> implements CassandraRepository<T, ID> {
+
+    protected final InMemoryTable<ID, T> table;
+
+    protected InMemoryCassandraRepository(InMemoryTable<ID, T> table) {
+        this.table = table;
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        table.put(entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        return table.get(id);
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        return table.get(id).isPresent();
+    }
+
+    @Override
+    public List<T> findAll() {
+        return table.scan().toList();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        List<T> found = new ArrayList<>();
+        ids.forEach(id -> table.get(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public Slice<T> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(findAll());
+        }
+        List<T> page = table.scan()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .toList();
+        boolean hasNext = page.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? page.subList(0, pageable.getPageSize()) : page, pageable, hasNext);
+    }
+
+    @Override
+    public long count() {
+        return table.count();
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        table.remove(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        table.remove(idOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        ids.forEach(table::remove);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        table.clear();
+    }
+
+    /**
+     * Primary key of the given row
+     */
+    protected abstract ID idOf(T entity);
+
+    /**
+     * CQL rejects a {@code LIMIT} that is not strictly positive
+     */
+    protected static int checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new InvalidDataAccessApiUsageException("LIMIT must be strictly positive: " + limit);
+        }
+        return limit;
+    }
+}
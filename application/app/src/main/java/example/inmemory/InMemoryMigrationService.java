@@ -0,0 +1,25 @@
+package example.inmemory;
+
+import example.domain.ports.input.MigrationPort;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * The in-memory tables have no schema to migrate: nothing is ever pending.
+ */
+@Service
+@Profile("in-memory")
+public class InMemoryMigrationService implements MigrationPort {
+
+    @Override
+    public List<MigrationInfo> getMigrationStatus() {
+        return List.of();
+    }
+
+    @Override
+    public void runMigrations() {
+        // nothing to do
+    }
+}
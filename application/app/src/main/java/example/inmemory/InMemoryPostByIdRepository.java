@@ -0,0 +1,52 @@
+package example.inmemory;
+
+import example.domain.model.PostById;
+import example.domain.repository.PostByIdRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static example.inmemory.InMemoryTable.timestamp;
+
+/**
+ * {@code posts_by_id}: PRIMARY KEY (post_id), with a secondary index on user_id
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryPostByIdRepository extends InMemoryCassandraRepository<PostById, UUID>
+        implements PostByIdRepository {
+
+    public InMemoryPostByIdRepository() {
+        super(InMemoryTable.withoutClustering(PostById::getPostId, InMemoryPostByIdRepository::copy));
+    }
+
+    @Override
+    public List<PostById> findByUserId(UUID userId) {
+        // Secondary index read: fans out over every partition
+        return table.scan()
+                .filter(post -> userId.equals(post.getUserId()))
+                .toList();
+    }
+
+    @Override
+    protected UUID idOf(PostById entity) {
+        return entity.getPostId();
+    }
+
+    private static PostById copy(PostById post) {
+        PostById copy = new PostById();
+        copy.setPostId(post.getPostId());
+        copy.setUserId(post.getUserId());
+        copy.setTitle(post.getTitle());
+        copy.setContent(post.getContent());
+        copy.setStatus(post.getStatus());
+        // set<text> reads back in comparator order
+        copy.setTags(post.getTags() != null ? new TreeSet<>(post.getTags()) : null);
+        copy.setCreatedAt(timestamp(post.getCreatedAt()));
+        copy.setUpdatedAt(timestamp(post.getUpdatedAt()));
+        return copy;
+    }
+}
@@ -0,0 +1,76 @@
+package example.inmemory;
+
+import example.domain.model.PostByUser;
+import example.domain.model.PostByUserKey;
+import example.domain.repository.PostByUserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static example.inmemory.InMemoryTable.millis;
+import static example.inmemory.InMemoryTable.timestamp;
+
+/**
+ * {@code posts_by_user}: PRIMARY KEY (user_id, created_at, post_id)
+ * WITH CLUSTERING ORDER BY (created_at DESC, post_id ASC)
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryPostByUserRepository extends InMemoryCassandraRepository<PostByUser, PostByUserKey>
+        implements PostByUserRepository {
+
+    static final Comparator<PostByUserKey> CLUSTERING_ORDER = Comparator
+            .comparingLong((PostByUserKey key) -> millis(key.getCreatedAt())).reversed()
+            .thenComparing(PostByUserKey::getPostId);
+
+    public InMemoryPostByUserRepository() {
+        super(new InMemoryTable<>(PostByUser::getKey, PostByUserKey::getUserId, CLUSTERING_ORDER,
+                InMemoryPostByUserRepository::copy));
+    }
+
+    @Override
+    public List<PostByUser> findByUserId(UUID userId) {
+        return table.partition(userId, 0);
+    }
+
+    @Override
+    public List<PostByUser> findByUserIdWithLimit(UUID userId, int limit) {
+        return table.partition(userId, checkLimit(limit));
+    }
+
+    @Override
+    public List<PostByUser> findByUserIdCreatedAfter(UUID userId, Instant createdAt, int limit) {
+        long after = createdAt.toEpochMilli();
+        return table.slice(userId, post -> millis(post.getKey().getCreatedAt()) > after, checkLimit(limit));
+    }
+
+    @Override
+    public List<PostByUser> findByUserIdCreatedAtAndPostIdAfter(UUID userId, Instant createdAt, UUID postId, int limit) {
+        long at = createdAt.toEpochMilli();
+        return table.slice(userId, post -> millis(post.getKey().getCreatedAt()) == at
+                && post.getKey().getPostId().compareTo(postId) > 0, checkLimit(limit));
+    }
+
+    @Override
+    protected PostByUserKey idOf(PostByUser entity) {
+        return entity.getKey();
+    }
+
+    private static PostByUser copy(PostByUser post) {
+        PostByUser copy = new PostByUser();
+        PostByUserKey key = post.getKey();
+        copy.setKey(new PostByUserKey(key.getUserId(), timestamp(key.getCreatedAt()), key.getPostId()));
+        copy.setTitle(post.getTitle());
+        copy.setContent(post.getContent());
+        copy.setStatus(post.getStatus());
+        copy.setTags(post.getTags() != null ? new ArrayList<>(post.getTags()) : null);
+        copy.setCreatedAt(timestamp(post.getCreatedAt()));
+        copy.setUpdatedAt(timestamp(post.getUpdatedAt()));
+        return copy;
+    }
+}
@@ -0,0 +1,67 @@
+package example.inmemory;
+
+import example.domain.model.PostByUserStatus;
+import example.domain.model.PostByUserStatusKey;
+import example.domain.model.PostStatus;
+import example.domain.repository.PostByUserStatusRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static example.inmemory.InMemoryTable.millis;
+import static example.inmemory.InMemoryTable.timestamp;
+
+/**
+ * {@code posts_by_user_status_v2}: PRIMARY KEY (user_id, status_code, created_at, post_id)
+ * WITH CLUSTERING ORDER BY (status_code ASC, created_at DESC, post_id ASC)
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryPostByUserStatusRepository extends InMemoryCassandraRepository<PostByUserStatus, PostByUserStatusKey>
+        implements PostByUserStatusRepository {
+
+    static final Comparator<PostByUserStatusKey> CLUSTERING_ORDER = Comparator
+            .comparingInt((PostByUserStatusKey key) -> key.getStatus().getCode())
+            .thenComparing(Comparator.comparingLong((PostByUserStatusKey key) -> millis(key.getCreatedAt())).reversed())
+            .thenComparing(PostByUserStatusKey::getPostId);
+
+    public InMemoryPostByUserStatusRepository() {
+        super(new InMemoryTable<>(PostByUserStatus::getKey, PostByUserStatusKey::getUserId, CLUSTERING_ORDER,
+                InMemoryPostByUserStatusRepository::copy));
+    }
+
+    @Override
+    public List<PostByUserStatus> findByUserIdAndStatus(UUID userId, PostStatus status) {
+        return table.slice(userId, post -> post.getStatus() == status, 0);
+    }
+
+    @Override
+    public List<PostByUserStatus> findByUserIdAndStatusWithLimit(UUID userId, PostStatus status, int limit) {
+        return table.slice(userId, post -> post.getStatus() == status, checkLimit(limit));
+    }
+
+    @Override
+    public List<PostByUserStatus> findByUserId(UUID userId) {
+        return table.partition(userId, 0);
+    }
+
+    @Override
+    protected PostByUserStatusKey idOf(PostByUserStatus entity) {
+        return entity.getKey();
+    }
+
+    private static PostByUserStatus copy(PostByUserStatus post) {
+        PostByUserStatus copy = new PostByUserStatus();
+        PostByUserStatusKey key = post.getKey();
+        copy.setKey(new PostByUserStatusKey(key.getUserId(), key.getStatus(), timestamp(key.getCreatedAt()), key.getPostId()));
+        copy.setTitle(post.getTitle());
+        copy.setContent(post.getContent());
+        copy.setTags(post.getTags() != null ? new ArrayList<>(post.getTags()) : null);
+        copy.setUpdatedAt(timestamp(post.getUpdatedAt()));
+        return copy;
+    }
+}
@@ -0,0 +1,137 @@
+package example.inmemory;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * A CQL table held in memory: one {@link ConcurrentSkipListMap} per partition, sorted by the
+ * clustering columns, so partition reads come back in the table's clustering order.
+ * <p>
+ * Rows are copied on write and on read, like a round trip through the driver: callers never
+ * share instances with the table, and timestamps are truncated to milliseconds in UTC.
+ *
+ * @param <K> primary key (partition and clustering columns)
+ * @param <T> row type
+ */
+public class InMemoryTable<K, T> {
+
+    private final ConcurrentMap<Object, ConcurrentSkipListMap<K, T>> partitions = new ConcurrentHashMap<>();
+    private final Function<T, K> primaryKey;
+    private final Function<K, ?> partitionKey;
+    private final Comparator<K> clusteringOrder;
+    private final UnaryOperator<T> copy;
+
+    public InMemoryTable(Function<T, K> primaryKey, Function<K, ?> partitionKey,
+                         Comparator<K> clusteringOrder, UnaryOperator<T> copy) {
+        this.primaryKey = primaryKey;
+        this.partitionKey = partitionKey;
+        this.clusteringOrder = clusteringOrder;
+        this.copy = copy;
+    }
+
+    /**
+     * Table whose primary key is the partition key (one row per partition)
+     */
+    public static <K, T> InMemoryTable<K, T> withoutClustering(Function<T, K> primaryKey, UnaryOperator<T> copy) {
+        return new InMemoryTable<>(primaryKey, Function.identity(), (a, b) -> 0, copy);
+    }
+
+    /**
+     * Insert or replace the row (CQL upsert)
+     */
+    public void put(T row) {
+        T stored = copy.apply(row);
+        K key = primaryKey.apply(stored);
+        partitions.compute(partitionKey.apply(key), (partition, rows) -> {
+            if (rows == null) {
+                rows = new ConcurrentSkipListMap<>(clusteringOrder);
+            }
+            // remove first, so the map does not keep the previous key instance
+            rows.remove(key);
+            rows.put(key, stored);
+            return rows;
+        });
+    }
+
+    public Optional<T> get(K key) {
+        ConcurrentSkipListMap<K, T> rows = partitions.get(partitionKey.apply(key));
+        return rows == null ? Optional.empty() : Optional.ofNullable(rows.get(key)).map(copy);
+    }
+
+    public void remove(K key) {
+        partitions.computeIfPresent(partitionKey.apply(key), (partition, rows) -> {
+            rows.remove(key);
+            return rows.isEmpty() ? null : rows;
+        });
+    }
+
+    /**
+     * Rows of a partition in clustering order, like {@code SELECT ... WHERE <partition key> = ? LIMIT ?}.
+     * A limit of zero or less reads the whole partition.
+     */
+    public List<T> partition(Object partition, int limit) {
+        return slice(partition, row -> true, limit);
+    }
+
+    /**
+     * Rows of a partition matching a clustering prefix restriction
+     * ({@code WHERE <partition key> = ? AND <first clustering column> = ?}). Rows sharing a
+     * clustering prefix are contiguous, so the read stops at the end of the matching run.
+     */
+    public List<T> slice(Object partition, Predicate<T> clusteringPrefix, int limit) {
+        ConcurrentSkipListMap<K, T> rows = partitions.get(partition);
+        if (rows == null) {
+            return List.of();
+        }
+        Stream<T> slice = rows.values().stream()
+                .dropWhile(clusteringPrefix.negate())
+                .takeWhile(clusteringPrefix);
+        if (limit > 0) {
+            slice = slice.limit(limit);
+        }
+        return slice.map(copy).toList();
+    }
+
+    /**
+     * Every row of the table, partition by partition (full table scan)
+     */
+    public Stream<T> scan() {
+        return partitions.values().stream()
+                .flatMap(rows -> rows.values().stream())
+                .map(copy);
+    }
+
+    public long count() {
+        return partitions.values().stream().mapToLong(ConcurrentSkipListMap::size).sum();
+    }
+
+    public void clear() {
+        partitions.clear();
+    }
+
+    /**
+     * The value a {@code timestamp} column reads back as (millisecond precision, UTC)
+     */
+    public static OffsetDateTime timestamp(OffsetDateTime value) {
+        return value != null ? value.toInstant().truncatedTo(ChronoUnit.MILLIS).atOffset(ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Sort key of a {@code timestamp} clustering column
+     */
+    public static long millis(OffsetDateTime value) {
+        return value != null ? value.toInstant().toEpochMilli() : Instant.EPOCH.toEpochMilli();
+    }
+}
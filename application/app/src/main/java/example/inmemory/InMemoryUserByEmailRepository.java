@@ -0,0 +1,37 @@
+package example.inmemory;
+
+import example.domain.model.UserByEmail;
+import example.domain.repository.UserByEmailRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+
+/**
+ * {@code users_by_email}: PRIMARY KEY (email)
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryUserByEmailRepository extends InMemoryCassandraRepository<UserByEmail, String>
+        implements UserByEmailRepository {
+
+    public InMemoryUserByEmailRepository() {
+        super(InMemoryTable.withoutClustering(UserByEmail::getEmail, InMemoryUserByEmailRepository::copy));
+    }
+
+    @Override
+    protected String idOf(UserByEmail entity) {
+        return entity.getEmail();
+    }
+
+    private static UserByEmail copy(UserByEmail user) {
+        UserByEmail copy = new UserByEmail();
+        copy.setEmail(user.getEmail());
+        copy.setUserId(user.getUserId());
+        copy.setName(user.getName());
+        copy.setCreatedAt(user.getCreatedAt() != null ? new Date(user.getCreatedAt().getTime()) : null);
+        // last, the setters above touch it
+        copy.setUpdatedAt(user.getUpdatedAt() != null ? new Date(user.getUpdatedAt().getTime()) : null);
+        return copy;
+    }
+}
@@ -0,0 +1,37 @@
+package example.inmemory;
+
+import example.domain.model.User;
+import example.domain.repository.UserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+import static example.inmemory.InMemoryTable.timestamp;
+
+/**
+ * {@code users}: PRIMARY KEY (id)
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryUserRepository extends InMemoryCassandraRepository<User, UUID> implements UserRepository {
+
+    public InMemoryUserRepository() {
+        super(InMemoryTable.withoutClustering(User::getId, InMemoryUserRepository::copy));
+    }
+
+    @Override
+    protected UUID idOf(User entity) {
+        return entity.getId();
+    }
+
+    private static User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setName(user.getName());
+        copy.setEmail(user.getEmail());
+        copy.setCreatedAt(timestamp(user.getCreatedAt()));
+        copy.setUpdatedAt(timestamp(user.getUpdatedAt()));
+        return copy;
+    }
+}
@@ -0,0 +1,45 @@
+package example.inmemory;
+
+import example.domain.model.UserStats;
+import example.domain.repository.UserStatsRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static example.inmemory.InMemoryTable.timestamp;
+
+/**
+ * {@code user_stats}: PRIMARY KEY (user_id)
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryUserStatsRepository extends InMemoryCassandraRepository<UserStats, UUID>
+        implements UserStatsRepository {
+
+    public InMemoryUserStatsRepository() {
+        super(InMemoryTable.withoutClustering(UserStats::getUserId, InMemoryUserStatsRepository::copy));
+    }
+
+    @Override
+    public Optional<UserStats> findForUpdate(UUID userId) {
+        return findById(userId);
+    }
+
+    @Override
+    protected UUID idOf(UserStats entity) {
+        return entity.getUserId();
+    }
+
+    private static UserStats copy(UserStats stats) {
+        UserStats copy = new UserStats();
+        copy.setUserId(stats.getUserId());
+        copy.setTotalPosts(stats.getTotalPosts());
+        copy.setPublishedPosts(stats.getPublishedPosts());
+        copy.setDraftPosts(stats.getDraftPosts());
+        copy.setLastPostDate(timestamp(stats.getLastPostDate()));
+        copy.setUpdatedAt(timestamp(stats.getUpdatedAt()));
+        return copy;
+    }
+}
@@ -0,0 +1,184 @@
+package example.leaderboard;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.cql.CqlStatement;
+import example.cql.PreparedStatementRegistry;
+import example.domain.model.UserStats;
+import example.domain.ports.input.LeaderboardPort;
+import example.domain.ports.output.TimeSource;
+import example.stats.UserStatsListener;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * "Most published authors" leaderboard.
+ * <p>
+ * Fed with the absolute stats the write-behind aggregator writes (and the reconciliation
+ * job verifies), kept in memory by {@link TopAuthors} and snapshotted to
+ * {@code leaderboard_snapshots} every {@code snapshot-interval} and on shutdown.
+ * <p>
+ * Every instance only sees the stats it wrote itself, so each one ranks the authors whose
+ * stats it flushed and keeps its own snapshot row; the board of one instance is not merged
+ * with the others while it runs. On startup the leaderboard is restored from all snapshots
+ * of the board instead of scanning {@code user_stats}; an author found in several snapshots
+ * takes the counts of the newest one. Snapshots of instances that are gone expire after
+ * {@code snapshot-ttl}.
+ */
+@Service
+public class LeaderboardService implements LeaderboardPort, UserStatsListener, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    static final String BOARD = "top-authors";
+
+    // Absent in the in-memory profile, the board then lives in memory only
+    @Autowired(required = false)
+    private CqlSession cqlSession;
+
+    @Autowired(required = false)
+    private PreparedStatementRegistry statementRegistry;
+
+    @Autowired
+    private TimeSource timeSource;
+
+    @Value("${app.leaderboard.capacity:1000}")
+    private int capacity;
+
+    @Value("${app.leaderboard.snapshot-interval:1m}")
+    private Duration snapshotInterval;
+
+    @Value("${app.leaderboard.snapshot-ttl:7d}")
+    private Duration snapshotTtl;
+
+    // Defaults to the host name, which is stable per pod of a StatefulSet
+    @Value("${app.leaderboard.instance-id:}")
+    private String instanceId;
+
+    private TopAuthors topAuthors;
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        // Stats can be written before this lifecycle starts (write-through before the flusher runs)
+        topAuthors = new TopAuthors(capacity);
+        if (instanceId.isBlank()) {
+            instanceId = hostName();
+        }
+    }
+
+    @Override
+    public List<AuthorRanking> getTopAuthors(int limit) {
+        List<TopAuthors.Entry> entries = topAuthors.top(limit);
+        List<AuthorRanking> rankings = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            TopAuthors.Entry entry = entries.get(i);
+            rankings.add(new AuthorRanking(i + 1, entry.getUserId(), entry.getPublishedPosts(), entry.getTotalPosts()));
+        }
+        return rankings;
+    }
+
+    @Override
+    public void statsWritten(UserStats stats) {
+        topAuthors.update(stats.getUserId(), stats.getPublishedPosts(), stats.getTotalPosts());
+        changed.set(true);
+    }
+
+    void snapshot() {
+        if (cqlSession == null || !changed.getAndSet(false)) {
+            return;
+        }
+        try {
+            cqlSession.execute(statementRegistry.bind(CqlStatement.INSERT_LEADERBOARD_SNAPSHOT,
+                    BOARD, instanceId, topAuthors.encode(), timeSource.now().toInstant(), (int) snapshotTtl.toSeconds()));
+        } catch (Exception e) {
+            changed.set(true);
+            log.warn("Could not snapshot the leaderboard, will retry: {}", e.getMessage());
+        }
+    }
+
+    void restore() {
+        if (cqlSession == null) {
+            return;
+        }
+        try {
+            List<Row> snapshots = new ArrayList<>(cqlSession.execute(
+                    statementRegistry.bind(CqlStatement.SELECT_LEADERBOARD_SNAPSHOTS, BOARD)).all());
+            // Newest first: load() keeps the authors it already has
+            snapshots.sort(Comparator.comparing((Row row) -> row.getInstant("taken_at"),
+                    Comparator.nullsLast(Comparator.reverseOrder())));
+            for (Row row : snapshots) {
+                ByteBuffer entries = row.getByteBuffer("entries");
+                if (entries != null) {
+                    topAuthors.load(entries);
+                }
+            }
+            if (!snapshots.isEmpty()) {
+                log.info("Restored leaderboard with {} authors from {} snapshots",
+                        topAuthors.top(capacity).size(), snapshots.size());
+            }
+        } catch (Exception e) {
+            // e.g. the table is created by a migration that has not run yet
+            log.warn("Could not restore the leaderboard snapshot, starting empty: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        restore();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshot, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+        snapshot();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Below the stats write-behind phase: started before and stopped after it, so the
+        // deltas of its final flush make it into the last snapshot
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package example.leaderboard;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Bounded top-K of authors by published posts.
+ * <p>
+ * Updates carry a user's absolute counts and are applied under a lock; reads are served
+ * from an immutable copy-on-write list. Only the first read after a batch of updates takes
+ * the lock to rebuild that list, the others read it without locking. Only the best
+ * {@code capacity} authors are kept:
+ * an author that falls out re-enters with its next update above the lowest entry.
+ */
+public class TopAuthors {
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingInt(Entry::getPublishedPosts).reversed()
+            .thenComparing(Comparator.comparingInt(Entry::getTotalPosts).reversed())
+            .thenComparing(Entry::getUserId);
+
+    private static final int ENTRY_BYTES = 24;
+
+    private final int capacity;
+    private final TreeSet<Entry> ranked = new TreeSet<>(RANKING);
+    private final Map<UUID, Entry> byUser = new HashMap<>();
+
+    private volatile List<Entry> snapshot = List.of();
+    private volatile boolean dirty;
+
+    public TopAuthors(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public synchronized void update(UUID userId, int publishedPosts, int totalPosts) {
+        Entry previous = byUser.remove(userId);
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        if (publishedPosts > 0) {
+            Entry entry = new Entry(userId, publishedPosts, totalPosts);
+            if (ranked.size() < capacity || RANKING.compare(entry, ranked.last()) < 0) {
+                ranked.add(entry);
+                byUser.put(userId, entry);
+                if (ranked.size() > capacity) {
+                    byUser.remove(ranked.pollLast().getUserId());
+                }
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * The best {@code limit} authors, best first
+     */
+    public List<Entry> top(int limit) {
+        List<Entry> current = dirty ? rebuild() : snapshot;
+        return current.size() <= limit ? current : current.subList(0, limit);
+    }
+
+    private synchronized List<Entry> rebuild() {
+        if (dirty) {
+            snapshot = List.copyOf(ranked);
+            dirty = false;
+        }
+        return snapshot;
+    }
+
+    public ByteBuffer encode() {
+        List<Entry> entries = top(capacity);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + entries.size() * ENTRY_BYTES);
+        buffer.putInt(entries.size());
+        for (Entry entry : entries) {
+            buffer.putLong(entry.getUserId().getMostSignificantBits());
+            buffer.putLong(entry.getUserId().getLeastSignificantBits());
+            buffer.putInt(entry.getPublishedPosts());
+            buffer.putInt(entry.getTotalPosts());
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Add the entries of an encoded snapshot; authors updated since are kept as they are
+     */
+    public synchronized void load(ByteBuffer encoded) {
+        ByteBuffer buffer = encoded.duplicate();
+        int count = buffer.getInt();
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(new UUID(buffer.getLong(), buffer.getLong()), buffer.getInt(), buffer.getInt()));
+        }
+        for (Entry entry : entries) {
+            if (!byUser.containsKey(entry.getUserId())) {
+                update(entry.getUserId(), entry.getPublishedPosts(), entry.getTotalPosts());
+            }
+        }
+    }
+
+    public static final class Entry {
+        private final UUID userId;
+        private final int publishedPosts;
+        private final int totalPosts;
+
+        Entry(UUID userId, int publishedPosts, int totalPosts) {
+            this.userId = userId;
+            this.publishedPosts = publishedPosts;
+            this.totalPosts = totalPosts;
+        }
+
+        public UUID getUserId() {
+            return userId;
+        }
+
+        public int getPublishedPosts() {
+            return publishedPosts;
+        }
+
+        public int getTotalPosts() {
+            return totalPosts;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package example.metrics;
+
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cassandra cost (statements, serialized request and response bytes) of the input port
+ * operation currently running on this thread, and optionally of the whole HTTP request.
+ * <p>
+ * The operation name is also put in the {@value #MDC_KEY} MDC entry while it runs. Nested
+ * port calls are counted as part of the outermost operation. Responses of asynchronous
+ * statements count when they arrive, which can be after the operation completed.
+ */
+public final class OperationCost {
+
+    public static final String MDC_KEY = "operation";
+
+    private static final ThreadLocal<OperationCost> CURRENT = new ThreadLocal<>();
+
+    private final OperationCost parent;
+    private final String operation;
+    private final List<String> operations = new ArrayList<>(1);
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+
+    private OperationCost(OperationCost parent, String operation) {
+        this.parent = parent;
+        this.operation = operation;
+    }
+
+    /**
+     * Cost of the running operation, null outside of one
+     */
+    public static OperationCost current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts collecting the cost of every operation of the current request
+     */
+    static OperationCost openRequest() {
+        OperationCost request = new OperationCost(null, null);
+        CURRENT.set(request);
+        return request;
+    }
+
+    /**
+     * Starts an operation, or returns null when one is already running
+     */
+    static OperationCost openOperation(String operation) {
+        OperationCost current = CURRENT.get();
+        if (current != null && current.operation != null) {
+            return null;
+        }
+        OperationCost cost = new OperationCost(current, operation);
+        CURRENT.set(cost);
+        MDC.put(MDC_KEY, operation);
+        return cost;
+    }
+
+    void close() {
+        if (operation != null) {
+            MDC.remove(MDC_KEY);
+        }
+        if (parent != null) {
+            parent.operations.add(operation);
+            parent.statements.addAndGet(statements.get());
+            parent.requestBytes.addAndGet(requestBytes.get());
+            parent.responseBytes.addAndGet(responseBytes.get());
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public void statement(long serializedBytes) {
+        statements.incrementAndGet();
+        requestBytes.addAndGet(serializedBytes);
+    }
+
+    public void response(long serializedBytes) {
+        responseBytes.addAndGet(serializedBytes);
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getRequestBytes() {
+        return requestBytes.get();
+    }
+
+    public long getResponseBytes() {
+        return responseBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return "operations=" + (operation != null ? operation : String.join(",", operations))
+                + "; statements=" + statements.get()
+                + "; request-bytes=" + requestBytes.get()
+                + "; response-bytes=" + responseBytes.get();
+    }
+}
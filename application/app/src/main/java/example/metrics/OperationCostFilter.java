@@ -0,0 +1,42 @@
+package example.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Answers requests carrying the {@value #DEBUG_HEADER} header with the total
+ * {@link OperationCost} of their port operations in the {@value #COST_HEADER} response header.
+ * <p>
+ * The cost is only known once the handler is done, after the body has been written, so the
+ * body of these requests is buffered. Other requests pass through untouched.
+ */
+public class OperationCostFilter extends OncePerRequestFilter {
+
+    public static final String DEBUG_HEADER = "X-Debug-Operation-Cost";
+    public static final String COST_HEADER = "X-Operation-Cost";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(DEBUG_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        OperationCost cost = OperationCost.openRequest();
+        try {
+            chain.doFilter(request, buffered);
+        } finally {
+            cost.close();
+            buffered.setHeader(COST_HEADER, cost.toString());
+            buffered.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package example.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the {@link OperationCost} of every input port call and records it in the
+ * {@value #METER_PREFIX}.* distribution summaries, tagged with the port and method name.
+ */
+public class OperationCostInterceptor implements MethodInterceptor {
+
+    public static final String METER_PREFIX = "app.port.cost";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String port;
+
+    private final Map<Method, Summaries> summaries = new ConcurrentHashMap<>();
+
+    public OperationCostInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String port) {
+        this.meterRegistry = meterRegistry;
+        this.port = port;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        OperationCost cost = OperationCost.openOperation(port + "." + method.getName());
+        if (cost == null) {
+            return invocation.proceed();
+        }
+        try {
+            return invocation.proceed();
+        } finally {
+            cost.close();
+            summaries.computeIfAbsent(method, this::summaries).record(cost);
+        }
+    }
+
+    private Summaries summaries(Method method) {
+        return new Summaries(
+                summary(method, "statements", null),
+                summary(method, "request-bytes", "bytes"),
+                summary(method, "response-bytes", "bytes"));
+    }
+
+    private DistributionSummary summary(Method method, String name, String baseUnit) {
+        return DistributionSummary.builder(METER_PREFIX + "." + name)
+                .tag("port", port)
+                .tag("operation", method.getName())
+                .baseUnit(baseUnit)
+                .register(meterRegistry.getObject());
+    }
+
+    private static final class Summaries {
+        private final DistributionSummary statements;
+        private final DistributionSummary requestBytes;
+        private final DistributionSummary responseBytes;
+
+        private Summaries(DistributionSummary statements, DistributionSummary requestBytes,
+                          DistributionSummary responseBytes) {
+            this.statements = statements;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+        }
+
+        private void record(OperationCost cost) {
+            statements.record(cost.getStatements());
+            requestBytes.record(cost.getRequestBytes());
+            responseBytes.record(cost.getResponseBytes());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package example.metrics;
+
+import example.domain.ports.input.PostPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+import java.util.Optional;
+
+/**
+ * Wraps every input port implementation (the interfaces in {@code example.domain.ports.input})
+ * in a proxy recording the {@value #METER_NAME} timer for each port method, and optionally
+ * its {@link OperationCost}.
+ * Class-based proxies are used so the services stay injectable by their concrete type.
+ */
+public class PortMetricsPostProcessor implements BeanPostProcessor {
+
+    public static final String METER_NAME = "app.port.calls";
+
+    private static final String PORTS_PACKAGE = PostPort.class.getPackageName();
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean operationCostEnabled;
+
+    public PortMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, boolean operationCostEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.operationCostEnabled = operationCostEnabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Optional<Class<?>> port = ClassUtils.getAllInterfacesForClassAsSet(bean.getClass()).stream()
+                .filter(type -> type.getPackageName().equals(PORTS_PACKAGE))
+                .findFirst();
+        if (port.isEmpty()) {
+            return bean;
+        }
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new TimedInvocationInterceptor(meterRegistry, METER_NAME,
+                Tags.of("port", port.get().getSimpleName())));
+        if (operationCostEnabled) {
+            proxyFactory.addAdvice(new OperationCostInterceptor(meterRegistry, port.get().getSimpleName()));
+        }
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+}
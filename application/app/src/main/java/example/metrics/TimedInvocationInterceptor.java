@@ -0,0 +1,66 @@
+package example.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a percentile-histogram {@link Timer} for every intercepted method call,
+ * tagged with the method name ({@code operation}) and the call outcome.
+ */
+public class TimedInvocationInterceptor implements MethodInterceptor {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String meterName;
+    private final Tags tags;
+
+    // Success timers are looked up on every call, so they are cached per method
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public TimedInvocationInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String meterName, Tags tags) {
+        this.meterRegistry = meterRegistry;
+        this.meterName = meterName;
+        this.tags = tags;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            successTimers.computeIfAbsent(method, m -> timer(m, OUTCOME_SUCCESS, "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(method, OUTCOME_ERROR, e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(Method method, String outcome, String exception) {
+        return Timer.builder(meterName)
+                .tags(tags)
+                .tag("operation", method.getName())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry.getObject());
+    }
+}
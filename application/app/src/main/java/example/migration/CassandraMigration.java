@@ -1,6 +1,10 @@
 package example.migration;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 
 public abstract class CassandraMigration {
     private final String version;
@@ -21,6 +25,24 @@ public abstract class CassandraMigration {
         );
     }
 
+    /**
+     * Identifies the content of the migration in the schema fingerprint.
+     * Defaults to a hash of version, description and class; migrations whose statements
+     * change after release must override it (e.g. with a hash of their CQL).
+     */
+    public String getChecksum() {
+        return sha256(version + "|" + description + "|" + getClass().getName());
+    }
+
+    static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     // Getters
     public String getVersion() { return version; }
     public String getDescription() { return description; }
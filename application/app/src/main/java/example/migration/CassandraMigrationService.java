@@ -3,26 +3,36 @@ package example.migration;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
+import example.cql.CqlStatement;
+import example.cql.PreparedStatementRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
+@Profile("!in-memory")
 public class CassandraMigrationService {
     private static final Logger log = LoggerFactory.getLogger(CassandraMigrationService.class);
 
     @Autowired
     private CqlSession cqlSession;
 
+    @Autowired
+    private PreparedStatementRegistry statementRegistry;
+
     @Value("${spring.cassandra.keyspace-name}")
     private String keyspace;
 
@@ -35,8 +45,26 @@ public class CassandraMigrationService {
     @Value("${app.migration.reset-schema:false}")
     private boolean resetSchema;
 
+    @Value("${app.migration.schema-agreement-timeout:30s}")
+    private Duration schemaAgreementTimeout;
+
+    @Value("${app.migration.lock.ttl:30s}")
+    private Duration lockTtl;
+
+    @Value("${app.migration.lock.wait-timeout:5m}")
+    private Duration lockWaitTimeout;
+
+    @Value("${app.migration.lock.poll-interval:1s}")
+    private Duration lockPollInterval;
+
+    static final String SCHEMA_LOCK = "schema";
+
     private final List<CassandraMigration> migrations = new ArrayList<>();
 
+    // Served by getMigrationStatus, cleared whenever migrations run
+    private volatile List<MigrationInfo> statusSnapshot;
+    private final AtomicLong statusGeneration = new AtomicLong();
+
     @EventListener(ApplicationReadyEvent.class)
     @Order(1)
     public void runMigrationsOnStartup() {
@@ -47,14 +75,29 @@ public class CassandraMigrationService {
 
         log.info("Starting database migration process...");
 
+        // Fast path: one partition read confirms that every known migration was applied
+        loadMigrations();
+        String fingerprint = computeFingerprint();
+        if (!resetSchema && isFingerprintCurrent(fingerprint)) {
+            markUpToDate(fingerprint);
+            return;
+        }
+
+        MigrationLock lock = null;
         try {
             // Create keyspace first if it doesn't exist
             createKeyspaceIfNeeded();
 
             // Switch to the keyspace
-            cqlSession.execute("USE " + keyspace);
+            cqlSession.execute(MigrationContext.statement("USE " + keyspace));
             log.debug("Switched to keyspace: {}", keyspace);
 
+            // Only one instance applies migrations, the others wait for it
+            lock = acquireSchemaLockOrWait(fingerprint);
+            if (lock == null) {
+                return;
+            }
+
             // Reset schema if requested (for development)
             if (resetSchema) {
                 log.warn("RESETTING DATABASE SCHEMA - This should only be used in development!");
@@ -62,18 +105,18 @@ public class CassandraMigrationService {
             }
 
             initializeMigrationHistory();
-            loadMigrations();
 
             // Debug: Show what migrations we loaded
             log.info("Loaded migrations:");
             migrations.forEach(migration ->
                     log.info("  - {} : {}", migration.getVersion(), migration.getDescription()));
 
-            runPendingMigrations();
+            runPendingMigrations(lock);
 
             if (validateOnStartup) {
                 validateMigrations();
             }
+            storeFingerprintIfComplete(fingerprint);
 
             log.info("Database migration process completed successfully");
         } catch (Exception e) {
@@ -95,7 +138,73 @@ public class CassandraMigrationService {
             }
 
             throw new RuntimeException("Database migration failed", e);
+        } finally {
+            if (lock != null) {
+                lock.release();
+            }
+        }
+    }
+
+    private void markUpToDate(String fingerprint) {
+        statusSnapshot = migrations.stream()
+                .map(migration -> new MigrationInfo(migration.getVersion(), migration.getDescription(), true))
+                .collect(Collectors.toList());
+        log.info("Schema fingerprint {} is current, {} migrations already applied",
+                fingerprint.substring(0, 12), migrations.size());
+    }
+
+    /**
+     * Take the schema lock, or wait until its holder finished.
+     * @return the lock, or null if the schema became current while waiting
+     */
+    private MigrationLock acquireSchemaLockOrWait(String fingerprint) throws InterruptedException {
+        MigrationLock lock = newLock(SCHEMA_LOCK);
+        long deadline = System.nanoTime() + lockWaitTimeout.toNanos();
+        boolean waiting = false;
+
+        while (!lock.tryAcquire()) {
+            if (!waiting) {
+                log.info("Migrations are being applied by {}, waiting for it to finish", lock.getCurrentHolder());
+                waiting = true;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Timed out waiting for the migration lock held by "
+                        + lock.getCurrentHolder());
+            }
+            TimeUnit.MILLISECONDS.sleep(lockPollInterval.toMillis());
+            if (!resetSchema && isFingerprintCurrent(fingerprint)) {
+                markUpToDate(fingerprint);
+                return null;
+            }
+        }
+
+        // The previous holder may have finished between our fingerprint check and now
+        if (!resetSchema && isFingerprintCurrent(fingerprint)) {
+            lock.release();
+            markUpToDate(fingerprint);
+            return null;
         }
+        return lock;
+    }
+
+    /**
+     * Create a lease on the named migration_lock row (the table is created when missing)
+     */
+    MigrationLock newLock(String name) {
+        boolean lockTableExists = cqlSession.getMetadata().getKeyspace(keyspace)
+                .flatMap(keyspaceMetadata -> keyspaceMetadata.getTable("migration_lock"))
+                .isPresent();
+        if (!lockTableExists) {
+            String createTableCql = """
+                    CREATE TABLE IF NOT EXISTS migration_lock (
+                        name TEXT PRIMARY KEY,
+                        owner TEXT,
+                        acquired_at TIMESTAMP
+                    )
+                    """;
+            cqlSession.execute(MigrationContext.statement(createTableCql));
+        }
+        return new MigrationLock(cqlSession, statementRegistry, name, lockTtl);
     }
 
     private void resetDatabaseSchema() {
@@ -106,7 +215,7 @@ public class CassandraMigrationService {
             String getTablesQuery = """
                     SELECT table_name FROM system_schema.tables WHERE keyspace_name = ?""";
 
-            ResultSet tablesResult = cqlSession.execute(getTablesQuery, keyspace);
+            ResultSet tablesResult = cqlSession.execute(MigrationContext.statement(getTablesQuery, keyspace));
             List<String> tableNames = new ArrayList<>();
 
             for (Row row : tablesResult) {
@@ -117,7 +226,7 @@ public class CassandraMigrationService {
             for (String tableName : tableNames) {
                 try {
                     log.info("Dropping table: {}", tableName);
-                    cqlSession.execute("DROP TABLE IF EXISTS " + tableName);
+                    cqlSession.execute(MigrationContext.statement("DROP TABLE IF EXISTS " + tableName));
                 } catch (Exception e) {
                     log.warn("Failed to drop table {}: {}", tableName, e.getMessage());
                 }
@@ -137,20 +246,21 @@ public class CassandraMigrationService {
         try {
             // Check if keyspace exists
             String checkKeyspaceQuery = "SELECT keyspace_name FROM system_schema.keyspaces WHERE keyspace_name = ?";
-            ResultSet resultSet = cqlSession.execute(checkKeyspaceQuery, keyspace);
+            ResultSet resultSet = cqlSession.execute(MigrationContext.statement(checkKeyspaceQuery, keyspace));
 
             if (!resultSet.iterator().hasNext()) {
-                // Keyspace doesn't exist, create it
+                // Keyspace doesn't exist, create it. This runs before the migration lock is
+                // taken, instances starting together on a fresh cluster may both get here
                 log.info("Creating keyspace '{}'...", keyspace);
                 String createKeyspaceQuery = String.format("""
-                        CREATE KEYSPACE %s
+                        CREATE KEYSPACE IF NOT EXISTS %s
                         WITH REPLICATION = {
                             'class': 'SimpleStrategy',
                             'replication_factor': 1
                         }
                         """, keyspace);
 
-                cqlSession.execute(createKeyspaceQuery);
+                cqlSession.execute(MigrationContext.statement(createKeyspaceQuery));
                 log.info("Keyspace '{}' created successfully", keyspace);
             } else {
                 log.debug("Keyspace '{}' already exists", keyspace);
@@ -176,7 +286,17 @@ public class CassandraMigrationService {
                 )
                 """;
 
-        cqlSession.execute(createTableCql);
+        cqlSession.execute(MigrationContext.statement(createTableCql));
+
+        String createFingerprintTableCql = """
+                CREATE TABLE IF NOT EXISTS schema_fingerprint (
+                    keyspace_name TEXT PRIMARY KEY,
+                    fingerprint TEXT,
+                    updated_at TIMESTAMP
+                )
+                """;
+
+        cqlSession.execute(MigrationContext.statement(createFingerprintTableCql));
         log.debug("Migration history table initialized");
     }
 
@@ -199,6 +319,15 @@ public class CassandraMigrationService {
             migrations.add(new V004_CreateIndexes());
             log.debug("Loaded V004_CreateIndexes");
 
+            migrations.add(new V005_CreateScanCheckpointsTable());
+            log.debug("Loaded V005_CreateScanCheckpointsTable");
+
+            migrations.add(new V006_CreateLeaderboardSnapshotsTable());
+            log.debug("Loaded V006_CreateLeaderboardSnapshotsTable");
+
+            migrations.add(new V007_AddPostStatusCodes());
+            log.debug("Loaded V007_AddPostStatusCodes");
+
             // Sort by version to ensure proper order
             migrations.sort(Comparator.comparing(CassandraMigration::getVersion));
 
@@ -210,8 +339,42 @@ public class CassandraMigrationService {
         }
     }
 
-    private void runPendingMigrations() {
+    /**
+     * SHA-256 over the versions and checksums of all known migrations, in version order
+     */
+    String computeFingerprint() {
+        StringBuilder content = new StringBuilder();
+        for (CassandraMigration migration : migrations) {
+            content.append(migration.getVersion()).append('=').append(migration.getChecksum()).append('\n');
+        }
+        return CassandraMigration.sha256(content.toString());
+    }
+
+    private boolean isFingerprintCurrent(String fingerprint) {
+        try {
+            Row row = cqlSession.execute(statementRegistry.bind(CqlStatement.SELECT_SCHEMA_FINGERPRINT, keyspace)).one();
+            return row != null && fingerprint.equals(row.getString("fingerprint"));
+        } catch (Exception e) {
+            // e.g. first start, the table does not exist yet
+            log.debug("Could not read schema fingerprint: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void storeFingerprintIfComplete(String fingerprint) {
+        Set<String> appliedVersions = getAppliedMigrations();
+        boolean complete = migrations.stream().allMatch(migration -> appliedVersions.contains(migration.getVersion()));
+        if (!complete) {
+            return;
+        }
+        cqlSession.execute(statementRegistry.bind(CqlStatement.INSERT_SCHEMA_FINGERPRINT,
+                keyspace, fingerprint, Instant.now()));
+        log.debug("Stored schema fingerprint {}", fingerprint);
+    }
+
+    private void runPendingMigrations(MigrationLock lock) {
         log.debug("Checking for pending migrations...");
+        invalidateStatus();
 
         Set<String> appliedVersions = getAppliedMigrations();
         log.debug("Found {} already applied migrations: {}", appliedVersions.size(), appliedVersions);
@@ -229,21 +392,34 @@ public class CassandraMigrationService {
                 pendingMigrations.size(),
                 pendingMigrations.stream().map(CassandraMigration::getVersion).collect(Collectors.toList()));
 
-        MigrationContext context = new MigrationContext(cqlSession, keyspace);
+        MigrationContext context = new MigrationContext(cqlSession, keyspace, schemaAgreementTimeout);
 
-        for (CassandraMigration migration : pendingMigrations) {
-            runMigration(migration, context);
+        try {
+            for (CassandraMigration migration : pendingMigrations) {
+                // Another instance may be applying migrations once the lease is lost
+                lock.checkHeld();
+                runMigration(migration, context);
+            }
+        } finally {
+            invalidateStatus();
         }
     }
 
+    private void invalidateStatus() {
+        statusGeneration.incrementAndGet();
+        statusSnapshot = null;
+    }
+
     private void runMigration(CassandraMigration migration, MigrationContext context) {
         log.info("Applying migration: {} - {}", migration.getVersion(), migration.getDescription());
 
         MigrationRecord record = new MigrationRecord(migration.getVersion(), migration.getDescription());
         long startTime = System.currentTimeMillis();
+        context.resetTimings();
 
         try {
             migration.migrate(context);
+            context.awaitSchemaAgreement();
 
             record.setSuccess(true);
             record.setExecutionTimeMs(System.currentTimeMillis() - startTime);
@@ -252,6 +428,8 @@ public class CassandraMigrationService {
 
             log.info("Successfully applied migration: {} in {}ms",
                     migration.getVersion(), record.getExecutionTimeMs());
+            context.getTimings().forEach(timing ->
+                    log.info("  {}ms  {}", timing.getDurationMs(), timing.getStatement()));
 
         } catch (Exception e) {
             record.setSuccess(false);
@@ -265,37 +443,40 @@ public class CassandraMigrationService {
         }
     }
 
-    private Set<String> getAppliedMigrations() {
+    public Set<String> getAppliedMigrations() {
         try {
-            // Query all migration records and filter in Java instead of Cassandra
-            ResultSet resultSet = cqlSession.execute("SELECT version, success FROM migration_history");
-            Set<String> appliedVersions = new HashSet<>();
-
-            for (Row row : resultSet) {
-                // Only include successful migrations
-                if (row.getBoolean("success")) {
-                    appliedVersions.add(row.getString("version"));
-                }
-            }
-
-            log.debug("Found {} applied migrations", appliedVersions.size());
-            return appliedVersions;
+            return loadAppliedMigrations();
         } catch (Exception e) {
             log.debug("Migration history table doesn't exist or is empty, error: {}", e.getMessage());
             return new HashSet<>();
         }
     }
 
-    private void saveMigrationRecord(MigrationRecord record) {
-        String insertCql = """
-                INSERT INTO migration_history (version, description, applied_at, applied_by, success, error_message, execution_time_ms)
-                VALUES (?, ?, ?, ?, ?, ?, ?)
-                """;
+    /**
+     * Versions of the successfully applied migrations; unlike {@link #getAppliedMigrations()}
+     * a failed read is thrown, for callers that must not mistake it for "nothing applied"
+     */
+    public Set<String> loadAppliedMigrations() {
+        // Query all migration records and filter in Java instead of Cassandra
+        ResultSet resultSet = cqlSession.execute(statementRegistry.bind(CqlStatement.SELECT_MIGRATION_HISTORY));
+        Set<String> appliedVersions = new HashSet<>();
+
+        for (Row row : resultSet) {
+            // Only include successful migrations
+            if (row.getBoolean("success")) {
+                appliedVersions.add(row.getString("version"));
+            }
+        }
+
+        log.debug("Found {} applied migrations", appliedVersions.size());
+        return appliedVersions;
+    }
 
+    void saveMigrationRecord(MigrationRecord record) {
         // Convert OffsetDateTime to Instant for storage
         Instant appliedAtInstant = record.getAppliedAt().toInstant();
 
-        cqlSession.execute(insertCql,
+        cqlSession.execute(statementRegistry.bind(CqlStatement.INSERT_MIGRATION_RECORD,
                 record.getVersion(),
                 record.getDescription(),
                 appliedAtInstant, // Store as Instant in Cassandra
@@ -303,7 +484,7 @@ public class CassandraMigrationService {
                 record.isSuccess(),
                 record.getErrorMessage(),
                 record.getExecutionTimeMs()
-        );
+        ));
 
         log.debug("Saved migration record for version: {} (success: {})",
                 record.getVersion(), record.isSuccess());
@@ -340,19 +521,39 @@ public class CassandraMigrationService {
 
     // Public methods for manual migration management
     public void runMigrations() {
-        runPendingMigrations();
+        MigrationLock lock = newLock(SCHEMA_LOCK);
+        if (!lock.tryAcquire()) {
+            throw new IllegalStateException("Migrations are being applied by " + lock.getCurrentHolder());
+        }
+        try {
+            runPendingMigrations(lock);
+            storeFingerprintIfComplete(computeFingerprint());
+        } finally {
+            lock.release();
+        }
     }
 
     public List<MigrationInfo> getMigrationStatus() {
+        List<MigrationInfo> snapshot = statusSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        long generation = statusGeneration.get();
         Set<String> appliedVersions = getAppliedMigrations();
 
-        return migrations.stream()
+        snapshot = migrations.stream()
                 .map(migration -> new MigrationInfo(
                         migration.getVersion(),
                         migration.getDescription(),
                         appliedVersions.contains(migration.getVersion())
                 ))
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
+        // Do not cache a status read while migrations were running
+        if (statusGeneration.get() == generation) {
+            statusSnapshot = snapshot;
+        }
+        return snapshot;
     }
 
     public static class MigrationInfo {
@@ -0,0 +1,73 @@
+package example.migration;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.domain.model.PostStatus;
+import example.domain.repository.ExecutionProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies the status of {@code posts_by_user} rows from the {@code status} name to the
+ * {@code status_code} column.
+ * <p>
+ * The write carries the timestamp of the name it was converted from, so a status or a
+ * delete written by the application in the meantime always wins over the backfill. The
+ * name is kept: instances of versions before status codes still read and write it, which
+ * also makes a code older than its name stale.
+ */
+public class D001_BackfillPostsByUserStatusCodes extends DataMigration {
+
+    private PreparedStatement backfill;
+
+    public D001_BackfillPostsByUserStatusCodes() {
+        super("D001", "Backfill posts_by_user status codes");
+    }
+
+    @Override
+    public String getScanCql() {
+        return """
+            SELECT user_id, created_at, post_id, status, writetime(status) AS status_written,
+                   writetime(status_code) AS code_written
+            FROM posts_by_user WHERE token(user_id) > ? AND token(user_id) <= ?
+            """;
+    }
+
+    @Override
+    public void prepare(MigrationContext context) {
+        backfill = context.getSession().prepare("""
+            UPDATE posts_by_user USING TIMESTAMP ? SET status_code = ?
+            WHERE user_id = ? AND created_at = ? AND post_id = ?
+            """);
+    }
+
+    @Override
+    public void migratePage(MigrationContext context, List<Row> rows) {
+        List<BoundStatement> writes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (!isStale(row)) {
+                // Written with both columns, or already migrated
+                continue;
+            }
+            writes.add(backfill.bind(
+                            row.getLong("status_written"),
+                            PostStatus.fromName(row.getString("status")).getCode(),
+                            row.getUuid("user_id"),
+                            row.getInstant("created_at"),
+                            row.getUuid("post_id"))
+                    .setIdempotent(true)
+                    .setExecutionProfileName(ExecutionProfile.WRITE));
+        }
+        executeAll(context, writes);
+    }
+
+    /**
+     * Whether the name of a row is newer than its code
+     */
+    static boolean isStale(Row row) {
+        return !row.isNull("status")
+                && (row.isNull("code_written") || row.getLong("code_written") < row.getLong("status_written"));
+    }
+}
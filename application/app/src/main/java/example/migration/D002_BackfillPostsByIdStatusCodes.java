@@ -0,0 +1,54 @@
+package example.migration;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.domain.model.PostStatus;
+import example.domain.repository.ExecutionProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies the status of {@code posts_by_id} rows from the {@code status} name to the
+ * {@code status_code} column, see {@link D001_BackfillPostsByUserStatusCodes}.
+ */
+public class D002_BackfillPostsByIdStatusCodes extends DataMigration {
+
+    private PreparedStatement backfill;
+
+    public D002_BackfillPostsByIdStatusCodes() {
+        super("D002", "Backfill posts_by_id status codes");
+    }
+
+    @Override
+    public String getScanCql() {
+        return """
+            SELECT post_id, status, writetime(status) AS status_written, writetime(status_code) AS code_written
+            FROM posts_by_id WHERE token(post_id) > ? AND token(post_id) <= ?
+            """;
+    }
+
+    @Override
+    public void prepare(MigrationContext context) {
+        backfill = context.getSession().prepare(
+                "UPDATE posts_by_id USING TIMESTAMP ? SET status_code = ? WHERE post_id = ?");
+    }
+
+    @Override
+    public void migratePage(MigrationContext context, List<Row> rows) {
+        List<BoundStatement> writes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (!D001_BackfillPostsByUserStatusCodes.isStale(row)) {
+                continue;
+            }
+            writes.add(backfill.bind(
+                            row.getLong("status_written"),
+                            PostStatus.fromName(row.getString("status")).getCode(),
+                            row.getUuid("post_id"))
+                    .setIdempotent(true)
+                    .setExecutionProfileName(ExecutionProfile.WRITE));
+        }
+        executeAll(context, writes);
+    }
+}
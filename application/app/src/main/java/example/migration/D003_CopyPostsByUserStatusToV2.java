@@ -0,0 +1,76 @@
+package example.migration;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.domain.model.PostStatus;
+import example.domain.repository.ExecutionProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies {@code posts_by_user_status} into {@code posts_by_user_status_v2}, which clusters
+ * on the status code instead of the status name.
+ * <p>
+ * Rows are copied with the timestamp they were written with, so a row the application
+ * deleted or moved to another status in the new table meanwhile stays deleted. The old
+ * table is left in place and dropped once this completed everywhere; until then the
+ * application writes both tables and reads the old one ({@link LegacyStatusTable}).
+ * <p>
+ * Rows written by instances of versions before status codes after the copy would be
+ * missing from v2, so this only runs once {@code app.migration.data.old-versions-drained}
+ * confirms none is left; {@link D004_RemoveStaleStatusRowsFromV2} then removes the rows
+ * those instances moved or deleted.
+ */
+public class D003_CopyPostsByUserStatusToV2 extends DataMigration {
+
+    public static final String VERSION = "D003";
+
+    private PreparedStatement copy;
+
+    public D003_CopyPostsByUserStatusToV2() {
+        super(VERSION, "Copy posts_by_user_status to posts_by_user_status_v2");
+    }
+
+    @Override
+    public String getScanCql() {
+        return """
+            SELECT user_id, status, created_at, post_id, title, content, tags, updated_at,
+                   writetime(updated_at) AS written
+            FROM posts_by_user_status WHERE token(user_id) > ? AND token(user_id) <= ?
+            """;
+    }
+
+    @Override
+    public void prepare(MigrationContext context) {
+        copy = context.getSession().prepare("""
+            INSERT INTO posts_by_user_status_v2 (user_id, status_code, created_at, post_id, title, content, tags, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?) USING TIMESTAMP ?
+            """);
+    }
+
+    @Override
+    public void migratePage(MigrationContext context, List<Row> rows) {
+        List<BoundStatement> writes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.isNull("written")) {
+                // Every post row has an updated_at, without it there is no safe timestamp
+                continue;
+            }
+            writes.add(copy.bind(
+                            row.getUuid("user_id"),
+                            PostStatus.fromName(row.getString("status")).getCode(),
+                            row.getInstant("created_at"),
+                            row.getUuid("post_id"),
+                            row.getString("title"),
+                            row.getString("content"),
+                            row.getSet("tags", String.class),
+                            row.getInstant("updated_at"),
+                            row.getLong("written"))
+                    .setIdempotent(true)
+                    .setExecutionProfileName(ExecutionProfile.WRITE));
+        }
+        executeAll(context, writes);
+    }
+}
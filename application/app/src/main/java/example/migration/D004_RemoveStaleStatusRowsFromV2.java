@@ -0,0 +1,91 @@
+package example.migration;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.domain.model.PostStatus;
+import example.domain.repository.ExecutionProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Removes the {@code posts_by_user_status_v2} rows that are not in
+ * {@code posts_by_user_status}.
+ * <p>
+ * Instances of versions before status codes only write the old table: a post they moved
+ * to another status or deleted keeps its row in v2. Such a row is deleted with the
+ * timestamp it was written with, so a later write of the same row by the application
+ * still wins. The application writes the old table before v2, a v2 row without its old
+ * row is therefore stale and not one being written.
+ */
+public class D004_RemoveStaleStatusRowsFromV2 extends DataMigration {
+
+    public static final String VERSION = "D004";
+
+    private PreparedStatement find;
+    private PreparedStatement delete;
+
+    public D004_RemoveStaleStatusRowsFromV2() {
+        super(VERSION, "Remove posts_by_user_status_v2 rows missing from posts_by_user_status");
+    }
+
+    @Override
+    public String getScanCql() {
+        return """
+            SELECT user_id, status_code, created_at, post_id, writetime(updated_at) AS written
+            FROM posts_by_user_status_v2 WHERE token(user_id) > ? AND token(user_id) <= ?
+            """;
+    }
+
+    @Override
+    public void prepare(MigrationContext context) {
+        find = context.getSession().prepare("""
+            SELECT post_id FROM posts_by_user_status
+            WHERE user_id = ? AND status = ? AND created_at = ? AND post_id = ?
+            """);
+        delete = context.getSession().prepare("""
+            DELETE FROM posts_by_user_status_v2 USING TIMESTAMP ?
+            WHERE user_id = ? AND status_code = ? AND created_at = ? AND post_id = ?
+            """);
+    }
+
+    @Override
+    public void migratePage(MigrationContext context, List<Row> rows) {
+        List<Row> candidates = new ArrayList<>(rows.size());
+        List<BoundStatement> lookups = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.isNull("written")) {
+                // Every post row has an updated_at, without it there is no safe timestamp
+                continue;
+            }
+            candidates.add(row);
+            lookups.add(find.bind(
+                            row.getUuid("user_id"),
+                            PostStatus.fromCode(row.getByte("status_code")).name(),
+                            row.getInstant("created_at"),
+                            row.getUuid("post_id"))
+                    .setIdempotent(true)
+                    .setExecutionProfileName(ExecutionProfile.MIGRATION));
+        }
+        List<AsyncResultSet> found = fetchAll(context, lookups);
+
+        List<BoundStatement> deletes = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (found.get(i).one() != null) {
+                continue;
+            }
+            Row row = candidates.get(i);
+            deletes.add(delete.bind(
+                            row.getLong("written"),
+                            row.getUuid("user_id"),
+                            row.getByte("status_code"),
+                            row.getInstant("created_at"),
+                            row.getUuid("post_id"))
+                    .setIdempotent(true)
+                    .setExecutionProfileName(ExecutionProfile.WRITE));
+        }
+        executeAll(context, deletes);
+    }
+}
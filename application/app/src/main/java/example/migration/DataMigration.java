@@ -0,0 +1,75 @@
+package example.migration;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Online data migration (backfill, table reshaping) run by the {@link DataMigrationRunner}.
+ * <p>
+ * The rows selected by {@link #getScanCql()} are scanned over token ranges in the
+ * background after startup, throttled and with page checkpoints, so a migration over
+ * millions of rows survives restarts. Completed data migrations are recorded in
+ * {@code migration_history} like schema migrations; use a distinct version prefix
+ * (e.g. {@code D001}).
+ */
+public abstract class DataMigration {
+    private final String version;
+    private final String description;
+
+    public DataMigration(String version, String description) {
+        this.version = version;
+        this.description = description;
+    }
+
+    /**
+     * Select the rows to migrate from a single table, restricted with
+     * {@code WHERE token(<partition key>) > ? AND token(<partition key>) <= ?}
+     */
+    public abstract String getScanCql();
+
+    /**
+     * Called once per run before the scan, e.g. to prepare the write statements
+     */
+    public void prepare(MigrationContext context) throws Exception {
+    }
+
+    /**
+     * Migrate one page of rows. Must be idempotent: after a crash the page being processed
+     * is migrated again.
+     */
+    public abstract void migratePage(MigrationContext context, List<Row> rows) throws Exception;
+
+    /**
+     * Execute the writes of a page concurrently and wait for all of them
+     */
+    protected static void executeAll(MigrationContext context, List<? extends Statement<?>> statements) {
+        fetchAll(context, statements);
+    }
+
+    /**
+     * Execute the statements of a page concurrently
+     * @return The first page of each result, in the order of the statements
+     */
+    protected static List<AsyncResultSet> fetchAll(MigrationContext context, List<? extends Statement<?>> statements) {
+        List<CompletableFuture<AsyncResultSet>> futures = new ArrayList<>(statements.size());
+        for (Statement<?> statement : statements) {
+            futures.add(context.getSession().executeAsync(statement).toCompletableFuture());
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    // Getters
+    public String getVersion() { return version; }
+    public String getDescription() { return description; }
+}
\ No newline at end of file
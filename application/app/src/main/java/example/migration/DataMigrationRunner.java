@@ -0,0 +1,235 @@
+package example.migration;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import example.scan.CheckpointMode;
+import example.scan.ScanJob;
+import example.scan.ScanProgress;
+import example.scan.TokenRangeScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs pending {@link DataMigration}s in the background once the application is ready
+ * (after the schema migrations), one after the other.
+ * <p>
+ * Each data migration is a {@link TokenRangeScanner} job with page checkpoints, limited to
+ * {@code app.migration.data.parallelism} concurrent ranges and
+ * {@code app.migration.data.max-rows-per-second}. Only the instance holding the
+ * {@value #DATA_LOCK} migration lock runs them. Every instance retries every
+ * {@code app.migration.data.retry-interval} until all data migrations are applied: to take
+ * the lock over when its holder died, and to resume a failed migration from its checkpoints.
+ */
+@Component
+@Profile("!in-memory")
+public class DataMigrationRunner {
+    private static final Logger log = LoggerFactory.getLogger(DataMigrationRunner.class);
+
+    @Autowired
+    private CqlSession cqlSession;
+
+    @Autowired
+    private TokenRangeScanner scanner;
+
+    @Autowired
+    private CassandraMigrationService cassandraMigrationService;
+
+    @Value("${spring.cassandra.keyspace-name}")
+    private String keyspace;
+
+    @Value("${app.migration.enabled:true}")
+    private boolean migrationEnabled;
+
+    @Value("${app.migration.data.enabled:true}")
+    private boolean dataMigrationEnabled;
+
+    @Value("${app.migration.data.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.migration.data.max-rows-per-second:5000}")
+    private int maxRowsPerSecond;
+
+    @Value("${app.migration.data.page-size:500}")
+    private int pageSize;
+
+    @Value("${app.migration.data.retry-interval:1m}")
+    private Duration retryInterval;
+
+    // Set once no instance of a version before status codes runs, they only write posts_by_user_status
+    @Value("${app.migration.data.old-versions-drained:false}")
+    private boolean oldVersionsDrained;
+
+    static final String DATA_LOCK = "data";
+
+    private final List<DataMigration> dataMigrations = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(3)
+    public void runDataMigrationsOnStartup() {
+        if (!isEnabled()) {
+            log.info("Data migrations are disabled");
+            return;
+        }
+        loadDataMigrations();
+        if (dataMigrations.isEmpty()) {
+            return;
+        }
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "data-migrations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = retryInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            if (tryRunPendingDataMigrations()) {
+                log.info("All data migrations are applied");
+                scheduler.shutdown();
+            }
+        }, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Whether this instance runs data migrations ({@code app.migration.enabled} and
+     * {@code app.migration.data.enabled}); other instances may still run them
+     */
+    public boolean isEnabled() {
+        return migrationEnabled && dataMigrationEnabled;
+    }
+
+    /**
+     * Whether no instance of a version before status codes runs anymore
+     * ({@code app.migration.data.old-versions-drained}), which lets this instance copy the
+     * status table
+     */
+    public boolean isOldVersionsDrained() {
+        return oldVersionsDrained;
+    }
+
+    private void loadDataMigrations() {
+        dataMigrations.clear();
+
+        // Add your data migration classes here as they're created
+        dataMigrations.add(new D001_BackfillPostsByUserStatusCodes());
+        dataMigrations.add(new D002_BackfillPostsByIdStatusCodes());
+        if (oldVersionsDrained) {
+            dataMigrations.add(new D003_CopyPostsByUserStatusToV2());
+            dataMigrations.add(new D004_RemoveStaleStatusRowsFromV2());
+        } else {
+            log.info("Status table copy waits for app.migration.data.old-versions-drained");
+        }
+
+        dataMigrations.sort(Comparator.comparing(DataMigration::getVersion));
+        log.debug("Loaded {} data migrations", dataMigrations.size());
+    }
+
+    private boolean tryRunPendingDataMigrations() {
+        try {
+            return runPendingDataMigrations();
+        } catch (Exception e) {
+            // An exception would cancel the retries
+            log.warn("Could not run the data migrations, retrying in {}: {}", retryInterval, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Run the pending data migrations if this instance gets the lock
+     * @return Whether every data migration is applied, by this instance or another one
+     */
+    boolean runPendingDataMigrations() {
+        if (isApplied(cassandraMigrationService.getAppliedMigrations())) {
+            return true;
+        }
+
+        // A single instance runs the data migrations, the others retry in case it dies
+        MigrationLock lock = cassandraMigrationService.newLock(DATA_LOCK);
+        if (!lock.tryAcquire()) {
+            log.info("Data migrations are being applied by {}, retrying in {}", lock.getCurrentHolder(), retryInterval);
+            return false;
+        }
+
+        try {
+            // Read again under the lock, the previous holder may have applied some since
+            Set<String> appliedVersions = cassandraMigrationService.getAppliedMigrations();
+            MigrationContext context = new MigrationContext(cqlSession, keyspace);
+
+            for (DataMigration migration : dataMigrations) {
+                if (appliedVersions.contains(migration.getVersion())) {
+                    continue;
+                }
+                if (!runDataMigration(migration, context, lock)) {
+                    // Later data migrations may depend on this one
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.release();
+        }
+    }
+
+    private boolean isApplied(Set<String> appliedVersions) {
+        return dataMigrations.stream().allMatch(migration -> appliedVersions.contains(migration.getVersion()));
+    }
+
+    private boolean runDataMigration(DataMigration migration, MigrationContext context, MigrationLock lock) {
+        log.info("Applying data migration: {} - {}", migration.getVersion(), migration.getDescription());
+
+        MigrationRecord record = new MigrationRecord(migration.getVersion(), migration.getDescription());
+        long startTime = System.currentTimeMillis();
+
+        try {
+            lock.checkHeld();
+            migration.prepare(context);
+            // Once the lease is lost another instance may take over, the scan stops at the next page
+            ScanJob job = new ScanJob("data-migration-" + migration.getVersion(), migration.getScanCql(),
+                    (range, rows) -> {
+                        lock.checkHeld();
+                        migration.migratePage(context, rows);
+                    })
+                    .withParallelism(parallelism)
+                    .withMaxRowsPerSecond(maxRowsPerSecond)
+                    .withPageSize(pageSize)
+                    .withCheckpointMode(CheckpointMode.PAGE);
+            ScanProgress progress = scanner.scan(job);
+
+            record.setSuccess(true);
+            record.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+            cassandraMigrationService.saveMigrationRecord(record);
+
+            log.info("Successfully applied data migration: {} ({} rows) in {}ms",
+                    migration.getVersion(), progress.getRowsScanned(), record.getExecutionTimeMs());
+            return true;
+        } catch (Exception e) {
+            if (lock.isLost()) {
+                // The new holder owns the history of this migration now
+                log.error("Aborted data migration {}, the lock was lost", migration.getVersion());
+                return false;
+            }
+            record.setSuccess(false);
+            record.setErrorMessage(e.getMessage());
+            record.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+            cassandraMigrationService.saveMigrationRecord(record);
+
+            log.error("Failed to apply data migration: {}, it resumes in {} - Error: {}",
+                    migration.getVersion(), retryInterval, e.getMessage(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package example.migration;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.cql.CqlStatement;
+import example.cql.PreparedStatementRegistry;
+import example.domain.model.PostByUserStatus;
+import example.domain.model.PostByUserStatusKey;
+import example.domain.model.PostStatus;
+import example.domain.ports.output.LegacyStatusTablePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * {@link LegacyStatusTablePort} of {@code posts_by_user_status}, which keeps the status
+ * name (the v2 table clusters on the code).
+ * <p>
+ * Reads switch to v2 once {@link D004_RemoveStaleStatusRowsFromV2}, the last of the
+ * copy, is in the migration history. Both only run once no instance of a version before
+ * status codes remains ({@code app.migration.data.old-versions-drained}), since those
+ * only write the old table. The history is read at most every {@value #RECHECK_SECONDS}
+ * seconds until then;
+ * when it cannot be read the old table is kept, it is complete either way. A schema
+ * created from the entities (schema action) instead of the migrations has no old table,
+ * it then only has v2.
+ */
+@Component
+@Profile("!in-memory")
+public class LegacyStatusTable implements LegacyStatusTablePort {
+    private static final Logger log = LoggerFactory.getLogger(LegacyStatusTable.class);
+
+    static final String TABLE = "posts_by_user_status";
+    static final int RECHECK_SECONDS = 30;
+    private static final long RECHECK_NANOS = Duration.ofSeconds(RECHECK_SECONDS).toNanos();
+
+    @Autowired
+    private CqlSession cqlSession;
+
+    @Autowired
+    private PreparedStatementRegistry statementRegistry;
+
+    @Autowired
+    private CassandraMigrationService migrationService;
+
+    private final LongSupplier nanoTime;
+
+    private volatile boolean copied;
+    private volatile long checkedAtNanos;
+
+    public LegacyStatusTable() {
+        this(System::nanoTime);
+    }
+
+    LegacyStatusTable(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.checkedAtNanos = nanoTime.getAsLong() - RECHECK_NANOS;
+    }
+
+    @Override
+    public void save(PostByUserStatus post) {
+        if (!exists()) {
+            return;
+        }
+        Set<String> tags = post.getTags() != null ? new LinkedHashSet<>(post.getTags()) : Set.of();
+        cqlSession.execute(statementRegistry.bind(CqlStatement.INSERT_LEGACY_POST_STATUS,
+                post.getUserId(), post.getStatus().name(), instant(post.getCreatedAt()), post.getPostId(),
+                post.getTitle(), post.getContent(), tags, instant(post.getUpdatedAt())));
+    }
+
+    @Override
+    public void delete(PostByUserStatusKey key) {
+        if (!exists()) {
+            return;
+        }
+        cqlSession.execute(statementRegistry.bind(CqlStatement.DELETE_LEGACY_POST_STATUS,
+                key.getUserId(), key.getStatus().name(), instant(key.getCreatedAt()), key.getPostId()));
+    }
+
+    @Override
+    public List<PostByUserStatus> findByUserIdAndStatus(UUID userId, PostStatus status,
+                                                        Supplier<List<PostByUserStatus>> v2) {
+        if (!exists() || isCopied()) {
+            return v2.get();
+        }
+        List<PostByUserStatus> posts = new ArrayList<>();
+        for (Row row : cqlSession.execute(statementRegistry.bind(CqlStatement.SELECT_LEGACY_POSTS_BY_STATUS,
+                userId, status.name()))) {
+            posts.add(toPost(row));
+        }
+        return posts;
+    }
+
+    /**
+     * Whether the old table is in the schema metadata of the driver
+     */
+    boolean exists() {
+        return cqlSession.getKeyspace()
+                .flatMap(keyspace -> cqlSession.getMetadata().getKeyspace(keyspace))
+                .flatMap(keyspace -> keyspace.getTable(TABLE))
+                .isPresent();
+    }
+
+    /**
+     * Whether v2 holds a copy of every row of the old table
+     */
+    boolean isCopied() {
+        if (copied) {
+            return true;
+        }
+        long now = nanoTime.getAsLong();
+        if (now - checkedAtNanos < RECHECK_NANOS) {
+            return false;
+        }
+        checkedAtNanos = now;
+        try {
+            copied = migrationService.loadAppliedMigrations().contains(D004_RemoveStaleStatusRowsFromV2.VERSION);
+            if (copied) {
+                log.info("posts_by_user_status_v2 is complete, status reads switched to it");
+            }
+        } catch (Exception e) {
+            log.warn("Could not read the migration history, status reads stay on posts_by_user_status: {}",
+                    e.getMessage());
+        }
+        return copied;
+    }
+
+    private static PostByUserStatus toPost(Row row) {
+        PostByUserStatus post = new PostByUserStatus();
+        post.setKey(new PostByUserStatusKey(
+                row.getUuid("user_id"),
+                PostStatus.fromName(row.getString("status")),
+                timestamp(row.getInstant("created_at")),
+                row.getUuid("post_id")));
+        post.setTitle(row.getString("title"));
+        post.setContent(row.getString("content"));
+        post.setTags(new ArrayList<>(row.getSet("tags", String.class)));
+        post.setUpdatedAt(timestamp(row.getInstant("updated_at")));
+        return post;
+    }
+
+    private static Instant instant(OffsetDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return instant != null ? instant.atOffset(ZoneOffset.UTC) : null;
+    }
+}
@@ -1,15 +1,31 @@
 package example.migration;
 
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import example.domain.repository.ExecutionProfile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 public class MigrationContext {
     private final CqlSession session;
     private final String keyspace;
+    private final Duration schemaAgreementTimeout;
+    private final List<StatementTiming> timings = Collections.synchronizedList(new ArrayList<>());
 
     public MigrationContext(CqlSession session, String keyspace) {
+        this(session, keyspace, Duration.ofSeconds(30));
+    }
+
+    public MigrationContext(CqlSession session, String keyspace, Duration schemaAgreementTimeout) {
         this.session = session;
         this.keyspace = keyspace;
+        this.schemaAgreementTimeout = schemaAgreementTimeout;
     }
 
     public CqlSession getSession() {
@@ -21,11 +37,91 @@ public class MigrationContext {
     }
 
     public void execute(String cql) {
-        session.execute(cql);
+        long start = System.nanoTime();
+        session.execute(statement(cql));
+        timings.add(new StatementTiming(cql, System.nanoTime() - start));
     }
 
     public void execute(String cql, Object... parameters) {
-        session.execute(cql, parameters);
+        long start = System.nanoTime();
+        session.execute(statement(cql, parameters));
+        timings.add(new StatementTiming(cql, System.nanoTime() - start));
+    }
+
+    /**
+     * Run independent statements (e.g. CREATE TABLE of different tables) concurrently,
+     * then wait once for all nodes to agree on the schema. Statements that alter the same
+     * table must not be grouped.
+     */
+    public void executeGroup(String... cqls) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(cqls.length);
+        for (String cql : cqls) {
+            long start = System.nanoTime();
+            futures.add(session.executeAsync(statement(cql))
+                    .toCompletableFuture()
+                    .thenAccept(resultSet -> timings.add(new StatementTiming(cql, System.nanoTime() - start))));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+        awaitSchemaAgreement();
+    }
+
+    /**
+     * Wait until all nodes agree on the schema, failing after the schema agreement timeout
+     */
+    public void awaitSchemaAgreement() {
+        long start = System.nanoTime();
+        long deadline = start + schemaAgreementTimeout.toNanos();
+        while (!session.checkSchemaAgreementAsync().toCompletableFuture().join()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("No schema agreement after " + schemaAgreementTimeout);
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for schema agreement", e);
+            }
+        }
+        timings.add(new StatementTiming("<schema agreement>", System.nanoTime() - start));
+    }
+
+    /**
+     * Whether the table has the column, e.g. because the schema action created it from
+     * the entity before the migration ran
+     */
+    public boolean hasColumn(String table, String column) {
+        return session.getMetadata().getKeyspace(keyspace)
+                .flatMap(keyspaceMetadata -> keyspaceMetadata.getTable(table))
+                .map(tableMetadata -> tableMetadata.getColumn(column).isPresent())
+                .orElse(false);
+    }
+
+    /**
+     * Timings of the statements executed so far, in completion order
+     */
+    public List<StatementTiming> getTimings() {
+        synchronized (timings) {
+            return List.copyOf(timings);
+        }
+    }
+
+    /**
+     * Forget the recorded timings, e.g. before the next migration
+     */
+    public void resetTimings() {
+        timings.clear();
+    }
+
+    /**
+     * Build a statement that runs with the migration execution profile (long DDL timeout)
+     */
+    public static SimpleStatement statement(String cql, Object... parameters) {
+        return SimpleStatement.newInstance(cql, parameters)
+                .setExecutionProfileName(ExecutionProfile.MIGRATION);
     }
 
     public void executeStatements(List<String> statements) {
@@ -37,4 +133,23 @@ public class MigrationContext {
             execute(statement);
         }
     }
+
+    public static class StatementTiming {
+        private final String statement;
+        private final long durationNanos;
+
+        public StatementTiming(String cql, long durationNanos) {
+            // The first line is enough to identify a statement in the logs
+            this.statement = cql.strip().lines().findFirst().orElse("");
+            this.durationNanos = durationNanos;
+        }
+
+        public String getStatement() {
+            return statement;
+        }
+
+        public long getDurationMs() {
+            return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package example.migration;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.cql.CqlStatement;
+import example.cql.PreparedStatementRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lease on a {@code migration_lock} row, taken with a lightweight transaction.
+ * <p>
+ * The row is written with a TTL, so the lease of a crashed holder expires on its own,
+ * and renewed by a heartbeat every third of the TTL while held. Only the owner can
+ * renew or release it.
+ * <p>
+ * The lease is lost when a renewal is rejected (another instance took the row after it
+ * expired) or when no renewal succeeded for a whole TTL. Work done under the lock calls
+ * {@link #checkHeld()} between steps and aborts once the lease is lost.
+ */
+public class MigrationLock {
+    private static final Logger log = LoggerFactory.getLogger(MigrationLock.class);
+
+    private final CqlSession session;
+    private final PreparedStatementRegistry statementRegistry;
+    private final String name;
+    private final Duration ttl;
+    private final String owner;
+
+    private ScheduledExecutorService heartbeat;
+    private volatile String currentHolder;
+    private volatile long renewedAtNanos;
+    private volatile boolean lost;
+
+    public MigrationLock(CqlSession session, PreparedStatementRegistry statementRegistry, String name, Duration ttl) {
+        this.session = session;
+        this.statementRegistry = statementRegistry;
+        this.name = name;
+        this.ttl = ttl;
+        this.owner = hostName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Try once to take the lease; starts the heartbeat when successful
+     */
+    public synchronized boolean tryAcquire() {
+        if (heartbeat != null) {
+            return true;
+        }
+        ResultSet result = session.execute(statementRegistry.bind(CqlStatement.ACQUIRE_MIGRATION_LOCK,
+                name, owner, Instant.now(), ttlSeconds()));
+        if (!result.wasApplied()) {
+            currentHolder = holder(result);
+            return false;
+        }
+        currentHolder = owner;
+        renewedAtNanos = System.nanoTime();
+        lost = false;
+        log.info("Acquired lock '{}' as {}", name, owner);
+
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lock-heartbeat-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, ttl.toMillis() / 3);
+        heartbeat.scheduleAtFixedRate(this::renew, period, period, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    void renew() {
+        if (lost) {
+            return;
+        }
+        try {
+            ResultSet result = session.execute(statementRegistry.bind(CqlStatement.RENEW_MIGRATION_LOCK,
+                    ttlSeconds(), owner, Instant.now(), name, owner));
+            if (result.wasApplied()) {
+                renewedAtNanos = System.nanoTime();
+                return;
+            }
+            currentHolder = holder(result);
+            lost = true;
+            log.error("Lost lock '{}', it is now held by {}", name, currentHolder);
+        } catch (Exception e) {
+            log.warn("Could not renew lock '{}': {}", name, e.getMessage());
+            if (System.nanoTime() - renewedAtNanos >= ttl.toNanos()) {
+                lost = true;
+                log.error("Lost lock '{}', it was not renewed for {}", name, ttl);
+            }
+        }
+    }
+
+    /**
+     * Whether the lease was held but has been lost since
+     */
+    public boolean isLost() {
+        return lost;
+    }
+
+    /**
+     * Abort work done under the lock once the lease is lost
+     * @throws IllegalStateException if the lease was lost
+     */
+    public void checkHeld() {
+        if (lost) {
+            throw new IllegalStateException("Lost lock '" + name + "', it is now held by " + currentHolder);
+        }
+    }
+
+    public synchronized void release() {
+        if (heartbeat == null) {
+            return;
+        }
+        heartbeat.shutdownNow();
+        heartbeat = null;
+        try {
+            session.execute(statementRegistry.bind(CqlStatement.RELEASE_MIGRATION_LOCK, name, owner));
+            log.info("Released lock '{}'", name);
+        } catch (Exception e) {
+            log.warn("Could not release lock '{}', it expires in {}: {}", name, ttl, e.getMessage());
+        }
+    }
+
+    /**
+     * Owner of the lease as last observed by this instance
+     */
+    public String getCurrentHolder() {
+        return currentHolder;
+    }
+
+    /**
+     * Owner of the row returned by a rejected conditional statement; the row is absent if
+     * it expired or was deleted in the meantime
+     */
+    private static String holder(ResultSet result) {
+        Row row = result.one();
+        return row != null ? row.getString("owner") : null;
+    }
+
+    private int ttlSeconds() {
+        return (int) Math.max(1, ttl.toSeconds());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
\ No newline at end of file
@@ -2,12 +2,14 @@ package example.migration;
 
 import example.domain.ports.input.MigrationPort;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Profile("!in-memory")
 public class MigrationService implements MigrationPort {
 
     @Autowired
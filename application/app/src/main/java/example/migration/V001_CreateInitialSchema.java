@@ -19,8 +19,10 @@ public class V001_CreateInitialSchema extends CassandraMigration {
         // Switch to the keyspace
         context.execute("USE spring_cassandra");
 
-        // Create main users table
-        context.execute("""
+        // The two tables are independent, so they are created concurrently
+        context.executeGroup(
+            // Create main users table
+            """
             CREATE TABLE IF NOT EXISTS users (
                 id UUID PRIMARY KEY,
                 name TEXT,
@@ -28,10 +30,10 @@ public class V001_CreateInitialSchema extends CassandraMigration {
                 created_at TIMESTAMP,
                 updated_at TIMESTAMP
             )
-            """);
+            """,
 
-        // Create users_by_email table for efficient email lookups
-        context.execute("""
+            // Create users_by_email table for efficient email lookups
+            """
             CREATE TABLE IF NOT EXISTS users_by_email (
                 email TEXT PRIMARY KEY,
                 user_id UUID,
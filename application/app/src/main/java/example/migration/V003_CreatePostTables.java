@@ -8,8 +8,10 @@ public class V003_CreatePostTables extends CassandraMigration {
 
     @Override
     public void migrate(MigrationContext context) throws Exception {
-        // Create posts_by_id table (main post storage)
-        context.execute("""
+        // The three tables are independent, so they are created concurrently
+        context.executeGroup(
+            // Create posts_by_id table (main post storage)
+            """
             CREATE TABLE IF NOT EXISTS posts_by_id (
                 post_id UUID PRIMARY KEY,
                 user_id UUID,
@@ -20,10 +22,10 @@ public class V003_CreatePostTables extends CassandraMigration {
                 created_at TIMESTAMP,
                 updated_at TIMESTAMP
             )
-            """);
+            """,
 
-        // Create posts_by_user table (for efficient user queries)
-        context.execute("""
+            // Create posts_by_user table (for efficient user queries)
+            """
             CREATE TABLE IF NOT EXISTS posts_by_user (
                 user_id UUID,
                 created_at TIMESTAMP,
@@ -35,11 +37,11 @@ public class V003_CreatePostTables extends CassandraMigration {
                 updated_at TIMESTAMP,
                 PRIMARY KEY (user_id, created_at, post_id)
             ) WITH CLUSTERING ORDER BY (created_at DESC, post_id ASC)
-            """);
+            """,
 
-        // Create posts_by_user_status table (for queries by user and status)
-        // FIXED: Corrected the clustering order to match the primary key definition
-        context.execute("""
+            // Create posts_by_user_status table (for queries by user and status)
+            // FIXED: Corrected the clustering order to match the primary key definition
+            """
             CREATE TABLE IF NOT EXISTS posts_by_user_status (
                 user_id UUID,
                 status TEXT,
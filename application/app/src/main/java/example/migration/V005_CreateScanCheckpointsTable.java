@@ -0,0 +1,26 @@
+package example.migration;
+
+public class V005_CreateScanCheckpointsTable extends CassandraMigration {
+
+    public V005_CreateScanCheckpointsTable() {
+        super("V005", "Create scan_checkpoints table");
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws Exception {
+        // Token ranges of full-table jobs, so an interrupted job can resume: completed ranges,
+        // and in-progress ranges with the paging state of their last completed page
+        context.execute("""
+            CREATE TABLE IF NOT EXISTS scan_checkpoints (
+                job TEXT,
+                range_start TEXT,
+                range_end TEXT,
+                rows_scanned BIGINT,
+                completed BOOLEAN,
+                paging_state BLOB,
+                completed_at TIMESTAMP,
+                PRIMARY KEY (job, range_start, range_end)
+            )
+            """);
+    }
+}
\ No newline at end of file
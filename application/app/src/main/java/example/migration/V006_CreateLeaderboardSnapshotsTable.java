@@ -0,0 +1,23 @@
+package example.migration;
+
+public class V006_CreateLeaderboardSnapshotsTable extends CassandraMigration {
+
+    public V006_CreateLeaderboardSnapshotsTable() {
+        super("V006", "Create leaderboard_snapshots table");
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws Exception {
+        // One row per leaderboard and instance, each instance only sees the stats it wrote
+        // or verified; the encoded entries of a row are replaced atomically
+        context.execute("""
+            CREATE TABLE IF NOT EXISTS leaderboard_snapshots (
+                board TEXT,
+                instance TEXT,
+                entries BLOB,
+                taken_at TIMESTAMP,
+                PRIMARY KEY (board, instance)
+            )
+            """);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package example.migration;
+
+public class V007_AddPostStatusCodes extends CassandraMigration {
+
+    public V007_AddPostStatusCodes() {
+        super("V007", "Add post status codes");
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws Exception {
+        // Status is stored as a TINYINT code from now on, the TEXT columns are backfilled
+        // by D001 to D004 and dropped once no instance reads them anymore
+        if (!context.hasColumn("posts_by_user", "status_code")) {
+            context.execute("ALTER TABLE posts_by_user ADD status_code TINYINT");
+        }
+        if (!context.hasColumn("posts_by_id", "status_code")) {
+            context.execute("ALTER TABLE posts_by_id ADD status_code TINYINT");
+        }
+
+        // The status is a clustering column of posts_by_user_status, its type cannot change
+        context.execute("""
+            CREATE TABLE IF NOT EXISTS posts_by_user_status_v2 (
+                user_id UUID,
+                status_code TINYINT,
+                created_at TIMESTAMP,
+                post_id UUID,
+                title TEXT,
+                content TEXT,
+                tags SET<TEXT>,
+                updated_at TIMESTAMP,
+                PRIMARY KEY (user_id, status_code, created_at, post_id)
+            ) WITH CLUSTERING ORDER BY (status_code ASC, created_at DESC, post_id ASC)
+            """);
+    }
+}
@@ -0,0 +1,19 @@
+package example.scan;
+
+/**
+ * Granularity at which scan progress is saved to {@code scan_checkpoints}.
+ */
+public enum CheckpointMode {
+
+    /**
+     * Only completed ranges are recorded; an interrupted range is rescanned from its start.
+     * Use it when the handler aggregates over a whole range.
+     */
+    RANGE,
+
+    /**
+     * The paging state is recorded after every page; an interrupted range resumes at the
+     * next page. Use it when pages are processed independently (backfills, exports).
+     */
+    PAGE
+}
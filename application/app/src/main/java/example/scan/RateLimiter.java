@@ -0,0 +1,41 @@
+package example.scan;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal blocking rate limiter shared by the workers of a scan.
+ * Permits are handed out at a fixed rate; a rate of zero or less disables limiting.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private long next = System.nanoTime();
+
+    public RateLimiter(int permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / permitsPerSecond : 0;
+    }
+
+    /**
+     * Block until the given number of permits is available
+     */
+    public void acquire(int permits) {
+        if (intervalNanos == 0 || permits <= 0) {
+            return;
+        }
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(next, now);
+            next = start + intervalNanos * permits;
+            wait = start - now;
+        }
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while rate limited", e);
+            }
+        }
+    }
+}
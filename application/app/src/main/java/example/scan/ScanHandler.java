@@ -0,0 +1,29 @@
+package example.scan;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import java.util.List;
+
+/**
+ * Callback of a {@link ScanJob}. Calls for the same range happen on one worker thread,
+ * calls for different ranges happen concurrently.
+ */
+public interface ScanHandler {
+
+    /**
+     * Called before the first page of a range (again, if the range is rescanned)
+     */
+    default void onRangeStart(ScanRange range) throws Exception {
+    }
+
+    /**
+     * Called for every page of the job's statement within the range
+     */
+    void onPage(ScanRange range, List<Row> rows) throws Exception;
+
+    /**
+     * Called after the last page of a range, before it is checkpointed as completed
+     */
+    default void onRangeComplete(ScanRange range) throws Exception {
+    }
+}
@@ -0,0 +1,114 @@
+package example.scan;
+
+import example.cql.CqlStatement;
+import example.domain.repository.ExecutionProfile;
+
+/**
+ * A full-table scan run by the {@link TokenRangeScanner}.
+ * <p>
+ * The statement must select from a single table and restrict the partition key with
+ * {@code token(...) > ? AND token(...) <= ?}, e.g. {@link CqlStatement#SCAN_POST_STATUSES}.
+ * It is always executed as idempotent.
+ * Settings left at zero use the scanner defaults ({@code app.scan.*}).
+ */
+public class ScanJob {
+
+    private final String name;
+    private final String cql;
+    private final String executionProfile;
+    private final ScanHandler handler;
+    private final ScanProgress progress = new ScanProgress();
+
+    private int parallelism;
+    private int splitsPerRange;
+    private int pageSize;
+    private int maxRowsPerSecond;
+    private CheckpointMode checkpointMode = CheckpointMode.RANGE;
+
+    /**
+     * @param name unique job name, used as checkpoint key
+     */
+    public ScanJob(String name, CqlStatement statement, ScanHandler handler) {
+        this(name, statement.getCql(), statement.getExecutionProfile(), handler);
+    }
+
+    /**
+     * Scan with an ad-hoc statement (e.g. of a data migration), run with the
+     * {@value ExecutionProfile#SCAN} profile
+     */
+    public ScanJob(String name, String cql, ScanHandler handler) {
+        this(name, cql, ExecutionProfile.SCAN, handler);
+    }
+
+    private ScanJob(String name, String cql, String executionProfile, ScanHandler handler) {
+        this.name = name;
+        this.cql = cql;
+        this.executionProfile = executionProfile;
+        this.handler = handler;
+    }
+
+    public ScanJob withParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ScanJob withSplitsPerRange(int splitsPerRange) {
+        this.splitsPerRange = splitsPerRange;
+        return this;
+    }
+
+    public ScanJob withPageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    public ScanJob withMaxRowsPerSecond(int maxRowsPerSecond) {
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        return this;
+    }
+
+    public ScanJob withCheckpointMode(CheckpointMode checkpointMode) {
+        this.checkpointMode = checkpointMode;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCql() {
+        return cql;
+    }
+
+    public String getExecutionProfile() {
+        return executionProfile;
+    }
+
+    public ScanHandler getHandler() {
+        return handler;
+    }
+
+    public ScanProgress getProgress() {
+        return progress;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getSplitsPerRange() {
+        return splitsPerRange;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getMaxRowsPerSecond() {
+        return maxRowsPerSecond;
+    }
+
+    public CheckpointMode getCheckpointMode() {
+        return checkpointMode;
+    }
+}
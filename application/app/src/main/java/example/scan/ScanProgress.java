@@ -0,0 +1,39 @@
+package example.scan;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live progress of a {@link ScanJob}, safe to read while the scan runs.
+ */
+public class ScanProgress {
+
+    private volatile int rangesTotal;
+    private final AtomicInteger rangesCompleted = new AtomicInteger();
+    private final AtomicLong rowsScanned = new AtomicLong();
+
+    void start(int rangesTotal, int rangesCompleted) {
+        this.rangesTotal = rangesTotal;
+        this.rangesCompleted.set(rangesCompleted);
+    }
+
+    void rangeCompleted() {
+        rangesCompleted.incrementAndGet();
+    }
+
+    void rowsScanned(long rows) {
+        rowsScanned.addAndGet(rows);
+    }
+
+    public int getRangesTotal() {
+        return rangesTotal;
+    }
+
+    public int getRangesCompleted() {
+        return rangesCompleted.get();
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned.get();
+    }
+}
@@ -0,0 +1,69 @@
+package example.scan;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import example.cql.CqlStatement;
+
+import java.util.Objects;
+
+/**
+ * A token sub-range handed to a {@link ScanHandler}.
+ */
+public class ScanRange {
+
+    private final TokenRange tokenRange;
+    private final String start;
+    private final String end;
+    private final TokenRangeScanner scanner;
+
+    ScanRange(TokenRange tokenRange, String start, String end, TokenRangeScanner scanner) {
+        this.tokenRange = tokenRange;
+        this.start = start;
+        this.end = end;
+        this.scanner = scanner;
+    }
+
+    public TokenRange getTokenRange() {
+        return tokenRange;
+    }
+
+    /**
+     * Formatted start token (exclusive)
+     */
+    public String getStart() {
+        return start;
+    }
+
+    /**
+     * Formatted end token (inclusive)
+     */
+    public String getEnd() {
+        return end;
+    }
+
+    /**
+     * Read another table over the same range, e.g. to join it with the scanned rows.
+     * The statement must restrict {@code token(partition key) > ? AND token(partition key) <= ?}.
+     */
+    public Iterable<Row> read(CqlStatement statement) {
+        return scanner.execute(statement, tokenRange);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ScanRange that = (ScanRange) obj;
+        return start.equals(that.start) && end.equals(that.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + start + ", " + end + "]";
+    }
+}
@@ -0,0 +1,244 @@
+package example.scan;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import example.cql.CqlStatement;
+import example.cql.PreparedStatementRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel full-table scan engine.
+ * <p>
+ * The ring is split into token sub-ranges ({@code splits-per-range} per range owned by
+ * a node, so the number of ranges grows with the cluster). Ranges are scanned by a
+ * bounded pool of workers, each paging through its range on its own, so no single
+ * coordinator has to serve the whole table. Reads are throttled to
+ * {@code max-rows-per-second} across all workers.
+ * <p>
+ * Progress is checkpointed per job in {@code scan_checkpoints} (per range or per page,
+ * see {@link CheckpointMode}); a job that is run again after a crash skips what was
+ * already done. Checkpoints are removed once the job completes.
+ */
+@Component
+@Profile("!in-memory")
+public class TokenRangeScanner {
+    private static final Logger log = LoggerFactory.getLogger(TokenRangeScanner.class);
+
+    @Autowired
+    private CqlSession cqlSession;
+
+    @Autowired
+    private PreparedStatementRegistry statementRegistry;
+
+    // 0 = two workers per available core
+    @Value("${app.scan.parallelism:0}")
+    private int defaultParallelism;
+
+    @Value("${app.scan.splits-per-range:4}")
+    private int defaultSplitsPerRange;
+
+    @Value("${app.scan.page-size:1000}")
+    private int defaultPageSize;
+
+    @Value("${app.scan.max-rows-per-second:50000}")
+    private int defaultMaxRowsPerSecond;
+
+    @Value("${app.scan.range-attempts:3}")
+    private int rangeAttempts;
+
+    /**
+     * Run the job to completion on the calling thread (and the job's workers).
+     * @throws IllegalStateException if a range still fails after {@code range-attempts} attempts
+     */
+    public ScanProgress scan(ScanJob job) {
+        TokenMap tokenMap = cqlSession.getMetadata().getTokenMap()
+                .orElseThrow(() -> new IllegalStateException("Token metadata is not available"));
+
+        int parallelism = job.getParallelism() > 0 ? job.getParallelism() : defaultParallelism();
+        int splits = job.getSplitsPerRange() > 0 ? job.getSplitsPerRange() : defaultSplitsPerRange;
+        int pageSize = job.getPageSize() > 0 ? job.getPageSize() : defaultPageSize;
+        RateLimiter rateLimiter = new RateLimiter(
+                job.getMaxRowsPerSecond() > 0 ? job.getMaxRowsPerSecond() : defaultMaxRowsPerSecond);
+
+        PreparedStatement prepared = cqlSession.prepare(job.getCql());
+        List<ScanRange> ranges = splitRanges(tokenMap, splits);
+        Map<ScanRange, Checkpoint> checkpoints = loadCheckpoints(job);
+        int completed = (int) checkpoints.values().stream().filter(c -> c.completed).count();
+        job.getProgress().start(ranges.size(), completed);
+        log.info("Scan {}: {} token ranges ({} already done), parallelism {}, page size {}",
+                job.getName(), ranges.size(), completed, parallelism, pageSize);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "scan-" + job.getName() + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (ScanRange range : ranges) {
+                Checkpoint checkpoint = checkpoints.get(range);
+                if (checkpoint != null && checkpoint.completed) {
+                    continue;
+                }
+                futures.add(CompletableFuture.runAsync(
+                        () -> scanRangeWithRetries(job, prepared, range, checkpoint, pageSize, rateLimiter), workers));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Scan " + job.getName() + " failed, it resumes from its checkpoints",
+                    e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        cqlSession.execute(statementRegistry.bind(CqlStatement.DELETE_SCAN_CHECKPOINTS, job.getName()));
+        log.info("Scan {} completed: {} rows", job.getName(), job.getProgress().getRowsScanned());
+        return job.getProgress();
+    }
+
+    Iterable<Row> execute(CqlStatement statement, TokenRange range) {
+        return cqlSession.execute(withRange(statementRegistry.bind(statement), range));
+    }
+
+    private void scanRangeWithRetries(ScanJob job, PreparedStatement prepared, ScanRange range,
+                                      Checkpoint checkpoint, int pageSize, RateLimiter rateLimiter) {
+        Checkpoint current = checkpoint != null && job.getCheckpointMode() == CheckpointMode.PAGE
+                ? checkpoint : new Checkpoint(false, null, 0);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                scanRange(job, prepared, range, current, pageSize, rateLimiter);
+                return;
+            } catch (Exception e) {
+                if (attempt >= rangeAttempts) {
+                    throw new CompletionException(e);
+                }
+                log.warn("Scan {}: range {} failed (attempt {}/{}), retrying: {}",
+                        job.getName(), range, attempt, rangeAttempts, e.getMessage());
+                if (job.getCheckpointMode() == CheckpointMode.RANGE) {
+                    current = new Checkpoint(false, null, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scan one range; in {@link CheckpointMode#PAGE} mode the given checkpoint is advanced
+     * after every page, so a retry continues where the failed attempt stopped.
+     */
+    private void scanRange(ScanJob job, PreparedStatement prepared, ScanRange range, Checkpoint checkpoint,
+                           int pageSize, RateLimiter rateLimiter) throws Exception {
+        ScanHandler handler = job.getHandler();
+        handler.onRangeStart(range);
+
+        BoundStatement statement = withRange(prepared.bind(), range.getTokenRange())
+                .setIdempotent(true)
+                .setExecutionProfileName(job.getExecutionProfile())
+                .setPageSize(pageSize);
+        ByteBuffer pagingState = checkpoint.pagingState;
+        long rows = checkpoint.rows;
+        do {
+            ResultSet resultSet = cqlSession.execute(
+                    pagingState != null ? statement.setPagingState(pagingState) : statement);
+
+            // Only take the rows of the current page, iterating further would fetch the next one
+            int available = resultSet.getAvailableWithoutFetching();
+            List<Row> page = new ArrayList<>(available);
+            for (int i = 0; i < available; i++) {
+                page.add(resultSet.one());
+            }
+            rateLimiter.acquire(available);
+            handler.onPage(range, page);
+
+            rows += available;
+            job.getProgress().rowsScanned(available);
+            pagingState = resultSet.getExecutionInfo().getPagingState();
+            if (job.getCheckpointMode() == CheckpointMode.PAGE && pagingState != null) {
+                checkpoint.pagingState = pagingState;
+                checkpoint.rows = rows;
+                saveCheckpoint(job, range, checkpoint);
+            }
+        } while (pagingState != null);
+
+        handler.onRangeComplete(range);
+        checkpoint.completed = true;
+        checkpoint.pagingState = null;
+        checkpoint.rows = rows;
+        saveCheckpoint(job, range, checkpoint);
+        job.getProgress().rangeCompleted();
+    }
+
+    private BoundStatement withRange(BoundStatement statement, TokenRange range) {
+        return statement
+                .setToken(0, range.getStart())
+                .setToken(1, range.getEnd());
+    }
+
+    private List<ScanRange> splitRanges(TokenMap tokenMap, int splits) {
+        List<ScanRange> ranges = new ArrayList<>();
+        for (TokenRange range : tokenMap.getTokenRanges()) {
+            // Wrapping ranges cannot be expressed as "token > start AND token <= end"
+            for (TokenRange unwrapped : range.unwrap()) {
+                for (TokenRange split : unwrapped.splitEvenly(splits)) {
+                    ranges.add(new ScanRange(split,
+                            tokenMap.format(split.getStart()), tokenMap.format(split.getEnd()), this));
+                }
+            }
+        }
+        return ranges;
+    }
+
+    private Map<ScanRange, Checkpoint> loadCheckpoints(ScanJob job) {
+        Map<ScanRange, Checkpoint> checkpoints = new HashMap<>();
+        for (Row row : cqlSession.execute(statementRegistry.bind(CqlStatement.SELECT_SCAN_CHECKPOINTS, job.getName()))) {
+            checkpoints.put(
+                    new ScanRange(null, row.getString("range_start"), row.getString("range_end"), this),
+                    new Checkpoint(row.getBoolean("completed"), row.getByteBuffer("paging_state"), row.getLong("rows_scanned")));
+        }
+        return checkpoints;
+    }
+
+    private void saveCheckpoint(ScanJob job, ScanRange range, Checkpoint checkpoint) {
+        cqlSession.execute(statementRegistry.bind(CqlStatement.INSERT_SCAN_CHECKPOINT,
+                job.getName(), range.getStart(), range.getEnd(), checkpoint.rows, checkpoint.completed,
+                checkpoint.pagingState, checkpoint.completed ? Instant.now() : null));
+    }
+
+    private int defaultParallelism() {
+        return defaultParallelism > 0 ? defaultParallelism : Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    private static class Checkpoint {
+        private boolean completed;
+        private ByteBuffer pagingState;
+        private long rows;
+
+        Checkpoint(boolean completed, ByteBuffer pagingState, long rows) {
+            this.completed = completed;
+            this.pagingState = pagingState;
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package example.stats;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.cql.CqlStatement;
+import example.cql.PreparedStatementRegistry;
+import example.domain.model.PostStatus;
+import example.domain.ports.input.StatsReconciliationPort;
+import example.domain.ports.output.TimeSource;
+import example.domain.repository.UserStatsRepository;
+import example.migration.CassandraMigrationService;
+import example.migration.D004_RemoveStaleStatusRowsFromV2;
+import example.migration.DataMigrationRunner;
+import example.scan.CheckpointMode;
+import example.scan.ScanHandler;
+import example.scan.ScanJob;
+import example.scan.ScanRange;
+import example.scan.TokenRangeScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recounts {@code user_stats} from {@code posts_by_user_status_v2}.
+ * <p>
+ * Runs on the {@link TokenRangeScanner}. Only the partition and first clustering column
+ * ({@code user_id, status_code}) are selected, so no post content is transferred. A user's
+ * posts live in a single partition, hence in a single range, so each range yields
+ * complete per-user counts which are compared with the {@code user_stats} rows of the
+ * same range by a {@link UserStatsRecount}. Once the scan completed, divergent users are
+ * recounted from their partition by a {@link UserStatsRepair}, which writes the difference
+ * through the {@link WriteBehindUserStatsAggregator} if neither the posts nor the row
+ * changed while every instance flushed its buffered deltas.
+ * <p>
+ * Completed ranges are checkpointed; an interrupted run resumes where it stopped. Until the
+ * copy of the old status table ({@link D004_RemoveStaleStatusRowsFromV2}) completed, the
+ * counts would be incomplete and reconciliation refuses to start, as it does when the
+ * migration history cannot be read.
+ */
+@Service
+@Profile("!in-memory")
+public class StatsReconciliationService implements StatsReconciliationPort {
+    private static final Logger log = LoggerFactory.getLogger(StatsReconciliationService.class);
+
+    static final String JOB = "stats-reconciliation";
+
+    @Autowired
+    private CqlSession cqlSession;
+
+    @Autowired
+    private PreparedStatementRegistry statementRegistry;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private TokenRangeScanner scanner;
+
+    @Autowired
+    private WriteBehindUserStatsAggregator statsAggregator;
+
+    @Autowired
+    private CassandraMigrationService migrationService;
+
+    @Autowired
+    private DataMigrationRunner dataMigrationRunner;
+
+    @Autowired
+    private TimeSource timeSource;
+
+    @Autowired(required = false)
+    private List<UserStatsListener> listeners = List.of();
+
+    @Value("${app.stats.reconciliation.parallelism:8}")
+    private int parallelism;
+
+    @Value("${app.stats.reconciliation.splits-per-range:4}")
+    private int splitsPerRange;
+
+    @Value("${app.stats.reconciliation.max-rows-per-second:50000}")
+    private int maxRowsPerSecond;
+
+    // Added to the flush interval before a divergent user is repaired (see UserStatsRepair)
+    @Value("${app.stats.reconciliation.settle-margin:2s}")
+    private Duration settleMargin;
+
+    private volatile Run currentRun;
+
+    @Override
+    public synchronized ReconciliationStatus startReconciliation() {
+        if (currentRun != null && currentRun.state.equals("RUNNING")) {
+            return currentRun.toStatus();
+        }
+        String notCopied = checkCopiedToV2();
+        if (notCopied != null) {
+            return new ReconciliationStatus("FAILED", 0, 0, 0, 0, null, null, notCopied);
+        }
+        Run run = new Run(new ScanJob(JOB, CqlStatement.SCAN_POST_STATUSES, new RecountHandler())
+                .withParallelism(parallelism)
+                .withSplitsPerRange(splitsPerRange)
+                .withMaxRowsPerSecond(maxRowsPerSecond)
+                .withCheckpointMode(CheckpointMode.RANGE), timeSource.now());
+        currentRun = run;
+        Thread thread = new Thread(() -> execute(run), "stats-reconciliation");
+        thread.setDaemon(true);
+        thread.start();
+        return run.toStatus();
+    }
+
+    @Override
+    public ReconciliationStatus getReconciliationStatus() {
+        Run run = currentRun;
+        if (run == null) {
+            return new ReconciliationStatus("IDLE", 0, 0, 0, 0, null, null, null);
+        }
+        return run.toStatus();
+    }
+
+    /**
+     * @return Why posts_by_user_status_v2 cannot be counted yet, null when it holds every post
+     */
+    private String checkCopiedToV2() {
+        Set<String> appliedVersions;
+        try {
+            appliedVersions = migrationService.loadAppliedMigrations();
+        } catch (Exception e) {
+            log.warn("Could not read the migration history, stats reconciliation not started", e);
+            return "Could not read the migration history: " + e.getMessage();
+        }
+        if (appliedVersions.contains(D004_RemoveStaleStatusRowsFromV2.VERSION)) {
+            return null;
+        }
+        if (!dataMigrationRunner.isEnabled()) {
+            // Only an instance with data migrations enabled completes the copy
+            return "Posts are not copied to posts_by_user_status_v2 yet (data migration "
+                    + D004_RemoveStaleStatusRowsFromV2.VERSION
+                    + ") and data migrations are disabled on this instance (app.migration.enabled, app.migration.data.enabled)";
+        }
+        if (!dataMigrationRunner.isOldVersionsDrained()) {
+            return "Posts are not copied to posts_by_user_status_v2 yet, the copy waits for "
+                    + "app.migration.data.old-versions-drained on this instance";
+        }
+        return "Posts are still being copied to posts_by_user_status_v2";
+    }
+
+    private void execute(Run run) {
+        try {
+            // Write what is buffered so the scan sees as many deltas as possible
+            statsAggregator.flush();
+            scanner.scan(run.job);
+            UserStatsRepair repair = new UserStatsRepair(new CqlStore(), statsAggregator,
+                    statsAggregator.getFlushInterval().plus(settleMargin));
+            run.usersRepaired.addAndGet(repair.repair(run.divergent));
+            run.finish("COMPLETED", null, timeSource.now());
+            log.info("User stats reconciliation completed: {} rows scanned, {} users repaired",
+                    run.job.getProgress().getRowsScanned(), run.usersRepaired.get());
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("User stats reconciliation failed, the next run resumes from the last checkpoint", cause);
+            run.finish("FAILED", cause.getMessage(), timeSource.now());
+        }
+    }
+
+    /**
+     * Recounts a user from its partition
+     */
+    private class CqlStore implements UserStatsRepair.Store {
+
+        @Override
+        public int[] recount(UUID userId) {
+            int[] counts = new int[3];
+            for (Row row : cqlSession.execute(statementRegistry.bind(CqlStatement.SELECT_USER_POST_STATUSES, userId))) {
+                UserStatsRecount.count(counts, PostStatus.fromCode(row.getByte("status_code")));
+            }
+            return counts;
+        }
+
+        @Override
+        public int[] read(UUID userId) {
+            return userStatsRepository.findForUpdate(userId)
+                    .map(stats -> new int[] {stats.getTotalPosts(), stats.getPublishedPosts(), stats.getDraftPosts()})
+                    .orElse(null);
+        }
+    }
+
+    /**
+     * Counts posts per user and compares them with user_stats once the range is complete
+     */
+    private class RecountHandler implements ScanHandler {
+
+        private final Map<ScanRange, UserStatsRecount> recountsByRange = new ConcurrentHashMap<>();
+
+        @Override
+        public void onRangeStart(ScanRange range) {
+            recountsByRange.put(range, new UserStatsRecount(statsAggregator, listeners, timeSource));
+        }
+
+        @Override
+        public void onPage(ScanRange range, List<Row> rows) {
+            UserStatsRecount recount = recountsByRange.get(range);
+            for (Row row : rows) {
+                recount.countPost(row.getUuid("user_id"), PostStatus.fromCode(row.getByte("status_code")));
+            }
+        }
+
+        @Override
+        public void onRangeComplete(ScanRange range) {
+            UserStatsRecount recount = recountsByRange.remove(range);
+            for (Row row : range.read(CqlStatement.SCAN_USER_STATS)) {
+                recount.compare(row.getUuid("user_id"),
+                        row.getInt("total_posts"), row.getInt("published_posts"), row.getInt("draft_posts"));
+            }
+            recount.complete();
+            currentRun.divergent.addAll(recount.getDivergent());
+        }
+    }
+
+    private static class Run {
+        private final ScanJob job;
+        private final OffsetDateTime startedAt;
+        private final AtomicLong usersRepaired = new AtomicLong();
+        private final Queue<UserStatsRepair.Divergence> divergent = new ConcurrentLinkedQueue<>();
+        private volatile String state = "RUNNING";
+        private volatile OffsetDateTime finishedAt;
+        private volatile String errorMessage;
+
+        Run(ScanJob job, OffsetDateTime startedAt) {
+            this.job = job;
+            this.startedAt = startedAt;
+        }
+
+        void finish(String state, String errorMessage, OffsetDateTime finishedAt) {
+            this.errorMessage = errorMessage;
+            this.finishedAt = finishedAt;
+            this.state = state;
+        }
+
+        ReconciliationStatus toStatus() {
+            return new ReconciliationStatus(state, job.getProgress().getRangesTotal(),
+                    job.getProgress().getRangesCompleted(), job.getProgress().getRowsScanned(),
+                    usersRepaired.get(), startedAt, finishedAt, errorMessage);
+        }
+    }
+}
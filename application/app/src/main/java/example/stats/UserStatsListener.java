@@ -0,0 +1,12 @@
+package example.stats;
+
+import example.domain.model.UserStats;
+
+/**
+ * Notified with the absolute stats of a user whenever they were written
+ * (write-behind flush) or verified (reconciliation).
+ */
+public interface UserStatsListener {
+
+    void statsWritten(UserStats stats);
+}
\ No newline at end of file
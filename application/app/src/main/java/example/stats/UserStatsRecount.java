@@ -0,0 +1,106 @@
+package example.stats;
+
+import example.domain.model.PostStatus;
+import example.domain.model.UserStats;
+import example.domain.ports.output.TimeSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Recount of {@code user_stats} from the posts of a batch of users (a token range, or the
+ * whole in-memory table), shared by the reconciliation services.
+ * <p>
+ * The posts of the batch are counted first, then every stored row of the same batch is
+ * compared with its counts. Users with deltas still buffered by the
+ * {@link WriteBehindUserStatsAggregator} are left to the next run, the others that
+ * diverge are collected for the {@link UserStatsRepair}. Listeners (e.g. the leaderboard)
+ * see the counts of every user found consistent; repaired users reach them once the
+ * aggregator wrote the repair.
+ * <p>
+ * Not thread-safe: use one instance per batch.
+ */
+public class UserStatsRecount {
+
+    private final WriteBehindUserStatsAggregator statsAggregator;
+    private final List<UserStatsListener> listeners;
+    private final TimeSource timeSource;
+
+    private final Map<UUID, int[]> counts = new HashMap<>();
+    private final List<UserStatsRepair.Divergence> divergent = new ArrayList<>();
+
+    public UserStatsRecount(WriteBehindUserStatsAggregator statsAggregator, List<UserStatsListener> listeners,
+                            TimeSource timeSource) {
+        this.statsAggregator = statsAggregator;
+        this.listeners = listeners;
+        this.timeSource = timeSource;
+    }
+
+    public void countPost(UUID userId, PostStatus status) {
+        count(counts.computeIfAbsent(userId, id -> new int[3]), status);
+    }
+
+    /**
+     * Compare a stored user_stats row with the counted posts of the user
+     */
+    public void compare(UUID userId, int totalPosts, int publishedPosts, int draftPosts) {
+        int[] expected = counts.remove(userId);
+        if (expected == null) {
+            expected = new int[3];
+        }
+        int[] stored = {totalPosts, publishedPosts, draftPosts};
+        if (Arrays.equals(expected, stored)) {
+            verified(userId, expected);
+        } else {
+            diverged(userId, stored, expected);
+        }
+    }
+
+    /**
+     * Collect the counted users without a user_stats row, once all rows of the batch were compared
+     */
+    public void complete() {
+        counts.forEach((userId, expected) -> diverged(userId, null, expected));
+        counts.clear();
+    }
+
+    /**
+     * Users whose row did not hold their counts, to repair once settled
+     */
+    public List<UserStatsRepair.Divergence> getDivergent() {
+        return divergent;
+    }
+
+    /**
+     * Add a post to the total, published and draft counts
+     */
+    public static void count(int[] counts, PostStatus status) {
+        counts[0]++;
+        switch (status) {
+            case PUBLISHED -> counts[1]++;
+            case DRAFT -> counts[2]++;
+            case ARCHIVED -> { }
+        }
+    }
+
+    private void diverged(UUID userId, int[] stored, int[] expected) {
+        if (statsAggregator.hasPending(userId)) {
+            return;
+        }
+        divergent.add(new UserStatsRepair.Divergence(userId, stored, expected, System.nanoTime()));
+    }
+
+    private void verified(UUID userId, int[] counts) {
+        UserStats stats = new UserStats(userId, timeSource.now());
+        stats.setTotalPosts(counts[0]);
+        stats.setPublishedPosts(counts[1]);
+        stats.setDraftPosts(counts[2]);
+        for (UserStatsListener listener : listeners) {
+            listener.statsWritten(stats);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package example.stats;
+
+import example.domain.model.UserStatsDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Repairs the users a {@link UserStatsRecount} found divergent.
+ * <p>
+ * A post written just before it was counted may still have its delta buffered by the
+ * instance that wrote it, where {@link WriteBehindUserStatsAggregator#hasPending} of this
+ * instance cannot see it. A divergent user is therefore only repaired once the settle time
+ * (longer than the flush interval) passed since it was compared, and only if neither its
+ * posts nor its row changed meanwhile. The difference is recorded as a delta through the
+ * aggregator, the only writer of {@code user_stats} rows: it adds up with the deltas
+ * recorded after the recount instead of overwriting them.
+ */
+public class UserStatsRepair {
+    private static final Logger log = LoggerFactory.getLogger(UserStatsRepair.class);
+
+    /**
+     * Where divergent users are recounted
+     */
+    public interface Store {
+
+        /**
+         * Count the current posts of a user
+         * @return Total, published and draft posts
+         */
+        int[] recount(UUID userId);
+
+        /**
+         * Read the stored counts of a user
+         * @return Total, published and draft posts, null if there is no row
+         */
+        int[] read(UUID userId);
+    }
+
+    /**
+     * A user whose row did not hold its counted posts
+     *
+     * @param stored Counts of the row, null if there was no row
+     * @param counted Counts of the posts
+     * @param comparedAtNanos {@link System#nanoTime()} of the comparison
+     */
+    public record Divergence(UUID userId, int[] stored, int[] counted, long comparedAtNanos) {
+    }
+
+    private final Store store;
+    private final WriteBehindUserStatsAggregator statsAggregator;
+    private final long settleNanos;
+    private final LongSupplier nanoTime;
+
+    public UserStatsRepair(Store store, WriteBehindUserStatsAggregator statsAggregator, Duration settleTime) {
+        this(store, statsAggregator, settleTime, System::nanoTime);
+    }
+
+    UserStatsRepair(Store store, WriteBehindUserStatsAggregator statsAggregator, Duration settleTime,
+                    LongSupplier nanoTime) {
+        this.store = store;
+        this.statsAggregator = statsAggregator;
+        this.settleNanos = settleTime.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Repair the users that are still divergent once settled, waiting for them in the order they were compared
+     * @return Users repaired
+     */
+    public long repair(Collection<Divergence> divergent) throws InterruptedException {
+        List<Divergence> inOrder = new ArrayList<>(divergent);
+        inOrder.sort(Comparator.comparingLong(Divergence::comparedAtNanos));
+        long repaired = 0;
+        for (Divergence divergence : inOrder) {
+            long wait = divergence.comparedAtNanos() + settleNanos - nanoTime.getAsLong();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            if (repair(divergence)) {
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    private boolean repair(Divergence divergence) {
+        UUID userId = divergence.userId();
+        if (statsAggregator.hasPending(userId)) {
+            return false;
+        }
+        int[] stored = store.read(userId);
+        int[] recounted = store.recount(userId);
+        if (!Arrays.equals(stored, divergence.stored()) || !Arrays.equals(recounted, divergence.counted())) {
+            log.debug("Posts or stats of user {} changed since they were compared, left to the next run", userId);
+            return false;
+        }
+        int[] base = stored != null ? stored : new int[3];
+        statsAggregator.record(userId, new UserStatsDelta(
+                recounted[0] - base[0], recounted[1] - base[1], recounted[2] - base[2], null));
+        log.debug("Repaired stats of user {}", userId);
+        return true;
+    }
+}
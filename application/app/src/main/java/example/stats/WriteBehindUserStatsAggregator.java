@@ -0,0 +1,307 @@
+package example.stats;
+
+import example.domain.model.UserStats;
+import example.domain.model.UserStatsDelta;
+import example.domain.ports.output.TimeSource;
+import example.domain.ports.output.UserStatsUpdatePort;
+import example.domain.repository.UserStatsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind implementation of {@link UserStatsUpdatePort}.
+ * <p>
+ * Deltas are merged per user in a {@link ConcurrentHashMap} (which locks per bin, so
+ * concurrent writers of different users do not contend) and written by a single flusher
+ * thread, either every {@code flush-interval} or as soon as {@code max-pending-users}
+ * users have pending deltas. Because there is only one writer per process, the
+ * read-modify-write of a {@code user_stats} row no longer needs a lock.
+ * <p>
+ * Readers add the deltas that are not in the row they read ({@link #applyPending}). Every
+ * flush stamps its rows with an {@code updated_at} later than the previous flush, so a
+ * delta being written, or written by the last flush, is in a row if the row was updated
+ * at or after that stamp. The deltas of the last flush are kept until the next one for
+ * rows read before they were written.
+ * <p>
+ * Durability: pending deltas are flushed when the application context stops. Deltas that
+ * fail to be written are merged back and retried on the next flush. A crash loses at most
+ * the deltas of the current flush interval; those are repaired by recounting the posts.
+ */
+@Component
+public class WriteBehindUserStatsAggregator implements UserStatsUpdatePort, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindUserStatsAggregator.class);
+
+    public static final String METER_PREFIX = "app.stats.write-behind";
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TimeSource timeSource;
+
+    @Autowired(required = false)
+    private List<UserStatsListener> listeners = List.of();
+
+    @Value("${app.stats.write-behind.flush-interval:1s}")
+    private Duration flushInterval;
+
+    @Value("${app.stats.write-behind.max-pending-users:1000}")
+    private int maxPendingUsers;
+
+    private final Map<UUID, UserStatsDelta> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, Written> inFlight = new ConcurrentHashMap<>();
+    private final Map<UUID, Written> written = new ConcurrentHashMap<>();
+    // Guards moving a delta between pending, inFlight and written, so readers never see it in two or none
+    private final Object handoff = new Object();
+    // updated_at of the last flush, only used by flush()
+    private OffsetDateTime lastStamp;
+
+    // Time the oldest pending delta was recorded, 0 when nothing is pending
+    private final AtomicLong oldestPendingNanos = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    private Timer flushTimer;
+    private Counter flushedUsers;
+    private Counter failedUsers;
+
+    @Override
+    public void record(UUID userId, UserStatsDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        pending.merge(userId, delta, UserStatsDelta::merge);
+        oldestPendingNanos.compareAndSet(0, System.nanoTime());
+
+        if (!running) {
+            // Before start / after stop there is no flusher, write through
+            flush();
+        } else if (pending.size() >= maxPendingUsers && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * A delta the flusher writes, and the {@code updated_at} of the row it is written to
+     */
+    private record Written(UserStatsDelta delta, OffsetDateTime stamp) {
+
+        boolean isIn(UserStats stats) {
+            return stats.getUpdatedAt() != null && !stats.getUpdatedAt().isBefore(stamp);
+        }
+    }
+
+    @Override
+    public void applyPending(UserStats stats) {
+        UserStatsDelta delta = UserStatsDelta.EMPTY;
+        synchronized (handoff) {
+            Written last = written.get(stats.getUserId());
+            if (last != null && !last.isIn(stats)) {
+                delta = delta.merge(last.delta());
+            }
+            Written flushing = inFlight.get(stats.getUserId());
+            if (flushing != null && !flushing.isIn(stats)) {
+                delta = delta.merge(flushing.delta());
+            }
+            UserStatsDelta buffered = pending.get(stats.getUserId());
+            if (buffered != null) {
+                delta = delta.merge(buffered);
+            }
+        }
+        if (!delta.isEmpty()) {
+            stats.applyDelta(delta, timeSource.now());
+        }
+    }
+
+    /**
+     * Whether the user has deltas that are not written yet
+     */
+    public boolean hasPending(UUID userId) {
+        synchronized (handoff) {
+            return pending.containsKey(userId) || inFlight.containsKey(userId);
+        }
+    }
+
+    /**
+     * Longest time a recorded delta waits for its write, when the writes succeed
+     */
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    @Override
+    public synchronized void flush() {
+        flushRequested.set(false);
+        synchronized (handoff) {
+            written.clear();
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        oldestPendingNanos.set(0);
+
+        List<UUID> userIds = new ArrayList<>(pending.keySet());
+        // Every row written by this flush carries the same updated_at
+        OffsetDateTime now = nextStamp();
+        int failures = 0;
+        for (UUID userId : userIds) {
+            UserStatsDelta delta;
+            synchronized (handoff) {
+                delta = pending.remove(userId);
+                if (delta == null) {
+                    continue;
+                }
+                inFlight.put(userId, new Written(delta, now));
+            }
+            try {
+                UserStats stats = userStatsRepository.findForUpdate(userId)
+                        .orElseGet(() -> new UserStats(userId, now));
+                stats.applyDelta(delta, now);
+                userStatsRepository.save(stats);
+                notifyListeners(stats);
+            } catch (Exception e) {
+                failures++;
+                log.warn("Failed to write stats of user {}, will retry: {}", userId, e.getMessage());
+                synchronized (handoff) {
+                    inFlight.remove(userId);
+                    pending.merge(userId, delta, UserStatsDelta::merge);
+                }
+                oldestPendingNanos.compareAndSet(0, start);
+                continue;
+            }
+            synchronized (handoff) {
+                written.put(userId, inFlight.remove(userId));
+            }
+        }
+
+        if (flushTimer != null) {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushedUsers.increment(userIds.size() - failures);
+            failedUsers.increment(failures);
+        }
+        log.debug("Flushed stats of {} users ({} failed)", userIds.size() - failures, failures);
+    }
+
+    /**
+     * The current time at the millisecond precision of {@code updated_at}, after the last stamp
+     */
+    private OffsetDateTime nextStamp() {
+        OffsetDateTime now = timeSource.now().truncatedTo(ChronoUnit.MILLIS);
+        if (lastStamp != null && !now.isAfter(lastStamp)) {
+            now = lastStamp.plus(1, ChronoUnit.MILLIS);
+        }
+        lastStamp = now;
+        return now;
+    }
+
+    private void notifyListeners(UserStats stats) {
+        for (UserStatsListener listener : listeners) {
+            try {
+                listener.statsWritten(stats);
+            } catch (Exception e) {
+                log.warn("Stats listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("User stats flush failed", e);
+        }
+    }
+
+    /**
+     * Age of the oldest delta not yet written, in seconds
+     */
+    double lagSeconds() {
+        long oldest = oldestPendingNanos.get();
+        return oldest == 0 ? 0 : (System.nanoTime() - oldest) / 1e9;
+    }
+
+    @Override
+    public void start() {
+        Gauge.builder(METER_PREFIX + ".pending.users", pending, Map::size)
+                .description("Users with stats deltas not yet written")
+                .register(meterRegistry);
+        Gauge.builder(METER_PREFIX + ".lag", this, WriteBehindUserStatsAggregator::lagSeconds)
+                .description("Age of the oldest stats delta not yet written")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        flushTimer = Timer.builder(METER_PREFIX + ".flush")
+                .description("Duration of a stats flush")
+                .register(meterRegistry);
+        flushedUsers = Counter.builder(METER_PREFIX + ".flushed.users").register(meterRegistry);
+        failedUsers = Counter.builder(METER_PREFIX + ".failed.users").register(meterRegistry);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-stats-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("User stats write-behind started (flush interval {}, max pending users {})",
+                flushInterval, maxPendingUsers);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(flushInterval.toMillis() + 5000, TimeUnit.MILLISECONDS)) {
+                log.warn("User stats flusher did not terminate in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Final flush on the stopping thread, the repositories are still available here
+        flush();
+        if (!pending.isEmpty()) {
+            log.error("Stats deltas of {} users could not be written on shutdown", pending.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Lower than the web server lifecycles: started before requests arrive and stopped
+        // only once the server stopped accepting them (the Cassandra session closes later still)
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
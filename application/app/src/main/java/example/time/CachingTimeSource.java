@@ -0,0 +1,60 @@
+package example.time;
+
+import example.domain.ports.output.TimeSource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * {@link TimeSource} that hands out one shared {@link OffsetDateTime} per tick.
+ * <p>
+ * The current time is truncated to the tick and the instance built for it is reused
+ * until the clock moves into the next tick, so concurrent writes within the same tick
+ * allocate no timestamp at all. Cassandra stores timestamps with millisecond precision,
+ * hence the default one millisecond tick loses nothing. A zero tick disables caching.
+ */
+public class CachingTimeSource implements TimeSource {
+
+    private final Clock clock;
+    private final long tickMillis;
+
+    private volatile Tick current;
+
+    public CachingTimeSource(Clock clock, Duration tick) {
+        if (tick.isNegative()) {
+            throw new IllegalArgumentException("Tick must not be negative: " + tick);
+        }
+        this.clock = clock;
+        this.tickMillis = tick.toMillis();
+    }
+
+    @Override
+    public OffsetDateTime now() {
+        if (tickMillis <= 0) {
+            return OffsetDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
+        }
+        long millis = clock.millis();
+        Tick tick = current;
+        if (tick != null && millis >= tick.startMillis && millis - tick.startMillis < tickMillis) {
+            return tick.value;
+        }
+        long startMillis = millis - Math.floorMod(millis, tickMillis);
+        tick = new Tick(startMillis, OffsetDateTime.ofInstant(Instant.ofEpochMilli(startMillis), ZoneOffset.UTC));
+        // Racing threads may each publish a tick, they all describe the same instant
+        current = tick;
+        return tick.value;
+    }
+
+    private static final class Tick {
+        private final long startMillis;
+        private final OffsetDateTime value;
+
+        private Tick(long startMillis, OffsetDateTime value) {
+            this.startMillis = startMillis;
+            this.value = value;
+        }
+    }
+}
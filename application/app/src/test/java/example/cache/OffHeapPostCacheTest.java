@@ -0,0 +1,186 @@
+package example.cache;
+
+import example.domain.model.PostById;
+import example.domain.model.PostStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapPostCacheTest {
+
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2024, 5, 1, 10, 0, 0, 123_000_000, ZoneOffset.UTC);
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void get_ReturnsDecodedCopy() {
+        // Given
+        OffHeapPostCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        PostById post = post("Zażółć gęślą jaźń", CREATED_AT);
+        post.setTags(Set.of("java", "cassandra"));
+        cache.put(post);
+
+        // When
+        Optional<PostById> cached = cache.get(post.getPostId());
+
+        // Then
+        assertThat(cached).isPresent();
+        assertThat(cached.get()).isNotSameAs(post);
+        assertThat(cached.get().getPostId()).isEqualTo(post.getPostId());
+        assertThat(cached.get().getUserId()).isEqualTo(post.getUserId());
+        assertThat(cached.get().getTitle()).isEqualTo(post.getTitle());
+        assertThat(cached.get().getContent()).isEqualTo(post.getContent());
+        assertThat(cached.get().getStatus()).isEqualTo(PostStatus.DRAFT);
+        assertThat(cached.get().getTags()).containsExactlyInAnyOrder("java", "cassandra");
+        assertThat(cached.get().getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(cached.get().getUpdatedAt()).isEqualTo(CREATED_AT);
+    }
+
+    @Test
+    void get_KeepsNullFields() {
+        // Given
+        OffHeapPostCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        PostById post = new PostById();
+        post.setPostId(UUID.randomUUID());
+        cache.put(post);
+
+        // When
+        PostById cached = cache.get(post.getPostId()).orElseThrow();
+
+        // Then
+        assertThat(cached.getTitle()).isNull();
+        assertThat(cached.getTags()).isNull();
+        assertThat(cached.getUpdatedAt()).isNull();
+    }
+
+    @Test
+    void put_EvictsOldestEntriesWhenSlabIsFull() {
+        // Given
+        OffHeapPostCache cache = cache(DataSize.ofKilobytes(8), DataSize.ofKilobytes(8));
+        PostById first = post("x".repeat(1000), CREATED_AT);
+        cache.put(first);
+
+        // When
+        PostById last = null;
+        for (int i = 0; i < 20; i++) {
+            last = post("y".repeat(1000), CREATED_AT);
+            cache.put(last);
+        }
+
+        // Then
+        assertThat(cache.get(first.getPostId())).isEmpty();
+        assertThat(cache.get(last.getPostId())).isPresent();
+        assertThat(cache.usedBytes()).isLessThanOrEqualTo(cache.getCapacityBytes());
+        assertThat(cache.evictions()).isPositive();
+    }
+
+    @Test
+    void putIfAbsent_KeepsVersionCachedByWrite() {
+        // Given
+        OffHeapPostCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        PostById updated = post("Updated", CREATED_AT.plusSeconds(5));
+        PostById stale = copyOf(updated, "Stale", CREATED_AT);
+        cache.put(updated);
+
+        // When
+        cache.putIfAbsent(stale);
+        cache.put(stale);
+
+        // Then
+        assertThat(cache.get(updated.getPostId())).map(PostById::getTitle).contains("Updated");
+    }
+
+    @Test
+    void put_TooLargeEntryDropsCachedVersion() {
+        // Given
+        OffHeapPostCache cache = new OffHeapPostCache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1), DataSize.ofKilobytes(1),
+                TTL, nanoTime::get);
+        PostById post = post("Small", CREATED_AT);
+        cache.put(post);
+
+        // When
+        cache.put(copyOf(post, "z".repeat(2000), CREATED_AT.plusSeconds(1)));
+        cache.putIfAbsent(post);
+
+        // Then
+        assertThat(cache.get(post.getPostId())).isEmpty();
+    }
+
+    @Test
+    void evict_RemovesEntry() {
+        // Given
+        OffHeapPostCache cache = cache(DataSize.ofMegabytes(4), DataSize.ofMegabytes(1));
+        PostById post = post("Title", CREATED_AT);
+        cache.put(post);
+
+        // When
+        cache.evict(post.getPostId());
+
+        // Then
+        assertThat(cache.get(post.getPostId())).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getSlabCount()).isEqualTo(4);
+    }
+
+    @Test
+    void evict_ReadRacingWithDelete_NotCachedAgain() {
+        // Given
+        OffHeapPostCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        PostById post = post("Title", CREATED_AT);
+        cache.put(post);
+        cache.evict(post.getPostId());
+
+        // When: a read that started before the delete caches what it found
+        cache.putIfAbsent(post);
+        cache.put(copyOf(post, "Updated", CREATED_AT.plusSeconds(1)));
+
+        // Then
+        assertThat(cache.get(post.getPostId())).isEmpty();
+        nanoTime.addAndGet(TTL.toNanos());
+        cache.putIfAbsent(post);
+        assertThat(cache.get(post.getPostId())).isPresent();
+    }
+
+    @Test
+    void get_ExpiredEntry_Missed() {
+        // Given
+        OffHeapPostCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        PostById post = post("Title", CREATED_AT);
+        cache.put(post);
+        nanoTime.addAndGet(TTL.toNanos());
+
+        // When
+        Optional<PostById> cached = cache.get(post.getPostId());
+        cache.putIfAbsent(copyOf(post, "Reread", CREATED_AT));
+
+        // Then
+        assertThat(cached).isEmpty();
+        assertThat(cache.get(post.getPostId())).map(PostById::getTitle).contains("Reread");
+    }
+
+    private OffHeapPostCache cache(DataSize capacity, DataSize slabSize) {
+        return new OffHeapPostCache(capacity, slabSize, slabSize, TTL, nanoTime::get);
+    }
+
+    private static PostById post(String title, OffsetDateTime updatedAt) {
+        PostById post = new PostById(UUID.randomUUID(), UUID.randomUUID(), title, "Content of " + title, CREATED_AT);
+        post.setUpdatedAt(updatedAt);
+        return post;
+    }
+
+    private static PostById copyOf(PostById post, String title, OffsetDateTime updatedAt) {
+        PostById copy = new PostById(post.getPostId(), post.getUserId(), title, post.getContent(), post.getCreatedAt());
+        copy.setUpdatedAt(updatedAt);
+        return copy;
+    }
+}
@@ -0,0 +1,235 @@
+package example.cache;
+
+import example.domain.model.PostByUser;
+import example.domain.model.PostByUserKey;
+import example.domain.model.PostStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimelineCacheTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private UUID userId;
+    private List<PostByUser> table;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        table = new ArrayList<>();
+    }
+
+    @Test
+    void firstPage_SecondReadServedFromCache() {
+        // Given
+        TimelineCache cache = cache(Long.MAX_VALUE);
+        addPosts(30);
+
+        // When
+        List<PostByUser> first = cache.firstPage(userId, 10, loader());
+        List<PostByUser> second = cache.firstPage(userId, 20, loader());
+
+        // Then
+        assertThat(first).hasSize(10);
+        assertThat(second).hasSize(20);
+        assertThat(second.get(0).getPostId()).isEqualTo(table.get(0).getPostId());
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void firstPage_DeeperPageBypassesCache() {
+        // Given
+        TimelineCache cache = cache(Long.MAX_VALUE);
+        addPosts(30);
+        cache.firstPage(userId, 20, loader());
+
+        // When
+        List<PostByUser> posts = cache.firstPage(userId, 25, loader());
+
+        // Then
+        assertThat(posts).hasSize(25);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void created_AddsPostToCachedPage() {
+        // Given
+        TimelineCache cache = cache(Long.MAX_VALUE);
+        addPosts(3);
+        cache.firstPage(userId, 20, loader());
+
+        // When
+        PostByUser post = newPost(START.plusHours(1), "Newest");
+        cache.created(post);
+        List<PostByUser> posts = cache.firstPage(userId, 20, loader());
+
+        // Then
+        assertThat(posts).hasSize(4);
+        assertThat(posts.get(0).getTitle()).isEqualTo("Newest");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void created_SameTimestamp_OrderedByPostIdLikeCassandra() {
+        // Given: Cassandra orders post ids unsigned, UUID.compareTo would put 8... and f... first
+        TimelineCache cache = cache(Long.MAX_VALUE);
+        table.add(postWithId(START, "00000000-0000-7000-8000-000000000000", "First"));
+        table.add(postWithId(START, "ffffffff-0000-7000-8000-000000000000", "Last"));
+        cache.firstPage(userId, 20, loader());
+
+        // When
+        cache.created(postWithId(START, "80000000-0000-7000-8000-000000000000", "Middle"));
+        List<PostByUser> posts = cache.firstPage(userId, 20, loader());
+
+        // Then
+        assertThat(posts).extracting(PostByUser::getTitle).containsExactly("First", "Middle", "Last");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void compareUuids_LeastSignificantBitsComparedAsSignedBytes() {
+        // Given
+        UUID low = UUID.fromString("00000000-0000-7000-8000-000000000000");
+        UUID high = UUID.fromString("00000000-0000-7000-8000-000000000080");
+
+        // When
+        int order = TimelineCache.compareUuids(low, high);
+
+        // Then: 0x80 is the byte -128
+        assertThat(order).isPositive();
+        assertThat(low.compareTo(high)).isNegative();
+    }
+
+    @Test
+    void updatedAndDeleted_ChangeCachedPageInPlace() {
+        // Given
+        TimelineCache cache = cache(Long.MAX_VALUE);
+        addPosts(3);
+        cache.firstPage(userId, 20, loader());
+
+        // When
+        PostByUser updated = table.get(1);
+        updated.setStatus(PostStatus.PUBLISHED);
+        cache.updated(updated);
+        cache.deleted(userId, table.get(0).getPostId());
+        List<PostByUser> posts = cache.firstPage(userId, 20, loader());
+
+        // Then
+        assertThat(posts).hasSize(2);
+        assertThat(posts.get(0).getPostId()).isEqualTo(updated.getPostId());
+        assertThat(posts.get(0).getStatus()).isEqualTo(PostStatus.PUBLISHED);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void deleted_IncompletePageReloadsWhenTooShort() {
+        // Given
+        TimelineCache cache = cache(Long.MAX_VALUE);
+        addPosts(30);
+        cache.firstPage(userId, 20, loader());
+
+        // When
+        cache.deleted(userId, table.remove(0).getPostId());
+        List<PostByUser> shorter = cache.firstPage(userId, 19, loader());
+        List<PostByUser> full = cache.firstPage(userId, 20, loader());
+
+        // Then
+        assertThat(shorter).hasSize(19);
+        assertThat(full).hasSize(20);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void firstPage_FillRacingWithWriteIsDropped() {
+        // Given
+        TimelineCache cache = cache(Long.MAX_VALUE);
+        addPosts(3);
+
+        // When
+        cache.firstPage(userId, 20, rows -> {
+            List<PostByUser> stale = loader().apply(rows);
+            // A post is created after the rows were read
+            cache.created(newPost(START.plusHours(1), "Newest"));
+            return stale;
+        });
+        cache.firstPage(userId, 20, loader());
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void firstPage_ExpiresAfterTtl() {
+        // Given
+        TimelineCache cache = cache(Long.MAX_VALUE);
+        addPosts(3);
+        cache.firstPage(userId, 20, loader());
+
+        // When
+        nanoTime.addAndGet(Duration.ofMinutes(6).toNanos());
+        cache.firstPage(userId, 20, loader());
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void firstPage_StaysUnderMemoryCap() {
+        // Given
+        TimelineCache cache = cache(20_000);
+        addPosts(20);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            cache.firstPage(UUID.randomUUID(), 20, loader());
+        }
+
+        // Then
+        assertThat(cache.estimatedBytes()).isLessThanOrEqualTo(20_000);
+        assertThat(cache.size()).isBetween(1, 49);
+    }
+
+    private TimelineCache cache(long maxBytes) {
+        return new TimelineCache(20, Duration.ofMinutes(5), maxBytes, nanoTime::get);
+    }
+
+    private IntFunction<List<PostByUser>> loader() {
+        return rows -> {
+            loads.incrementAndGet();
+            return new ArrayList<>(table.subList(0, Math.min(rows, table.size())));
+        };
+    }
+
+    /**
+     * Adds posts to the table newest first, like the clustering order of posts_by_user
+     */
+    private void addPosts(int count) {
+        for (int i = 0; i < count; i++) {
+            table.add(newPost(START.minusMinutes(i), "Post " + i));
+        }
+    }
+
+    private PostByUser newPost(OffsetDateTime createdAt, String title) {
+        return new PostByUser(userId, title, "Content of " + title, createdAt);
+    }
+
+    private PostByUser postWithId(OffsetDateTime createdAt, String postId, String title) {
+        PostByUser post = newPost(createdAt, title);
+        post.setKey(new PostByUserKey(userId, createdAt, UUID.fromString(postId)));
+        return post;
+    }
+}
@@ -0,0 +1,126 @@
+package example.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserExistenceCacheTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void exists_CachesKnownUser() {
+        // Given
+        UserExistenceCache cache = cache(0);
+
+        // When
+        boolean first = cache.exists(userId, loader(true));
+        boolean second = cache.exists(userId, loader(true));
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void exists_NegativeEntryExpiresAfterTtl() {
+        // Given
+        UserExistenceCache cache = cache(0);
+        cache.exists(userId, loader(false));
+
+        // When
+        boolean cached = cache.exists(userId, loader(true));
+        nanoTime.addAndGet(Duration.ofSeconds(6).toNanos());
+        boolean reloaded = cache.exists(userId, loader(true));
+
+        // Then
+        assertThat(cached).isFalse();
+        assertThat(reloaded).isTrue();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void created_ReplacesNegativeEntry() {
+        // Given
+        UserExistenceCache cache = cache(0);
+        cache.exists(userId, loader(false));
+
+        // When
+        cache.created(userId);
+
+        // Then
+        assertThat(cache.exists(userId, loader(false))).isTrue();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void exists_BloomFilterRemembersUsersEvictedFromMap() {
+        // Given
+        UserExistenceCache cache = cache(10_000);
+        cache.created(userId);
+        for (int i = 0; i < 20; i++) {
+            cache.created(UUID.randomUUID());
+        }
+
+        // When
+        boolean exists = cache.exists(userId, loader(false));
+
+        // Then
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(exists).isTrue();
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void bloomFilter_HasNoFalseNegatives() {
+        // Given
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        UUID[] ids = new UUID[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID();
+            bloomFilter.put(ids[i]);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloomFilter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        for (UUID id : ids) {
+            assertThat(bloomFilter.mightContain(id)).isTrue();
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    private UserExistenceCache cache(long bloomExpectedUsers) {
+        return new UserExistenceCache(Duration.ofMinutes(10), Duration.ofSeconds(5), 10,
+                bloomExpectedUsers, 0.001, nanoTime::get);
+    }
+
+    private Predicate<UUID> loader(boolean exists) {
+        return id -> {
+            loads.incrementAndGet();
+            return exists;
+        };
+    }
+}
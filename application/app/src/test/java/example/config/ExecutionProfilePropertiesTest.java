@@ -0,0 +1,65 @@
+package example.config;
+
+import example.domain.repository.ExecutionProfile;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionProfilePropertiesTest {
+
+    @Test
+    void getEffectiveProfiles_ConfiguredValueKeepsOtherDefaults() {
+        // Given
+        ExecutionProfileProperties properties = bind(Map.of("app.cassandra.profiles.point-read.timeout", "250ms"));
+
+        // When
+        ExecutionProfileProperties.Profile pointRead = properties.getEffectiveProfiles().get(ExecutionProfile.POINT_READ);
+
+        // Then
+        assertThat(pointRead.getTimeout()).isEqualTo(Duration.ofMillis(250));
+        assertThat(pointRead.getConsistency()).isEqualTo("LOCAL_ONE");
+        assertThat(pointRead.getPageSize()).isEqualTo(100);
+    }
+
+    @Test
+    void getEffectiveProfiles_DefaultsAndCustomProfiles() {
+        // Given
+        ExecutionProfileProperties properties = bind(Map.of("app.cassandra.profiles.analytics.consistency", "ALL"));
+
+        // When
+        Map<String, ExecutionProfileProperties.Profile> profiles = properties.getEffectiveProfiles();
+
+        // Then
+        assertThat(profiles).containsKeys(ExecutionProfile.POINT_READ, ExecutionProfile.LIST_READ,
+                ExecutionProfile.WRITE, ExecutionProfile.MIGRATION, ExecutionProfile.SCAN, "analytics");
+        assertThat(profiles.get("analytics").getConsistency()).isEqualTo("ALL");
+        assertThat(profiles.get("analytics").getTimeout()).isNull();
+        assertThat(profiles.get(ExecutionProfile.WRITE).getConsistency()).isEqualTo("LOCAL_QUORUM");
+    }
+
+    @Test
+    void getEffectiveProfiles_ScansNeverSpeculate() {
+        // Given
+        ExecutionProfileProperties properties = bind(Map.of("app.cassandra.profiles.scan.timeout", "30s"));
+
+        // When
+        Map<String, ExecutionProfileProperties.Profile> profiles = properties.getEffectiveProfiles();
+
+        // Then
+        assertThat(profiles.get(ExecutionProfile.SCAN).getSpeculativeExecution()).isFalse();
+        assertThat(profiles.get(ExecutionProfile.MIGRATION).getSpeculativeExecution()).isFalse();
+        assertThat(profiles.get(ExecutionProfile.LIST_READ).getSpeculativeExecution()).isFalse();
+        assertThat(profiles.get(ExecutionProfile.POINT_READ).getSpeculativeExecution()).isNull();
+    }
+
+    private static ExecutionProfileProperties bind(Map<String, String> values) {
+        return new Binder(new MapConfigurationPropertySource(values))
+                .bindOrCreate("app.cassandra", Bindable.of(ExecutionProfileProperties.class));
+    }
+}
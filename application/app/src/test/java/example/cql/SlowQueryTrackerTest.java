@@ -0,0 +1,117 @@
+package example.cql;
+
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.internal.core.metadata.DefaultEndPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlowQueryTrackerTest {
+
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(500), 2);
+    private final SlowQueryTracker tracker = new SlowQueryTracker(slowQueryLog);
+
+    private DriverExecutionProfile profile;
+    private Node node;
+
+    @BeforeEach
+    void setUp() {
+        profile = mock(DriverExecutionProfile.class);
+        when(profile.getName()).thenReturn("list-read");
+        node = mock(Node.class);
+        when(node.getEndPoint()).thenReturn(new DefaultEndPoint(new InetSocketAddress("10.0.0.1", 9042)));
+    }
+
+    @Test
+    void onSuccess_FastStatementNotRecorded() {
+        // Given
+        SimpleStatement statement = SimpleStatement.newInstance("SELECT * FROM users WHERE id = ?", UUID.randomUUID());
+
+        // When
+        tracker.onSuccess(statement, FAST, profile, node, "s0");
+
+        // Then
+        assertThat(slowQueryLog.recent()).isEmpty();
+    }
+
+    @Test
+    void onSuccess_SlowStatementRecordedRedacted() {
+        // Given
+        SimpleStatement statement = SimpleStatement.newInstance(
+                "SELECT * FROM users_by_email WHERE email = 'john.doe@example.com' AND id = ?", UUID.randomUUID());
+
+        // When
+        tracker.onSuccess(statement, SLOW, profile, node, "s0");
+
+        // Then
+        List<SlowQuery> recent = slowQueryLog.recent();
+        assertThat(recent).hasSize(1);
+        SlowQuery slowQuery = recent.get(0);
+        assertThat(slowQuery.getCql()).isEqualTo("SELECT * FROM users_by_email WHERE email = '?' AND id = ?");
+        assertThat(slowQuery.getValues()).containsExactly("<UUID>");
+        assertThat(slowQuery.getLatencyMillis()).isEqualTo(1000);
+        assertThat(slowQuery.getExecutionProfile()).isEqualTo("list-read");
+        assertThat(slowQuery.getCoordinator()).isEqualTo("/10.0.0.1:9042");
+        assertThat(slowQuery.getFailedAttempts()).isEmpty();
+    }
+
+    @Test
+    void onError_SlowStatementRecordedWithFailedAttempts() {
+        // Given
+        SimpleStatement statement = SimpleStatement.newInstance("SELECT * FROM posts_by_user WHERE user_id = ?",
+                UUID.randomUUID());
+        DriverTimeoutException timeout = new DriverTimeoutException("Query timed out after PT2S");
+
+        // When
+        tracker.onNodeError(statement, timeout, FAST, profile, node, "s0|0");
+        tracker.onNodeError(statement, timeout, FAST, profile, node, "s0|1");
+        tracker.onError(statement, timeout, SLOW, profile, node, "s0");
+
+        // Then
+        SlowQuery slowQuery = slowQueryLog.recent().get(0);
+        assertThat(slowQuery.getFailedAttempts()).hasSize(2);
+        assertThat(slowQuery.getFailedAttempts().get(0)).isEqualTo("/10.0.0.1:9042 DriverTimeoutException");
+        assertThat(slowQuery.getError()).isEqualTo("DriverTimeoutException: Query timed out after PT2S");
+    }
+
+    @Test
+    void onSuccess_TracedStatementLeftToInterceptor() {
+        // Given
+        SimpleStatement statement = SimpleStatement.newInstance("SELECT * FROM users").setTracing(true);
+
+        // When
+        tracker.onSuccess(statement, SLOW, profile, node, "s0");
+
+        // Then
+        assertThat(slowQueryLog.recent()).isEmpty();
+    }
+
+    @Test
+    void recent_KeepsNewestEntries() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            tracker.onSuccess(SimpleStatement.newInstance("SELECT * FROM users LIMIT " + (i + 1)), SLOW, profile, node, "s0");
+        }
+
+        // When
+        List<SlowQuery> recent = slowQueryLog.recent();
+
+        // Then
+        assertThat(recent).extracting(SlowQuery::getCql)
+                .containsExactly("SELECT * FROM users LIMIT 3", "SELECT * FROM users LIMIT 2");
+    }
+}
@@ -0,0 +1,63 @@
+package example.domain.model;
+
+import example.cache.TimelineCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedUuidTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void next_SetsVersionAndVariant() {
+        // When
+        UUID id = TimeOrderedUuid.next(NOW);
+
+        // Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(TimeOrderedUuid.epochMillis(id)).isEqualTo(NOW);
+    }
+
+    @Test
+    void next_OrderedAcrossMilliseconds() {
+        for (int i = 0; i < 1000; i++) {
+            // When
+            UUID earlier = TimeOrderedUuid.next(NOW + i);
+            UUID later = TimeOrderedUuid.next(NOW + i + 1);
+
+            // Then: both in Java and in Cassandra order
+            assertThat(earlier).isLessThan(later);
+            assertThat(TimelineCache.compareUuids(earlier, later)).isNegative();
+        }
+    }
+
+    @Test
+    void lowerBound_BelowEveryIdOfItsMillisecondAndAboveEarlierOnes() {
+        // Given
+        UUID bound = TimeOrderedUuid.lowerBound(NOW);
+
+        for (int i = 0; i < 1000; i++) {
+            // When
+            UUID sameMillisecond = TimeOrderedUuid.next(NOW);
+            UUID earlier = TimeOrderedUuid.next(NOW - 1);
+
+            // Then
+            assertThat(TimelineCache.compareUuids(bound, sameMillisecond)).isLessThanOrEqualTo(0);
+            assertThat(TimelineCache.compareUuids(earlier, bound)).isNegative();
+            assertThat(bound).isLessThanOrEqualTo(sameMillisecond);
+        }
+        assertThat(TimeOrderedUuid.epochMillis(bound)).isEqualTo(NOW);
+    }
+
+    @Test
+    void epochMillis_RandomId_ThrowsException() {
+        // When & Then
+        assertThatThrownBy(() -> TimeOrderedUuid.epochMillis(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
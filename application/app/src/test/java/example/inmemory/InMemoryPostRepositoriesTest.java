@@ -0,0 +1,152 @@
+package example.inmemory;
+
+import example.domain.model.PostByUser;
+import example.domain.model.PostByUserStatus;
+import example.domain.model.PostByUserStatusKey;
+import example.domain.model.PostStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryPostRepositoriesTest {
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void findByUserId_ReturnsNewestFirst() {
+        // Given
+        InMemoryPostByUserRepository repository = new InMemoryPostByUserRepository();
+        PostByUser older = post("older", PostStatus.DRAFT, 1);
+        PostByUser newer = post("newer", PostStatus.DRAFT, 2);
+        repository.save(older);
+        repository.save(newer);
+        repository.save(post("other user", PostStatus.DRAFT, 3, UUID.randomUUID()));
+
+        // When
+        List<PostByUser> posts = repository.findByUserId(userId);
+
+        // Then
+        assertThat(posts).extracting(PostByUser::getTitle).containsExactly("newer", "older");
+    }
+
+    @Test
+    void findByUserIdWithLimit_ReturnsFirstRowsInClusteringOrder() {
+        // Given
+        InMemoryPostByUserRepository repository = new InMemoryPostByUserRepository();
+        for (int i = 1; i <= 5; i++) {
+            repository.save(post("post " + i, PostStatus.DRAFT, i));
+        }
+
+        // When
+        List<PostByUser> posts = repository.findByUserIdWithLimit(userId, 2);
+
+        // Then
+        assertThat(posts).extracting(PostByUser::getTitle).containsExactly("post 5", "post 4");
+        assertThatThrownBy(() -> repository.findByUserIdWithLimit(userId, 0))
+                .hasMessageContaining("LIMIT");
+    }
+
+    @Test
+    void findByUserIdCreatedAfter_ReadsOnlyLaterRowsInClusteringOrder() {
+        // Given
+        InMemoryPostByUserRepository repository = new InMemoryPostByUserRepository();
+        PostByUser after = created("after", 2);
+        PostByUser sameMillisecond = created("same millisecond", 2);
+        repository.save(created("earlier", 1));
+        repository.save(after);
+        repository.save(sameMillisecond);
+        repository.save(created("later", 3));
+        repository.save(created("latest", 4));
+        Instant createdAt = after.getCreatedAt().toInstant();
+
+        // When
+        List<PostByUser> later = repository.findByUserIdCreatedAfter(userId, createdAt, 10);
+        List<PostByUser> newerInMillisecond = repository.findByUserIdCreatedAtAndPostIdAfter(
+                userId, createdAt, after.getPostId(), 10);
+        List<PostByUser> olderInMillisecond = repository.findByUserIdCreatedAtAndPostIdAfter(
+                userId, createdAt, sameMillisecond.getPostId(), 10);
+
+        // Then
+        assertThat(later).extracting(PostByUser::getTitle).containsExactly("latest", "later");
+        PostByUser greater = after.getPostId().compareTo(sameMillisecond.getPostId()) < 0 ? sameMillisecond : after;
+        assertThat(newerInMillisecond.size() + olderInMillisecond.size()).isEqualTo(1);
+        assertThat(newerInMillisecond.isEmpty() ? olderInMillisecond : newerInMillisecond)
+                .extracting(PostByUser::getPostId).containsExactly(greater.getPostId());
+    }
+
+    @Test
+    void findByUserIdAndStatus_ReadsOnlyTheStatusSlice() {
+        // Given
+        InMemoryPostByUserStatusRepository repository = new InMemoryPostByUserStatusRepository();
+        repository.save(PostByUserStatus.fromPostByUser(post("draft", PostStatus.DRAFT, 1)));
+        repository.save(PostByUserStatus.fromPostByUser(post("published old", PostStatus.PUBLISHED, 2)));
+        repository.save(PostByUserStatus.fromPostByUser(post("published new", PostStatus.PUBLISHED, 3)));
+
+        // When
+        List<PostByUserStatus> published = repository.findByUserIdAndStatus(userId, PostStatus.PUBLISHED);
+        List<PostByUserStatus> all = repository.findByUserId(userId);
+
+        // Then
+        assertThat(published).extracting(PostByUserStatus::getTitle)
+                .containsExactly("published new", "published old");
+        assertThat(all).extracting(PostByUserStatus::getStatus)
+                .containsExactly(PostStatus.DRAFT, PostStatus.PUBLISHED, PostStatus.PUBLISHED);
+    }
+
+    @Test
+    void deleteById_MatchesKeyWithTimestampPrecisionOfCassandra() {
+        // Given
+        InMemoryPostByUserStatusRepository repository = new InMemoryPostByUserStatusRepository();
+        PostByUser post = post("post", PostStatus.DRAFT, 1);
+        post.setCreatedAt(post.getCreatedAt().plusNanos(123_456));
+        repository.save(PostByUserStatus.fromPostByUser(post));
+        OffsetDateTime readBack = repository.findByUserId(userId).get(0).getCreatedAt();
+
+        // When
+        repository.deleteById(new PostByUserStatusKey(userId, PostStatus.DRAFT, readBack, post.getPostId()));
+
+        // Then
+        assertThat(readBack.getNano() % 1_000_000).isZero();
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void findById_ReturnsCopyOfStoredRow() {
+        // Given
+        InMemoryPostByUserRepository repository = new InMemoryPostByUserRepository();
+        PostByUser post = post("title", PostStatus.DRAFT, 1);
+        repository.save(post);
+
+        // When
+        post.setTitle("changed without saving");
+        PostByUser stored = repository.findById(post.getKey()).orElseThrow();
+        stored.setTitle("changed again");
+
+        // Then
+        assertThat(repository.findById(post.getKey()).orElseThrow().getTitle()).isEqualTo("title");
+    }
+
+    private PostByUser created(String title, int minute) {
+        return new PostByUser(userId, title, "content", OffsetDateTime.of(2024, 1, 1, 12, minute, 0, 0, ZoneOffset.UTC));
+    }
+
+    private PostByUser post(String title, PostStatus status, int minute) {
+        return post(title, status, minute, userId);
+    }
+
+    private PostByUser post(String title, PostStatus status, int minute, UUID owner) {
+        PostByUser post = new PostByUser(owner, title, "content");
+        post.setStatus(status);
+        OffsetDateTime createdAt = OffsetDateTime.of(2024, 1, 1, 12, minute, 0, 0, ZoneOffset.UTC);
+        post.getKey().setCreatedAt(createdAt);
+        post.setCreatedAt(createdAt);
+        return post;
+    }
+}
@@ -0,0 +1,108 @@
+package example.inmemory;
+
+import example.domain.model.PostByUserStatus;
+import example.domain.model.PostByUserStatusKey;
+import example.domain.model.PostStatus;
+import example.domain.model.UserStats;
+import example.domain.ports.input.StatsReconciliationPort.ReconciliationStatus;
+import example.domain.ports.output.TimeSource;
+import example.stats.UserStatsListener;
+import example.stats.WriteBehindUserStatsAggregator;
+import example.time.CachingTimeSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+class InMemoryStatsReconciliationServiceTest {
+
+    private final InMemoryPostByUserStatusRepository postByUserStatusRepository = new InMemoryPostByUserStatusRepository();
+    private final InMemoryUserStatsRepository userStatsRepository = new InMemoryUserStatsRepository();
+    private final WriteBehindUserStatsAggregator statsAggregator = spy(new WriteBehindUserStatsAggregator());
+    private final List<UserStats> verified = new ArrayList<>();
+    private final TimeSource timeSource = new CachingTimeSource(Clock.systemUTC(), Duration.ZERO);
+    private final InMemoryStatsReconciliationService service = new InMemoryStatsReconciliationService();
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        // Not started: recorded deltas are written through, and reach the listeners
+        ReflectionTestUtils.setField(statsAggregator, "userStatsRepository", userStatsRepository);
+        ReflectionTestUtils.setField(statsAggregator, "timeSource", timeSource);
+        ReflectionTestUtils.setField(statsAggregator, "listeners", List.<UserStatsListener>of(verified::add));
+        ReflectionTestUtils.setField(statsAggregator, "flushInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(service, "postByUserStatusRepository", postByUserStatusRepository);
+        ReflectionTestUtils.setField(service, "userStatsRepository", userStatsRepository);
+        ReflectionTestUtils.setField(service, "statsAggregator", statsAggregator);
+        ReflectionTestUtils.setField(service, "timeSource", timeSource);
+        ReflectionTestUtils.setField(service, "listeners", List.<UserStatsListener>of(verified::add));
+        ReflectionTestUtils.setField(service, "settleMargin", Duration.ZERO);
+    }
+
+    @Test
+    void startReconciliation_RepairsDivergentAndMissingRows() {
+        // Given
+        UUID withoutRow = UUID.randomUUID();
+        savePost(userId, PostStatus.PUBLISHED);
+        savePost(userId, PostStatus.DRAFT);
+        savePost(withoutRow, PostStatus.ARCHIVED);
+        saveStats(userId, 5, 5, 0);
+
+        // When
+        ReconciliationStatus status = service.startReconciliation();
+
+        // Then
+        assertThat(status.getState()).isEqualTo("COMPLETED");
+        assertThat(status.getRowsScanned()).isEqualTo(3);
+        assertThat(status.getUsersRepaired()).isEqualTo(2);
+        UserStats repaired = userStatsRepository.findById(userId).orElseThrow();
+        assertThat(repaired.getTotalPosts()).isEqualTo(2);
+        assertThat(repaired.getPublishedPosts()).isEqualTo(1);
+        assertThat(repaired.getDraftPosts()).isEqualTo(1);
+        assertThat(userStatsRepository.findById(withoutRow).orElseThrow().getTotalPosts()).isEqualTo(1);
+        assertThat(verified).extracting(UserStats::getUserId).containsExactlyInAnyOrder(userId, withoutRow);
+    }
+
+    @Test
+    void startReconciliation_PendingDeltas_UserSkipped() {
+        // Given
+        savePost(userId, PostStatus.PUBLISHED);
+        saveStats(userId, 0, 0, 0);
+        doReturn(true).when(statsAggregator).hasPending(userId);
+
+        // When
+        ReconciliationStatus status = service.startReconciliation();
+
+        // Then
+        assertThat(status.getUsersRepaired()).isZero();
+        assertThat(userStatsRepository.findById(userId).orElseThrow().getTotalPosts()).isZero();
+        assertThat(verified).isEmpty();
+    }
+
+    private void savePost(UUID userId, PostStatus status) {
+        PostByUserStatus post = new PostByUserStatus();
+        post.setKey(new PostByUserStatusKey(userId, status, OffsetDateTime.now(ZoneOffset.UTC), UUID.randomUUID()));
+        post.setTitle("title");
+        postByUserStatusRepository.save(post);
+    }
+
+    private void saveStats(UUID userId, int total, int published, int draft) {
+        UserStats stats = new UserStats(userId, OffsetDateTime.now(ZoneOffset.UTC));
+        stats.setTotalPosts(total);
+        stats.setPublishedPosts(published);
+        stats.setDraftPosts(draft);
+        userStatsRepository.save(stats);
+    }
+}
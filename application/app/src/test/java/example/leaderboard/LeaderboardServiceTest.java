@@ -0,0 +1,120 @@
+package example.leaderboard;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.cql.CqlStatement;
+import example.cql.PreparedStatementRegistry;
+import example.domain.model.UserStats;
+import example.domain.ports.input.LeaderboardPort.AuthorRanking;
+import example.domain.ports.output.TimeSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    private static final Instant TAKEN_AT = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Mock
+    private CqlSession cqlSession;
+
+    @Mock
+    private PreparedStatementRegistry statementRegistry;
+
+    @Mock
+    private TimeSource timeSource;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(leaderboardService, "capacity", 10);
+        ReflectionTestUtils.setField(leaderboardService, "snapshotTtl", Duration.ofDays(7));
+        ReflectionTestUtils.setField(leaderboardService, "instanceId", "pod-0");
+        leaderboardService.init();
+    }
+
+    @Test
+    void snapshot_WritesRowOfThisInstance() {
+        // Given
+        BoundStatement insert = mock(BoundStatement.class);
+        when(statementRegistry.bind(eq(CqlStatement.INSERT_LEADERBOARD_SNAPSHOT), any(Object[].class))).thenReturn(insert);
+        when(timeSource.now()).thenReturn(TAKEN_AT.atOffset(ZoneOffset.UTC));
+        leaderboardService.statsWritten(stats(UUID.randomUUID(), 2));
+
+        // When
+        leaderboardService.snapshot();
+
+        // Then
+        verify(statementRegistry).bind(eq(CqlStatement.INSERT_LEADERBOARD_SNAPSHOT),
+                eq(LeaderboardService.BOARD), eq("pod-0"), any(ByteBuffer.class), eq(TAKEN_AT), eq(604800));
+        verify(cqlSession).execute(insert);
+    }
+
+    @Test
+    void restore_MergesSnapshotsOfAllInstances_NewestWins() {
+        // Given
+        UUID onlyOnFirst = UUID.randomUUID();
+        UUID onlyOnSecond = UUID.randomUUID();
+        UUID onBoth = UUID.randomUUID();
+        TopAuthors older = new TopAuthors(10);
+        older.update(onlyOnFirst, 5, 5);
+        older.update(onBoth, 1, 1);
+        TopAuthors newer = new TopAuthors(10);
+        newer.update(onlyOnSecond, 3, 3);
+        newer.update(onBoth, 4, 4);
+        restoring(snapshotRow(older, TAKEN_AT), snapshotRow(newer, TAKEN_AT.plusSeconds(60)));
+
+        // When
+        leaderboardService.restore();
+
+        // Then
+        assertThat(leaderboardService.getTopAuthors(10))
+                .extracting(AuthorRanking::getUserId, AuthorRanking::getPublishedPosts)
+                .containsExactly(tuple(onlyOnFirst, 5), tuple(onBoth, 4), tuple(onlyOnSecond, 3));
+    }
+
+    private void restoring(Row... rows) {
+        BoundStatement select = mock(BoundStatement.class);
+        ResultSet result = mock(ResultSet.class);
+        when(statementRegistry.bind(CqlStatement.SELECT_LEADERBOARD_SNAPSHOTS, LeaderboardService.BOARD)).thenReturn(select);
+        when(cqlSession.execute(select)).thenReturn(result);
+        when(result.all()).thenReturn(List.of(rows));
+    }
+
+    private static Row snapshotRow(TopAuthors board, Instant takenAt) {
+        Row row = mock(Row.class);
+        when(row.getByteBuffer("entries")).thenReturn(board.encode());
+        when(row.getInstant("taken_at")).thenReturn(takenAt);
+        return row;
+    }
+
+    private static UserStats stats(UUID userId, int publishedPosts) {
+        UserStats stats = new UserStats(userId, OffsetDateTime.now(ZoneOffset.UTC));
+        stats.setPublishedPosts(publishedPosts);
+        stats.setTotalPosts(publishedPosts);
+        return stats;
+    }
+}
@@ -0,0 +1,90 @@
+package example.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopAuthorsTest {
+
+    @Test
+    void top_OrdersByPublishedPosts() {
+        // Given
+        TopAuthors topAuthors = new TopAuthors(10);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        topAuthors.update(second, 3, 5);
+        topAuthors.update(first, 7, 7);
+
+        // When
+        List<TopAuthors.Entry> top = topAuthors.top(10);
+
+        // Then
+        assertThat(top).extracting(TopAuthors.Entry::getUserId).containsExactly(first, second);
+    }
+
+    @Test
+    void update_ReplacesPreviousCountsOfAuthor() {
+        // Given
+        TopAuthors topAuthors = new TopAuthors(10);
+        UUID userId = UUID.randomUUID();
+        topAuthors.update(userId, 3, 3);
+
+        // When
+        topAuthors.update(userId, 4, 4);
+
+        // Then
+        assertThat(topAuthors.top(10)).hasSize(1);
+        assertThat(topAuthors.top(10).get(0).getPublishedPosts()).isEqualTo(4);
+    }
+
+    @Test
+    void update_KeepsOnlyCapacityBestAuthors() {
+        // Given
+        TopAuthors topAuthors = new TopAuthors(2);
+        UUID low = UUID.randomUUID();
+        topAuthors.update(low, 1, 1);
+        topAuthors.update(UUID.randomUUID(), 5, 5);
+
+        // When
+        topAuthors.update(UUID.randomUUID(), 3, 3);
+
+        // Then
+        assertThat(topAuthors.top(10)).hasSize(2);
+        assertThat(topAuthors.top(10)).extracting(TopAuthors.Entry::getUserId).doesNotContain(low);
+    }
+
+    @Test
+    void update_WithoutPublishedPosts_RemovesAuthor() {
+        // Given
+        TopAuthors topAuthors = new TopAuthors(10);
+        UUID userId = UUID.randomUUID();
+        topAuthors.update(userId, 2, 2);
+
+        // When
+        topAuthors.update(userId, 0, 2);
+
+        // Then
+        assertThat(topAuthors.top(10)).isEmpty();
+    }
+
+    @Test
+    void load_RestoresEncodedSnapshot() {
+        // Given
+        TopAuthors original = new TopAuthors(10);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        original.update(first, 9, 10);
+        original.update(second, 2, 4);
+
+        // When
+        TopAuthors restored = new TopAuthors(10);
+        restored.load(original.encode());
+
+        // Then
+        assertThat(restored.top(10)).extracting(TopAuthors.Entry::getUserId).containsExactly(first, second);
+        assertThat(restored.top(10).get(0).getTotalPosts()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,107 @@
+package example.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OperationCostInterceptorTest {
+
+    private MeterRegistry registry;
+    private Port port;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", registry));
+        ProxyFactory proxyFactory = new ProxyFactory(new RunningPort());
+        proxyFactory.addAdvice(new OperationCostInterceptor(beanFactory.getBeanProvider(MeterRegistry.class), "PostPort"));
+        port = (Port) proxyFactory.getProxy();
+    }
+
+    @Test
+    void invoke_RecordsStatementsAndBytes() {
+        // When
+        port.run(() -> {
+            OperationCost.current().statement(100);
+            OperationCost.current().response(40);
+            OperationCost.current().statement(60);
+        });
+
+        // Then
+        assertThat(summary("statements").totalAmount()).isEqualTo(2);
+        assertThat(summary("request-bytes").totalAmount()).isEqualTo(160);
+        assertThat(summary("response-bytes").totalAmount()).isEqualTo(40);
+        assertThat(OperationCost.current()).isNull();
+    }
+
+    @Test
+    void invoke_NestedCallsCountTowardsOutermostOperation() {
+        // When
+        port.run(() -> {
+            OperationCost.current().statement(100);
+            port.run(() -> OperationCost.current().statement(100));
+        });
+
+        // Then
+        assertThat(summary("statements").count()).isEqualTo(1);
+        assertThat(summary("statements").totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void invoke_OperationNameInMdc() {
+        // Given
+        AtomicReference<String> operation = new AtomicReference<>();
+
+        // When
+        port.run(() -> operation.set(MDC.get(OperationCost.MDC_KEY)));
+
+        // Then
+        assertThat(operation).hasValue("PostPort.run");
+        assertThat(MDC.get(OperationCost.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void openRequest_SumsOperationsOfRequest() {
+        // Given
+        OperationCost request = OperationCost.openRequest();
+
+        // When
+        port.run(() -> OperationCost.current().statement(100));
+        port.run(() -> OperationCost.current().statement(50));
+        request.close();
+
+        // Then
+        assertThat(request.getStatements()).isEqualTo(2);
+        assertThat(request.toString())
+                .isEqualTo("operations=PostPort.run,PostPort.run; statements=2; request-bytes=150; response-bytes=0");
+        assertThat(OperationCost.current()).isNull();
+    }
+
+    private DistributionSummary summary(String name) {
+        return registry.get(OperationCostInterceptor.METER_PREFIX + "." + name)
+                .tag("port", "PostPort")
+                .tag("operation", "run")
+                .summary();
+    }
+
+    public interface Port {
+        void run(Runnable body);
+    }
+
+    static class RunningPort implements Port {
+        @Override
+        public void run(Runnable body) {
+            body.run();
+        }
+    }
+}
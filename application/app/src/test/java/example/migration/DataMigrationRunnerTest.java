@@ -0,0 +1,112 @@
+package example.migration;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import example.scan.ScanProgress;
+import example.scan.TokenRangeScanner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataMigrationRunnerTest {
+
+    @Mock
+    private CqlSession cqlSession;
+
+    @Mock
+    private TokenRangeScanner scanner;
+
+    @Mock
+    private CassandraMigrationService cassandraMigrationService;
+
+    @Mock
+    private MigrationLock lock;
+
+    @InjectMocks
+    private DataMigrationRunner dataMigrationRunner;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dataMigrationRunner, "keyspace", "test_keyspace");
+        ReflectionTestUtils.setField(dataMigrationRunner, "retryInterval", Duration.ofMinutes(1));
+        ReflectionTestUtils.invokeMethod(dataMigrationRunner, "loadDataMigrations");
+    }
+
+    @Test
+    void runPendingDataMigrations_AllApplied_DoneWithoutLock() {
+        // Given
+        when(cassandraMigrationService.getAppliedMigrations()).thenReturn(Set.of("D001", "D002", "D003"));
+
+        // When
+        boolean done = dataMigrationRunner.runPendingDataMigrations();
+
+        // Then
+        assertThat(done).isTrue();
+        verify(cassandraMigrationService, never()).newLock(any());
+    }
+
+    @Test
+    void runPendingDataMigrations_OldVersionsDrained_StatusTableCopyPending() {
+        // Given: done as long as instances of versions before status codes may run
+        when(cassandraMigrationService.getAppliedMigrations()).thenReturn(Set.of("D001", "D002"));
+        when(cassandraMigrationService.newLock(DataMigrationRunner.DATA_LOCK)).thenReturn(lock);
+        boolean doneBeforeDrained = dataMigrationRunner.runPendingDataMigrations();
+        ReflectionTestUtils.setField(dataMigrationRunner, "oldVersionsDrained", true);
+        ReflectionTestUtils.invokeMethod(dataMigrationRunner, "loadDataMigrations");
+
+        // When
+        boolean done = dataMigrationRunner.runPendingDataMigrations();
+
+        // Then
+        assertThat(doneBeforeDrained).isTrue();
+        assertThat(done).isFalse();
+        verify(lock).tryAcquire();
+    }
+
+    @Test
+    void runPendingDataMigrations_LockHeldElsewhere_NotDone() {
+        // Given
+        when(cassandraMigrationService.getAppliedMigrations()).thenReturn(Set.of("D001"));
+        when(cassandraMigrationService.newLock(DataMigrationRunner.DATA_LOCK)).thenReturn(lock);
+        when(lock.tryAcquire()).thenReturn(false);
+
+        // When
+        boolean done = dataMigrationRunner.runPendingDataMigrations();
+
+        // Then: retried, in case the holder dies
+        assertThat(done).isFalse();
+        verify(scanner, never()).scan(any());
+    }
+
+    @Test
+    void runPendingDataMigrations_FailedMigration_ResumedOnNextRun() {
+        // Given
+        when(cassandraMigrationService.getAppliedMigrations()).thenReturn(Set.of("D002", "D003"));
+        when(cassandraMigrationService.newLock(DataMigrationRunner.DATA_LOCK)).thenReturn(lock);
+        when(lock.tryAcquire()).thenReturn(true);
+        when(scanner.scan(any()))
+                .thenThrow(new IllegalStateException("Range failed"))
+                .thenReturn(mock(ScanProgress.class));
+
+        // When
+        boolean failedRun = dataMigrationRunner.runPendingDataMigrations();
+        boolean nextRun = dataMigrationRunner.runPendingDataMigrations();
+
+        // Then
+        assertThat(failedRun).isFalse();
+        assertThat(nextRun).isTrue();
+        verify(lock, times(2)).release();
+        verify(cassandraMigrationService, times(2)).saveMigrationRecord(any());
+    }
+}
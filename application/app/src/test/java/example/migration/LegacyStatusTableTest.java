@@ -0,0 +1,160 @@
+package example.migration;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import example.cql.CqlStatement;
+import example.cql.PreparedStatementRegistry;
+import example.domain.model.PostByUserStatus;
+import example.domain.model.PostStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LegacyStatusTableTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private CqlSession cqlSession;
+
+    @Mock
+    private PreparedStatementRegistry statementRegistry;
+
+    @Mock
+    private CassandraMigrationService migrationService;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final UUID userId = UUID.randomUUID();
+
+    private LegacyStatusTable legacyStatusTable;
+
+    @BeforeEach
+    void setUp() {
+        legacyStatusTable = new LegacyStatusTable(nanoTime::get);
+        ReflectionTestUtils.setField(legacyStatusTable, "cqlSession", cqlSession);
+        ReflectionTestUtils.setField(legacyStatusTable, "statementRegistry", statementRegistry);
+        ReflectionTestUtils.setField(legacyStatusTable, "migrationService", migrationService);
+    }
+
+    @Test
+    void findByUserIdAndStatus_NotCopied_ReadsOldTable() {
+        // Given
+        withOldTable(true);
+        when(migrationService.loadAppliedMigrations()).thenReturn(Set.of("D001", "D002"));
+        UUID postId = UUID.randomUUID();
+        Row row = legacyRow(postId, "PUBLISHED");
+        BoundStatement select = mock(BoundStatement.class);
+        ResultSet result = mock(ResultSet.class);
+        when(statementRegistry.bind(CqlStatement.SELECT_LEGACY_POSTS_BY_STATUS, userId, "PUBLISHED")).thenReturn(select);
+        when(cqlSession.execute(select)).thenReturn(result);
+        when(result.iterator()).thenReturn(List.of(row).iterator());
+
+        // When
+        List<PostByUserStatus> posts = legacyStatusTable.findByUserIdAndStatus(userId, PostStatus.PUBLISHED, List::of);
+
+        // Then
+        assertThat(posts).singleElement().satisfies(post -> {
+            assertThat(post.getPostId()).isEqualTo(postId);
+            assertThat(post.getStatus()).isEqualTo(PostStatus.PUBLISHED);
+            assertThat(post.getCreatedAt().toInstant()).isEqualTo(CREATED_AT);
+            assertThat(post.getTags()).containsExactly("java");
+        });
+    }
+
+    @Test
+    void findByUserIdAndStatus_Copied_ReadsV2() {
+        // Given
+        withOldTable(true);
+        when(migrationService.loadAppliedMigrations()).thenReturn(Set.of(D004_RemoveStaleStatusRowsFromV2.VERSION));
+        PostByUserStatus fromV2 = new PostByUserStatus();
+
+        // When
+        List<PostByUserStatus> posts = legacyStatusTable.findByUserIdAndStatus(userId, PostStatus.DRAFT, () -> List.of(fromV2));
+
+        // Then
+        assertThat(posts).containsExactly(fromV2);
+        verify(cqlSession, never()).execute(any(BoundStatement.class));
+    }
+
+    @Test
+    void saveAndFind_NoOldTable_OnlyV2() {
+        // Given: the schema was created from the entities
+        withOldTable(false);
+        PostByUserStatus fromV2 = new PostByUserStatus();
+
+        // When
+        legacyStatusTable.save(fromV2);
+        List<PostByUserStatus> posts = legacyStatusTable.findByUserIdAndStatus(userId, PostStatus.DRAFT, () -> List.of(fromV2));
+
+        // Then
+        assertThat(posts).containsExactly(fromV2);
+        verifyNoInteractions(statementRegistry, migrationService);
+    }
+
+    @Test
+    void isCopied_HistoryUnreadable_StaysOnOldTableUntilRecheck() {
+        // Given
+        when(migrationService.loadAppliedMigrations())
+                .thenThrow(new DriverTimeoutException("Query timed out after PT2S"))
+                .thenReturn(Set.of(D004_RemoveStaleStatusRowsFromV2.VERSION));
+
+        // When
+        boolean afterFailure = legacyStatusTable.isCopied();
+        boolean beforeRecheck = legacyStatusTable.isCopied();
+        nanoTime.addAndGet(Duration.ofSeconds(LegacyStatusTable.RECHECK_SECONDS).toNanos());
+        boolean afterRecheck = legacyStatusTable.isCopied();
+
+        // Then
+        assertThat(afterFailure).isFalse();
+        assertThat(beforeRecheck).isFalse();
+        assertThat(afterRecheck).isTrue();
+        verify(migrationService, times(2)).loadAppliedMigrations();
+    }
+
+    private void withOldTable(boolean exists) {
+        CqlIdentifier keyspace = CqlIdentifier.fromCql("spring_cassandra");
+        Metadata metadata = mock(Metadata.class);
+        KeyspaceMetadata keyspaceMetadata = mock(KeyspaceMetadata.class);
+        Optional<TableMetadata> table = exists ? Optional.of(mock(TableMetadata.class)) : Optional.empty();
+        when(cqlSession.getKeyspace()).thenReturn(Optional.of(keyspace));
+        when(cqlSession.getMetadata()).thenReturn(metadata);
+        when(metadata.getKeyspace(keyspace)).thenReturn(Optional.of(keyspaceMetadata));
+        when(keyspaceMetadata.getTable(LegacyStatusTable.TABLE)).thenReturn(table);
+    }
+
+    private Row legacyRow(UUID postId, String status) {
+        Row row = mock(Row.class);
+        when(row.getUuid("user_id")).thenReturn(userId);
+        when(row.getUuid("post_id")).thenReturn(postId);
+        when(row.getString("status")).thenReturn(status);
+        when(row.getInstant("created_at")).thenReturn(CREATED_AT);
+        when(row.getInstant("updated_at")).thenReturn(CREATED_AT);
+        when(row.getString("title")).thenReturn("Title");
+        when(row.getString("content")).thenReturn("Content");
+        when(row.getSet("tags", String.class)).thenReturn(Set.of("java"));
+        return row;
+    }
+}
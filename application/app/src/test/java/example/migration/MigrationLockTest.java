@@ -0,0 +1,151 @@
+package example.migration;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.cql.CqlStatement;
+import example.cql.PreparedStatementRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MigrationLockTest {
+
+    @Mock
+    private CqlSession session;
+
+    @Mock
+    private PreparedStatementRegistry statementRegistry;
+
+    private final BoundStatement acquire = mock(BoundStatement.class);
+    private final BoundStatement renew = mock(BoundStatement.class);
+
+    private MigrationLock lock;
+
+    @BeforeEach
+    void setUp() {
+        // Long enough for the heartbeat to stay out of the way, renew() is called directly
+        lock = new MigrationLock(session, statementRegistry, "schema", Duration.ofHours(1));
+        lenient().when(statementRegistry.bind(eq(CqlStatement.ACQUIRE_MIGRATION_LOCK), any(Object[].class))).thenReturn(acquire);
+        lenient().when(statementRegistry.bind(eq(CqlStatement.RENEW_MIGRATION_LOCK), any(Object[].class))).thenReturn(renew);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lock.release();
+    }
+
+    @Test
+    void tryAcquire_HeldByOther_ReportsHolder() {
+        // Given
+        ResultSet acquireResult = rejected("other-host/1");
+        when(session.execute(acquire)).thenReturn(acquireResult);
+
+        // When
+        boolean acquired = lock.tryAcquire();
+
+        // Then
+        assertThat(acquired).isFalse();
+        assertThat(lock.getCurrentHolder()).isEqualTo("other-host/1");
+    }
+
+    @Test
+    void tryAcquire_RejectedWithoutRow_NotAcquired() {
+        // Given: the row expired between the condition check and the read
+        ResultSet acquireResult = rejected(null);
+        when(session.execute(acquire)).thenReturn(acquireResult);
+
+        // When
+        boolean acquired = lock.tryAcquire();
+
+        // Then
+        assertThat(acquired).isFalse();
+        assertThat(lock.getCurrentHolder()).isNull();
+    }
+
+    @Test
+    void renew_Rejected_LockLost() {
+        // Given
+        ResultSet acquireResult = applied();
+        when(session.execute(acquire)).thenReturn(acquireResult);
+        lock.tryAcquire();
+        ResultSet renewResult = rejected("other-host/1");
+        when(session.execute(renew)).thenReturn(renewResult);
+
+        // When
+        lock.renew();
+
+        // Then
+        assertThat(lock.isLost()).isTrue();
+        assertThat(lock.getCurrentHolder()).isEqualTo("other-host/1");
+        assertThatThrownBy(lock::checkHeld)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("other-host/1");
+    }
+
+    @Test
+    void renew_TransientFailure_LockKept() {
+        // Given
+        ResultSet acquireResult = applied();
+        when(session.execute(acquire)).thenReturn(acquireResult);
+        lock.tryAcquire();
+        when(session.execute(renew)).thenThrow(new DriverTimeoutException("Query timed out after PT60S"));
+
+        // When
+        lock.renew();
+
+        // Then
+        assertThat(lock.isLost()).isFalse();
+        lock.checkHeld();
+    }
+
+    @Test
+    void renew_FailingForWholeTtl_LockLost() throws InterruptedException {
+        // Given
+        lock = new MigrationLock(session, statementRegistry, "schema", Duration.ofMillis(1));
+        ResultSet acquireResult = applied();
+        when(session.execute(acquire)).thenReturn(acquireResult);
+        lock.tryAcquire();
+        // Stop the heartbeat, the renewal is driven by hand
+        lock.release();
+        when(session.execute(renew)).thenThrow(new DriverTimeoutException("Query timed out after PT60S"));
+        Thread.sleep(5);
+
+        // When
+        lock.renew();
+
+        // Then
+        assertThat(lock.isLost()).isTrue();
+    }
+
+    private static ResultSet applied() {
+        ResultSet result = mock(ResultSet.class);
+        when(result.wasApplied()).thenReturn(true);
+        return result;
+    }
+
+    private static ResultSet rejected(String owner) {
+        ResultSet result = mock(ResultSet.class);
+        when(result.wasApplied()).thenReturn(false);
+        if (owner != null) {
+            Row row = mock(Row.class);
+            when(row.getString("owner")).thenReturn(owner);
+            when(result.one()).thenReturn(row);
+        }
+        return result;
+    }
+}
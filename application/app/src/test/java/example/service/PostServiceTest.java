@@ -7,18 +7,30 @@ import example.domain.exceptions.PostNotFoundException;
 import example.domain.exceptions.UserNotFoundException;
 import example.domain.ports.input.CreatePostRequest;
 import example.domain.ports.input.UpdatePostRequest;
+import example.domain.ports.output.LegacyStatusTablePort;
+import example.domain.ports.output.PostCachePort;
+import example.domain.ports.output.TimeSource;
+import example.domain.ports.output.UserStatsUpdatePort;
+import example.time.CachingTimeSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import java.util.UUID;
 
@@ -35,11 +47,17 @@ class PostServiceTest {
     private PostByIdRepository postByIdRepository;
 
     @Mock
-    private UserStatsRepository userStatsRepository;
+    private UserStatsUpdatePort userStatsUpdatePort;
 
     @Mock
     private PostByUserStatusRepository postByUserStatusRepository;
 
+    @Mock
+    private PostCachePort postCache;
+
+    @Spy
+    private TimeSource timeSource = new CachingTimeSource(Clock.systemUTC(), Duration.ZERO);
+
     @InjectMocks
     private PostService postService;
 
@@ -49,7 +67,6 @@ class PostServiceTest {
     private PostByUser testPostByUser;
     private PostById testPostById;
     private PostByUserStatus testPostByUserStatus;
-    private UserStats testUserStats;
 
     @BeforeEach
     void setUp() {
@@ -59,29 +76,26 @@ class PostServiceTest {
         createPostRequest = new CreatePostRequest();
         createPostRequest.setTitle("Test Post");
         createPostRequest.setContent("This is a test post content");
-        createPostRequest.setStatus("DRAFT");
+        createPostRequest.setStatus(PostStatus.DRAFT);
         createPostRequest.setTags(Arrays.asList("test", "demo"));
 
         updatePostRequest = new UpdatePostRequest();
         updatePostRequest.setTitle("Updated Post");
         updatePostRequest.setContent("Updated content");
-        updatePostRequest.setStatus("PUBLISHED");
+        updatePostRequest.setStatus(PostStatus.PUBLISHED);
 
         testPostByUser = new PostByUser(testUser.getId(), "Test Post", "Test content");
         testPostById = PostById.fromPostByUser(testPostByUser);
         testPostByUserStatus = PostByUserStatus.fromPostByUser(testPostByUser);
-        testUserStats = new UserStats(testUser.getId());
     }
 
     @Test
     void createPost_Success() {
         // Given
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+        when(userRepository.existsById(testUser.getId())).thenReturn(true);
         when(postByUserRepository.save(any(PostByUser.class))).thenReturn(testPostByUser);
         when(postByIdRepository.save(any(PostById.class))).thenReturn(testPostById);
         when(postByUserStatusRepository.save(any(PostByUserStatus.class))).thenReturn(testPostByUserStatus);
-        when(userStatsRepository.findById(testUser.getId())).thenReturn(Optional.of(testUserStats));
-        when(userStatsRepository.save(any(UserStats.class))).thenReturn(testUserStats);
 
         // When
         PostByUser result = postService.createPost(testUser.getId(), createPostRequest);
@@ -91,26 +105,45 @@ class PostServiceTest {
         assertThat(result.getTitle()).isEqualTo("Test Post");
         assertThat(result.getContent()).isEqualTo("Test content");
 
-        verify(userRepository).findById(testUser.getId());
+        verify(userRepository).existsById(testUser.getId());
         verify(postByUserRepository).save(any(PostByUser.class));
         verify(postByIdRepository).save(any(PostById.class));
         verify(postByUserStatusRepository).save(any(PostByUserStatus.class));
-        verify(userStatsRepository).findById(testUser.getId());
-        verify(userStatsRepository).save(any(UserStats.class));
+        verify(userStatsUpdatePort).record(eq(testUser.getId()), argThat(delta -> delta.getTotalPosts() == 1));
+    }
+
+    @Test
+    void createPost_PostIdOrderedByCreationTime() {
+        // Given
+        when(userRepository.existsById(testUser.getId())).thenReturn(true);
+        when(postByUserRepository.save(any(PostByUser.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        PostByUser first = postService.createPost(testUser.getId(), createPostRequest);
+        PostByUser second = postService.createPost(testUser.getId(), createPostRequest);
+
+        // Then
+        assertThat(first.getPostId().version()).isEqualTo(7);
+        assertThat(TimeOrderedUuid.epochMillis(first.getPostId()))
+                .isEqualTo(first.getCreatedAt().toInstant().toEpochMilli());
+        assertThat(TimeOrderedUuid.lowerBound(second.getCreatedAt().toInstant().toEpochMilli()))
+                .isLessThanOrEqualTo(second.getPostId());
+        assertThat(first.getPostId()).isLessThanOrEqualTo(TimeOrderedUuid.lowerBound(
+                second.getCreatedAt().toInstant().toEpochMilli() + 1));
     }
 
     @Test
     void createPost_UserNotFound_ThrowsException() {
         // Given
         UUID nonExistentUserId = UUID.randomUUID();
-        when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty());
+        when(userRepository.existsById(nonExistentUserId)).thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> postService.createPost(nonExistentUserId, createPostRequest))
                 .isInstanceOf(UserNotFoundException.class)
                 .hasMessage("User not found: " + nonExistentUserId);
 
-        verify(userRepository).findById(nonExistentUserId);
+        verify(userRepository).existsById(nonExistentUserId);
         verify(postByUserRepository, never()).save(any());
         verify(postByIdRepository, never()).save(any());
         verify(postByUserStatusRepository, never()).save(any());
@@ -126,7 +159,7 @@ class PostServiceTest {
         requestNoStatusChange.setTitle("Updated Title");
         requestNoStatusChange.setContent("Updated Content");
         // Keep same status as testPostByUser (DRAFT)
-        requestNoStatusChange.setStatus("DRAFT");
+        requestNoStatusChange.setStatus(PostStatus.DRAFT);
 
         when(postByUserRepository.findByUserId(testUser.getId())).thenReturn(userPosts);
         when(postByUserRepository.save(any(PostByUser.class))).thenReturn(testPostByUser);
@@ -155,8 +188,6 @@ class PostServiceTest {
         when(postByUserRepository.save(any(PostByUser.class))).thenReturn(testPostByUser);
         when(postByIdRepository.save(any(PostById.class))).thenReturn(testPostById);
         when(postByUserStatusRepository.save(any(PostByUserStatus.class))).thenReturn(testPostByUserStatus);
-        when(userStatsRepository.findById(testUser.getId())).thenReturn(Optional.of(testUserStats));
-        when(userStatsRepository.save(any(UserStats.class))).thenReturn(testUserStats);
 
         // When
         PostByUser result = postService.updatePost(testUser.getId(), postId, updatePostRequest);
@@ -168,8 +199,45 @@ class PostServiceTest {
         verify(postByIdRepository).save(any(PostById.class));
         verify(postByUserStatusRepository).deleteById(any(PostByUserStatusKey.class));
         verify(postByUserStatusRepository).save(any(PostByUserStatus.class));
-        verify(userStatsRepository, times(2)).findById(testUser.getId());
-        verify(userStatsRepository, times(2)).save(any(UserStats.class));
+        verify(userStatsUpdatePort).record(eq(testUser.getId()),
+                argThat(delta -> delta.getTotalPosts() == 0 && delta.getPublishedPosts() == 1));
+    }
+
+    @Test
+    void updatePost_StatusChanged_MovesRowInBothStatusTables() {
+        // Given
+        LegacyStatusTablePort legacyStatusTable = mock(LegacyStatusTablePort.class);
+        ReflectionTestUtils.setField(postService, "legacyStatusTable", legacyStatusTable);
+        UUID postId = testPostByUser.getPostId();
+        when(postByUserRepository.findByUserId(testUser.getId())).thenReturn(List.of(testPostByUser));
+        when(postByUserRepository.save(any(PostByUser.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        postService.updatePost(testUser.getId(), postId, updatePostRequest);
+
+        // Then
+        verify(legacyStatusTable).delete(argThat(key -> key.getStatus() == PostStatus.DRAFT && key.getPostId().equals(postId)));
+        verify(legacyStatusTable).save(argThat(post -> post.getStatus() == PostStatus.PUBLISHED && post.getPostId().equals(postId)));
+    }
+
+    @Test
+    void updatePost_TitleOnlyOnRowWithoutStatusCode_WritesStatusCode() {
+        // Given: a row written before status codes, not backfilled yet
+        PostByUser legacyPost = new PostByUser(testUser.getId(), "Test Post", "Test content");
+        legacyPost.setStatus(null);
+        ReflectionTestUtils.setField(legacyPost, "legacyStatus", "PUBLISHED");
+        UpdatePostRequest titleOnly = new UpdatePostRequest();
+        titleOnly.setTitle("Updated Title");
+        when(postByUserRepository.findByUserId(testUser.getId())).thenReturn(List.of(legacyPost));
+        when(postByUserRepository.save(any(PostByUser.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        postService.updatePost(testUser.getId(), legacyPost.getPostId(), titleOnly);
+
+        // Then
+        verify(postByUserRepository).save(argThat(post -> PostStatus.PUBLISHED.equals(
+                ReflectionTestUtils.getField(post, "status"))));
+        verify(postByUserStatusRepository, never()).deleteById(any(PostByUserStatusKey.class));
     }
 
     @Test
@@ -194,8 +262,6 @@ class PostServiceTest {
         List<PostByUser> userPosts = Arrays.asList(testPostByUser);
 
         when(postByUserRepository.findByUserId(testUser.getId())).thenReturn(userPosts);
-        when(userStatsRepository.findById(testUser.getId())).thenReturn(Optional.of(testUserStats));
-        when(userStatsRepository.save(any(UserStats.class))).thenReturn(testUserStats);
 
         // When
         postService.deletePost(testUser.getId(), postId);
@@ -204,9 +270,9 @@ class PostServiceTest {
         verify(postByUserRepository).findByUserId(testUser.getId());
         verify(postByUserRepository).deleteById(testPostByUser.getKey());
         verify(postByIdRepository).deleteById(postId);
+        verify(postCache).evict(postId);
         verify(postByUserStatusRepository).deleteById(any(PostByUserStatusKey.class));
-        verify(userStatsRepository).findById(testUser.getId());
-        verify(userStatsRepository).save(any(UserStats.class));
+        verify(userStatsUpdatePort).record(eq(testUser.getId()), argThat(delta -> delta.getTotalPosts() == -1));
     }
 
     @Test
@@ -256,21 +322,63 @@ class PostServiceTest {
         verify(postByUserRepository).findByUserId(testUser.getId());
     }
 
+    @Test
+    void getUserPostsAfter_PageFull_ReadsOnlyLaterMilliseconds() {
+        // Given
+        UUID afterPostId = TimeOrderedUuid.next(1_700_000_000_000L);
+        Instant createdAt = Instant.ofEpochMilli(1_700_000_000_000L);
+        when(postByUserRepository.findByUserIdCreatedAfter(testUser.getId(), createdAt, 1))
+                .thenReturn(List.of(testPostByUser));
+
+        // When
+        List<PostByUser> result = postService.getUserPostsAfter(testUser.getId(), afterPostId, 1);
+
+        // Then
+        assertThat(result).containsExactly(testPostByUser);
+        verify(postByUserRepository, never()).findByUserIdCreatedAtAndPostIdAfter(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getUserPostsAfter_PageNotFull_AddsGreaterIdsOfSameMillisecond() {
+        // Given
+        UUID afterPostId = TimeOrderedUuid.next(1_700_000_000_000L);
+        Instant createdAt = Instant.ofEpochMilli(1_700_000_000_000L);
+        PostByUser sameMillisecond = new PostByUser(testUser.getId(), "Same millisecond", "content");
+        when(postByUserRepository.findByUserIdCreatedAfter(testUser.getId(), createdAt, 10))
+                .thenReturn(List.of(testPostByUser));
+        when(postByUserRepository.findByUserIdCreatedAtAndPostIdAfter(testUser.getId(), createdAt, afterPostId, 9))
+                .thenReturn(List.of(sameMillisecond));
+
+        // When
+        List<PostByUser> result = postService.getUserPostsAfter(testUser.getId(), afterPostId, 10);
+
+        // Then: newest first, the same millisecond is the oldest
+        assertThat(result).containsExactly(testPostByUser, sameMillisecond);
+    }
+
+    @Test
+    void getUserPostsAfter_RandomId_ThrowsException() {
+        // When & Then
+        assertThatThrownBy(() -> postService.getUserPostsAfter(testUser.getId(), UUID.randomUUID(), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(postByUserRepository);
+    }
+
     @Test
     void getUserPostsByStatus_Success() {
         // Given
         List<PostByUserStatus> statusPosts = Arrays.asList(testPostByUserStatus);
-        when(postByUserStatusRepository.findByUserIdAndStatus(testUser.getId(), "DRAFT")).thenReturn(statusPosts);
+        when(postByUserStatusRepository.findByUserIdAndStatus(testUser.getId(), PostStatus.DRAFT)).thenReturn(statusPosts);
 
         // When
-        List<PostByUser> result = postService.getUserPostsByStatus(testUser.getId(), "DRAFT");
+        List<PostByUser> result = postService.getUserPostsByStatus(testUser.getId(), PostStatus.DRAFT);
 
         // Then
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getTitle()).isEqualTo(testPostByUser.getTitle());
         assertThat(result.get(0).getContent()).isEqualTo(testPostByUser.getContent());
         assertThat(result.get(0).getStatus()).isEqualTo(testPostByUser.getStatus());
-        verify(postByUserStatusRepository).findByUserIdAndStatus(testUser.getId(), "DRAFT");
+        verify(postByUserStatusRepository).findByUserIdAndStatus(testUser.getId(), PostStatus.DRAFT);
     }
 
     @Test
@@ -286,6 +394,21 @@ class PostServiceTest {
         assertThat(result).isPresent();
         assertThat(result.get()).isEqualTo(testPostById);
         verify(postByIdRepository).findById(postId);
+        verify(postCache).putIfAbsent(testPostById);
+    }
+
+    @Test
+    void getPostById_ServedFromCache() {
+        // Given
+        UUID postId = testPostById.getPostId();
+        when(postCache.get(postId)).thenReturn(Optional.of(testPostById));
+
+        // When
+        Optional<PostById> result = postService.getPostById(postId);
+
+        // Then
+        assertThat(result).contains(testPostById);
+        verify(postByIdRepository, never()).findById(any());
     }
 
     @Test
@@ -298,8 +421,6 @@ class PostServiceTest {
         when(postByUserRepository.save(any(PostByUser.class))).thenReturn(testPostByUser);
         when(postByIdRepository.save(any(PostById.class))).thenReturn(testPostById);
         when(postByUserStatusRepository.save(any(PostByUserStatus.class))).thenReturn(testPostByUserStatus);
-        when(userStatsRepository.findById(testUser.getId())).thenReturn(Optional.of(testUserStats));
-        when(userStatsRepository.save(any(UserStats.class))).thenReturn(testUserStats);
 
         // When
         PostByUser result = postService.publishPost(testUser.getId(), postId);
@@ -311,22 +432,22 @@ class PostServiceTest {
         verify(postByIdRepository).save(any(PostById.class));
         verify(postByUserStatusRepository).deleteById(any(PostByUserStatusKey.class));
         verify(postByUserStatusRepository).save(any(PostByUserStatus.class));
-        verify(userStatsRepository, times(2)).findById(testUser.getId());
-        verify(userStatsRepository, times(2)).save(any(UserStats.class));
+        verify(userStatsUpdatePort).record(eq(testUser.getId()),
+                argThat(delta -> delta.getTotalPosts() == 0 && delta.getPublishedPosts() == 1));
     }
 
     @Test
     void getUserPostsByStatus_EmptyList_Success() {
         // Given
-        when(postByUserStatusRepository.findByUserIdAndStatus(testUser.getId(), "PUBLISHED"))
+        when(postByUserStatusRepository.findByUserIdAndStatus(testUser.getId(), PostStatus.PUBLISHED))
                 .thenReturn(Collections.emptyList());
 
         // When
-        List<PostByUser> result = postService.getUserPostsByStatus(testUser.getId(), "PUBLISHED");
+        List<PostByUser> result = postService.getUserPostsByStatus(testUser.getId(), PostStatus.PUBLISHED);
 
         // Then
         assertThat(result).isEmpty();
-        verify(postByUserStatusRepository).findByUserIdAndStatus(testUser.getId(), "PUBLISHED");
+        verify(postByUserStatusRepository).findByUserIdAndStatus(testUser.getId(), PostStatus.PUBLISHED);
     }
 
     @Test
@@ -337,15 +458,15 @@ class PostServiceTest {
         PostByUserStatus status2 = PostByUserStatus.fromPostByUser(testPostByUser2);
         
         List<PostByUserStatus> statusPosts = Arrays.asList(status1, status2);
-        when(postByUserStatusRepository.findByUserIdAndStatus(testUser.getId(), "DRAFT")).thenReturn(statusPosts);
+        when(postByUserStatusRepository.findByUserIdAndStatus(testUser.getId(), PostStatus.DRAFT)).thenReturn(statusPosts);
 
         // When
-        List<PostByUser> result = postService.getUserPostsByStatus(testUser.getId(), "DRAFT");
+        List<PostByUser> result = postService.getUserPostsByStatus(testUser.getId(), PostStatus.DRAFT);
 
         // Then
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getTitle()).isEqualTo("Test Post");
         assertThat(result.get(1).getTitle()).isEqualTo("Test Post 2");
-        verify(postByUserStatusRepository).findByUserIdAndStatus(testUser.getId(), "DRAFT");
+        verify(postByUserStatusRepository).findByUserIdAndStatus(testUser.getId(), PostStatus.DRAFT);
     }
 }
\ No newline at end of file
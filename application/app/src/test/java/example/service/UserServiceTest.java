@@ -11,14 +11,20 @@ import example.domain.repository.UserStatsRepository;
 import example.domain.ports.input.CreateUserRequest;
 import example.domain.ports.input.UpdateUserRequest;
 import example.domain.ports.input.UserWithStats;
+import example.domain.ports.output.TimeSource;
+import example.domain.ports.output.UserStatsUpdatePort;
 import example.domain.services.UserService;
+import example.time.CachingTimeSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,6 +45,12 @@ class UserServiceTest {
     @Mock
     private UserStatsRepository userStatsRepository;
 
+    @Mock
+    private UserStatsUpdatePort userStatsUpdatePort;
+
+    @Spy
+    private TimeSource timeSource = new CachingTimeSource(Clock.systemUTC(), Duration.ZERO);
+
     @InjectMocks
     private UserService userService;
 
@@ -62,7 +74,7 @@ class UserServiceTest {
         testUser.setId(UUID.randomUUID());
 
         testUserByEmail = UserByEmail.fromUser(testUser);
-        testUserStats = new UserStats(testUser.getId());
+        testUserStats = new UserStats(testUser.getId(), testUser.getCreatedAt());
     }
 
     @Test
@@ -262,6 +274,7 @@ class UserServiceTest {
 
         verify(userRepository).findById(testUser.getId());
         verify(userStatsRepository).findById(testUser.getId());
+        verify(userStatsUpdatePort).applyPending(testUserStats);
     }
 
     @Test
@@ -0,0 +1,312 @@
+package example.stats;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.cql.CqlStatement;
+import example.cql.PreparedStatementRegistry;
+import example.domain.model.PostStatus;
+import example.domain.model.UserStats;
+import example.domain.model.UserStatsDelta;
+import example.domain.ports.input.StatsReconciliationPort.ReconciliationStatus;
+import example.domain.ports.output.TimeSource;
+import example.domain.repository.UserStatsRepository;
+import example.migration.CassandraMigrationService;
+import example.migration.D004_RemoveStaleStatusRowsFromV2;
+import example.migration.DataMigrationRunner;
+import example.scan.ScanHandler;
+import example.scan.ScanJob;
+import example.scan.ScanRange;
+import example.scan.TokenRangeScanner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsReconciliationServiceTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2026-03-01T12:00:00Z");
+
+    @Mock
+    private CqlSession cqlSession;
+
+    @Mock
+    private PreparedStatementRegistry statementRegistry;
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @Mock
+    private TokenRangeScanner scanner;
+
+    @Mock
+    private WriteBehindUserStatsAggregator statsAggregator;
+
+    @Mock
+    private CassandraMigrationService migrationService;
+
+    @Mock
+    private DataMigrationRunner dataMigrationRunner;
+
+    @Mock
+    private TimeSource timeSource;
+
+    @Mock
+    private ScanRange range;
+
+    @InjectMocks
+    private StatsReconciliationService service;
+
+    private final List<UserStats> verified = new ArrayList<>();
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "listeners", List.<UserStatsListener>of(verified::add));
+        ReflectionTestUtils.setField(service, "parallelism", 1);
+        ReflectionTestUtils.setField(service, "splitsPerRange", 1);
+        ReflectionTestUtils.setField(service, "maxRowsPerSecond", 0);
+        ReflectionTestUtils.setField(service, "settleMargin", Duration.ZERO);
+        lenient().when(statsAggregator.getFlushInterval()).thenReturn(Duration.ZERO);
+        lenient().when(timeSource.now()).thenReturn(NOW);
+        lenient().when(migrationService.loadAppliedMigrations()).thenReturn(Set.of(D004_RemoveStaleStatusRowsFromV2.VERSION));
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void startReconciliation_MatchingUser_NotRewritten() throws InterruptedException {
+        // Given
+        scanning(List.of(postRow(PostStatus.PUBLISHED), postRow(PostStatus.DRAFT)), List.of(statsRow(2, 1, 1)));
+
+        // When
+        ReconciliationStatus status = reconcile();
+
+        // Then
+        assertThat(status.getState()).isEqualTo("COMPLETED");
+        assertThat(status.getUsersRepaired()).isZero();
+        assertThat(status.getStartedAt()).isEqualTo(NOW);
+        verify(cqlSession, never()).execute(any(BoundStatement.class));
+        assertThat(verified).singleElement().satisfies(stats -> assertThat(stats.getTotalPosts()).isEqualTo(2));
+    }
+
+    @Test
+    void startReconciliation_DivergentUser_RecordsDifferenceIfUnchangedOnceSettled() throws InterruptedException {
+        // Given
+        scanning(List.of(postRow(PostStatus.PUBLISHED)), List.of(statsRow(3, 1, 2)));
+        storing(3, 1, 2);
+        recounting(PostStatus.PUBLISHED);
+
+        // When
+        ReconciliationStatus status = reconcile();
+
+        // Then
+        assertThat(status.getState()).isEqualTo("COMPLETED");
+        assertThat(status.getUsersRepaired()).isEqualTo(1);
+        verify(statsAggregator).record(userId, new UserStatsDelta(-2, 0, -2, null));
+        assertThat(verified).isEmpty();
+    }
+
+    @Test
+    void startReconciliation_PostWrittenSinceScan_LeftToNextRun() throws InterruptedException {
+        // Given
+        scanning(List.of(postRow(PostStatus.PUBLISHED)), List.of(statsRow(3, 1, 2)));
+        storing(3, 1, 2);
+        // A draft written after the range was scanned, its delta may be buffered by another instance
+        recounting(PostStatus.PUBLISHED, PostStatus.DRAFT);
+
+        // When
+        ReconciliationStatus status = reconcile();
+
+        // Then
+        assertThat(status.getState()).isEqualTo("COMPLETED");
+        assertThat(status.getUsersRepaired()).isZero();
+        verify(statsAggregator, never()).record(any(UUID.class), any(UserStatsDelta.class));
+    }
+
+    @Test
+    void startReconciliation_RowChangedSinceScan_LeftToNextRun() throws InterruptedException {
+        // Given
+        scanning(List.of(postRow(PostStatus.PUBLISHED)), List.of(statsRow(3, 1, 2)));
+        storing(2, 1, 1);
+        recounting(PostStatus.PUBLISHED);
+
+        // When
+        ReconciliationStatus status = reconcile();
+
+        // Then
+        assertThat(status.getState()).isEqualTo("COMPLETED");
+        assertThat(status.getUsersRepaired()).isZero();
+        verify(statsAggregator, never()).record(any(UUID.class), any(UserStatsDelta.class));
+    }
+
+    @Test
+    void startReconciliation_MissingRow_RecordsCountsIfStillAbsent() throws InterruptedException {
+        // Given
+        scanning(List.of(postRow(PostStatus.DRAFT)), List.of());
+        when(userStatsRepository.findForUpdate(userId)).thenReturn(Optional.empty());
+        recounting(PostStatus.DRAFT);
+
+        // When
+        ReconciliationStatus status = reconcile();
+
+        // Then
+        assertThat(status.getUsersRepaired()).isEqualTo(1);
+        verify(statsAggregator).record(userId, new UserStatsDelta(1, 0, 1, null));
+    }
+
+    @Test
+    void startReconciliation_PendingDeltas_UserSkipped() throws InterruptedException {
+        // Given
+        scanning(List.of(postRow(PostStatus.PUBLISHED)), List.of(statsRow(3, 1, 2)));
+        when(statsAggregator.hasPending(userId)).thenReturn(true);
+
+        // When
+        ReconciliationStatus status = reconcile();
+
+        // Then
+        assertThat(status.getUsersRepaired()).isZero();
+        verify(statsAggregator, never()).record(any(UUID.class), any(UserStatsDelta.class));
+        verifyNoInteractions(cqlSession, userStatsRepository);
+    }
+
+    @Test
+    void startReconciliation_CopyToV2NotApplied_Refused() {
+        // Given
+        when(migrationService.loadAppliedMigrations()).thenReturn(Set.of());
+        when(dataMigrationRunner.isEnabled()).thenReturn(true);
+        when(dataMigrationRunner.isOldVersionsDrained()).thenReturn(true);
+
+        // When
+        ReconciliationStatus status = service.startReconciliation();
+
+        // Then
+        assertThat(status.getState()).isEqualTo("FAILED");
+        assertThat(status.getErrorMessage()).contains("still being copied");
+        verifyNoInteractions(scanner);
+    }
+
+    @Test
+    void startReconciliation_OldVersionsNotDrained_RefusedWithReason() {
+        // Given
+        when(migrationService.loadAppliedMigrations()).thenReturn(Set.of());
+        when(dataMigrationRunner.isEnabled()).thenReturn(true);
+        when(dataMigrationRunner.isOldVersionsDrained()).thenReturn(false);
+
+        // When
+        ReconciliationStatus status = service.startReconciliation();
+
+        // Then
+        assertThat(status.getState()).isEqualTo("FAILED");
+        assertThat(status.getErrorMessage()).contains("app.migration.data.old-versions-drained");
+        verifyNoInteractions(scanner);
+    }
+
+    @Test
+    void startReconciliation_CopyToV2NotAppliedAndDataMigrationsDisabled_RefusedWithReason() {
+        // Given
+        when(migrationService.loadAppliedMigrations()).thenReturn(Set.of());
+        when(dataMigrationRunner.isEnabled()).thenReturn(false);
+
+        // When
+        ReconciliationStatus status = service.startReconciliation();
+
+        // Then
+        assertThat(status.getState()).isEqualTo("FAILED");
+        assertThat(status.getErrorMessage()).contains("data migrations are disabled");
+        verifyNoInteractions(scanner);
+    }
+
+    @Test
+    void startReconciliation_MigrationHistoryUnreadable_RefusedWithError() {
+        // Given
+        when(migrationService.loadAppliedMigrations()).thenThrow(new DriverTimeoutException("Query timed out after PT2S"));
+
+        // When
+        ReconciliationStatus status = service.startReconciliation();
+
+        // Then
+        assertThat(status.getState()).isEqualTo("FAILED");
+        assertThat(status.getErrorMessage()).contains("Could not read the migration history", "timed out");
+        verifyNoInteractions(scanner);
+    }
+
+    private ReconciliationStatus reconcile() throws InterruptedException {
+        ReconciliationStatus status = service.startReconciliation();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (status.getState().equals("RUNNING") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = service.getReconciliationStatus();
+        }
+        return status;
+    }
+
+    /**
+     * The scanner hands the given rows to the handler as a single range and page
+     */
+    private void scanning(List<Row> posts, List<Row> userStats) {
+        when(scanner.scan(any(ScanJob.class))).thenAnswer(invocation -> {
+            ScanHandler handler = invocation.<ScanJob>getArgument(0).getHandler();
+            handler.onRangeStart(range);
+            handler.onPage(range, posts);
+            handler.onRangeComplete(range);
+            return null;
+        });
+        when(range.read(CqlStatement.SCAN_USER_STATS)).thenReturn(userStats);
+    }
+
+    private void recounting(PostStatus... statuses) {
+        List<Row> rows = new ArrayList<>();
+        for (PostStatus status : statuses) {
+            Row row = mock(Row.class);
+            when(row.getByte("status_code")).thenReturn(status.getCode());
+            rows.add(row);
+        }
+        BoundStatement recount = mock(BoundStatement.class);
+        ResultSet result = mock(ResultSet.class);
+        when(statementRegistry.bind(CqlStatement.SELECT_USER_POST_STATUSES, userId)).thenReturn(recount);
+        when(cqlSession.execute(recount)).thenReturn(result);
+        when(result.iterator()).thenReturn(rows.iterator());
+    }
+
+    private void storing(int total, int published, int draft) {
+        UserStats stats = new UserStats(userId, NOW);
+        stats.setTotalPosts(total);
+        stats.setPublishedPosts(published);
+        stats.setDraftPosts(draft);
+        when(userStatsRepository.findForUpdate(userId)).thenReturn(Optional.of(stats));
+    }
+
+    private Row postRow(PostStatus status) {
+        Row row = mock(Row.class);
+        when(row.getUuid("user_id")).thenReturn(userId);
+        when(row.getByte("status_code")).thenReturn(status.getCode());
+        return row;
+    }
+
+    private Row statsRow(int total, int published, int draft) {
+        Row row = mock(Row.class);
+        when(row.getUuid("user_id")).thenReturn(userId);
+        when(row.getInt("total_posts")).thenReturn(total);
+        when(row.getInt("published_posts")).thenReturn(published);
+        when(row.getInt("draft_posts")).thenReturn(draft);
+        return row;
+    }
+}
@@ -0,0 +1,72 @@
+package example.stats;
+
+import example.domain.model.UserStatsDelta;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsRepairTest {
+
+    @Mock
+    private UserStatsRepair.Store store;
+
+    @Mock
+    private WriteBehindUserStatsAggregator statsAggregator;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void repair_NotSettled_WaitsUntilSettled() throws InterruptedException {
+        // Given: compared just now, settled in 50ms
+        UUID userId = UUID.randomUUID();
+        UserStatsRepair repair = new UserStatsRepair(store, statsAggregator, Duration.ofMillis(50), nanoTime::get);
+        when(store.read(userId)).thenReturn(new int[] {1, 1, 0});
+        when(store.recount(userId)).thenReturn(new int[] {2, 1, 1});
+
+        // When
+        long start = System.nanoTime();
+        long repaired = repair.repair(List.of(new UserStatsRepair.Divergence(userId, new int[] {1, 1, 0}, new int[] {2, 1, 1}, 0)));
+
+        // Then
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+        assertThat(repaired).isEqualTo(1);
+        verify(statsAggregator).record(userId, new UserStatsDelta(1, 0, 1, null));
+    }
+
+    @Test
+    void repair_InComparisonOrder_PendingUserSkipped() throws InterruptedException {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID pending = UUID.randomUUID();
+        nanoTime.set(Duration.ofSeconds(10).toNanos());
+        UserStatsRepair repair = new UserStatsRepair(store, statsAggregator, Duration.ofSeconds(3), nanoTime::get);
+        when(statsAggregator.hasPending(any())).thenAnswer(invocation -> pending.equals(invocation.getArgument(0)));
+        when(store.read(first)).thenReturn(null);
+        when(store.recount(first)).thenReturn(new int[] {1, 0, 1});
+
+        // When
+        long repaired = repair.repair(List.of(
+                new UserStatsRepair.Divergence(pending, new int[] {0, 0, 0}, new int[] {1, 1, 0}, 2),
+                new UserStatsRepair.Divergence(first, null, new int[] {1, 0, 1}, 1)));
+
+        // Then
+        assertThat(repaired).isEqualTo(1);
+        InOrder inOrder = inOrder(statsAggregator);
+        inOrder.verify(statsAggregator).hasPending(first);
+        inOrder.verify(statsAggregator).record(first, new UserStatsDelta(1, 0, 1, null));
+        inOrder.verify(statsAggregator).hasPending(pending);
+        verify(store, never()).recount(pending);
+    }
+}
@@ -0,0 +1,218 @@
+package example.stats;
+
+import example.domain.model.PostStatus;
+import example.domain.model.UserStats;
+import example.domain.model.UserStatsDelta;
+import example.domain.ports.output.TimeSource;
+import example.domain.repository.UserStatsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import example.time.CachingTimeSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindUserStatsAggregatorTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TimeSource timeSource = new CachingTimeSource(Clock.systemUTC(), Duration.ZERO);
+
+    @InjectMocks
+    private WriteBehindUserStatsAggregator aggregator;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(aggregator, "flushInterval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(aggregator, "maxPendingUsers", 1000);
+        aggregator.start();
+        userId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (aggregator.isRunning()) {
+            aggregator.stop();
+        }
+    }
+
+    @Test
+    void flush_MergesDeltasIntoSingleWrite() {
+        // Given
+        UserStats existing = new UserStats(userId, NOW);
+        existing.setTotalPosts(3);
+        existing.setDraftPosts(3);
+        when(userStatsRepository.findForUpdate(userId)).thenReturn(Optional.of(existing));
+
+        aggregator.record(userId, UserStatsDelta.increment(PostStatus.DRAFT, NOW));
+        aggregator.record(userId, UserStatsDelta.increment(PostStatus.DRAFT, NOW));
+        aggregator.record(userId, UserStatsDelta.statusChange(PostStatus.DRAFT, PostStatus.PUBLISHED, NOW));
+
+        // When
+        aggregator.flush();
+
+        // Then
+        ArgumentCaptor<UserStats> saved = ArgumentCaptor.forClass(UserStats.class);
+        verify(userStatsRepository, times(1)).save(saved.capture());
+        assertThat(saved.getValue().getTotalPosts()).isEqualTo(5);
+        assertThat(saved.getValue().getDraftPosts()).isEqualTo(4);
+        assertThat(saved.getValue().getPublishedPosts()).isEqualTo(1);
+        assertThat(saved.getValue().getLastPostDate()).isNotNull();
+    }
+
+    @Test
+    void record_DoesNotWriteUntilFlush() {
+        // When
+        aggregator.record(userId, UserStatsDelta.increment(PostStatus.DRAFT, NOW));
+
+        // Then
+        verifyNoInteractions(userStatsRepository);
+        assertThat(aggregator.lagSeconds()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void applyPending_AddsBufferedDeltas() {
+        // Given
+        aggregator.record(userId, UserStatsDelta.increment(PostStatus.PUBLISHED, NOW));
+        UserStats stats = new UserStats(userId, NOW);
+
+        // When
+        aggregator.applyPending(stats);
+
+        // Then
+        assertThat(stats.getTotalPosts()).isEqualTo(1);
+        assertThat(stats.getPublishedPosts()).isEqualTo(1);
+    }
+
+    @Test
+    void applyPending_DuringFlush_CountsInFlightDeltaOnce() {
+        // Given
+        when(userStatsRepository.findForUpdate(userId)).thenReturn(Optional.empty());
+        aggregator.record(userId, UserStatsDelta.increment(PostStatus.PUBLISHED, NOW));
+        UserStats seen = new UserStats(userId, NOW);
+        when(userStatsRepository.save(any(UserStats.class))).thenAnswer(invocation -> {
+            aggregator.record(userId, UserStatsDelta.increment(PostStatus.DRAFT, NOW));
+            aggregator.applyPending(seen);
+            return invocation.getArgument(0);
+        }).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        aggregator.flush();
+
+        // Then
+        assertThat(seen.getTotalPosts()).isEqualTo(2);
+        assertThat(seen.getPublishedPosts()).isEqualTo(1);
+        assertThat(seen.getDraftPosts()).isEqualTo(1);
+        assertThat(aggregator.hasPending(userId)).isTrue();
+    }
+
+    @Test
+    void applyPending_RowReadAfterFlushWrite_CountsDeltaOnce() {
+        // Given: a reader reads the row the flush just wrote before the flush completed
+        when(userStatsRepository.findForUpdate(userId)).thenReturn(Optional.empty());
+        aggregator.record(userId, UserStatsDelta.increment(PostStatus.PUBLISHED, NOW));
+        UserStats[] seen = new UserStats[1];
+        when(userStatsRepository.save(any(UserStats.class))).thenAnswer(invocation -> {
+            seen[0] = copy(invocation.getArgument(0));
+            aggregator.applyPending(seen[0]);
+            return invocation.getArgument(0);
+        });
+
+        // When
+        aggregator.flush();
+
+        // Then
+        assertThat(seen[0].getTotalPosts()).isEqualTo(1);
+        assertThat(seen[0].getPublishedPosts()).isEqualTo(1);
+    }
+
+    @Test
+    void applyPending_RowReadBeforeFlushWrite_CountsDeltaOnce() {
+        // Given: a reader reads the row before the flush writes it, and adds the deltas after
+        UserStats existing = new UserStats(userId, NOW);
+        existing.setTotalPosts(2);
+        existing.setPublishedPosts(2);
+        when(userStatsRepository.findForUpdate(userId)).thenReturn(Optional.of(copy(existing)));
+        when(userStatsRepository.save(any(UserStats.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        aggregator.record(userId, UserStatsDelta.increment(PostStatus.PUBLISHED, NOW));
+        UserStats readBefore = copy(existing);
+
+        // When
+        aggregator.flush();
+        aggregator.applyPending(readBefore);
+
+        // Then
+        assertThat(readBefore.getTotalPosts()).isEqualTo(3);
+        assertThat(readBefore.getPublishedPosts()).isEqualTo(3);
+        assertThat(aggregator.hasPending(userId)).isFalse();
+    }
+
+    @Test
+    void flush_FailedWrite_IsRetried() {
+        // Given
+        when(userStatsRepository.findForUpdate(userId)).thenReturn(Optional.empty());
+        when(userStatsRepository.save(any(UserStats.class)))
+                .thenThrow(new RuntimeException("write timeout"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        aggregator.record(userId, UserStatsDelta.increment(PostStatus.DRAFT, NOW));
+
+        // When
+        aggregator.flush();
+        aggregator.flush();
+
+        // Then
+        ArgumentCaptor<UserStats> saved = ArgumentCaptor.forClass(UserStats.class);
+        verify(userStatsRepository, times(2)).save(saved.capture());
+        assertThat(saved.getValue().getTotalPosts()).isEqualTo(1);
+        assertThat(saved.getValue().getDraftPosts()).isEqualTo(1);
+    }
+
+    @Test
+    void stop_FlushesPendingDeltas() {
+        // Given
+        when(userStatsRepository.findForUpdate(userId)).thenReturn(Optional.empty());
+        aggregator.record(userId, UserStatsDelta.decrement(PostStatus.DRAFT));
+
+        // When
+        aggregator.stop();
+
+        // Then
+        verify(userStatsRepository).save(any(UserStats.class));
+        assertThat(aggregator.isRunning()).isFalse();
+    }
+
+    private static UserStats copy(UserStats stats) {
+        UserStats copy = new UserStats(stats.getUserId(), stats.getUpdatedAt());
+        copy.setTotalPosts(stats.getTotalPosts());
+        copy.setPublishedPosts(stats.getPublishedPosts());
+        copy.setDraftPosts(stats.getDraftPosts());
+        return copy;
+    }
+}
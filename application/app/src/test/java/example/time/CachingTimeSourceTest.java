@@ -0,0 +1,87 @@
+package example.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingTimeSourceTest {
+
+    private static final Instant START = Instant.parse("2024-05-01T10:00:00.000Z");
+
+    @Test
+    void now_ReusesInstanceWithinTick() {
+        // Given
+        MutableClock clock = new MutableClock(START.plusMillis(3));
+        CachingTimeSource timeSource = new CachingTimeSource(clock, Duration.ofMillis(10));
+
+        // When
+        OffsetDateTime first = timeSource.now();
+        clock.instant = START.plusMillis(9);
+        OffsetDateTime second = timeSource.now();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.toInstant()).isEqualTo(START);
+        assertThat(first.getOffset()).isEqualTo(ZoneOffset.UTC);
+    }
+
+    @Test
+    void now_AdvancesWithClock() {
+        // Given
+        MutableClock clock = new MutableClock(START);
+        CachingTimeSource timeSource = new CachingTimeSource(clock, Duration.ofMillis(10));
+        OffsetDateTime first = timeSource.now();
+
+        // When
+        clock.instant = START.plusMillis(25);
+        OffsetDateTime second = timeSource.now();
+
+        // Then
+        assertThat(second.toInstant()).isEqualTo(START.plusMillis(20));
+        assertThat(second).isAfter(first);
+    }
+
+    @Test
+    void now_ZeroTickReadsClockEveryTime() {
+        // Given
+        MutableClock clock = new MutableClock(START.plusNanos(1_500_000));
+        CachingTimeSource timeSource = new CachingTimeSource(clock, Duration.ZERO);
+
+        // When
+        OffsetDateTime now = timeSource.now();
+
+        // Then
+        assertThat(now.toInstant()).isEqualTo(START.plusNanos(1_500_000));
+        assertThat(timeSource.now()).isNotSameAs(now);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package example.benchmarks;
+
+import example.config.CassandraConverterConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * Timestamp converters registered by {@link CassandraConverterConfig}, called directly and
+ * through a conversion service the way the mapping layer looks them up for every column.
+ */
+@State(Scope.Thread)
+public class CassandraConverterBenchmark {
+
+    private final CassandraConverterConfig.OffsetDateTimeToInstantWritingConverter writing =
+            new CassandraConverterConfig.OffsetDateTimeToInstantWritingConverter();
+    private final CassandraConverterConfig.InstantToOffsetDateTimeReadingConverter reading =
+            new CassandraConverterConfig.InstantToOffsetDateTimeReadingConverter();
+
+    private DefaultConversionService conversionService;
+    private OffsetDateTime offsetDateTime;
+    private Instant instant;
+
+    @Setup
+    public void setUp() {
+        conversionService = new DefaultConversionService();
+        new CassandraConverterConfig().cassandraCustomConversions().registerConvertersIn(conversionService);
+        offsetDateTime = OffsetDateTime.now();
+        instant = offsetDateTime.toInstant();
+    }
+
+    @Benchmark
+    public Instant writeDirect() {
+        return writing.convert(offsetDateTime);
+    }
+
+    @Benchmark
+    public OffsetDateTime readDirect() {
+        return reading.convert(instant);
+    }
+
+    @Benchmark
+    public Instant writeViaConversionService() {
+        return conversionService.convert(offsetDateTime, Instant.class);
+    }
+
+    @Benchmark
+    public OffsetDateTime readViaConversionService() {
+        return conversionService.convert(instant, OffsetDateTime.class);
+    }
+}
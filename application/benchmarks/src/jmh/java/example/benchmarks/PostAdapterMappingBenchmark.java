@@ -0,0 +1,115 @@
+package example.benchmarks;
+
+import example.domain.model.PostById;
+import example.domain.model.PostByUser;
+import example.domain.model.PostStatus;
+import example.domain.ports.input.CreatePostRequest;
+import example.domain.ports.input.PostPort;
+import example.domain.ports.input.UpdatePostRequest;
+import example.spring_cassandra.api.model.PostByIdDto;
+import example.spring_cassandra.api.model.PostByUserDto;
+import example.web.PostAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Entity to DTO mapping in {@link PostAdapter}, measured through its public endpoints
+ * with a {@link PostPort} that returns canned posts.
+ */
+@State(Scope.Thread)
+public class PostAdapterMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int timelineSize;
+
+    private PostAdapter postAdapter;
+    private UUID userId;
+    private UUID postId;
+
+    @Setup
+    public void setUp() {
+        userId = UUID.randomUUID();
+        List<PostByUser> timeline = new ArrayList<>(timelineSize);
+        for (int i = 0; i < timelineSize; i++) {
+            PostByUser post = new PostByUser(userId, "Title " + i, "Benchmark content ".repeat(20));
+            post.setStatus(PostStatus.PUBLISHED);
+            post.setTags(List.of("bench", "jmh"));
+            timeline.add(post);
+        }
+        PostById single = PostById.fromPostByUser(timeline.get(0));
+        postId = single.getPostId();
+
+        postAdapter = new PostAdapter();
+        ReflectionTestUtils.setField(postAdapter, "postPort", new CannedPostPort(timeline, single));
+    }
+
+    @Benchmark
+    public ResponseEntity<List<PostByUserDto>> mapTimeline() {
+        return postAdapter.getUserPosts(userId, null, "PUBLISHED", null);
+    }
+
+    @Benchmark
+    public ResponseEntity<PostByIdDto> mapSinglePost() {
+        return postAdapter.getPost(postId);
+    }
+
+    private static final class CannedPostPort implements PostPort {
+        private final List<PostByUser> timeline;
+        private final PostById post;
+
+        CannedPostPort(List<PostByUser> timeline, PostById post) {
+            this.timeline = timeline;
+            this.post = post;
+        }
+
+        @Override
+        public List<PostByUser> getUserPosts(UUID userId, int limit) {
+            return timeline;
+        }
+
+        @Override
+        public List<PostByUser> getUserPostsAfter(UUID userId, UUID afterPostId, int limit) {
+            return timeline;
+        }
+
+        @Override
+        public List<PostByUser> getUserPostsByStatus(UUID userId, PostStatus status) {
+            return timeline;
+        }
+
+        @Override
+        public Optional<PostById> getPostById(UUID postId) {
+            return Optional.of(post);
+        }
+
+        @Override
+        public PostByUser createPost(UUID userId, CreatePostRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PostByUser updatePost(UUID userId, UUID postId, UpdatePostRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deletePost(UUID userId, UUID postId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PostByUser publishPost(UUID userId, UUID postId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
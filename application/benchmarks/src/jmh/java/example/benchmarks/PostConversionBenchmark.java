@@ -0,0 +1,39 @@
+package example.benchmarks;
+
+import example.domain.model.PostById;
+import example.domain.model.PostByUser;
+import example.domain.model.PostByUserStatus;
+import example.domain.model.PostStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Denormalisation copies done on every post write.
+ */
+@State(Scope.Thread)
+public class PostConversionBenchmark {
+
+    private PostByUser post;
+
+    @Setup
+    public void setUp() {
+        post = new PostByUser(UUID.randomUUID(), "Benchmark title", "Benchmark content ".repeat(20));
+        post.setStatus(PostStatus.PUBLISHED);
+        post.setTags(List.of("bench", "jmh", "cassandra"));
+    }
+
+    @Benchmark
+    public PostById postByIdFromPostByUser() {
+        return PostById.fromPostByUser(post);
+    }
+
+    @Benchmark
+    public PostByUserStatus postByUserStatusFromPostByUser() {
+        return PostByUserStatus.fromPostByUser(post);
+    }
+}
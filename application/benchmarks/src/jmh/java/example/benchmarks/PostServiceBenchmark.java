@@ -0,0 +1,139 @@
+package example.benchmarks;
+
+import example.domain.exceptions.PostNotFoundException;
+import example.domain.exceptions.UserNotFoundException;
+import example.domain.model.PostByUser;
+import example.domain.model.PostStatus;
+import example.domain.model.User;
+import example.domain.model.UserStats;
+import example.domain.model.UserStatsDelta;
+import example.domain.ports.input.CreatePostRequest;
+import example.domain.ports.input.UpdatePostRequest;
+import example.domain.ports.output.UserStatsUpdatePort;
+import example.domain.repository.UserRepository;
+import example.domain.services.PostService;
+import example.inmemory.InMemoryPostByIdRepository;
+import example.inmemory.InMemoryPostByUserRepository;
+import example.inmemory.InMemoryPostByUserStatusRepository;
+import example.inmemory.InMemoryUserRepository;
+import example.time.CachingTimeSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link PostService} write and timeline paths against the in-memory repositories.
+ * {@code postsPerUser} controls how many posts the user already has, which is what
+ * {@code updatePost} (it scans the user's partition) and {@code getUserPostsByStatus} scale with.
+ * {@code timeTickMillis} 0 reads the clock for every operation, 1 shares one timestamp per
+ * millisecond as the application does; compare their {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+public class PostServiceBenchmark {
+
+    @Param({"10", "100"})
+    private int postsPerUser;
+
+    @Param({"0", "1"})
+    private long timeTickMillis;
+
+    private PostService postService;
+    private UserRepository userRepository;
+    private UUID userId;
+    private List<UUID> postIds;
+    private CreatePostRequest createRequest;
+    private UpdatePostRequest updateRequest;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        userRepository = new InMemoryUserRepository();
+        postService = new PostService();
+        ReflectionTestUtils.setField(postService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(postService, "postByUserRepository", new InMemoryPostByUserRepository());
+        ReflectionTestUtils.setField(postService, "postByIdRepository", new InMemoryPostByIdRepository());
+        ReflectionTestUtils.setField(postService, "postByUserStatusRepository", new InMemoryPostByUserStatusRepository());
+        ReflectionTestUtils.setField(postService, "userStatsUpdatePort", new MergingStatsPort());
+        ReflectionTestUtils.setField(postService, "timeSource",
+                new CachingTimeSource(Clock.systemUTC(), Duration.ofMillis(timeTickMillis)));
+
+        User user = new User("Bench User", "bench@example.com");
+        userRepository.save(user);
+        userId = user.getId();
+
+        createRequest = new CreatePostRequest();
+        createRequest.setTitle("Benchmark title");
+        createRequest.setContent("Benchmark content ".repeat(20));
+        createRequest.setTags(List.of("bench", "jmh"));
+
+        postIds = new ArrayList<>(postsPerUser);
+        for (int i = 0; i < postsPerUser; i++) {
+            PostByUser post = postService.createPost(userId, createRequest);
+            postIds.add(post.getPostId());
+            if (i % 2 == 0) {
+                postService.publishPost(userId, post.getPostId());
+            }
+        }
+
+        updateRequest = new UpdatePostRequest();
+        updateRequest.setTitle("Updated title");
+        updateRequest.setContent("Updated content");
+    }
+
+    /**
+     * Adds a post on top of the seeded ones; the table keeps growing over the iteration,
+     * which is why the state is rebuilt per iteration rather than per trial.
+     */
+    @Benchmark
+    public PostByUser createPost() throws UserNotFoundException {
+        return postService.createPost(userId, createRequest);
+    }
+
+    @Benchmark
+    public PostByUser updatePost() throws PostNotFoundException {
+        UUID postId = postIds.get(next++ % postIds.size());
+        return postService.updatePost(userId, postId, updateRequest);
+    }
+
+    @Benchmark
+    public List<PostByUser> getUserPostsByStatus() {
+        return postService.getUserPostsByStatus(userId, PostStatus.PUBLISHED);
+    }
+
+    /**
+     * Merges deltas per user the way the write-behind aggregator does, without the flushing.
+     */
+    private static final class MergingStatsPort implements UserStatsUpdatePort {
+        private final Map<UUID, UserStatsDelta> pending = new ConcurrentHashMap<>();
+
+        @Override
+        public void record(UUID userId, UserStatsDelta delta) {
+            pending.merge(userId, delta, UserStatsDelta::merge);
+        }
+
+        @Override
+        public void applyPending(UserStats stats) {
+            UserStatsDelta delta = pending.get(stats.getUserId());
+            if (delta != null) {
+                stats.applyDelta(delta);
+            }
+        }
+
+        @Override
+        public void flush() {
+            pending.clear();
+        }
+    }
+}
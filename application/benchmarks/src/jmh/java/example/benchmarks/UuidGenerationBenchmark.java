@@ -0,0 +1,37 @@
+package example.benchmarks;
+
+import example.domain.model.TimeOrderedUuid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+
+/**
+ * Id generation for new posts and users under contention, run with as many threads as
+ * concurrent requests. {@link UUID#randomUUID()} shares one {@code SecureRandom}.
+ */
+@Threads(16)
+public class UuidGenerationBenchmark {
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID timeOrderedUuid() {
+        return TimeOrderedUuid.next();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UUID randomUuidSingleThread() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UUID timeOrderedUuidSingleThread() {
+        return TimeOrderedUuid.next();
+    }
+}
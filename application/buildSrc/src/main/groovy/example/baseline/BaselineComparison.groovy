@@ -0,0 +1,75 @@
+package example.baseline
+
+/**
+ * Compares a run with its baseline, metric by metric.
+ * <p>
+ * A metric regresses when it is worse than the baseline by more than the tolerance and,
+ * if both sides have a confidence interval, the intervals do not overlap. Noise inside the
+ * intervals is therefore never reported, however large the relative change.
+ */
+class BaselineComparison {
+
+    enum Verdict { REGRESSION, IMPROVEMENT, UNCHANGED, NEW, MISSING }
+
+    static class Result {
+        String key
+        String unit
+        Double baseline
+        Double current
+        /** Relative change, positive means worse */
+        Double change
+        double tolerance
+        boolean significant
+        Verdict verdict
+
+        Map toMap() {
+            [key: key, unit: unit, baseline: baseline, current: current, change: change,
+             tolerance: tolerance, significant: significant, verdict: verdict.name()]
+        }
+    }
+
+    /** Relative tolerance per metric kind (time, throughput, p99, alloc) */
+    final Map<String, Double> tolerances
+
+    BaselineComparison(Map<String, Double> tolerances) {
+        this.tolerances = tolerances
+    }
+
+    List<Result> compare(List<Metric> baseline, List<Metric> current) {
+        Map<String, Metric> baselineByKey = baseline.collectEntries { [(it.key): it] }
+        Map<String, Metric> currentByKey = current.collectEntries { [(it.key): it] }
+        List<Result> results = []
+        currentByKey.each { key, metric ->
+            Metric base = baselineByKey[key]
+            results << (base == null
+                    ? new Result(key: key, unit: metric.unit, current: metric.score, tolerance: tolerance(metric), verdict: Verdict.NEW)
+                    : compare(base, metric))
+        }
+        baselineByKey.findAll { key, metric -> !currentByKey.containsKey(key) }.each { key, metric ->
+            results << new Result(key: key, unit: metric.unit, baseline: metric.score, tolerance: tolerance(metric), verdict: Verdict.MISSING)
+        }
+        results.sort { it.key }
+    }
+
+    Result compare(Metric base, Metric current) {
+        double tolerance = tolerance(current)
+        double change = base.score == 0 ? 0 : (current.score - base.score) / Math.abs(base.score)
+        if (current.higherIsBetter) {
+            change = -change
+        }
+        boolean significant = !(base.hasConfidenceInterval() && current.hasConfidenceInterval()) ||
+                current.ciLow > base.ciHigh || current.ciHigh < base.ciLow
+        Verdict verdict = Verdict.UNCHANGED
+        if (significant && change > tolerance) {
+            verdict = Verdict.REGRESSION
+        } else if (significant && change < -tolerance) {
+            verdict = Verdict.IMPROVEMENT
+        }
+        new Result(key: current.key, unit: current.unit, baseline: base.score, current: current.score,
+                change: change, tolerance: tolerance, significant: significant, verdict: verdict)
+    }
+
+    private double tolerance(Metric metric) {
+        tolerances.getOrDefault(metric.kind, tolerances.getOrDefault('default', 0.05d))
+    }
+}
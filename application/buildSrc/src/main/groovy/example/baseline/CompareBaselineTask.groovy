@@ -0,0 +1,80 @@
+package example.baseline
+
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
+import org.gradle.api.DefaultTask
+import org.gradle.api.GradleException
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.MapProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.OutputFile
+import org.gradle.api.tasks.TaskAction
+
+/**
+ * Compares the latest run with the stored baseline and fails (or warns) on regressions.
+ */
+abstract class CompareBaselineTask extends DefaultTask {
+
+    @InputFile
+    abstract RegularFileProperty getResults()
+
+    @InputFile
+    abstract RegularFileProperty getBaseline()
+
+    @Input
+    abstract MapProperty<String, Double> getTolerances()
+
+    @Input
+    abstract Property<Boolean> getFailOnRegression()
+
+    @OutputFile
+    abstract RegularFileProperty getReport()
+
+    @TaskAction
+    void compare() {
+        Map baselineJson = new JsonSlurper().parse(baseline.get().asFile) as Map
+        if (baselineJson.formatVersion != SaveBaselineTask.FORMAT_VERSION) {
+            throw new GradleException("Baseline ${baseline.get().asFile} has format version ${baselineJson.formatVersion}, " +
+                    "expected ${SaveBaselineTask.FORMAT_VERSION}; save a new baseline")
+        }
+        List<Metric> baselineMetrics = (baselineJson.metrics as List<Map>).collect { Metric.fromMap(it) }
+        List<Metric> currentMetrics = ResultParser.parse(results.get().asFile)
+
+        List<BaselineComparison.Result> results = new BaselineComparison(tolerances.get()).compare(baselineMetrics, currentMetrics)
+
+        logger.lifecycle("Compared with baseline of {} ({}, {})", baselineJson.projectVersion,
+                baselineJson.revision ?: 'unknown revision', baselineJson.createdAt)
+        results.each { result ->
+            String line = String.format('%-11s %-70s %12s -> %12s %-8s %s', result.verdict, result.key,
+                    format(result.baseline), format(result.current), result.unit ?: '',
+                    result.change != null ? String.format('%+.1f%% (tolerance %.0f%%)', result.change * 100, result.tolerance * 100) : '')
+            if (result.verdict == BaselineComparison.Verdict.REGRESSION) {
+                logger.warn(line)
+            } else {
+                logger.lifecycle(line)
+            }
+        }
+
+        File reportFile = report.get().asFile
+        reportFile.parentFile.mkdirs()
+        reportFile.text = JsonOutput.prettyPrint(JsonOutput.toJson([
+                baseline: [projectVersion: baselineJson.projectVersion, revision: baselineJson.revision, createdAt: baselineJson.createdAt],
+                results : results.collect { it.toMap() }
+        ]))
+
+        List<BaselineComparison.Result> regressions = results.findAll { it.verdict == BaselineComparison.Verdict.REGRESSION }
+        if (!regressions.isEmpty()) {
+            String message = "${regressions.size()} metric(s) regressed beyond tolerance: ${regressions*.key.join(', ')}"
+            if (failOnRegression.get()) {
+                throw new GradleException(message)
+            }
+            logger.warn(message)
+        }
+    }
+
+    private static String format(Double value) {
+        value == null ? '-' : String.format('%.3f', value)
+    }
+}
@@ -0,0 +1,30 @@
+package example.baseline
+
+/**
+ * One measured value of a benchmark or load test, with its confidence interval when the
+ * source provides one.
+ */
+class Metric {
+    /** Stable identifier, e.g. {@code jmh:PostServiceBenchmark.createPost(postsPerUser=10):time} */
+    String key
+    /** time, throughput, p99 or alloc */
+    String kind
+    String unit
+    double score
+    Double ciLow
+    Double ciHigh
+    boolean higherIsBetter
+
+    boolean hasConfidenceInterval() {
+        ciLow != null && ciHigh != null && !ciLow.naN && !ciHigh.naN
+    }
+
+    Map toMap() {
+        [key: key, kind: kind, unit: unit, score: score, ciLow: ciLow, ciHigh: ciHigh, higherIsBetter: higherIsBetter]
+    }
+
+    static Metric fromMap(Map map) {
+        new Metric(key: map.key, kind: map.kind, unit: map.unit, score: map.score as double,
+                ciLow: map.ciLow as Double, ciHigh: map.ciHigh as Double, higherIsBetter: map.higherIsBetter as boolean)
+    }
+}
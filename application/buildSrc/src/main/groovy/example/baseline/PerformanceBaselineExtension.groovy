@@ -0,0 +1,24 @@
+package example.baseline
+
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.MapProperty
+import org.gradle.api.provider.Property
+
+/**
+ * {@code performanceBaseline { ... }} block of the {@code example.performance-baseline-conventions} plugin.
+ */
+interface PerformanceBaselineExtension {
+
+    /** Result file of the latest run (JMH JSON or load-report.json) */
+    RegularFileProperty getResults()
+
+    /** Where baselines are kept, one JSON file per project under version control */
+    DirectoryProperty getBaselineDir()
+
+    /** Relative tolerance per metric kind: time, throughput, p99, alloc (and default) */
+    MapProperty<String, Double> getTolerances()
+
+    /** Fail the build on a regression, otherwise only warn */
+    Property<Boolean> getFailOnRegression()
+}
@@ -0,0 +1,67 @@
+package example.baseline
+
+import groovy.json.JsonSlurper
+
+/**
+ * Reads the result files the benchmarks and the load harness write into {@link Metric}s.
+ */
+class ResultParser {
+
+    static List<Metric> parse(File file) {
+        def json = new JsonSlurper().parse(file)
+        if (json instanceof List) {
+            return parseJmh(json as List)
+        }
+        if (json instanceof Map && json.operations != null) {
+            return parseLoadReport(json as Map)
+        }
+        throw new IllegalArgumentException("Neither a JMH JSON result nor a load report: $file")
+    }
+
+    /**
+     * JMH JSON ({@code -rf json}): the primary score of every benchmark and, when the gc
+     * profiler ran, its normalised allocation rate, both with JMH's 99.9% confidence interval
+     */
+    static List<Metric> parseJmh(List results) {
+        List<Metric> metrics = []
+        results.each { Map result ->
+            String name = result.benchmark.toString().tokenize('.').takeRight(2).join('.')
+            if (result.params) {
+                name += '(' + (result.params as Map).collect { k, v -> "$k=$v" }.join(',') + ')'
+            }
+            Map primary = result.primaryMetric as Map
+            boolean throughputMode = result.mode == 'thrpt'
+            metrics << metric("jmh:$name:${throughputMode ? 'throughput' : 'time'}",
+                    throughputMode ? 'throughput' : 'time', primary, throughputMode)
+
+            Map alloc = (result.secondaryMetrics as Map)?.find { k, v -> k.toString().endsWith('gc.alloc.rate.norm') }?.value as Map
+            if (alloc != null) {
+                metrics << metric("jmh:$name:alloc", 'alloc', alloc, false)
+            }
+        }
+        metrics
+    }
+
+    /**
+     * Load harness report: throughput and corrected p99 latency per operation. A single run
+     * has no confidence interval, so these are compared with the tolerance only.
+     */
+    static List<Metric> parseLoadReport(Map report) {
+        List<Metric> metrics = []
+        (report.operations as Map).each { String operation, Map summary ->
+            metrics << new Metric(key: "load:$operation:throughput", kind: 'throughput', unit: 'req/s',
+                    score: summary.throughputPerSecond as double, higherIsBetter: true)
+            metrics << new Metric(key: "load:$operation:p99", kind: 'p99', unit: 'ms',
+                    score: (summary.latencyMs as Map).p99 as double, higherIsBetter: false)
+        }
+        metrics
+    }
+
+    private static Metric metric(String key, String kind, Map jmhMetric, boolean higherIsBetter) {
+        List confidence = jmhMetric.scoreConfidence as List
+        new Metric(key: key, kind: kind, unit: jmhMetric.scoreUnit, score: jmhMetric.score as double,
+                ciLow: confidence ? confidence[0] as Double : null,
+                ciHigh: confidence ? confidence[1] as Double : null,
+                higherIsBetter: higherIsBetter)
+    }
+}
@@ -0,0 +1,51 @@
+package example.baseline
+
+import groovy.json.JsonOutput
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.Optional
+import org.gradle.api.tasks.OutputFile
+import org.gradle.api.tasks.TaskAction
+
+import java.time.OffsetDateTime
+
+/**
+ * Stores the metrics of the latest run as the new baseline.
+ */
+abstract class SaveBaselineTask extends DefaultTask {
+
+    static final int FORMAT_VERSION = 1
+
+    @InputFile
+    abstract RegularFileProperty getResults()
+
+    @OutputFile
+    abstract RegularFileProperty getBaseline()
+
+    @Input
+    abstract Property<String> getProjectVersion()
+
+    @Input
+    @Optional
+    abstract Property<String> getRevision()
+
+    @TaskAction
+    void save() {
+        List<Metric> metrics = ResultParser.parse(results.get().asFile)
+        Map baselineJson = [
+                formatVersion  : FORMAT_VERSION,
+                projectVersion : projectVersion.get(),
+                revision       : revision.getOrNull(),
+                createdAt      : OffsetDateTime.now().toString(),
+                source         : results.get().asFile.name,
+                metrics        : metrics.collect { it.toMap() }
+        ]
+        File file = baseline.get().asFile
+        file.parentFile.mkdirs()
+        file.text = JsonOutput.prettyPrint(JsonOutput.toJson(baselineJson)) + '\n'
+        logger.lifecycle("Saved {} metrics as baseline {}", metrics.size(), file)
+    }
+}
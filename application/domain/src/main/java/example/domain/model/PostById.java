@@ -19,7 +19,11 @@ public class PostById {
     private UUID userId;
     private String title;
     private String content;
-    private String status;
+    @Column("status_code")
+    private PostStatus status;
+    // Name column, still written for the instances of versions before status codes
+    @Column("status")
+    private String legacyStatus;
     private Set<String> tags;
 
     @CassandraType(type = CassandraType.Name.TIMESTAMP)
@@ -32,15 +36,18 @@ public class PostById {
     public PostById() {}
 
     public PostById(UUID postId, UUID userId, String title, String content) {
-        Date now = new Date();
+        this(postId, userId, title, content, OffsetDateTime.now());
+    }
+
+    public PostById(UUID postId, UUID userId, String title, String content, OffsetDateTime now) {
         this.postId = postId;
         this.userId = userId;
         this.title = title;
         this.content = content;
-        this.status = "DRAFT";
+        setStatus(PostStatus.DRAFT);
         this.tags = new HashSet<>();
-        this.createdAt = OffsetDateTime.now();
-        this.updatedAt = OffsetDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
     }
 
     // Factory method to create from PostByUser
@@ -67,19 +74,20 @@ public class PostById {
     public String getTitle() { return title; }
     public void setTitle(String title) {
         this.title = title;
-        this.updatedAt = OffsetDateTime.now();
     }
 
     public String getContent() { return content; }
     public void setContent(String content) {
         this.content = content;
-        this.updatedAt = OffsetDateTime.now();
     }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) {
+    public PostStatus getStatus() {
+        // Versions before status codes only write the name, it holds the latest status
+        return legacyStatus != null ? PostStatus.fromName(legacyStatus) : status;
+    }
+    public void setStatus(PostStatus status) {
         this.status = status;
-        this.updatedAt = OffsetDateTime.now();
+        this.legacyStatus = status != null ? status.name() : null;
     }
 
     public Set<String> getTags() { return tags; }
@@ -2,6 +2,7 @@ package example.domain.model;
 
 
 import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.Column;
 import org.springframework.data.cassandra.core.mapping.PrimaryKey;
 import org.springframework.data.cassandra.core.mapping.Table;
 
@@ -18,7 +19,11 @@ public class PostByUser {
 
     private String title;
     private String content;
-    private String status;
+    @Column("status_code")
+    private PostStatus status;
+    // Name column, still written for the instances of versions before status codes
+    @Column("status")
+    private String legacyStatus;
     private List<String> tags;
     @CassandraType(type = CassandraType.Name.TIMESTAMP)
     private OffsetDateTime createdAt;
@@ -30,11 +35,14 @@ public class PostByUser {
     }
 
     public PostByUser(UUID userId, String title, String content) {
-        OffsetDateTime now = OffsetDateTime.now();
-        this.key = new PostByUserKey(userId, now, UUID.randomUUID());
+        this(userId, title, content, OffsetDateTime.now());
+    }
+
+    public PostByUser(UUID userId, String title, String content, OffsetDateTime now) {
+        this.key = new PostByUserKey(userId, now, TimeOrderedUuid.next(now.toInstant().toEpochMilli()));
         this.title = title;
         this.content = content;
-        this.status = "DRAFT";
+        setStatus(PostStatus.DRAFT);
         this.tags = new ArrayList<>();
         this.createdAt = now;
         this.updatedAt = now;
@@ -55,7 +63,6 @@ public class PostByUser {
 
     public void setTitle(String title) {
         this.title = title;
-        this.updatedAt = OffsetDateTime.now();
     }
 
     public String getContent() {
@@ -64,16 +71,16 @@ public class PostByUser {
 
     public void setContent(String content) {
         this.content = content;
-        this.updatedAt = OffsetDateTime.now();
     }
 
-    public String getStatus() {
-        return status;
+    public PostStatus getStatus() {
+        // Versions before status codes only write the name, it holds the latest status
+        return legacyStatus != null ? PostStatus.fromName(legacyStatus) : status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(PostStatus status) {
         this.status = status;
-        this.updatedAt = OffsetDateTime.now();
+        this.legacyStatus = status != null ? status.name() : null;
     }
 
     public List<String> getTags() {
@@ -9,7 +9,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-@Table("posts_by_user_status")
+@Table("posts_by_user_status_v2")
 public class PostByUserStatus {
 
     @PrimaryKey
@@ -66,7 +66,6 @@ public class PostByUserStatus {
 
     public void setTitle(String title) {
         this.title = title;
-        this.updatedAt = OffsetDateTime.now();
     }
 
     public String getContent() {
@@ -75,7 +74,6 @@ public class PostByUserStatus {
 
     public void setContent(String content) {
         this.content = content;
-        this.updatedAt = OffsetDateTime.now();
     }
 
     public List<String> getTags() {
@@ -103,7 +101,7 @@ public class PostByUserStatus {
         return key != null ? key.getPostId() : null;
     }
 
-    public String getStatus() {
+    public PostStatus getStatus() {
         return key != null ? key.getStatus() : null;
     }
 
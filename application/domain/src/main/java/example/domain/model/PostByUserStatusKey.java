@@ -19,9 +19,9 @@ public class PostByUserStatusKey implements Serializable {
     @PrimaryKeyColumn(name = "user_id", type = PrimaryKeyType.PARTITIONED)
     private UUID userId;
 
-    // Clustering keys - status, created_at, post_id (in that order)
-    @PrimaryKeyColumn(name = "status", type = PrimaryKeyType.CLUSTERED, ordering = Ordering.ASCENDING)
-    private String status;
+    // Clustering keys - status code, created_at, post_id (in that order)
+    @PrimaryKeyColumn(name = "status_code", type = PrimaryKeyType.CLUSTERED, ordering = Ordering.ASCENDING)
+    private PostStatus status;
 
     @CassandraType(type = CassandraType.Name.TIMESTAMP)
     @PrimaryKeyColumn(name = "created_at", type = PrimaryKeyType.CLUSTERED, ordering = Ordering.DESCENDING)
@@ -33,7 +33,7 @@ public class PostByUserStatusKey implements Serializable {
     // Constructors
     public PostByUserStatusKey() {}
 
-    public PostByUserStatusKey(UUID userId, String status, OffsetDateTime createdAt, UUID postId) {
+    public PostByUserStatusKey(UUID userId, PostStatus status, OffsetDateTime createdAt, UUID postId) {
         this.userId = userId;
         this.status = status;
         this.createdAt = createdAt;
@@ -49,11 +49,11 @@ public class PostByUserStatusKey implements Serializable {
         this.userId = userId;
     }
 
-    public String getStatus() {
+    public PostStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(PostStatus status) {
         this.status = status;
     }
 
@@ -93,7 +93,7 @@ public class PostByUserStatusKey implements Serializable {
     public String toString() {
         return "PostByUserStatusKey{" +
                 "userId=" + userId +
-                ", status='" + status + '\'' +
+                ", status=" + status +
                 ", createdAt=" + createdAt +
                 ", postId=" + postId +
                 '}';
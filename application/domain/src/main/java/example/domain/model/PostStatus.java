@@ -0,0 +1,48 @@
+package example.domain.model;
+
+/**
+ * Lifecycle status of a post.
+ * <p>
+ * Stored as its one byte {@link #getCode() code} ({@code TINYINT}), never as its name: the
+ * codes are part of the schema (and of the {@code posts_by_user_status_v2} clustering
+ * order), so existing codes must not change and new statuses take the next free code.
+ */
+public enum PostStatus {
+
+    DRAFT((byte) 0),
+    PUBLISHED((byte) 1),
+    ARCHIVED((byte) 2);
+
+    private static final PostStatus[] BY_CODE = new PostStatus[values().length];
+
+    static {
+        for (PostStatus status : values()) {
+            BY_CODE[status.code] = status;
+        }
+    }
+
+    private final byte code;
+
+    PostStatus(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static PostStatus fromCode(byte code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown post status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Parses a status name (as stored before status codes, and as used by the API),
+     * {@code null} stays {@code null}
+     */
+    public static PostStatus fromName(String name) {
+        return name != null ? valueOf(name) : null;
+    }
+}
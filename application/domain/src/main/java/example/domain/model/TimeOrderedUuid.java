@@ -0,0 +1,57 @@
+package example.domain.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Version 7 UUIDs (RFC 9562): 48 bits of Unix epoch milliseconds followed by 74 random bits.
+ * <p>
+ * They sort by creation millisecond, both as a Cassandra {@code uuid} and with
+ * {@link UUID#compareTo}, so ids created close together end up close together and
+ * "after id X" is a range condition. Within the same millisecond the order is random.
+ * <p>
+ * The random bits come from {@link ThreadLocalRandom}, which unlike
+ * {@link UUID#randomUUID()} shares no state between threads. They are unpredictable
+ * enough for identifiers but not for secrets: do not use these ids as tokens.
+ */
+public final class TimeOrderedUuid {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private TimeOrderedUuid() {
+    }
+
+    public static UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    /**
+     * Id created at the given time, e.g. the {@code createdAt} of the entity it identifies
+     */
+    public static UUID next(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (epochMillis << 16) | VERSION | (random.nextLong() & 0x0FFFL);
+        long leastSigBits = VARIANT | (random.nextLong() & VARIANT_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Smallest id of the given millisecond: every id created at or after it compares greater
+     * or equal, which makes it the lower bound of a range query by time
+     */
+    public static UUID lowerBound(long epochMillis) {
+        return new UUID((epochMillis << 16) | VERSION, VARIANT);
+    }
+
+    /**
+     * Creation time of a version 7 id
+     */
+    public static long epochMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a time ordered (version 7) UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -29,13 +29,21 @@ public class User {
 
     // Constructors
     public User() {
-        this.id = UUID.randomUUID();
-        this.createdAt = OffsetDateTime.now();
-        this.updatedAt = OffsetDateTime.now();
+        this(OffsetDateTime.now());
+    }
+
+    public User(OffsetDateTime now) {
+        this.id = TimeOrderedUuid.next(now.toInstant().toEpochMilli());
+        this.createdAt = now;
+        this.updatedAt = now;
     }
 
     public User(String name, String email) {
-        this();
+        this(name, email, OffsetDateTime.now());
+    }
+
+    public User(String name, String email, OffsetDateTime now) {
+        this(now);
         this.name = name;
         this.email = email;
     }
@@ -47,13 +55,11 @@ public class User {
     public String getName() { return name; }
     public void setName(String name) {
         this.name = name;
-        this.updatedAt = OffsetDateTime.now();
     }
 
     public String getEmail() { return email; }
     public void setEmail(String email) {
         this.email = email;
-        this.updatedAt = OffsetDateTime.now();
     }
 
     public OffsetDateTime getCreatedAt() { return createdAt; }
@@ -37,34 +37,57 @@ public class UserStats {
     public UserStats() {
     }
 
-    public UserStats(UUID userId) {
+    public UserStats(UUID userId, OffsetDateTime now) {
         this.userId = userId;
         this.totalPosts = 0;
         this.publishedPosts = 0;
         this.draftPosts = 0;
-        this.updatedAt = OffsetDateTime.now();
+        this.updatedAt = now;
     }
 
     // Methods to update stats
-    public void incrementPost(String status) {
+    public void incrementPost(PostStatus status) {
+        incrementPost(status, OffsetDateTime.now());
+    }
+
+    public void incrementPost(PostStatus status, OffsetDateTime now) {
         this.totalPosts++;
-        if ("PUBLISHED".equals(status)) {
-            this.publishedPosts++;
-        } else if ("DRAFT".equals(status)) {
-            this.draftPosts++;
+        switch (status) {
+            case PUBLISHED -> this.publishedPosts++;
+            case DRAFT -> this.draftPosts++;
+            case ARCHIVED -> { }
         }
-        this.lastPostDate = OffsetDateTime.now();
-        this.updatedAt = OffsetDateTime.now();
+        this.lastPostDate = now;
+        this.updatedAt = now;
     }
 
-    public void decrementPost(String status) {
+    public void decrementPost(PostStatus status) {
+        decrementPost(status, OffsetDateTime.now());
+    }
+
+    public void decrementPost(PostStatus status, OffsetDateTime now) {
         this.totalPosts = Math.max(0, this.totalPosts - 1);
-        if ("PUBLISHED".equals(status)) {
-            this.publishedPosts = Math.max(0, this.publishedPosts - 1);
-        } else if ("DRAFT".equals(status)) {
-            this.draftPosts = Math.max(0, this.draftPosts - 1);
+        switch (status) {
+            case PUBLISHED -> this.publishedPosts = Math.max(0, this.publishedPosts - 1);
+            case DRAFT -> this.draftPosts = Math.max(0, this.draftPosts - 1);
+            case ARCHIVED -> { }
+        }
+        this.updatedAt = now;
+    }
+
+    public void applyDelta(UserStatsDelta delta) {
+        applyDelta(delta, OffsetDateTime.now());
+    }
+
+    public void applyDelta(UserStatsDelta delta, OffsetDateTime now) {
+        this.totalPosts = Math.max(0, this.totalPosts + delta.getTotalPosts());
+        this.publishedPosts = Math.max(0, this.publishedPosts + delta.getPublishedPosts());
+        this.draftPosts = Math.max(0, this.draftPosts + delta.getDraftPosts());
+        if (delta.getLastPostDate() != null
+                && (this.lastPostDate == null || delta.getLastPostDate().isAfter(this.lastPostDate))) {
+            this.lastPostDate = delta.getLastPostDate();
         }
-        this.updatedAt = OffsetDateTime.now();
+        this.updatedAt = now;
     }
 
     // Getters and Setters
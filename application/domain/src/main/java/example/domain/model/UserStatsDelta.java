@@ -0,0 +1,109 @@
+package example.domain.model;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+/**
+ * Pending change to a user's {@link UserStats} counters.
+ * Deltas are immutable and can be merged, so many post operations on the same user
+ * collapse into a single {@code user_stats} write.
+ */
+public final class UserStatsDelta {
+
+    public static final UserStatsDelta EMPTY = new UserStatsDelta(0, 0, 0, null);
+
+    private final int totalPosts;
+    private final int publishedPosts;
+    private final int draftPosts;
+    private final OffsetDateTime lastPostDate;
+
+    public UserStatsDelta(int totalPosts, int publishedPosts, int draftPosts, OffsetDateTime lastPostDate) {
+        this.totalPosts = totalPosts;
+        this.publishedPosts = publishedPosts;
+        this.draftPosts = draftPosts;
+        this.lastPostDate = lastPostDate;
+    }
+
+    /**
+     * A post with the given status was added at the given time
+     */
+    public static UserStatsDelta increment(PostStatus status, OffsetDateTime postDate) {
+        return new UserStatsDelta(1, published(status), draft(status), postDate);
+    }
+
+    /**
+     * A post with the given status was removed
+     */
+    public static UserStatsDelta decrement(PostStatus status) {
+        return new UserStatsDelta(-1, -published(status), -draft(status), null);
+    }
+
+    /**
+     * A post moved from one status to another at the given time
+     */
+    public static UserStatsDelta statusChange(PostStatus oldStatus, PostStatus newStatus, OffsetDateTime changedAt) {
+        return decrement(oldStatus).merge(increment(newStatus, changedAt));
+    }
+
+    public UserStatsDelta merge(UserStatsDelta other) {
+        OffsetDateTime latest = lastPostDate;
+        if (latest == null || (other.lastPostDate != null && other.lastPostDate.isAfter(latest))) {
+            latest = other.lastPostDate;
+        }
+        return new UserStatsDelta(
+                totalPosts + other.totalPosts,
+                publishedPosts + other.publishedPosts,
+                draftPosts + other.draftPosts,
+                latest);
+    }
+
+    public boolean isEmpty() {
+        return totalPosts == 0 && publishedPosts == 0 && draftPosts == 0 && lastPostDate == null;
+    }
+
+    private static int published(PostStatus status) {
+        return status == PostStatus.PUBLISHED ? 1 : 0;
+    }
+
+    private static int draft(PostStatus status) {
+        return status == PostStatus.DRAFT ? 1 : 0;
+    }
+
+    public int getTotalPosts() {
+        return totalPosts;
+    }
+
+    public int getPublishedPosts() {
+        return publishedPosts;
+    }
+
+    public int getDraftPosts() {
+        return draftPosts;
+    }
+
+    public OffsetDateTime getLastPostDate() {
+        return lastPostDate;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        UserStatsDelta that = (UserStatsDelta) obj;
+        return totalPosts == that.totalPosts &&
+                publishedPosts == that.publishedPosts &&
+                draftPosts == that.draftPosts &&
+                Objects.equals(lastPostDate, that.lastPostDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(totalPosts, publishedPosts, draftPosts, lastPostDate);
+    }
+
+    @Override
+    public String toString() {
+        return "UserStatsDelta{total=" + totalPosts + ", published=" + publishedPosts +
+                ", draft=" + draftPosts + ", lastPostDate=" + lastPostDate + "}";
+    }
+}
@@ -1,5 +1,6 @@
 package example.domain.ports.input;
 
+import example.domain.model.PostStatus;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -14,7 +15,7 @@ public class CreatePostRequest {
     @NotBlank(message = "Content is required")
     private String content;
 
-    private String status = "DRAFT";
+    private PostStatus status = PostStatus.DRAFT;
     private List<String> tags;
 
     // getters and setters
@@ -24,8 +25,8 @@ public class CreatePostRequest {
     public String getContent() { return content; }
     public void setContent(String content) { this.content = content; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public PostStatus getStatus() { return status; }
+    public void setStatus(PostStatus status) { this.status = status; }
 
     public List<String> getTags() { return tags; }
     public void setTags(List<String> tags) { this.tags = tags; }
@@ -0,0 +1,49 @@
+package example.domain.ports.input;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface LeaderboardPort {
+
+    /**
+     * Get the authors with the most published posts, as ranked by the instance serving the
+     * call: each instance ranks the authors whose stats it wrote, so instances may disagree
+     * until the boards are merged from their snapshots on the next start
+     * @param limit Maximum number of authors
+     * @return Authors ordered by rank
+     */
+    List<AuthorRanking> getTopAuthors(int limit);
+
+    /**
+     * Author ranking data structure
+     */
+    class AuthorRanking {
+        private final int rank;
+        private final UUID userId;
+        private final int publishedPosts;
+        private final int totalPosts;
+
+        public AuthorRanking(int rank, UUID userId, int publishedPosts, int totalPosts) {
+            this.rank = rank;
+            this.userId = userId;
+            this.publishedPosts = publishedPosts;
+            this.totalPosts = totalPosts;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public UUID getUserId() {
+            return userId;
+        }
+
+        public int getPublishedPosts() {
+            return publishedPosts;
+        }
+
+        public int getTotalPosts() {
+            return totalPosts;
+        }
+    }
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package example.domain.ports.input;
 
 import example.domain.model.PostById;
 import example.domain.model.PostByUser;
+import example.domain.model.PostStatus;
 import example.domain.exceptions.PostNotFoundException;
 import example.domain.exceptions.UserNotFoundException;
 
@@ -45,6 +46,16 @@ public interface PostPort {
      * @return List of user posts
      */
     List<PostByUser> getUserPosts(UUID userId, int limit);
+
+    /**
+     * Get the newest user posts created after a post, newest first
+     * @param userId User ID
+     * @param afterPostId ID of the post, a time ordered (version 7) UUID
+     * @param limit Maximum number of posts, strictly positive
+     * @return User posts created after the post, at most the newest {@code limit}
+     * @throws IllegalArgumentException if the post ID is not time ordered
+     */
+    List<PostByUser> getUserPostsAfter(UUID userId, UUID afterPostId, int limit);
     
     /**
      * Get user posts by status
@@ -52,7 +63,7 @@ public interface PostPort {
      * @param status Post status
      * @return List of user posts with status
      */
-    List<PostByUser> getUserPostsByStatus(UUID userId, String status);
+    List<PostByUser> getUserPostsByStatus(UUID userId, PostStatus status);
     
     /**
      * Get post by ID
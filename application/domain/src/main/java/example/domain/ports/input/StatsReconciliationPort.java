@@ -0,0 +1,78 @@
+package example.domain.ports.input;
+
+import java.time.OffsetDateTime;
+
+public interface StatsReconciliationPort {
+
+    /**
+     * Start recounting user_stats from posts_by_user_status_v2 in the background.
+     * Resumes an interrupted run; does nothing if a run is already in progress.
+     * @return Status of the (new or running) reconciliation
+     */
+    ReconciliationStatus startReconciliation();
+
+    /**
+     * Get the status of the current or last reconciliation
+     * @return Reconciliation status
+     */
+    ReconciliationStatus getReconciliationStatus();
+
+    /**
+     * Reconciliation status data structure
+     */
+    class ReconciliationStatus {
+        private final String state;
+        private final int rangesTotal;
+        private final int rangesCompleted;
+        private final long rowsScanned;
+        private final long usersRepaired;
+        private final OffsetDateTime startedAt;
+        private final OffsetDateTime finishedAt;
+        private final String errorMessage;
+
+        public ReconciliationStatus(String state, int rangesTotal, int rangesCompleted, long rowsScanned,
+                                    long usersRepaired, OffsetDateTime startedAt, OffsetDateTime finishedAt,
+                                    String errorMessage) {
+            this.state = state;
+            this.rangesTotal = rangesTotal;
+            this.rangesCompleted = rangesCompleted;
+            this.rowsScanned = rowsScanned;
+            this.usersRepaired = usersRepaired;
+            this.startedAt = startedAt;
+            this.finishedAt = finishedAt;
+            this.errorMessage = errorMessage;
+        }
+
+        public String getState() {
+            return state;
+        }
+
+        public int getRangesTotal() {
+            return rangesTotal;
+        }
+
+        public int getRangesCompleted() {
+            return rangesCompleted;
+        }
+
+        public long getRowsScanned() {
+            return rowsScanned;
+        }
+
+        public long getUsersRepaired() {
+            return usersRepaired;
+        }
+
+        public OffsetDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        public OffsetDateTime getFinishedAt() {
+            return finishedAt;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package example.domain.ports.input;
 
+import example.domain.model.PostStatus;
 import jakarta.validation.constraints.Size;
 
 import java.util.List;
@@ -10,7 +11,7 @@ public class UpdatePostRequest {
     private String title;
 
     private String content;
-    private String status;
+    private PostStatus status;
     private List<String> tags;
 
     // getters and setters
@@ -20,8 +21,8 @@ public class UpdatePostRequest {
     public String getContent() { return content; }
     public void setContent(String content) { this.content = content; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public PostStatus getStatus() { return status; }
+    public void setStatus(PostStatus status) { this.status = status; }
 
     public List<String> getTags() { return tags; }
     public void setTags(List<String> tags) { this.tags = tags; }
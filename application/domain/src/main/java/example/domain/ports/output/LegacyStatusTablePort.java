@@ -0,0 +1,52 @@
+package example.domain.ports.output;
+
+import example.domain.model.PostByUserStatus;
+import example.domain.model.PostByUserStatusKey;
+import example.domain.model.PostStatus;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * {@code posts_by_user_status}, the status table {@code posts_by_user_status_v2} replaces.
+ * <p>
+ * Status rows are written to both tables until the old one is dropped. Reads are answered
+ * from the old table until every old row was copied to v2, since v2 misses the rows
+ * written before it existed until then.
+ */
+public interface LegacyStatusTablePort {
+
+    /**
+     * Used when there is no old table, always reads v2
+     */
+    LegacyStatusTablePort NONE = new LegacyStatusTablePort() {
+        @Override
+        public void save(PostByUserStatus post) {
+        }
+
+        @Override
+        public void delete(PostByUserStatusKey key) {
+        }
+
+        @Override
+        public List<PostByUserStatus> findByUserIdAndStatus(UUID userId, PostStatus status,
+                                                            Supplier<List<PostByUserStatus>> v2) {
+            return v2.get();
+        }
+    };
+
+    /**
+     * Called before the row is saved to v2, so a v2 row without its old row is stale
+     */
+    void save(PostByUserStatus post);
+
+    void delete(PostByUserStatusKey key);
+
+    /**
+     * Posts of the user in the status
+     *
+     * @param v2 reads them from {@code posts_by_user_status_v2} once it holds every row
+     */
+    List<PostByUserStatus> findByUserIdAndStatus(UUID userId, PostStatus status, Supplier<List<PostByUserStatus>> v2);
+}
@@ -0,0 +1,56 @@
+package example.domain.ports.output;
+
+import example.domain.model.PostById;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache in front of {@code posts_by_id} point reads.
+ * Entries are versioned by the post's {@code updatedAt}, so a post read from the table
+ * never replaces a newer version cached by a concurrent write.
+ */
+public interface PostCachePort {
+
+    /**
+     * Used when no cache is configured
+     */
+    PostCachePort NONE = new PostCachePort() {
+        @Override
+        public Optional<PostById> get(UUID postId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void put(PostById post) {
+        }
+
+        @Override
+        public void putIfAbsent(PostById post) {
+        }
+
+        @Override
+        public void evict(UUID postId) {
+        }
+    };
+
+    /**
+     * The cached post, a copy the caller may modify
+     */
+    Optional<PostById> get(UUID postId);
+
+    /**
+     * Cache a post that was just written, replacing any older version
+     */
+    void put(PostById post);
+
+    /**
+     * Cache a post that was just read, unless a version of it is cached already
+     */
+    void putIfAbsent(PostById post);
+
+    /**
+     * The post was deleted: drop it and keep a read that raced with the delete from caching it again
+     */
+    void evict(UUID postId);
+}
@@ -0,0 +1,17 @@
+package example.domain.ports.output;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Source of the current time for entity timestamps.
+ * Services read it once per operation and stamp every row written by that operation
+ * with the same instant, so all tables of a post or user agree on {@code created_at}
+ * and {@code updated_at}.
+ */
+public interface TimeSource {
+
+    /**
+     * The current time in UTC
+     */
+    OffsetDateTime now();
+}
@@ -0,0 +1,49 @@
+package example.domain.ports.output;
+
+import example.domain.model.PostByUser;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Keeps the newest posts of a user, so the first page of their timeline is answered
+ * without a read. Post writes update the cached page in place.
+ */
+public interface TimelineCachePort {
+
+    /**
+     * Used when no cache is configured, always reads the table
+     */
+    TimelineCachePort NONE = new TimelineCachePort() {
+        @Override
+        public List<PostByUser> firstPage(UUID userId, int limit, IntFunction<List<PostByUser>> loader) {
+            return loader.apply(limit);
+        }
+
+        @Override
+        public void created(PostByUser post) {
+        }
+
+        @Override
+        public void updated(PostByUser post) {
+        }
+
+        @Override
+        public void deleted(UUID userId, UUID postId) {
+        }
+    };
+
+    /**
+     * Newest {@code limit} posts of the user, newest first
+     *
+     * @param loader reads the newest posts (the argument is the number of rows) when they are not cached
+     */
+    List<PostByUser> firstPage(UUID userId, int limit, IntFunction<List<PostByUser>> loader);
+
+    void created(PostByUser post);
+
+    void updated(PostByUser post);
+
+    void deleted(UUID userId, UUID postId);
+}
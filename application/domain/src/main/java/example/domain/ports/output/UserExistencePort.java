@@ -0,0 +1,36 @@
+package example.domain.ports.output;
+
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Answers whether a user exists, consulting the table only when the answer is not known.
+ * Unknown users are cached for a short time as well, so repeated requests for a user
+ * that does not exist do not each cost a read.
+ */
+public interface UserExistencePort {
+
+    /**
+     * Used when no cache is configured, always asks the table
+     */
+    UserExistencePort NONE = new UserExistencePort() {
+        @Override
+        public boolean exists(UUID userId, Predicate<UUID> loader) {
+            return loader.test(userId);
+        }
+
+        @Override
+        public void created(UUID userId) {
+        }
+    };
+
+    /**
+     * @param loader reads the answer from the table when it is not cached
+     */
+    boolean exists(UUID userId, Predicate<UUID> loader);
+
+    /**
+     * The user was just created: drop any negative entry and remember the user
+     */
+    void created(UUID userId);
+}
@@ -0,0 +1,32 @@
+package example.domain.ports.output;
+
+import example.domain.model.UserStats;
+import example.domain.model.UserStatsDelta;
+
+import java.util.UUID;
+
+/**
+ * Applies {@link UserStatsDelta}s to the {@code user_stats} table.
+ * Implementations may buffer deltas and write them asynchronously, so callers
+ * must not expect the table to reflect a change as soon as {@link #record} returns.
+ */
+public interface UserStatsUpdatePort {
+
+    /**
+     * Record a change to the user's stats
+     */
+    void record(UUID userId, UserStatsDelta delta);
+
+    /**
+     * Add the user's deltas that are not in the given stats yet (read-your-writes)
+     *
+     * @param stats The row as read, its {@code updated_at} tells which deltas it has. Without
+     *              a row, stamped with a time before any change of the user (its creation)
+     */
+    void applyPending(UserStats stats);
+
+    /**
+     * Write all buffered deltas now
+     */
+    void flush();
+}
@@ -0,0 +1,30 @@
+package example.domain.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a repository method to a named driver execution profile
+ * (consistency level, timeout and page size are configured per profile).
+ * Statements issued by methods without this annotation use the {@link #WRITE}
+ * profile for writes and the driver default profile for reads.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExecutionProfile {
+
+    String POINT_READ = "point-read";
+    String LIST_READ = "list-read";
+    String WRITE = "write";
+    String MIGRATION = "migration";
+    String SCAN = "scan";
+
+    /**
+     * Name of the driver execution profile
+     */
+    String value();
+}
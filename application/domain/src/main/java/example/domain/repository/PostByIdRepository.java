@@ -6,11 +6,19 @@ import org.springframework.data.cassandra.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PostByIdRepository extends CassandraRepository<PostById, UUID> {
 
-    @Query("SELECT * FROM posts_by_id WHERE user_id = ?0")
+    // Redeclared so the point read is flagged idempotent (eligible for speculative execution)
+    @Override
+    @ExecutionProfile(ExecutionProfile.POINT_READ)
+    @Query(value = "SELECT * FROM posts_by_id WHERE post_id = ?0", idempotent = Query.Idempotency.IDEMPOTENT)
+    Optional<PostById> findById(UUID postId);
+
+    @ExecutionProfile(ExecutionProfile.LIST_READ)
+    @Query(value = "SELECT * FROM posts_by_id WHERE user_id = ?0", idempotent = Query.Idempotency.IDEMPOTENT)
     List<PostById> findByUserId(UUID userId);
 }
\ No newline at end of file
@@ -6,18 +6,29 @@ import org.springframework.data.cassandra.repository.CassandraRepository;
 import org.springframework.data.cassandra.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface PostByUserRepository extends CassandraRepository<PostByUser, PostByUserKey> {
 
-    @Query("SELECT * FROM posts_by_user WHERE user_id = ?0")
+    @ExecutionProfile(ExecutionProfile.LIST_READ)
+    @Query(value = "SELECT * FROM posts_by_user WHERE user_id = ?0", idempotent = Query.Idempotency.IDEMPOTENT)
     List<PostByUser> findByUserId(UUID userId);
 
-    @Query("SELECT * FROM posts_by_user WHERE user_id = ?0 LIMIT ?1")
+    @ExecutionProfile(ExecutionProfile.LIST_READ)
+    @Query(value = "SELECT * FROM posts_by_user WHERE user_id = ?0 LIMIT ?1", idempotent = Query.Idempotency.IDEMPOTENT)
     List<PostByUser> findByUserIdWithLimit(UUID userId, int limit);
 
+    @ExecutionProfile(ExecutionProfile.LIST_READ)
+    @Query(value = "SELECT * FROM posts_by_user WHERE user_id = ?0 AND created_at > ?1 LIMIT ?2", idempotent = Query.Idempotency.IDEMPOTENT)
+    List<PostByUser> findByUserIdCreatedAfter(UUID userId, Instant createdAt, int limit);
+
+    @ExecutionProfile(ExecutionProfile.LIST_READ)
+    @Query(value = "SELECT * FROM posts_by_user WHERE user_id = ?0 AND created_at = ?1 AND post_id > ?2 LIMIT ?3", idempotent = Query.Idempotency.IDEMPOTENT)
+    List<PostByUser> findByUserIdCreatedAtAndPostIdAfter(UUID userId, Instant createdAt, UUID postId, int limit);
+
 //    @Query("SELECT * FROM posts_by_user WHERE user_id = ?0 AND status = ?1")
 //    List<PostByUser> findByUserIdAndStatus(UUID userId, String status);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package example.domain.repository;
 
 import example.domain.model.PostByUserStatus;
 import example.domain.model.PostByUserStatusKey;
+import example.domain.model.PostStatus;
 import org.springframework.data.cassandra.repository.CassandraRepository;
 import org.springframework.data.cassandra.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -12,12 +13,15 @@ import java.util.UUID;
 @Repository
 public interface PostByUserStatusRepository extends CassandraRepository<PostByUserStatus, PostByUserStatusKey> {
 
-    @Query("SELECT * FROM posts_by_user_status WHERE user_id = ?0 AND status = ?1")
-    List<PostByUserStatus> findByUserIdAndStatus(UUID userId, String status);
+    @ExecutionProfile(ExecutionProfile.LIST_READ)
+    @Query(value = "SELECT * FROM posts_by_user_status_v2 WHERE user_id = ?0 AND status_code = ?1", idempotent = Query.Idempotency.IDEMPOTENT)
+    List<PostByUserStatus> findByUserIdAndStatus(UUID userId, PostStatus status);
 
-    @Query("SELECT * FROM posts_by_user_status WHERE user_id = ?0 AND status = ?1 LIMIT ?2")
-    List<PostByUserStatus> findByUserIdAndStatusWithLimit(UUID userId, String status, int limit);
+    @ExecutionProfile(ExecutionProfile.LIST_READ)
+    @Query(value = "SELECT * FROM posts_by_user_status_v2 WHERE user_id = ?0 AND status_code = ?1 LIMIT ?2", idempotent = Query.Idempotency.IDEMPOTENT)
+    List<PostByUserStatus> findByUserIdAndStatusWithLimit(UUID userId, PostStatus status, int limit);
 
-    @Query("SELECT * FROM posts_by_user_status WHERE user_id = ?0")
+    @ExecutionProfile(ExecutionProfile.LIST_READ)
+    @Query(value = "SELECT * FROM posts_by_user_status_v2 WHERE user_id = ?0", idempotent = Query.Idempotency.IDEMPOTENT)
     List<PostByUserStatus> findByUserId(UUID userId);
 }
\ No newline at end of file
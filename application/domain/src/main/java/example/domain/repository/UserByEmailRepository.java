@@ -2,9 +2,16 @@ package example.domain.repository;
 
 import example.domain.model.UserByEmail;
 import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.cassandra.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface UserByEmailRepository extends CassandraRepository<UserByEmail, String> {
     // Email is the primary key, so this is efficient
+    @Override
+    @ExecutionProfile(ExecutionProfile.POINT_READ)
+    @Query(value = "SELECT * FROM users_by_email WHERE email = ?0", idempotent = Query.Idempotency.IDEMPOTENT)
+    Optional<UserByEmail> findById(String email);
 }
\ No newline at end of file
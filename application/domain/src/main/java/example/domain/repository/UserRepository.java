@@ -3,11 +3,19 @@ package example.domain.repository;
 
 import example.domain.model.User;
 import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.cassandra.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 
 @Repository
 public interface UserRepository extends CassandraRepository<User, UUID> {
+
+    // Redeclared so the point read is flagged idempotent (eligible for speculative execution)
+    @Override
+    @ExecutionProfile(ExecutionProfile.POINT_READ)
+    @Query(value = "SELECT * FROM users WHERE id = ?0", idempotent = Query.Idempotency.IDEMPOTENT)
+    Optional<User> findById(UUID id);
 }
\ No newline at end of file
@@ -2,10 +2,22 @@ package example.domain.repository;
 
 import example.domain.model.UserStats;
 import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.cassandra.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserStatsRepository extends CassandraRepository<UserStats, UUID> {
+
+    @Override
+    @ExecutionProfile(ExecutionProfile.POINT_READ)
+    @Query(value = "SELECT * FROM user_stats WHERE user_id = ?0", idempotent = Query.Idempotency.IDEMPOTENT)
+    Optional<UserStats> findById(UUID userId);
+
+    // Read of a read-modify-write, at the consistency of the write so it sees the previous one
+    @ExecutionProfile(ExecutionProfile.WRITE)
+    @Query(value = "SELECT * FROM user_stats WHERE user_id = ?0", idempotent = Query.Idempotency.IDEMPOTENT)
+    Optional<UserStats> findForUpdate(UUID userId);
 }
\ No newline at end of file
@@ -6,11 +6,20 @@ import example.domain.model.*;
 import example.domain.ports.input.CreatePostRequest;
 import example.domain.ports.input.PostPort;
 import example.domain.ports.input.UpdatePostRequest;
+import example.domain.ports.output.LegacyStatusTablePort;
+import example.domain.ports.output.PostCachePort;
+import example.domain.ports.output.TimeSource;
+import example.domain.ports.output.TimelineCachePort;
+import example.domain.ports.output.UserExistencePort;
+import example.domain.ports.output.UserStatsUpdatePort;
 import example.domain.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,20 +41,37 @@ public class PostService implements PostPort {
     private PostByUserStatusRepository postByUserStatusRepository;
 
     @Autowired
-    private UserStatsRepository userStatsRepository;
+    private UserStatsUpdatePort userStatsUpdatePort;
+
+    @Autowired
+    private TimeSource timeSource;
+
+    // Not configured when the post cache is disabled
+    @Autowired(required = false)
+    private PostCachePort postCache = PostCachePort.NONE;
+
+    @Autowired(required = false)
+    private UserExistencePort userExistence = UserExistencePort.NONE;
+
+    @Autowired(required = false)
+    private TimelineCachePort timelineCache = TimelineCachePort.NONE;
+
+    // Not configured in the in-memory profile, which has no old status table
+    @Autowired(required = false)
+    private LegacyStatusTablePort legacyStatusTable = LegacyStatusTablePort.NONE;
 
     @Transactional
 
     public PostByUser createPost(UUID userId, CreatePostRequest request) throws UserNotFoundException {
-        // Verify user exists
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
+        // Verify user exists, usually answered from the existence cache
+        if (!userExistence.exists(userId, userRepository::existsById)) {
             throw new UserNotFoundException("User not found: " + userId);
         }
 
         // Create post (always starts as DRAFT)
-        PostByUser postByUser = new PostByUser(userId, request.getTitle(), request.getContent());
-        postByUser.setStatus("DRAFT");
+        OffsetDateTime now = timeSource.now();
+        PostByUser postByUser = new PostByUser(userId, request.getTitle(), request.getContent(), now);
+        postByUser.setStatus(PostStatus.DRAFT);
 
         // Set tags if provided
         if (request.getTags() != null) {
@@ -58,12 +84,15 @@ public class PostService implements PostPort {
         // Save to posts_by_id table for direct lookups
         PostById postById = PostById.fromPostByUser(savedPost);
         postByIdRepository.save(postById);
+        postCache.put(postById);
 
         // Save to posts_by_user_status table for efficient status queries
         PostByUserStatus postByStatus = PostByUserStatus.fromPostByUser(savedPost);
+        legacyStatusTable.save(postByStatus);
         postByUserStatusRepository.save(postByStatus);
+        timelineCache.created(savedPost);
 
-        updateUserStats(userId, savedPost.getStatus(), true);
+        userStatsUpdatePort.record(userId, UserStatsDelta.increment(savedPost.getStatus(), now));
 
         return savedPost;
     }
@@ -78,7 +107,7 @@ public class PostService implements PostPort {
                 .findFirst()
                 .orElseThrow(() -> new PostNotFoundException("Post not found: " + postId));
 
-        String oldStatus = existingPost.getStatus();
+        PostStatus oldStatus = existingPost.getStatus();
 
         // Update fields
         if (request.getTitle() != null) {
@@ -87,12 +116,14 @@ public class PostService implements PostPort {
         if (request.getContent() != null) {
             existingPost.setContent(request.getContent());
         }
-        if (request.getStatus() != null) {
-            existingPost.setStatus(request.getStatus());
-        }
+        // Always set: a row the backfill has not reached yet only has the status name, and
+        // saving it without a code would write a null code newer than the backfill
+        existingPost.setStatus(request.getStatus() != null ? request.getStatus() : oldStatus);
         if (request.getTags() != null) {
             existingPost.setTags(request.getTags());
         }
+        OffsetDateTime now = timeSource.now();
+        existingPost.setUpdatedAt(now);
 
         // Save to posts_by_user table
         PostByUser updatedPost = postByUserRepository.save(existingPost);
@@ -100,26 +131,30 @@ public class PostService implements PostPort {
         // Save to posts_by_id table
         PostById postById = PostById.fromPostByUser(updatedPost);
         postByIdRepository.save(postById);
+        postCache.put(postById);
 
         // Handle status table updates
-        if (!oldStatus.equals(updatedPost.getStatus())) {
+        if (oldStatus != updatedPost.getStatus()) {
             // Delete old status entry
             PostByUserStatusKey oldStatusKey = new PostByUserStatusKey(
                     userId, oldStatus, existingPost.getCreatedAt(), postId);
             postByUserStatusRepository.deleteById(oldStatusKey);
+            legacyStatusTable.delete(oldStatusKey);
 
             // Create new status entry
             PostByUserStatus newStatusPost = PostByUserStatus.fromPostByUser(updatedPost);
+            legacyStatusTable.save(newStatusPost);
             postByUserStatusRepository.save(newStatusPost);
 
             // Update stats
-            updateUserStats(userId, oldStatus, false);
-            updateUserStats(userId, updatedPost.getStatus(), true);
+            userStatsUpdatePort.record(userId, UserStatsDelta.statusChange(oldStatus, updatedPost.getStatus(), now));
         } else {
             // Status didn't change, just update existing entry
             PostByUserStatus statusPost = PostByUserStatus.fromPostByUser(updatedPost);
+            legacyStatusTable.save(statusPost);
             postByUserStatusRepository.save(statusPost);
         }
+        timelineCache.updated(updatedPost);
         return updatedPost;
     }
 
@@ -137,14 +172,17 @@ public class PostService implements PostPort {
 
         // Delete from posts_by_id table
         postByIdRepository.deleteById(postId);
+        postCache.evict(postId);
 
         // Delete from posts_by_user_status table using correct key
         PostByUserStatusKey statusKey = new PostByUserStatusKey(
                 userId, postToDelete.getStatus(), postToDelete.getCreatedAt(), postId);
         postByUserStatusRepository.deleteById(statusKey);
+        legacyStatusTable.delete(statusKey);
+        timelineCache.deleted(userId, postId);
 
         // Update user stats
-        updateUserStats(userId, postToDelete.getStatus(), false);
+        userStatsUpdatePort.record(userId, UserStatsDelta.decrement(postToDelete.getStatus()));
 
     }
 
@@ -153,13 +191,29 @@ public class PostService implements PostPort {
         if (limit <= 0) {
             return postByUserRepository.findByUserId(userId);
         }
-        return postByUserRepository.findByUserIdWithLimit(userId, limit);
+        // The first page usually comes from the timeline cache, it reads its own depth on a miss
+        return timelineCache.firstPage(userId, limit, rows -> postByUserRepository.findByUserIdWithLimit(userId, rows));
+    }
+
+
+    public List<PostByUser> getUserPostsAfter(UUID userId, UUID afterPostId, int limit) {
+        // Post ids sort by creation millisecond, the posts after one are created in a later
+        // millisecond or in the same one with a greater id
+        Instant createdAt = Instant.ofEpochMilli(TimeOrderedUuid.epochMillis(afterPostId));
+        List<PostByUser> posts = new ArrayList<>(postByUserRepository.findByUserIdCreatedAfter(userId, createdAt, limit));
+        if (posts.size() < limit) {
+            // Oldest in clustering order, they come last
+            posts.addAll(postByUserRepository.findByUserIdCreatedAtAndPostIdAfter(
+                    userId, createdAt, afterPostId, limit - posts.size()));
+        }
+        return posts;
     }
 
 
-    public List<PostByUser> getUserPostsByStatus(UUID userId, String status) {
+    public List<PostByUser> getUserPostsByStatus(UUID userId, PostStatus status) {
         // Get posts from status table and convert to PostByUser objects
-        List<PostByUserStatus> statusPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, status);
+        List<PostByUserStatus> statusPosts = legacyStatusTable.findByUserIdAndStatus(userId, status,
+                () -> postByUserStatusRepository.findByUserIdAndStatus(userId, status));
 
         return statusPosts.stream()
                 .map(this::convertToPostByUser)
@@ -168,7 +222,13 @@ public class PostService implements PostPort {
 
 
     public Optional<PostById> getPostById(UUID postId) {
-        return postByIdRepository.findById(postId);
+        Optional<PostById> cached = postCache.get(postId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<PostById> post = postByIdRepository.findById(postId);
+        post.ifPresent(postCache::putIfAbsent);
+        return post;
     }
 
     @Transactional
@@ -186,8 +246,10 @@ public class PostService implements PostPort {
         updateRequest.setContent(existingPost.getContent());
 
         // Update the status to published
-        String oldStatus = existingPost.getStatus();
-        existingPost.setStatus("PUBLISHED");
+        PostStatus oldStatus = existingPost.getStatus();
+        existingPost.setStatus(PostStatus.PUBLISHED);
+        OffsetDateTime now = timeSource.now();
+        existingPost.setUpdatedAt(now);
 
         // Save changes
         PostByUser updatedPost = postByUserRepository.save(existingPost);
@@ -195,36 +257,25 @@ public class PostService implements PostPort {
         // Update related tables
         PostById postById = PostById.fromPostByUser(updatedPost);
         postByIdRepository.save(postById);
+        postCache.put(postById);
 
         // Handle status table updates
         PostByUserStatusKey oldStatusKey = new PostByUserStatusKey(
                 userId, oldStatus, existingPost.getCreatedAt(), postId);
         postByUserStatusRepository.deleteById(oldStatusKey);
+        legacyStatusTable.delete(oldStatusKey);
 
         PostByUserStatus newStatusPost = PostByUserStatus.fromPostByUser(updatedPost);
+        legacyStatusTable.save(newStatusPost);
         postByUserStatusRepository.save(newStatusPost);
+        timelineCache.updated(updatedPost);
 
         // Update stats
-        updateUserStats(userId, oldStatus, false);
-        updateUserStats(userId, "PUBLISHED", true);
+        userStatsUpdatePort.record(userId, UserStatsDelta.statusChange(oldStatus, PostStatus.PUBLISHED, now));
 
         return updatedPost;
     }
 
-    // TODO: get rid of synchronized method annotation
-    private synchronized void updateUserStats(UUID userId, String status, boolean increment) {
-        UserStats stats = userStatsRepository.findById(userId)
-                .orElse(new UserStats(userId));
-
-        if (increment) {
-            stats.incrementPost(status);
-        } else {
-            stats.decrementPost(status);
-        }
-
-        userStatsRepository.save(stats);
-    }
-
     private PostByUser convertToPostByUser(PostByUserStatus statusPost) {
         PostByUser postByUser = new PostByUser();
 
@@ -6,6 +6,9 @@ import example.domain.model.User;
 import example.domain.model.UserByEmail;
 import example.domain.model.UserStats;
 import example.domain.ports.input.*;
+import example.domain.ports.output.TimeSource;
+import example.domain.ports.output.UserExistencePort;
+import example.domain.ports.output.UserStatsUpdatePort;
 import example.domain.repository.UserByEmailRepository;
 import example.domain.repository.UserRepository;
 import example.domain.repository.UserStatsRepository;
@@ -13,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,6 +32,16 @@ public class UserService implements UserPort {
     @Autowired
     private UserStatsRepository userStatsRepository;
 
+    @Autowired
+    private UserStatsUpdatePort userStatsUpdatePort;
+
+    @Autowired
+    private TimeSource timeSource;
+
+    // Not configured when the existence cache is disabled
+    @Autowired(required = false)
+    private UserExistencePort userExistence = UserExistencePort.NONE;
+
     @Transactional
     public User createUser(CreateUserRequest request) throws EmailAlreadyExistsException {
         // Check if email already exists
@@ -37,7 +51,8 @@ public class UserService implements UserPort {
         }
 
         // Create and save user
-        User user = new User(request.getName(), request.getEmail());
+        OffsetDateTime now = timeSource.now();
+        User user = new User(request.getName(), request.getEmail(), now);
         User savedUser = userRepository.save(user);
 
         // Create email lookup entry
@@ -45,9 +60,11 @@ public class UserService implements UserPort {
         userByEmailRepository.save(userByEmail);
 
         // Initialize user stats
-        UserStats stats = new UserStats(savedUser.getId());
+        UserStats stats = new UserStats(savedUser.getId(), now);
         userStatsRepository.save(stats);
 
+        userExistence.created(savedUser.getId());
+
         return savedUser;
     }
 
@@ -78,6 +95,7 @@ public class UserService implements UserPort {
             }
             user.setEmail(request.getEmail());
         }
+        user.setUpdatedAt(timeSource.now());
 
         User savedUser = userRepository.save(user);
 
@@ -106,7 +124,8 @@ public class UserService implements UserPort {
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
 
         UserStats stats = userStatsRepository.findById(userId)
-                .orElse(new UserStats(userId));
+                .orElseGet(() -> new UserStats(userId, user.getCreatedAt()));
+        userStatsUpdatePort.applyPending(stats);
 
         // Return the domain objects directly - no conversion needed
         return new UserWithStats(user, stats);
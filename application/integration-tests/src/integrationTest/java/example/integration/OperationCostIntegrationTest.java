@@ -0,0 +1,71 @@
+package example.integration;
+
+import example.domain.model.User;
+import example.domain.ports.input.CreateUserRequest;
+import example.metrics.OperationCostFilter;
+import example.spring_cassandra.api.model.CreatePostRequestDto;
+import example.spring_cassandra.api.model.PostByUserDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.metrics.operation-cost.debug-header=true")
+class OperationCostIntegrationTest extends BaseCassandraIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void createPost_DebugHeaderReportsStatements() {
+        // Given
+        UUID userId = createUser("cost.user@example.com");
+        CreatePostRequestDto request = new CreatePostRequestDto();
+        request.setTitle("Costed Post");
+        request.setContent("Content of the costed post");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(OperationCostFilter.DEBUG_HEADER, "true");
+
+        // When
+        ResponseEntity<PostByUserDto> response = restTemplate.postForEntity("/api/v1/users/{userId}/posts",
+                new HttpEntity<>(request, headers), PostByUserDto.class, userId);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().getTitle()).isEqualTo("Costed Post");
+        String cost = response.getHeaders().getFirst(OperationCostFilter.COST_HEADER);
+        assertThat(cost).startsWith("operations=PostPort.createPost;");
+        // At least the posts_by_user, posts_by_id and posts_by_user_status_v2 writes
+        assertThat(Integer.parseInt(cost.replaceAll(".*statements=(\\d+);.*", "$1"))).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void getUser_NoDebugHeader_NoCostHeader() {
+        // Given
+        UUID userId = createUser("uncosted.user@example.com");
+
+        // When
+        ResponseEntity<User> response = restTemplate.getForEntity("/api/v1/users/" + userId, User.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().containsKey(OperationCostFilter.COST_HEADER)).isFalse();
+    }
+
+    private UUID createUser(String email) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName("Cost User");
+        request.setEmail(email);
+        return restTemplate.postForEntity("/api/v1/users", request, User.class).getBody().getId();
+    }
+}
@@ -3,6 +3,7 @@ package example.integration;
 import example.domain.model.PostById;
 import example.domain.model.PostByUser;
 import example.domain.model.PostByUserStatus;
+import example.domain.model.PostStatus;
 import example.domain.repository.PostByIdRepository;
 import example.domain.repository.PostByUserRepository;
 import example.domain.repository.PostByUserStatusRepository;
@@ -11,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -92,14 +95,37 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
         assertThat(foundPosts.get(0).getCreatedAt()).isAfterOrEqualTo(foundPosts.get(1).getCreatedAt());
     }
 
+    @Test
+    void findPostsByUserCreatedAfterPost_Success() {
+        // Given
+        OffsetDateTime base = OffsetDateTime.parse("2024-05-01T10:00:00Z");
+        PostByUser earlier = new PostByUser(userId, "Earlier", "Content", base.minusSeconds(1));
+        PostByUser after = new PostByUser(userId, "After", "Content", base);
+        PostByUser sameMillisecond = new PostByUser(userId, "Same millisecond", "Content", base);
+        PostByUser later = new PostByUser(userId, "Later", "Content", base.plusSeconds(1));
+        postByUserRepository.saveAll(List.of(earlier, after, sameMillisecond, later));
+        Instant createdAt = base.toInstant();
+
+        // When
+        List<PostByUser> laterPosts = postByUserRepository.findByUserIdCreatedAfter(userId, createdAt, 10);
+        List<PostByUser> afterInMillisecond = postByUserRepository.findByUserIdCreatedAtAndPostIdAfter(
+                userId, createdAt, after.getPostId(), 10);
+        List<PostByUser> afterSameInMillisecond = postByUserRepository.findByUserIdCreatedAtAndPostIdAfter(
+                userId, createdAt, sameMillisecond.getPostId(), 10);
+
+        // Then: within the millisecond, exactly one of the two ids is after the other
+        assertThat(laterPosts).extracting(PostByUser::getTitle).containsExactly("Later");
+        assertThat(afterInMillisecond.size() + afterSameInMillisecond.size()).isEqualTo(1);
+    }
+
     @Test
     void findPostsByUserAndStatus_Success() {
         // Given
         PostByUser draftPost = new PostByUser(userId, "Draft Post", "Draft content");
-        draftPost.setStatus("DRAFT");
+        draftPost.setStatus(PostStatus.DRAFT);
 
         PostByUser publishedPost = new PostByUser(userId, "Published Post", "Published content");
-        publishedPost.setStatus("PUBLISHED");
+        publishedPost.setStatus(PostStatus.PUBLISHED);
 
         // Save to main table
         postByUserRepository.save(draftPost);
@@ -112,8 +138,8 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
         postByUserStatusRepository.save(publishedPostStatus);
 
         // When
-        List<PostByUserStatus> draftPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, "DRAFT");
-        List<PostByUserStatus> publishedPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, "PUBLISHED");
+        List<PostByUserStatus> draftPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, PostStatus.DRAFT);
+        List<PostByUserStatus> publishedPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, PostStatus.PUBLISHED);
 
         // Then
         assertThat(draftPosts).hasSize(1);
@@ -127,11 +153,11 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
     void findPostsByUserStatusWithLimit_Success() {
         // Given
         PostByUser post1 = new PostByUser(userId, "Draft Post 1", "Content 1");
-        post1.setStatus("DRAFT");
+        post1.setStatus(PostStatus.DRAFT);
         PostByUser post2 = new PostByUser(userId, "Draft Post 2", "Content 2");
-        post2.setStatus("DRAFT");
+        post2.setStatus(PostStatus.DRAFT);
         PostByUser post3 = new PostByUser(userId, "Draft Post 3", "Content 3");
-        post3.setStatus("DRAFT");
+        post3.setStatus(PostStatus.DRAFT);
 
         // Save to status table
         postByUserStatusRepository.save(PostByUserStatus.fromPostByUser(post1));
@@ -139,7 +165,7 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
         postByUserStatusRepository.save(PostByUserStatus.fromPostByUser(post3));
 
         // When
-        List<PostByUserStatus> foundPosts = postByUserStatusRepository.findByUserIdAndStatusWithLimit(userId, "DRAFT", 2);
+        List<PostByUserStatus> foundPosts = postByUserStatusRepository.findByUserIdAndStatusWithLimit(userId, PostStatus.DRAFT, 2);
 
         // Then
         assertThat(foundPosts).hasSize(2);
@@ -151,17 +177,17 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
     void findPostsByUserAcrossAllStatuses_Success() {
         // Given
         PostByUser draftPost = new PostByUser(userId, "Draft Post", "Draft content");
-        draftPost.setStatus("DRAFT");
+        draftPost.setStatus(PostStatus.DRAFT);
         PostByUser publishedPost = new PostByUser(userId, "Published Post", "Published content");
-        publishedPost.setStatus("PUBLISHED");
+        publishedPost.setStatus(PostStatus.PUBLISHED);
 
         // Save to status table
         postByUserStatusRepository.save(PostByUserStatus.fromPostByUser(draftPost));
         postByUserStatusRepository.save(PostByUserStatus.fromPostByUser(publishedPost));
 
         // When - Query each status separately (this is the correct Cassandra pattern)
-        List<PostByUserStatus> draftPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, "DRAFT");
-        List<PostByUserStatus> publishedPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, "PUBLISHED");
+        List<PostByUserStatus> draftPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, PostStatus.DRAFT);
+        List<PostByUserStatus> publishedPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, PostStatus.PUBLISHED);
 
         // Combine results
         List<PostByUserStatus> allUserPosts = new ArrayList<>();
@@ -171,8 +197,8 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
         // Then
         assertThat(allUserPosts).hasSize(2);
         // Verify we have posts from both statuses
-        boolean hasDraft = allUserPosts.stream().anyMatch(p -> "DRAFT".equals(p.getStatus()));
-        boolean hasPublished = allUserPosts.stream().anyMatch(p -> "PUBLISHED".equals(p.getStatus()));
+        boolean hasDraft = allUserPosts.stream().anyMatch(p -> p.getStatus() == PostStatus.DRAFT);
+        boolean hasPublished = allUserPosts.stream().anyMatch(p -> p.getStatus() == PostStatus.PUBLISHED);
         assertThat(hasDraft).isTrue();
         assertThat(hasPublished).isTrue();
     }
@@ -185,7 +211,8 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
         // When
         savedPost.setTitle("Updated Title");
         savedPost.setContent("Updated Content");
-        savedPost.setStatus("PUBLISHED");
+        savedPost.setStatus(PostStatus.PUBLISHED);
+        savedPost.setUpdatedAt(OffsetDateTime.now());
         PostByUser updatedPost = postByUserRepository.save(savedPost);
 
         // Then
@@ -193,7 +220,7 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
         assertThat(foundPosts).hasSize(1);
         assertThat(foundPosts.get(0).getTitle()).isEqualTo("Updated Title");
         assertThat(foundPosts.get(0).getContent()).isEqualTo("Updated Content");
-        assertThat(foundPosts.get(0).getStatus()).isEqualTo("PUBLISHED");
+        assertThat(foundPosts.get(0).getStatus()).isEqualTo(PostStatus.PUBLISHED);
         assertThat(foundPosts.get(0).getUpdatedAt()).isAfter(foundPosts.get(0).getCreatedAt());
     }
 
@@ -214,7 +241,7 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
     void deletePostByUserStatus_Success() {
         // Given
         PostByUser post = new PostByUser(userId, "Test Post", "Test content");
-        post.setStatus("DRAFT");
+        post.setStatus(PostStatus.DRAFT);
         PostByUserStatus statusPost = PostByUserStatus.fromPostByUser(post);
         PostByUserStatus savedStatusPost = postByUserStatusRepository.save(statusPost);
 
@@ -222,7 +249,7 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
         postByUserStatusRepository.deleteById(savedStatusPost.getKey());
 
         // Then
-        List<PostByUserStatus> foundPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, "DRAFT");
+        List<PostByUserStatus> foundPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, PostStatus.DRAFT);
         assertThat(foundPosts).isEmpty();
     }
 
@@ -230,11 +257,11 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
     void findPostsByUserAndMultipleStatuses_Success() {
         // Given
         PostByUser draftPost = new PostByUser(userId, "Draft Post", "Draft content");
-        draftPost.setStatus("DRAFT");
+        draftPost.setStatus(PostStatus.DRAFT);
         PostByUser publishedPost = new PostByUser(userId, "Published Post", "Published content");
-        publishedPost.setStatus("PUBLISHED");
+        publishedPost.setStatus(PostStatus.PUBLISHED);
         PostByUser archivedPost = new PostByUser(userId, "Archived Post", "Archived content");
-        archivedPost.setStatus("ARCHIVED");
+        archivedPost.setStatus(PostStatus.ARCHIVED);
 
         // Save to status table
         postByUserStatusRepository.save(PostByUserStatus.fromPostByUser(draftPost));
@@ -242,9 +269,9 @@ class PostRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
         postByUserStatusRepository.save(PostByUserStatus.fromPostByUser(archivedPost));
 
         // When - Query specific statuses (efficient queries)
-        List<PostByUserStatus> draftPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, "DRAFT");
-        List<PostByUserStatus> publishedPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, "PUBLISHED");
-        List<PostByUserStatus> archivedPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, "ARCHIVED");
+        List<PostByUserStatus> draftPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, PostStatus.DRAFT);
+        List<PostByUserStatus> publishedPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, PostStatus.PUBLISHED);
+        List<PostByUserStatus> archivedPosts = postByUserStatusRepository.findByUserIdAndStatus(userId, PostStatus.ARCHIVED);
 
         // Then
         assertThat(draftPosts).hasSize(1);
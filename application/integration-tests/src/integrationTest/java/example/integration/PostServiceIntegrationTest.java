@@ -2,6 +2,7 @@ package example.integration;
 
 import example.domain.model.PostById;
 import example.domain.model.PostByUser;
+import example.domain.model.PostStatus;
 import example.domain.model.User;
 import example.domain.model.UserStats;
 import example.domain.repository.PostByIdRepository;
@@ -10,6 +11,7 @@ import example.domain.repository.UserStatsRepository;
 import example.domain.ports.input.CreatePostRequest;
 import example.domain.ports.input.CreateUserRequest;
 import example.domain.ports.input.UpdatePostRequest;
+import example.domain.ports.output.UserStatsUpdatePort;
 import example.domain.services.PostService;
 import example.domain.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -42,6 +44,9 @@ class PostServiceIntegrationTest extends BaseCassandraIntegrationTest {
     @Autowired
     private UserStatsRepository userStatsRepository;
 
+    @Autowired
+    private UserStatsUpdatePort userStatsUpdatePort;
+
     private User testUser;
 
     @BeforeEach
@@ -63,7 +68,7 @@ class PostServiceIntegrationTest extends BaseCassandraIntegrationTest {
         CreatePostRequest request = new CreatePostRequest();
         request.setTitle("Integration Test Post");
         request.setContent("This is an integration test post");
-        request.setStatus("DRAFT");
+        request.setStatus(PostStatus.DRAFT);
         request.setTags(Arrays.asList("example/integration", "test"));
 
         // When
@@ -73,7 +78,7 @@ class PostServiceIntegrationTest extends BaseCassandraIntegrationTest {
         assertThat(createdPost).isNotNull();
         assertThat(createdPost.getTitle()).isEqualTo("Integration Test Post");
         assertThat(createdPost.getContent()).isEqualTo("This is an integration test post");
-        assertThat(createdPost.getStatus()).isEqualTo("DRAFT");
+        assertThat(createdPost.getStatus()).isEqualTo(PostStatus.DRAFT);
         assertThat(createdPost.getTags()).containsExactlyInAnyOrder("example/integration", "test");
 
         // Verify post is saved in posts_by_user table
@@ -87,6 +92,7 @@ class PostServiceIntegrationTest extends BaseCassandraIntegrationTest {
         assertThat(postById.get().getTitle()).isEqualTo("Integration Test Post");
 
         // Verify user stats are updated
+        userStatsUpdatePort.flush();
         Optional<UserStats> userStats = userStatsRepository.findById(testUser.getId());
         assertThat(userStats).isPresent();
         assertThat(userStats.get().getTotalPosts()).isEqualTo(1);
@@ -100,21 +106,22 @@ class PostServiceIntegrationTest extends BaseCassandraIntegrationTest {
         CreatePostRequest createRequest = new CreatePostRequest();
         createRequest.setTitle("Draft Post");
         createRequest.setContent("Content");
-        createRequest.setStatus("DRAFT");
+        createRequest.setStatus(PostStatus.DRAFT);
         PostByUser draftPost = postService.createPost(testUser.getId(), createRequest);
 
         // When
         PostByUser publishedPost = postService.publishPost(testUser.getId(), draftPost.getPostId());
 
         // Then
-        assertThat(publishedPost.getStatus()).isEqualTo("PUBLISHED");
+        assertThat(publishedPost.getStatus()).isEqualTo(PostStatus.PUBLISHED);
 
         // Verify both tables are updated
         Optional<PostById> postById = postByIdRepository.findById(draftPost.getPostId());
         assertThat(postById).isPresent();
-        assertThat(postById.get().getStatus()).isEqualTo("PUBLISHED");
+        assertThat(postById.get().getStatus()).isEqualTo(PostStatus.PUBLISHED);
 
         // Verify user stats are updated
+        userStatsUpdatePort.flush();
         Optional<UserStats> userStats = userStatsRepository.findById(testUser.getId());
         assertThat(userStats).isPresent();
         assertThat(userStats.get().getTotalPosts()).isEqualTo(1);
@@ -128,7 +135,7 @@ class PostServiceIntegrationTest extends BaseCassandraIntegrationTest {
         CreatePostRequest createRequest = new CreatePostRequest();
         createRequest.setTitle("Post to Delete");
         createRequest.setContent("Content");
-        createRequest.setStatus("PUBLISHED");
+        createRequest.setStatus(PostStatus.PUBLISHED);
         PostByUser createdPost = postService.createPost(testUser.getId(), createRequest);
 
         // When
@@ -144,6 +151,7 @@ class PostServiceIntegrationTest extends BaseCassandraIntegrationTest {
         assertThat(postById).isEmpty();
 
         // Verify user stats are updated
+        userStatsUpdatePort.flush();
         Optional<UserStats> userStats = userStatsRepository.findById(testUser.getId());
         assertThat(userStats).isPresent();
         assertThat(userStats.get().getTotalPosts()).isEqualTo(0);
@@ -171,8 +179,8 @@ class PostServiceIntegrationTest extends BaseCassandraIntegrationTest {
         postService.publishPost(testUser.getId(), publishedPost.getPostId());
 
         // When
-        List<PostByUser> draftPosts = postService.getUserPostsByStatus(testUser.getId(), "DRAFT");
-        List<PostByUser> publishedPosts = postService.getUserPostsByStatus(testUser.getId(), "PUBLISHED");
+        List<PostByUser> draftPosts = postService.getUserPostsByStatus(testUser.getId(), PostStatus.DRAFT);
+        List<PostByUser> publishedPosts = postService.getUserPostsByStatus(testUser.getId(), PostStatus.PUBLISHED);
 
         // Then
         assertThat(draftPosts).hasSize(1);
@@ -188,13 +196,13 @@ class PostServiceIntegrationTest extends BaseCassandraIntegrationTest {
         CreatePostRequest createRequest = new CreatePostRequest();
         createRequest.setTitle("Original Title");
         createRequest.setContent("Original content");
-        createRequest.setStatus("DRAFT");
+        createRequest.setStatus(PostStatus.DRAFT);
         PostByUser createdPost = postService.createPost(testUser.getId(), createRequest);
 
         UpdatePostRequest updateRequest = new UpdatePostRequest();
         updateRequest.setTitle("Updated Title");
         updateRequest.setContent("Updated content");
-        updateRequest.setStatus("PUBLISHED");
+        updateRequest.setStatus(PostStatus.PUBLISHED);
         updateRequest.setTags(Arrays.asList("updated", "example/integration"));
 
         // When
@@ -203,16 +211,17 @@ class PostServiceIntegrationTest extends BaseCassandraIntegrationTest {
         // Then
         assertThat(updatedPost.getTitle()).isEqualTo("Updated Title");
         assertThat(updatedPost.getContent()).isEqualTo("Updated content");
-        assertThat(updatedPost.getStatus()).isEqualTo("PUBLISHED");
+        assertThat(updatedPost.getStatus()).isEqualTo(PostStatus.PUBLISHED);
         assertThat(updatedPost.getTags()).containsExactlyInAnyOrder("updated", "example/integration");
 
         // Verify both tables are updated
         Optional<PostById> postById = postByIdRepository.findById(createdPost.getPostId());
         assertThat(postById).isPresent();
         assertThat(postById.get().getTitle()).isEqualTo("Updated Title");
-        assertThat(postById.get().getStatus()).isEqualTo("PUBLISHED");
+        assertThat(postById.get().getStatus()).isEqualTo(PostStatus.PUBLISHED);
 
         // Verify user stats reflect status change
+        userStatsUpdatePort.flush();
         Optional<UserStats> userStats = userStatsRepository.findById(testUser.getId());
         assertThat(userStats).isPresent();
         assertThat(userStats.get().getTotalPosts()).isEqualTo(1);
@@ -0,0 +1,446 @@
+package example.integration;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Row;
+import example.domain.model.PostById;
+import example.domain.model.PostByUser;
+import example.domain.model.PostByUserKey;
+import example.domain.model.PostByUserStatus;
+import example.domain.model.PostByUserStatusKey;
+import example.domain.model.PostStatus;
+import example.domain.ports.input.UpdatePostRequest;
+import example.domain.repository.PostByIdRepository;
+import example.domain.repository.PostByUserRepository;
+import example.domain.repository.PostByUserStatusRepository;
+import example.domain.services.PostService;
+import example.migration.D001_BackfillPostsByUserStatusCodes;
+import example.migration.D002_BackfillPostsByIdStatusCodes;
+import example.migration.D003_CopyPostsByUserStatusToV2;
+import example.migration.D004_RemoveStaleStatusRowsFromV2;
+import example.migration.DataMigration;
+import example.migration.LegacyStatusTable;
+import example.migration.MigrationContext;
+import example.migration.V003_CreatePostTables;
+import example.migration.V007_AddPostStatusCodes;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The status code migration on the schema of the migrations: rows written with the status
+ * name before V007, backfilled by D001 to D004 while the application keeps writing, next to
+ * instances of the version before status codes until they are drained.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PostStatusMigrationIntegrationTest extends BaseCassandraIntegrationTest {
+
+    private static final String KEYSPACE = "spring_cassandra";
+
+    @Autowired
+    private CqlSession cqlSession;
+
+    @Autowired
+    private PostByUserRepository postByUserRepository;
+
+    @Autowired
+    private PostByIdRepository postByIdRepository;
+
+    @Autowired
+    private PostByUserStatusRepository postByUserStatusRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private LegacyStatusTable legacyStatusTable;
+
+    private MigrationContext context;
+    private UUID userId;
+    private OffsetDateTime createdAt;
+    private long writtenBeforeV007;
+
+    @BeforeAll
+    void createSchemaFromMigrations() throws Exception {
+        // The schema action created the post tables from the entities, start from V003 instead
+        context = new MigrationContext(cqlSession, KEYSPACE);
+        context.executeGroup(
+                "DROP TABLE IF EXISTS posts_by_id",
+                "DROP TABLE IF EXISTS posts_by_user",
+                "DROP TABLE IF EXISTS posts_by_user_status",
+                "DROP TABLE IF EXISTS posts_by_user_status_v2");
+        new V003_CreatePostTables().migrate(context);
+        new V007_AddPostStatusCodes().migrate(context);
+    }
+
+    @AfterAll
+    void dropOldStatusTable() {
+        // Other tests use the status tables through the services, which then only have v2
+        context.execute("DROP TABLE IF EXISTS posts_by_user_status");
+    }
+
+    @BeforeEach
+    void setUp() {
+        context.executeGroup(
+                "TRUNCATE posts_by_id",
+                "TRUNCATE posts_by_user",
+                "TRUNCATE posts_by_user_status",
+                "TRUNCATE posts_by_user_status_v2");
+
+        userId = UUID.randomUUID();
+        createdAt = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS).minusHours(1);
+        writtenBeforeV007 = createdAt.toInstant().toEpochMilli() * 1000;
+    }
+
+    @Test
+    void v007_AppliedAgain_NoChange() throws Exception {
+        // When
+        new V007_AddPostStatusCodes().migrate(context);
+
+        // Then
+        assertThat(context.hasColumn("posts_by_user", "status_code")).isTrue();
+        assertThat(context.hasColumn("posts_by_id", "status_code")).isTrue();
+        assertThat(context.hasColumn("posts_by_user_status_v2", "status_code")).isTrue();
+        assertThat(context.hasColumn("posts_by_user", "status")).isTrue();
+    }
+
+    @Test
+    void postByUser_BeforeBackfill_StatusReadFromName() {
+        // Given
+        PostByUserKey old = seedPostByUser("ARCHIVED");
+        PostByUser written = new PostByUser(userId, "Written", "content");
+        written.setStatus(PostStatus.PUBLISHED);
+        postByUserRepository.save(written);
+
+        // When
+        List<PostByUser> posts = postByUserRepository.findByUserId(userId);
+
+        // Then
+        assertThat(posts)
+                .extracting(PostByUser::getPostId, PostByUser::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(old.getPostId(), PostStatus.ARCHIVED),
+                        tuple(written.getPostId(), PostStatus.PUBLISHED));
+        Row stored = postByUserRow(written.getPostId());
+        assertThat(stored.getByte("status_code")).isEqualTo(PostStatus.PUBLISHED.getCode());
+        // Still readable by instances of the version before status codes
+        assertThat(stored.getString("status")).isEqualTo("PUBLISHED");
+    }
+
+    @Test
+    void postByUser_NameWrittenByOldVersion_NameWins() {
+        // Given: written by this version, then changed by an instance of the previous one
+        PostByUser written = new PostByUser(userId, "Written", "content");
+        written.setStatus(PostStatus.DRAFT);
+        postByUserRepository.save(written);
+        cqlSession.execute("UPDATE posts_by_user SET status = 'PUBLISHED' WHERE user_id = ? AND created_at = ? AND post_id = ?",
+                userId, written.getCreatedAt().toInstant(), written.getPostId());
+
+        // When
+        PostByUser read = postByUserRepository.findById(written.getKey()).orElseThrow();
+
+        // Then
+        assertThat(read.getStatus()).isEqualTo(PostStatus.PUBLISHED);
+    }
+
+    @Test
+    void postById_SavedWithStatus_StoredAsCodeAndName() {
+        // Given
+        PostById post = new PostById(UUID.randomUUID(), userId, "Title", "content");
+        post.setStatus(PostStatus.ARCHIVED);
+
+        // When
+        postByIdRepository.save(post);
+
+        // Then
+        Row stored = cqlSession.execute("SELECT status_code, status FROM posts_by_id WHERE post_id = ?",
+                post.getPostId()).one();
+        assertThat(stored.getByte("status_code")).isEqualTo(PostStatus.ARCHIVED.getCode());
+        assertThat(stored.getString("status")).isEqualTo("ARCHIVED");
+        assertThat(postByIdRepository.findById(post.getPostId()))
+                .get().extracting(PostById::getStatus).isEqualTo(PostStatus.ARCHIVED);
+    }
+
+    @Test
+    void statusTableV2_SavedWithStatus_ClusteredByCode() {
+        // Given
+        saveStatusRow(UUID.randomUUID(), PostStatus.ARCHIVED);
+        saveStatusRow(UUID.randomUUID(), PostStatus.DRAFT);
+        saveStatusRow(UUID.randomUUID(), PostStatus.PUBLISHED);
+
+        // When
+        List<PostByUserStatus> published = postByUserStatusRepository.findByUserIdAndStatus(userId, PostStatus.PUBLISHED);
+
+        // Then
+        assertThat(published).extracting(PostByUserStatus::getStatus).containsExactly(PostStatus.PUBLISHED);
+        assertThat(cqlSession.execute("SELECT status_code FROM posts_by_user_status_v2 WHERE user_id = ?", userId).all())
+                .extracting(row -> row.getByte("status_code"))
+                .containsExactly(PostStatus.DRAFT.getCode(), PostStatus.PUBLISHED.getCode(), PostStatus.ARCHIVED.getCode());
+    }
+
+    @Test
+    void d001_AppWritesDuringBackfill_AppWins() throws Exception {
+        // Given: a page scanned before the application changed one post and deleted another
+        PostByUserKey unchanged = seedPostByUser("DRAFT");
+        PostByUserKey changed = seedPostByUser("DRAFT");
+        PostByUserKey deleted = seedPostByUser("PUBLISHED");
+        D001_BackfillPostsByUserStatusCodes migration = new D001_BackfillPostsByUserStatusCodes();
+        List<Row> page = scan(migration);
+
+        PostByUser post = postByUserRepository.findById(changed).orElseThrow();
+        post.setStatus(PostStatus.ARCHIVED);
+        postByUserRepository.save(post);
+        postByUserRepository.deleteById(deleted);
+
+        // When
+        migration.migratePage(context, page);
+
+        // Then
+        Map<UUID, Row> rows = postByUserRows();
+        assertThat(rows).containsOnlyKeys(unchanged.getPostId(), changed.getPostId());
+        assertThat(rows.get(unchanged.getPostId()).getByte("status_code")).isEqualTo(PostStatus.DRAFT.getCode());
+        assertThat(rows.get(changed.getPostId()).getByte("status_code")).isEqualTo(PostStatus.ARCHIVED.getCode());
+        assertThat(rows.values()).allSatisfy(row -> assertThat(PostStatus.fromName(row.getString("status")).getCode())
+                .isEqualTo(row.getByte("status_code")));
+        assertThat(postByUserRepository.findByUserId(userId))
+                .extracting(PostByUser::getPostId, PostByUser::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(unchanged.getPostId(), PostStatus.DRAFT),
+                        tuple(changed.getPostId(), PostStatus.ARCHIVED));
+    }
+
+    @Test
+    void d001_TitleUpdatedDuringBackfill_StatusKept() throws Exception {
+        // Given: a page scanned before the application changed only the title of the post
+        PostByUserKey old = seedPostByUser("PUBLISHED");
+        D001_BackfillPostsByUserStatusCodes migration = new D001_BackfillPostsByUserStatusCodes();
+        List<Row> page = scan(migration);
+
+        UpdatePostRequest titleOnly = new UpdatePostRequest();
+        titleOnly.setTitle("Updated");
+        postService.updatePost(userId, old.getPostId(), titleOnly);
+
+        // When
+        migration.migratePage(context, page);
+
+        // Then
+        Row row = postByUserRow(old.getPostId());
+        assertThat(row.getByte("status_code")).isEqualTo(PostStatus.PUBLISHED.getCode());
+        assertThat(postByUserRepository.findById(old)).get()
+                .satisfies(post -> {
+                    assertThat(post.getTitle()).isEqualTo("Updated");
+                    assertThat(post.getStatus()).isEqualTo(PostStatus.PUBLISHED);
+                });
+    }
+
+    @Test
+    void d001_AppliedAgain_RowsSkipped() throws Exception {
+        // Given
+        PostByUserKey old = seedPostByUser("PUBLISHED");
+        D001_BackfillPostsByUserStatusCodes migration = new D001_BackfillPostsByUserStatusCodes();
+        migration.migratePage(context, scan(migration));
+
+        // When
+        migration.migratePage(context, scan(migration));
+
+        // Then
+        Row row = cqlSession.execute("""
+                SELECT status_code, writetime(status_code) AS written FROM posts_by_user
+                WHERE user_id = ? AND created_at = ? AND post_id = ?
+                """, userId, createdAt.toInstant(), old.getPostId()).one();
+        assertThat(row.getByte("status_code")).isEqualTo(PostStatus.PUBLISHED.getCode());
+        assertThat(row.getLong("written")).isEqualTo(writtenBeforeV007);
+    }
+
+    @Test
+    void d001_NameWrittenByOldVersionAfterCode_CodeRefreshed() throws Exception {
+        // Given
+        PostByUser written = new PostByUser(userId, "Written", "content");
+        written.setStatus(PostStatus.DRAFT);
+        postByUserRepository.save(written);
+        cqlSession.execute("UPDATE posts_by_user SET status = 'ARCHIVED' WHERE user_id = ? AND created_at = ? AND post_id = ?",
+                userId, written.getCreatedAt().toInstant(), written.getPostId());
+        D001_BackfillPostsByUserStatusCodes migration = new D001_BackfillPostsByUserStatusCodes();
+
+        // When
+        migration.migratePage(context, scan(migration));
+
+        // Then
+        Row row = postByUserRow(written.getPostId());
+        assertThat(row.getByte("status_code")).isEqualTo(PostStatus.ARCHIVED.getCode());
+        assertThat(row.getString("status")).isEqualTo("ARCHIVED");
+    }
+
+    @Test
+    void d002_AppWritesDuringBackfill_AppWins() throws Exception {
+        // Given
+        UUID unchanged = seedPostById("PUBLISHED");
+        UUID changed = seedPostById("DRAFT");
+        UUID deleted = seedPostById("DRAFT");
+        D002_BackfillPostsByIdStatusCodes migration = new D002_BackfillPostsByIdStatusCodes();
+        List<Row> page = scan(migration);
+
+        PostById post = postByIdRepository.findById(changed).orElseThrow();
+        post.setStatus(PostStatus.PUBLISHED);
+        postByIdRepository.save(post);
+        postByIdRepository.deleteById(deleted);
+
+        // When
+        migration.migratePage(context, page);
+
+        // Then
+        assertThat(postByIdRepository.findById(unchanged)).get()
+                .extracting(PostById::getStatus).isEqualTo(PostStatus.PUBLISHED);
+        assertThat(postByIdRepository.findById(changed)).get()
+                .extracting(PostById::getStatus).isEqualTo(PostStatus.PUBLISHED);
+        assertThat(postByIdRepository.findById(deleted)).isEmpty();
+        Row backfilled = cqlSession.execute("SELECT status_code, status FROM posts_by_id WHERE post_id = ?", unchanged).one();
+        assertThat(backfilled.getByte("status_code")).isEqualTo(PostStatus.PUBLISHED.getCode());
+        assertThat(backfilled.getString("status")).isEqualTo("PUBLISHED");
+    }
+
+    @Test
+    void d003_AppWritesDuringCopy_AppWins() throws Exception {
+        // Given: the application moves a post and deletes another in v2 after the page was scanned
+        UUID unchanged = seedStatusRow("PUBLISHED");
+        UUID moved = seedStatusRow("DRAFT");
+        UUID deleted = seedStatusRow("DRAFT");
+        D003_CopyPostsByUserStatusToV2 migration = new D003_CopyPostsByUserStatusToV2();
+        List<Row> page = scan(migration);
+
+        postByUserStatusRepository.deleteById(new PostByUserStatusKey(userId, PostStatus.DRAFT, createdAt, moved));
+        saveStatusRow(moved, PostStatus.ARCHIVED);
+        postByUserStatusRepository.deleteById(new PostByUserStatusKey(userId, PostStatus.DRAFT, createdAt, deleted));
+
+        // When
+        migration.migratePage(context, page);
+
+        // Then
+        assertThat(postByUserStatusRepository.findByUserId(userId))
+                .extracting(PostByUserStatus::getPostId, PostByUserStatus::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(unchanged, PostStatus.PUBLISHED),
+                        tuple(moved, PostStatus.ARCHIVED));
+        assertThat(postByUserStatusRepository.findByUserIdAndStatus(userId, PostStatus.PUBLISHED))
+                .singleElement()
+                .satisfies(post -> {
+                    assertThat(post.getTitle()).isEqualTo("Title");
+                    assertThat(post.getTags()).containsExactly("java");
+                    assertThat(post.getCreatedAt().toInstant()).isEqualTo(createdAt.toInstant());
+                });
+    }
+
+    @Test
+    void d004_RowsMovedOrDeletedByOldVersion_RemovedFromV2() throws Exception {
+        // Given: saved by this version, then moved and deleted by instances of the previous one
+        UUID kept = UUID.randomUUID();
+        UUID moved = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        for (UUID postId : List.of(kept, moved, deleted)) {
+            PostByUserStatus post = statusRow(postId, PostStatus.DRAFT);
+            legacyStatusTable.save(post);
+            postByUserStatusRepository.save(post);
+        }
+        cqlSession.execute("DELETE FROM posts_by_user_status WHERE user_id = ? AND status = 'DRAFT' AND created_at = ? AND post_id IN (?, ?)",
+                userId, createdAt.toInstant(), moved, deleted);
+        cqlSession.execute("""
+                INSERT INTO posts_by_user_status (user_id, status, created_at, post_id, title, content, tags, updated_at)
+                VALUES (?, 'PUBLISHED', ?, ?, 'Title', 'content', {'java'}, ?)
+                """, userId, createdAt.toInstant(), moved, createdAt.toInstant());
+        D003_CopyPostsByUserStatusToV2 copy = new D003_CopyPostsByUserStatusToV2();
+        D004_RemoveStaleStatusRowsFromV2 removeStale = new D004_RemoveStaleStatusRowsFromV2();
+
+        // When
+        copy.migratePage(context, scan(copy));
+        removeStale.migratePage(context, scan(removeStale));
+
+        // Then
+        assertThat(postByUserStatusRepository.findByUserId(userId))
+                .extracting(PostByUserStatus::getPostId, PostByUserStatus::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(kept, PostStatus.DRAFT),
+                        tuple(moved, PostStatus.PUBLISHED));
+    }
+
+    private List<Row> scan(DataMigration migration) throws Exception {
+        migration.prepare(context);
+        return cqlSession.execute(MigrationContext.statement(migration.getScanCql(), Long.MIN_VALUE, Long.MAX_VALUE))
+                .all();
+    }
+
+    /**
+     * A posts_by_user row as written before V007
+     */
+    private PostByUserKey seedPostByUser(String status) {
+        UUID postId = UUID.randomUUID();
+        cqlSession.execute("""
+                INSERT INTO posts_by_user (user_id, created_at, post_id, title, content, status, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?) USING TIMESTAMP ?
+                """, userId, createdAt.toInstant(), postId, "Title", "content", status, createdAt.toInstant(),
+                writtenBeforeV007);
+        return new PostByUserKey(userId, createdAt, postId);
+    }
+
+    private UUID seedPostById(String status) {
+        UUID postId = UUID.randomUUID();
+        cqlSession.execute("""
+                INSERT INTO posts_by_id (post_id, user_id, title, content, status, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?) USING TIMESTAMP ?
+                """, postId, userId, "Title", "content", status, createdAt.toInstant(), createdAt.toInstant(),
+                writtenBeforeV007);
+        return postId;
+    }
+
+    private UUID seedStatusRow(String status) {
+        UUID postId = UUID.randomUUID();
+        cqlSession.execute("""
+                INSERT INTO posts_by_user_status (user_id, status, created_at, post_id, title, content, tags, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?) USING TIMESTAMP ?
+                """, userId, status, createdAt.toInstant(), postId, "Title", "content", Set.of("java"),
+                createdAt.toInstant(), writtenBeforeV007);
+        return postId;
+    }
+
+    private void saveStatusRow(UUID postId, PostStatus status) {
+        postByUserStatusRepository.save(statusRow(postId, status));
+    }
+
+    private PostByUserStatus statusRow(UUID postId, PostStatus status) {
+        PostByUserStatus post = new PostByUserStatus();
+        post.setKey(new PostByUserStatusKey(userId, status, createdAt, postId));
+        post.setTitle("Title");
+        post.setContent("content");
+        post.setTags(List.of("java"));
+        post.setUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        return post;
+    }
+
+    private Row postByUserRow(UUID postId) {
+        return postByUserRows().get(postId);
+    }
+
+    private Map<UUID, Row> postByUserRows() {
+        Map<UUID, Row> rows = new HashMap<>();
+        for (Row row : cqlSession.execute(
+                "SELECT post_id, status_code, status FROM posts_by_user WHERE user_id = ?", userId)) {
+            rows.put(row.getUuid("post_id"), row);
+        }
+        return rows;
+    }
+}
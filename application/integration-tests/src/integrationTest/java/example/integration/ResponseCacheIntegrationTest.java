@@ -0,0 +1,84 @@
+package example.integration;
+
+import example.domain.model.User;
+import example.domain.ports.input.CreateUserRequest;
+import example.domain.ports.input.UpdateUserRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.web.response-cache.enabled=true")
+class ResponseCacheIntegrationTest extends BaseCassandraIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void getUser_SecondReadServedWithEtag() {
+        // Given
+        UUID userId = createUser("cached.user@example.com");
+        restTemplate.getForEntity("/api/v1/users/" + userId, User.class);
+
+        // When
+        ResponseEntity<User> response = restTemplate.getForEntity("/api/v1/users/" + userId, User.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotNull();
+        assertThat(response.getBody().getEmail()).isEqualTo("cached.user@example.com");
+    }
+
+    @Test
+    void getUser_MatchingEtag_NotModified() {
+        // Given
+        UUID userId = createUser("etag.user@example.com");
+        restTemplate.getForEntity("/api/v1/users/" + userId, User.class);
+        String etag = restTemplate.getForEntity("/api/v1/users/" + userId, User.class).getHeaders().getETag();
+
+        // When
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<User> response = restTemplate.exchange("/api/v1/users/" + userId, HttpMethod.GET,
+                new HttpEntity<>(headers), User.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void updateUser_EvictsCachedResponse() {
+        // Given
+        UUID userId = createUser("evicted.user@example.com");
+        restTemplate.getForEntity("/api/v1/users/" + userId, User.class);
+        restTemplate.getForEntity("/api/v1/users/" + userId, User.class);
+
+        UpdateUserRequest updateRequest = new UpdateUserRequest();
+        updateRequest.setName("Renamed User");
+
+        // When
+        restTemplate.put("/api/v1/users/" + userId, updateRequest);
+        ResponseEntity<User> response = restTemplate.getForEntity("/api/v1/users/" + userId, User.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getName()).isEqualTo("Renamed User");
+    }
+
+    private UUID createUser(String email) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName("Cached User");
+        request.setEmail(email);
+        return restTemplate.postForEntity("/api/v1/users", request, User.class).getBody().getId();
+    }
+}
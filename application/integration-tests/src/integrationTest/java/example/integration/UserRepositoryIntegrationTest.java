@@ -1,5 +1,6 @@
 package example.integration;
 
+import example.domain.model.PostStatus;
 import example.domain.model.User;
 import example.domain.model.UserByEmail;
 import example.domain.model.UserStats;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,7 +41,7 @@ class UserRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
 
         testUser = new User("John Doe", "john.doe@example.com");
         testUserByEmail = UserByEmail.fromUser(testUser);
-        testUserStats = new UserStats(testUser.getId());
+        testUserStats = new UserStats(testUser.getId(), OffsetDateTime.now());
     }
 
     @Test
@@ -77,6 +79,7 @@ class UserRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
         // When
         savedUser.setName("Jane Doe");
         savedUser.setEmail("jane.doe@example.com");
+        savedUser.setUpdatedAt(OffsetDateTime.now());
         User updatedUser = userRepository.save(savedUser);
 
         // Then
@@ -120,8 +123,8 @@ class UserRepositoryIntegrationTest extends BaseCassandraIntegrationTest {
         UserStats savedStats = userStatsRepository.save(testUserStats);
 
         // When
-        savedStats.incrementPost("PUBLISHED");
-        savedStats.incrementPost("DRAFT");
+        savedStats.incrementPost(PostStatus.PUBLISHED);
+        savedStats.incrementPost(PostStatus.DRAFT);
         UserStats updatedStats = userStatsRepository.save(savedStats);
 
         // Then
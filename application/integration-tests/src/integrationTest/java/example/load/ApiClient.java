@@ -0,0 +1,168 @@
+package example.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Issues the REST calls of each {@link Operation} and keeps track of the users and posts
+ * created so far, so reads and publishes hit existing data.
+ */
+public class ApiClient {
+
+    private static final int KNOWN_POSTS = 1 << 16;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String apiUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final List<UUID> users = new CopyOnWriteArrayList<>();
+    // Ring of recently created posts, reads pick from it at random
+    private final AtomicReferenceArray<PostRef> posts = new AtomicReferenceArray<>(KNOWN_POSTS);
+    private final AtomicLong postCount = new AtomicLong();
+    private final ConcurrentLinkedQueue<PostRef> drafts = new ConcurrentLinkedQueue<>();
+
+    public ApiClient(String baseUrl) {
+        this.apiUrl = baseUrl.replaceAll("/+$", "") + "/api/v1";
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Create users with a few posts each, so the measured run starts with data to read
+     */
+    public void seed(int userCount, int postsPerUser) {
+        for (int i = 0; i < userCount; i++) {
+            String body = json(Map.of("name", "Load User " + i, "email", "load-" + runId + "-" + i + "@example.com"));
+            HttpResponse<String> response = send(post("/users", body)).join();
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Could not create user: HTTP " + response.statusCode() + " " + response.body());
+            }
+            users.add(id(response));
+        }
+        CompletableFuture<?>[] creates = new CompletableFuture<?>[userCount * postsPerUser];
+        for (int i = 0; i < creates.length; i++) {
+            creates[i] = execute(Operation.CREATE);
+        }
+        CompletableFuture.allOf(creates).join();
+    }
+
+    /**
+     * Issue the operation, completing with the HTTP status code
+     */
+    public CompletableFuture<Integer> execute(Operation operation) {
+        UUID userId = randomUser();
+        return switch (operation) {
+            case CREATE -> {
+                String body = json(Map.of("title", "Load test post", "content", "Generated by the load harness " + runId,
+                        "tags", List.of("load")));
+                yield send(post("/users/" + userId + "/posts", body)).thenApply(response -> {
+                    if (response.statusCode() == 201) {
+                        PostRef post = new PostRef(userId, id(response));
+                        posts.set((int) (postCount.getAndIncrement() % KNOWN_POSTS), post);
+                        drafts.add(post);
+                    }
+                    return response.statusCode();
+                });
+            }
+            case READ -> {
+                PostRef post = randomPost();
+                yield post == null ? execute(Operation.CREATE) : status(get("/posts/" + post.postId));
+            }
+            case LIST -> status(get("/users/" + userId + "/posts?limit=20"));
+            case PUBLISH -> {
+                PostRef post = drafts.poll();
+                if (post == null) {
+                    post = randomPost();
+                }
+                yield post == null ? execute(Operation.CREATE)
+                        : status(put("/users/" + post.userId + "/posts/" + post.postId + "/publish"));
+            }
+        };
+    }
+
+    private UUID randomUser() {
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No users, call seed() first");
+        }
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private PostRef randomPost() {
+        long count = Math.min(postCount.get(), KNOWN_POSTS);
+        return count == 0 ? null : posts.get(ThreadLocalRandom.current().nextInt((int) count));
+    }
+
+    private CompletableFuture<Integer> status(HttpRequest request) {
+        return send(request).thenApply(HttpResponse::statusCode);
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest put(String path) {
+        return request(path).PUT(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(apiUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private UUID id(HttpResponse<String> response) {
+        try {
+            JsonNode node = objectMapper.readTree(response.body());
+            return UUID.fromString(node.get("id").asText());
+        } catch (Exception e) {
+            throw new IllegalStateException("No id in response: " + response.body(), e);
+        }
+    }
+
+    private static final class PostRef {
+        private final UUID userId;
+        private final UUID postId;
+
+        PostRef(UUID userId, UUID postId) {
+            this.userId = userId;
+            this.postId = postId;
+        }
+    }
+}
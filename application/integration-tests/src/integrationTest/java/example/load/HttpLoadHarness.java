@@ -0,0 +1,40 @@
+package example.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+
+/**
+ * Runs the HTTP load harness against a running instance, configured with {@code load.*}
+ * system properties (see {@link LoadOptions}):
+ * <pre>
+ * ./gradlew :integration-tests:httpLoad -Dload.base-url=http://host:8080 -Dload.mode=open -Dload.rate=500
+ * </pre>
+ */
+public class HttpLoadHarness {
+    private static final Logger log = LoggerFactory.getLogger(HttpLoadHarness.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadResult result = run(LoadOptions.fromSystemProperties());
+        LatencyRecorder.OperationStats total = result.getRecorder().total();
+        if (total.getCount() == 0) {
+            System.exit(1);
+        }
+    }
+
+    public static LoadResult run(LoadOptions options) throws Exception {
+        ApiClient client = new ApiClient(options.getBaseUrl());
+        log.info("Seeding {} users with {} posts each", options.getUsers(), options.getPostsPerUser());
+        client.seed(options.getUsers(), options.getPostsPerUser());
+
+        LoadResult result = new LoadGenerator(options, client).run();
+        Path reportDir = new LoadReport(result).write();
+
+        LatencyRecorder.OperationStats total = result.getRecorder().total();
+        log.info("{} requests ({} errors), {} req/s, p99 {} ms, report in {}",
+                total.getCount(), total.getErrors(), String.format("%.1f", result.throughput(total)),
+                total.getCorrected().getValueAtPercentile(99.0) / 1000.0, reportDir.toAbsolutePath());
+        return result;
+    }
+}
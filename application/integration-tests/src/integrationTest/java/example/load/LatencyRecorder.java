@@ -0,0 +1,105 @@
+package example.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per operation latency histograms in microseconds.
+ * <p>
+ * Two distributions are kept: the raw service time ({@code uncorrected}) and one corrected
+ * for coordinated omission ({@code corrected}). In the open model the corrected latency is
+ * measured from the request's intended start, so time spent waiting behind a stalled
+ * system counts. In the closed model each sample is back-filled with
+ * {@link Histogram#recordValueWithExpectedInterval} using the workers' expected interval:
+ * their think time plus the mean service time seen during the warmup.
+ */
+public class LatencyRecorder {
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private volatile long expectedIntervalMicros;
+
+    /**
+     * @param expectedIntervalMicros closed model interval between a worker's requests, 0 for the open model
+     *                               or until it is known
+     */
+    public LatencyRecorder(long expectedIntervalMicros) {
+        this.expectedIntervalMicros = expectedIntervalMicros;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * @param latencyMicros     time from the intended start (open model) or the actual start (closed model)
+     * @param serviceTimeMicros time from the actual start
+     */
+    public void record(Operation operation, long latencyMicros, long serviceTimeMicros, boolean success) {
+        OperationStats operationStats = stats.get(operation);
+        if (!success) {
+            operationStats.errors.increment();
+        }
+        if (expectedIntervalMicros > 0) {
+            operationStats.corrected.recordValueWithExpectedInterval(latencyMicros, expectedIntervalMicros);
+        } else {
+            operationStats.corrected.recordValue(latencyMicros);
+        }
+        operationStats.uncorrected.recordValue(serviceTimeMicros);
+    }
+
+    public OperationStats get(Operation operation) {
+        return stats.get(operation);
+    }
+
+    /**
+     * All operations merged
+     */
+    public OperationStats total() {
+        OperationStats total = new OperationStats();
+        for (OperationStats operationStats : stats.values()) {
+            total.corrected.add(operationStats.corrected);
+            total.uncorrected.add(operationStats.uncorrected);
+            total.errors.add(operationStats.errors.sum());
+        }
+        return total;
+    }
+
+    public long getExpectedIntervalMicros() {
+        return expectedIntervalMicros;
+    }
+
+    /**
+     * Set the closed model interval once measured, before the first sample is recorded
+     */
+    public void setExpectedIntervalMicros(long expectedIntervalMicros) {
+        this.expectedIntervalMicros = expectedIntervalMicros;
+    }
+
+    public static class OperationStats {
+        private final Histogram corrected = new ConcurrentHistogram(3);
+        private final Histogram uncorrected = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        public Histogram getCorrected() {
+            return corrected;
+        }
+
+        public Histogram getUncorrected() {
+            return uncorrected;
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        /**
+         * Requests issued; the corrected histogram also holds back-filled samples
+         */
+        public long getCount() {
+            return uncorrected.getTotalCount();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package example.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives an {@link ApiClient} with the configured {@link LoadOptions}.
+ * <ul>
+ *     <li>Open model: requests are due at a constant rate whatever the response times; a
+ *     request that could not be sent on time (too many in flight) is sent late and its
+ *     latency still counts from when it was due.</li>
+ *     <li>Closed model: a fixed number of workers each wait for their response (and the
+ *     think time) before sending the next request. A worker stalled by a slow response
+ *     skips the requests it would have sent meanwhile, so its samples are back-filled at
+ *     the interval a worker is expected to keep: the think time plus the mean service time
+ *     measured during the warmup.</li>
+ * </ul>
+ */
+public class LoadGenerator {
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final LoadOptions options;
+    private final ApiClient client;
+
+    public LoadGenerator(LoadOptions options, ApiClient client) {
+        this.options = options;
+        this.client = client;
+    }
+
+    public LoadResult run() throws InterruptedException {
+        // The closed model interval is set once the warmup measured the service time
+        LatencyRecorder recorder = new LatencyRecorder(0);
+
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = measureFrom + options.getDuration().toNanos();
+        log.info("Running {} model load for {} (+{} warmup), mix {}", options.getMode(),
+                options.getDuration(), options.getWarmup(), options.getMix());
+
+        if (options.getMode() == LoadOptions.Mode.OPEN) {
+            runOpen(recorder, start, measureFrom, end);
+        } else {
+            runClosed(recorder, measureFrom, end);
+        }
+        return new LoadResult(options, recorder, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - measureFrom));
+    }
+
+    private void runOpen(LatencyRecorder recorder, long start, long measureFrom, long end) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        Semaphore inFlight = new Semaphore(options.getConcurrency());
+        long late = 0;
+        for (long n = 0; ; n++) {
+            long intended = start + n * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            if (sent - intended > intervalNanos) {
+                late++;
+            }
+            Operation operation = options.getMix().next();
+            issue(operation).whenComplete((status, error) -> {
+                inFlight.release();
+                long done = System.nanoTime();
+                if (intended >= measureFrom) {
+                    recorder.record(operation, micros(done - intended), micros(done - sent), succeeded(status, error));
+                }
+            });
+        }
+        if (!inFlight.tryAcquire(options.getConcurrency(), 30, TimeUnit.SECONDS)) {
+            log.warn("Requests still in flight after the run, their latencies are not recorded");
+        }
+        if (late > 0) {
+            log.warn("{} requests were sent later than due (concurrency {} exhausted or client saturated)",
+                    late, options.getConcurrency());
+        }
+    }
+
+    private void runClosed(LatencyRecorder recorder, long measureFrom, long end) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.getConcurrency());
+        long thinkNanos = options.getThinkTime().toNanos();
+        Histogram warmupServiceTimes = new ConcurrentHistogram(3);
+        AtomicBoolean measuring = new AtomicBoolean();
+        for (int i = 0; i < options.getConcurrency(); i++) {
+            workers.submit(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    Operation operation = options.getMix().next();
+                    long sent = System.nanoTime();
+                    Integer status = null;
+                    Throwable error = null;
+                    try {
+                        status = issue(operation).join();
+                    } catch (Exception e) {
+                        error = e;
+                    }
+                    long done = System.nanoTime();
+                    if (sent < measureFrom) {
+                        warmupServiceTimes.recordValue(micros(done - sent));
+                    } else {
+                        if (!measuring.get()) {
+                            synchronized (measuring) {
+                                if (!measuring.get()) {
+                                    recorder.setExpectedIntervalMicros(expectedInterval(warmupServiceTimes, thinkNanos));
+                                    measuring.set(true);
+                                }
+                            }
+                        }
+                        recorder.record(operation, micros(done - sent), micros(done - sent), succeeded(status, error));
+                    }
+                    if (thinkNanos > 0) {
+                        LockSupport.parkNanos(thinkNanos);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(TimeUnit.NANOSECONDS.toSeconds(end - System.nanoTime()) + 60, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+            log.warn("Workers did not finish in time");
+        }
+    }
+
+    /**
+     * Interval a closed model worker keeps between its requests when the system is healthy
+     */
+    private static long expectedInterval(Histogram warmupServiceTimes, long thinkNanos) {
+        long intervalMicros = micros(thinkNanos) + Math.round(warmupServiceTimes.getMean());
+        if (warmupServiceTimes.getTotalCount() == 0) {
+            log.warn("No warmup requests, the closed model latencies are only corrected for the think time");
+        } else {
+            log.info("Closed model expected interval {} us (think time + mean warmup service time)", intervalMicros);
+        }
+        return intervalMicros;
+    }
+
+    private CompletableFuture<Integer> issue(Operation operation) {
+        try {
+            return client.execute(operation);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean succeeded(Integer status, Throwable error) {
+        return error == null && status != null && status >= 200 && status < 300;
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
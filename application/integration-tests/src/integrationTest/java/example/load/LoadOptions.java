@@ -0,0 +1,161 @@
+package example.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Load harness settings, read from {@code load.*} system properties.
+ * <ul>
+ *     <li>{@code load.base-url} - instance to drive, default {@code http://localhost:8080}</li>
+ *     <li>{@code load.mode} - {@code open} (constant arrival rate) or {@code closed} (fixed number of users)</li>
+ *     <li>{@code load.rate} - open model arrivals per second</li>
+ *     <li>{@code load.concurrency} - closed model workers, or open model maximum requests in flight</li>
+ *     <li>{@code load.think-time} - closed model pause between a worker's requests</li>
+ *     <li>{@code load.duration} / {@code load.warmup} - measured run, preceded by an unrecorded warmup</li>
+ *     <li>{@code load.mix} - operation weights, e.g. {@code create=20,read=50,list=25,publish=5}</li>
+ *     <li>{@code load.users} / {@code load.posts-per-user} - data seeded before the run</li>
+ *     <li>{@code load.report-dir} - where the JSON and HTML reports are written</li>
+ * </ul>
+ */
+public class LoadOptions {
+
+    public enum Mode { OPEN, CLOSED }
+
+    private String baseUrl = "http://localhost:8080";
+    private Mode mode = Mode.OPEN;
+    private int rate = 200;
+    private int concurrency = 64;
+    private Duration thinkTime = Duration.ZERO;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private OperationMix mix = OperationMix.parse("create=20,read=50,list=25,publish=5");
+    private int users = 100;
+    private int postsPerUser = 5;
+    private Path reportDir = Path.of("build", "reports", "load");
+
+    public static LoadOptions fromSystemProperties() {
+        LoadOptions options = new LoadOptions();
+        options.baseUrl = System.getProperty("load.base-url", options.baseUrl);
+        options.mode = Mode.valueOf(System.getProperty("load.mode", options.mode.name()).toUpperCase(Locale.ROOT));
+        options.rate = Integer.getInteger("load.rate", options.rate);
+        options.concurrency = Integer.getInteger("load.concurrency", options.concurrency);
+        options.thinkTime = duration("load.think-time", options.thinkTime);
+        options.duration = duration("load.duration", options.duration);
+        options.warmup = duration("load.warmup", options.warmup);
+        String mix = System.getProperty("load.mix");
+        if (mix != null) {
+            options.mix = OperationMix.parse(mix);
+        }
+        options.users = Integer.getInteger("load.users", options.users);
+        options.postsPerUser = Integer.getInteger("load.posts-per-user", options.postsPerUser);
+        options.reportDir = Path.of(System.getProperty("load.report-dir", options.reportDir.toString()));
+        return options;
+    }
+
+    private static Duration duration(String property, Duration defaultValue) {
+        String value = System.getProperty(property);
+        return value != null ? DurationStyle.detectAndParse(value) : defaultValue;
+    }
+
+    public LoadOptions withBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+        return this;
+    }
+
+    public LoadOptions withMode(Mode mode) {
+        this.mode = mode;
+        return this;
+    }
+
+    public LoadOptions withRate(int rate) {
+        this.rate = rate;
+        return this;
+    }
+
+    public LoadOptions withConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public LoadOptions withThinkTime(Duration thinkTime) {
+        this.thinkTime = thinkTime;
+        return this;
+    }
+
+    public LoadOptions withDuration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    public LoadOptions withWarmup(Duration warmup) {
+        this.warmup = warmup;
+        return this;
+    }
+
+    public LoadOptions withMix(OperationMix mix) {
+        this.mix = mix;
+        return this;
+    }
+
+    public LoadOptions withUsers(int users) {
+        this.users = users;
+        return this;
+    }
+
+    public LoadOptions withPostsPerUser(int postsPerUser) {
+        this.postsPerUser = postsPerUser;
+        return this;
+    }
+
+    public LoadOptions withReportDir(Path reportDir) {
+        this.reportDir = reportDir;
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public OperationMix getMix() {
+        return mix;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getPostsPerUser() {
+        return postsPerUser;
+    }
+
+    public Path getReportDir() {
+        return reportDir;
+    }
+}
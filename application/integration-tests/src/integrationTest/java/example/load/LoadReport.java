@@ -0,0 +1,183 @@
+package example.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a {@link LoadResult} as {@code load-report.json}, {@code load-report.html} and one
+ * {@code <operation>.hgrm} percentile distribution per operation (milliseconds, readable by
+ * the HdrHistogram plotter).
+ */
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+
+    private final LoadResult result;
+
+    public LoadReport(LoadResult result) {
+        this.result = result;
+    }
+
+    public Path write() throws IOException {
+        Path dir = result.getOptions().getReportDir();
+        Files.createDirectories(dir);
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        objectMapper.writeValue(dir.resolve("load-report.json").toFile(), toMap());
+        Files.writeString(dir.resolve("load-report.html"), toHtml());
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder.OperationStats stats = result.getRecorder().get(operation);
+            if (stats.getCount() > 0) {
+                Files.writeString(dir.resolve(operation.name().toLowerCase(Locale.ROOT) + ".hgrm"),
+                        distribution(stats.getCorrected()));
+            }
+        }
+        return dir;
+    }
+
+    public Map<String, Object> toMap() {
+        LoadOptions options = result.getOptions();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("baseUrl", options.getBaseUrl());
+        settings.put("mode", options.getMode().name());
+        settings.put("rate", options.getMode() == LoadOptions.Mode.OPEN ? options.getRate() : null);
+        settings.put("concurrency", options.getConcurrency());
+        settings.put("thinkTimeMs", options.getThinkTime().toMillis());
+        settings.put("durationMs", options.getDuration().toMillis());
+        settings.put("warmupMs", options.getWarmup().toMillis());
+        settings.put("mix", options.getMix().getWeights());
+        settings.put("coordinatedOmissionCorrection", correction());
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder.OperationStats stats = result.getRecorder().get(operation);
+            if (stats.getCount() > 0) {
+                operations.put(operation.name().toLowerCase(Locale.ROOT), summary(stats));
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", OffsetDateTime.now().toString());
+        report.put("settings", settings);
+        report.put("measuredMs", result.getMeasuredMillis());
+        report.put("total", summary(result.getRecorder().total()));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private Map<String, Object> summary(LatencyRecorder.OperationStats stats) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", stats.getCount());
+        summary.put("errors", stats.getErrors());
+        summary.put("throughputPerSecond", round(result.throughput(stats)));
+        summary.put("latencyMs", latencies(stats.getCorrected()));
+        summary.put("serviceTimeMs", latencies(stats.getUncorrected()));
+        return summary;
+    }
+
+    private static Map<String, Object> latencies(Histogram histogram) {
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        latencies.put("mean", round(histogram.getMean() / 1000.0));
+        for (double percentile : PERCENTILES) {
+            latencies.put("p" + formatPercentile(percentile), round(histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        latencies.put("max", round(histogram.getMaxValue() / 1000.0));
+        return latencies;
+    }
+
+    private String toHtml() {
+        StringBuilder html = new StringBuilder();
+        LoadOptions options = result.getOptions();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Load report</title>\n")
+                .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+                .append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}pre{background:#f6f6f6;padding:8px}</style>\n")
+                .append("</head><body>\n<h1>Load report</h1>\n<p>")
+                .append(escape(options.getBaseUrl())).append(" &middot; ").append(options.getMode()).append(" model");
+        if (options.getMode() == LoadOptions.Mode.OPEN) {
+            html.append(" &middot; ").append(options.getRate()).append(" req/s");
+        }
+        html.append(" &middot; concurrency ").append(options.getConcurrency())
+                .append(" &middot; ").append(result.getMeasuredMillis()).append(" ms measured")
+                .append(" &middot; mix ").append(escape(options.getMix().toString()))
+                .append("<br>Coordinated omission correction: ").append(escape(correction())).append("</p>\n");
+
+        html.append("<table><tr><th>operation</th><th>requests</th><th>errors</th><th>req/s</th><th>mean</th>");
+        for (double percentile : PERCENTILES) {
+            html.append("<th>p").append(formatPercentile(percentile)).append("</th>");
+        }
+        html.append("<th>max</th><th>p99 service time</th></tr>\n");
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder.OperationStats stats = result.getRecorder().get(operation);
+            if (stats.getCount() > 0) {
+                row(html, operation.name().toLowerCase(Locale.ROOT), stats);
+            }
+        }
+        row(html, "total", result.getRecorder().total());
+        html.append("</table>\n<p>Latencies in milliseconds.</p>\n");
+
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder.OperationStats stats = result.getRecorder().get(operation);
+            if (stats.getCount() > 0) {
+                html.append("<h2>").append(operation.name().toLowerCase(Locale.ROOT)).append("</h2>\n<pre>")
+                        .append(escape(distribution(stats.getCorrected()))).append("</pre>\n");
+            }
+        }
+        return html.append("</body></html>\n").toString();
+    }
+
+    private void row(StringBuilder html, String name, LatencyRecorder.OperationStats stats) {
+        Histogram latency = stats.getCorrected();
+        html.append("<tr><th>").append(name).append("</th><td>").append(stats.getCount())
+                .append("</td><td>").append(stats.getErrors())
+                .append("</td><td>").append(round(result.throughput(stats)))
+                .append("</td><td>").append(round(latency.getMean() / 1000.0)).append("</td>");
+        for (double percentile : PERCENTILES) {
+            html.append("<td>").append(round(latency.getValueAtPercentile(percentile) / 1000.0)).append("</td>");
+        }
+        html.append("<td>").append(round(latency.getMaxValue() / 1000.0))
+                .append("</td><td>").append(round(stats.getUncorrected().getValueAtPercentile(99.0) / 1000.0))
+                .append("</td></tr>\n");
+    }
+
+    private String correction() {
+        if (result.getOptions().getMode() == LoadOptions.Mode.OPEN) {
+            return "latency measured from each request's intended start";
+        }
+        long interval = result.getRecorder().getExpectedIntervalMicros();
+        return interval > 0
+                ? "back-filled with an expected interval of " + interval + " us"
+                : "none (closed model without warmup or think time)";
+    }
+
+    private static String distribution(Histogram histogram) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PrintStream printStream = new PrintStream(out, true, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(printStream, 1000.0);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,36 @@
+package example.load;
+
+/**
+ * Outcome of a {@link LoadGenerator} run.
+ */
+public class LoadResult {
+
+    private final LoadOptions options;
+    private final LatencyRecorder recorder;
+    private final long measuredMillis;
+
+    public LoadResult(LoadOptions options, LatencyRecorder recorder, long measuredMillis) {
+        this.options = options;
+        this.recorder = recorder;
+        this.measuredMillis = measuredMillis;
+    }
+
+    public LoadOptions getOptions() {
+        return options;
+    }
+
+    public LatencyRecorder getRecorder() {
+        return recorder;
+    }
+
+    public long getMeasuredMillis() {
+        return measuredMillis;
+    }
+
+    /**
+     * Completed requests per second over the measured part of the run
+     */
+    public double throughput(LatencyRecorder.OperationStats stats) {
+        return measuredMillis > 0 ? stats.getCount() * 1000.0 / measuredMillis : 0;
+    }
+}
@@ -0,0 +1,15 @@
+package example.load;
+
+/**
+ * REST operations the load harness can issue.
+ */
+public enum Operation {
+    /** POST /users/{userId}/posts */
+    CREATE,
+    /** GET /posts/{postId} */
+    READ,
+    /** GET /users/{userId}/posts?limit=20 */
+    LIST,
+    /** PUT /users/{userId}/posts/{postId}/publish */
+    PUBLISH
+}
@@ -0,0 +1,67 @@
+package example.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice of the next operation, e.g. {@code create=20,read=50,list=25,publish=5}.
+ */
+public class OperationMix {
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private final int total;
+
+    public OperationMix(Map<Operation, Integer> weights) {
+        this.weights = new EnumMap<>(weights);
+        this.operations = this.weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            int weight = this.weights.get(operations[i]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + operations[i]);
+            }
+            sum += weight;
+            cumulative[i] = sum;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("Operation mix has no weight: " + weights);
+        }
+        this.total = sum;
+    }
+
+    public static OperationMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split("=");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight but got '" + part + "'");
+            }
+            weights.put(Operation.valueOf(entry[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(entry[1].trim()));
+        }
+        return new OperationMix(weights);
+    }
+
+    public Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (pick < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public Map<Operation, Integer> getWeights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
@@ -4,6 +4,7 @@ import example.config.ConcurrentTestUtils;
 import example.config.SimpleConcurrentTestUtils;
 import example.integration.BaseCassandraIntegrationTest;
 import example.domain.model.PostByUser;
+import example.domain.model.PostStatus;
 import example.domain.model.User;
 import example.domain.ports.input.CreatePostRequest;
 import example.domain.ports.input.CreateUserRequest;
@@ -80,7 +81,7 @@ class ConcurrentOperationsIntegrationTest extends BaseCassandraIntegrationTest {
                     CreatePostRequest request = new CreatePostRequest();
                     request.setTitle("Concurrent Post " + id);
                     request.setContent("Content " + id);
-                    request.setStatus("DRAFT");
+                    request.setStatus(PostStatus.DRAFT);
                     return postService.createPost(user.getId(), request);
                 }
         );
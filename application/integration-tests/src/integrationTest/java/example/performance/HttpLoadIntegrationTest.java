@@ -0,0 +1,82 @@
+package example.performance;
+
+import example.integration.BaseCassandraIntegrationTest;
+import example.load.HttpLoadHarness;
+import example.load.LatencyRecorder;
+import example.load.LoadOptions;
+import example.load.LoadResult;
+import example.load.Operation;
+import example.load.OperationMix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Short runs of the HTTP load harness against the embedded server, in both load models.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class HttpLoadIntegrationTest extends BaseCassandraIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @TempDir
+    private Path reportDir;
+
+    @Test
+    void openModel_RecordsEveryOperationOfTheMix() throws Exception {
+        // Given
+        LoadOptions options = options()
+                .withMode(LoadOptions.Mode.OPEN)
+                .withRate(50)
+                .withConcurrency(16);
+
+        // When
+        LoadResult result = HttpLoadHarness.run(options);
+
+        // Then
+        LatencyRecorder.OperationStats total = result.getRecorder().total();
+        assertThat(total.getCount()).isGreaterThan(50);
+        assertThat(total.getErrors()).isZero();
+        for (Operation operation : Operation.values()) {
+            assertThat(result.getRecorder().get(operation).getCount()).as(operation.name()).isPositive();
+        }
+        assertThat(reportDir.resolve("load-report.json")).exists();
+        assertThat(reportDir.resolve("load-report.html")).exists();
+    }
+
+    @Test
+    void closedModel_BackFillsLatenciesWithThinkTime() throws Exception {
+        // Given
+        LoadOptions options = options()
+                .withMode(LoadOptions.Mode.CLOSED)
+                .withConcurrency(4)
+                .withThinkTime(Duration.ofMillis(10));
+
+        // When
+        LoadResult result = HttpLoadHarness.run(options);
+
+        // Then
+        LatencyRecorder.OperationStats total = result.getRecorder().total();
+        assertThat(total.getCount()).isPositive();
+        assertThat(total.getErrors()).isZero();
+        assertThat(total.getCorrected().getTotalCount()).isGreaterThanOrEqualTo(total.getUncorrected().getTotalCount());
+    }
+
+    private LoadOptions options() {
+        return new LoadOptions()
+                .withBaseUrl("http://localhost:" + port)
+                .withUsers(10)
+                .withPostsPerUser(2)
+                .withWarmup(Duration.ofSeconds(1))
+                .withDuration(Duration.ofSeconds(3))
+                .withMix(OperationMix.parse("create=20,read=50,list=25,publish=5"))
+                .withReportDir(reportDir);
+    }
+}
@@ -2,6 +2,7 @@ package example.performance;
 
 import example.integration.BaseCassandraIntegrationTest;
 import example.domain.model.PostByUser;
+import example.domain.model.PostStatus;
 import example.domain.model.User;
 import example.domain.ports.input.CreatePostRequest;
 import example.domain.ports.input.CreateUserRequest;
@@ -71,7 +72,7 @@ abstract class PerformanceTestBase extends BaseCassandraIntegrationTest {
             CreatePostRequest request = new CreatePostRequest();
             request.setTitle("Post " + i);
             request.setContent("Content for post " + i);
-            request.setStatus(i % 2 == 0 ? "PUBLISHED" : "DRAFT");
+            request.setStatus(i % 2 == 0 ? PostStatus.PUBLISHED : PostStatus.DRAFT);
             posts.add(postService.createPost(userId, request));
         }
         return posts;
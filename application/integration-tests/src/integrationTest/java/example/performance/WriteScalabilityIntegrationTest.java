@@ -0,0 +1,72 @@
+package example.performance;
+
+import example.domain.ports.output.UserStatsUpdatePort;
+import example.domain.services.PostService;
+import example.domain.services.UserService;
+import example.scalability.ScalabilityHarness;
+import example.scalability.ScalabilityOptions;
+import example.scalability.ScalabilityPoint;
+import example.scalability.ScalabilityResult;
+import example.scalability.ThreadMode;
+import example.scalability.Workload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A small scalability curve of the write paths on the in-memory profile, with platform
+ * and virtual threads, against one hot user and against many users.
+ */
+@SpringBootTest
+@ActiveProfiles("in-memory")
+class WriteScalabilityIntegrationTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserStatsUpdatePort userStatsUpdatePort;
+
+    @TempDir
+    private Path reportDir;
+
+    @Test
+    void curve_KeepsStatsConsistentAtEveryPoint() throws Exception {
+        // Given
+        ScalabilityOptions options = new ScalabilityOptions()
+                .withMaxThreads(4)
+                .withThreadModes(List.of(ThreadMode.values()))
+                .withWorkloads(List.of(Workload.values()))
+                .withOperationsPerThread(30)
+                .withWarmupOperationsPerThread(9)
+                .withUsers(8)
+                .withReportDir(reportDir);
+
+        // When
+        ScalabilityResult result = ScalabilityHarness.run(postService, userService, userStatsUpdatePort, options);
+
+        // Then
+        assertThat(result.getPoints()).hasSize(Workload.values().length * ThreadMode.values().length * 3);
+        for (ScalabilityPoint point : result.getPoints()) {
+            String name = point.getWorkload() + " " + point.getThreadMode() + " x" + point.getThreads();
+            assertThat(point.getErrors()).as(name).isZero();
+            assertThat(point.getOperations()).as(name).isEqualTo(30L * point.getThreads());
+            assertThat(point.throughput()).as(name).isPositive();
+            assertThat(point.getContention()).as(name).isNotNull();
+            assertThat(point.getStatsCheck().getMismatches()).as(name).isEmpty();
+        }
+        assertThat(result.isStatsConsistent()).isTrue();
+        assertThat(reportDir.resolve("scalability-report.json")).exists();
+        assertThat(reportDir.resolve("scalability-report.txt")).exists();
+    }
+}
@@ -0,0 +1,87 @@
+package example.scalability;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * In-process JFR recording of lock contention while a point of the curve runs.
+ * <p>
+ * Records {@code jdk.JavaMonitorEnter} (blocked on a {@code synchronized} monitor),
+ * {@code jdk.ThreadPark} ({@code java.util.concurrent} locks) and
+ * {@code jdk.VirtualThreadPinned} (a virtual thread that could not unmount). Events are
+ * attributed to the first application frame on their stack; parks without one are idle
+ * pool threads waiting for work and are dropped.
+ */
+public class ContentionProfiler {
+
+    public static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+    public static final String THREAD_PARK = "jdk.ThreadPark";
+    public static final String VIRTUAL_THREAD_PINNED = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "example.";
+    private static final String SUITE_PACKAGE = "example.scalability.";
+
+    private final Recording recording;
+
+    private ContentionProfiler(Recording recording) {
+        this.recording = recording;
+    }
+
+    public static ContentionProfiler start(Duration threshold) {
+        Recording recording = new Recording();
+        recording.setName("scalability");
+        recording.enable(MONITOR_ENTER).withThreshold(threshold).withStackTrace();
+        recording.enable(THREAD_PARK).withThreshold(threshold).withStackTrace();
+        recording.enable(VIRTUAL_THREAD_PINNED).withThreshold(threshold).withStackTrace();
+        recording.start();
+        return new ContentionProfiler(recording);
+    }
+
+    public ContentionSummary stop() throws IOException {
+        Path file = Files.createTempFile("scalability", ".jfr");
+        try {
+            recording.stop();
+            recording.dump(file);
+            ContentionSummary summary = new ContentionSummary();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                String site = applicationFrame(event.getStackTrace());
+                String type = event.getEventType().getName();
+                if (site == null && !MONITOR_ENTER.equals(type)) {
+                    continue;
+                }
+                String monitor = MONITOR_ENTER.equals(type) && event.getClass("monitorClass") != null
+                        ? event.getClass("monitorClass").getName()
+                        : null;
+                summary.add(type, monitor, site != null ? site : "<jdk>", event.getDuration());
+            }
+            return summary;
+        } finally {
+            recording.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE) && !type.startsWith(SUITE_PACKAGE)) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return null;
+    }
+}
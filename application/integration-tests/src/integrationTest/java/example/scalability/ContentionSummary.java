@@ -0,0 +1,71 @@
+package example.scalability;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Contention events of one point of the curve: totals per JFR event type and the
+ * sites (monitor class and first application frame) that waited the longest.
+ */
+public class ContentionSummary {
+
+    private static final int TOP_SITES = 5;
+
+    private final Map<String, Total> byType = new TreeMap<>();
+    private final Map<String, Total> bySite = new HashMap<>();
+
+    void add(String type, String monitorClass, String site, Duration duration) {
+        byType.computeIfAbsent(type, key -> new Total()).add(duration);
+        String key = type + " " + (monitorClass != null ? monitorClass + " @ " : "") + site;
+        bySite.computeIfAbsent(key, k -> new Total()).add(duration);
+    }
+
+    public long getCount(String type) {
+        Total total = byType.get(type);
+        return total != null ? total.count : 0;
+    }
+
+    public Duration getDuration(String type) {
+        Total total = byType.get(type);
+        return total != null ? Duration.ofNanos(total.nanos) : Duration.ZERO;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> events = new LinkedHashMap<>();
+        byType.forEach((type, total) -> events.put(type, total.toMap()));
+
+        Map<String, Object> sites = new LinkedHashMap<>();
+        List<Map.Entry<String, Total>> top = bySite.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Total> entry) -> entry.getValue().nanos).reversed())
+                .limit(TOP_SITES)
+                .toList();
+        top.forEach(entry -> sites.put(entry.getKey(), entry.getValue().toMap()));
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("events", events);
+        map.put("topSites", sites);
+        return map;
+    }
+
+    private static final class Total {
+        private long count;
+        private long nanos;
+
+        private void add(Duration duration) {
+            count++;
+            nanos += duration.toNanos();
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("totalMs", Math.round(nanos / 10_000.0) / 100.0);
+            return map;
+        }
+    }
+}
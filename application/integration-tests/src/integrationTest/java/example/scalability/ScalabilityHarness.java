@@ -0,0 +1,50 @@
+package example.scalability;
+
+import example.SpringCassandraApplication;
+import example.domain.ports.output.UserStatsUpdatePort;
+import example.domain.services.PostService;
+import example.domain.services.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+/**
+ * Runs the write path scalability suite in-process, configured with {@code scalability.*}
+ * system properties (see {@link ScalabilityOptions}):
+ * <pre>
+ * ./gradlew :integration-tests:scalability -Dscalability.max-threads=64 -Dscalability.thread-modes=platform,virtual
+ * </pre>
+ * The default {@code in-memory} profile isolates contention inside the JVM; any other
+ * profile runs against the configured Cassandra cluster.
+ */
+public class ScalabilityHarness {
+    private static final Logger log = LoggerFactory.getLogger(ScalabilityHarness.class);
+
+    public static void main(String[] args) throws Exception {
+        ScalabilityOptions options = ScalabilityOptions.fromSystemProperties();
+        ScalabilityResult result;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringCassandraApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(options.getProfile())
+                .run(args)) {
+            result = run(context.getBean(PostService.class), context.getBean(UserService.class),
+                    context.getBean(UserStatsUpdatePort.class), options);
+        }
+        if (!result.isStatsConsistent()) {
+            System.exit(1);
+        }
+    }
+
+    public static ScalabilityResult run(PostService postService, UserService userService,
+                                        UserStatsUpdatePort userStatsUpdatePort, ScalabilityOptions options) throws Exception {
+        ScalabilityResult result = new ScalabilityRunner(postService, userService, userStatsUpdatePort, options).run();
+        ScalabilityReport report = new ScalabilityReport(result);
+        Path reportDir = report.write();
+        log.info("Scalability curves, report in {}\n{}", reportDir.toAbsolutePath(), report.toTable());
+        return result;
+    }
+}
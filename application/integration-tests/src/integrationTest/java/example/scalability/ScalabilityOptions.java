@@ -0,0 +1,157 @@
+package example.scalability;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Scalability suite settings, read from {@code scalability.*} system properties.
+ * <ul>
+ *     <li>{@code scalability.max-threads} - the curve runs 1, 2, 4, ... threads up to this, default two per core</li>
+ *     <li>{@code scalability.thread-modes} - {@code platform}, {@code virtual} or both</li>
+ *     <li>{@code scalability.workloads} - {@code hot-user}, {@code many-users} or both</li>
+ *     <li>{@code scalability.operations-per-thread} / {@code scalability.warmup-operations-per-thread} -
+ *     measured and unrecorded operations per worker and point</li>
+ *     <li>{@code scalability.users} - users the {@code many-users} workload spreads over</li>
+ *     <li>{@code scalability.contention-threshold} - shortest monitor wait / park JFR records</li>
+ *     <li>{@code scalability.profile} - Spring profile of the standalone run, default {@code in-memory}</li>
+ *     <li>{@code scalability.report-dir} - where {@code scalability-report.json} is written</li>
+ * </ul>
+ */
+public class ScalabilityOptions {
+
+    private int maxThreads = Runtime.getRuntime().availableProcessors() * 2;
+    private List<ThreadMode> threadModes = List.of(ThreadMode.values());
+    private List<Workload> workloads = List.of(Workload.values());
+    private int operationsPerThread = 300;
+    private int warmupOperationsPerThread = 60;
+    private int users = 64;
+    private Duration contentionThreshold = Duration.ZERO;
+    private String profile = "in-memory";
+    private Path reportDir = Path.of("build", "reports", "scalability");
+
+    public static ScalabilityOptions fromSystemProperties() {
+        ScalabilityOptions options = new ScalabilityOptions();
+        options.maxThreads = Integer.getInteger("scalability.max-threads", options.maxThreads);
+        String modes = System.getProperty("scalability.thread-modes");
+        if (modes != null) {
+            options.threadModes = parse(modes, ThreadMode.class);
+        }
+        String workloads = System.getProperty("scalability.workloads");
+        if (workloads != null) {
+            options.workloads = parse(workloads, Workload.class);
+        }
+        options.operationsPerThread = Integer.getInteger("scalability.operations-per-thread", options.operationsPerThread);
+        options.warmupOperationsPerThread = Integer.getInteger("scalability.warmup-operations-per-thread",
+                options.warmupOperationsPerThread);
+        options.users = Integer.getInteger("scalability.users", options.users);
+        String threshold = System.getProperty("scalability.contention-threshold");
+        if (threshold != null) {
+            options.contentionThreshold = DurationStyle.detectAndParse(threshold);
+        }
+        options.profile = System.getProperty("scalability.profile", options.profile);
+        options.reportDir = Path.of(System.getProperty("scalability.report-dir", options.reportDir.toString()));
+        return options;
+    }
+
+    private static <E extends Enum<E>> List<E> parse(String value, Class<E> type) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> Enum.valueOf(type, name.replace('-', '_').toUpperCase(Locale.ROOT)))
+                .toList();
+    }
+
+    /**
+     * Thread counts of the curve: powers of two, ending with {@code max-threads}
+     */
+    public List<Integer> threadCounts() {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(Math.max(1, maxThreads));
+        return counts;
+    }
+
+    public ScalabilityOptions withMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+        return this;
+    }
+
+    public ScalabilityOptions withThreadModes(List<ThreadMode> threadModes) {
+        this.threadModes = threadModes;
+        return this;
+    }
+
+    public ScalabilityOptions withWorkloads(List<Workload> workloads) {
+        this.workloads = workloads;
+        return this;
+    }
+
+    public ScalabilityOptions withOperationsPerThread(int operationsPerThread) {
+        this.operationsPerThread = operationsPerThread;
+        return this;
+    }
+
+    public ScalabilityOptions withWarmupOperationsPerThread(int warmupOperationsPerThread) {
+        this.warmupOperationsPerThread = warmupOperationsPerThread;
+        return this;
+    }
+
+    public ScalabilityOptions withUsers(int users) {
+        this.users = users;
+        return this;
+    }
+
+    public ScalabilityOptions withContentionThreshold(Duration contentionThreshold) {
+        this.contentionThreshold = contentionThreshold;
+        return this;
+    }
+
+    public ScalabilityOptions withReportDir(Path reportDir) {
+        this.reportDir = reportDir;
+        return this;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public List<ThreadMode> getThreadModes() {
+        return threadModes;
+    }
+
+    public List<Workload> getWorkloads() {
+        return workloads;
+    }
+
+    public int getOperationsPerThread() {
+        return operationsPerThread;
+    }
+
+    public int getWarmupOperationsPerThread() {
+        return warmupOperationsPerThread;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public Duration getContentionThreshold() {
+        return contentionThreshold;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public Path getReportDir() {
+        return reportDir;
+    }
+}
@@ -0,0 +1,99 @@
+package example.scalability;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One point of the curve: a thread mode, workload and thread count, with its latency
+ * histograms (microseconds), errors, contention and stats check.
+ */
+public class ScalabilityPoint {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final ThreadMode threadMode;
+    private final Workload workload;
+    private final int threads;
+    private final Map<WriteOperation, Histogram> latencies = new EnumMap<>(WriteOperation.class);
+    private final LongAdder errors = new LongAdder();
+    private long elapsedNanos;
+    private ContentionSummary contention;
+    private StatsCheck statsCheck;
+
+    public ScalabilityPoint(ThreadMode threadMode, Workload workload, int threads) {
+        this.threadMode = threadMode;
+        this.workload = workload;
+        this.threads = threads;
+        for (WriteOperation operation : WriteOperation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+        }
+    }
+
+    void record(WriteOperation operation, long latencyNanos) {
+        latencies.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    void setContention(ContentionSummary contention) {
+        this.contention = contention;
+    }
+
+    void setStatsCheck(StatsCheck statsCheck) {
+        this.statsCheck = statsCheck;
+    }
+
+    /**
+     * Successful operations per second
+     */
+    public double throughput() {
+        return elapsedNanos > 0 ? getOperations() * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    public long getOperations() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    public Histogram getLatency(WriteOperation operation) {
+        return latencies.get(operation);
+    }
+
+    public ThreadMode getThreadMode() {
+        return threadMode;
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public ContentionSummary getContention() {
+        return contention;
+    }
+
+    public StatsCheck getStatsCheck() {
+        return statsCheck;
+    }
+}
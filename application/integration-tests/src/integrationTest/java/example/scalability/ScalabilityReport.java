@@ -0,0 +1,122 @@
+package example.scalability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a {@link ScalabilityResult} as {@code scalability-report.json} and a plain text
+ * table of the curves ({@code scalability-report.txt}).
+ */
+public class ScalabilityReport {
+
+    private final ScalabilityResult result;
+
+    public ScalabilityReport(ScalabilityResult result) {
+        this.result = result;
+    }
+
+    public Path write() throws IOException {
+        Path dir = result.getOptions().getReportDir();
+        Files.createDirectories(dir);
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        objectMapper.writeValue(dir.resolve("scalability-report.json").toFile(), toMap());
+        Files.writeString(dir.resolve("scalability-report.txt"), toTable());
+        return dir;
+    }
+
+    public Map<String, Object> toMap() {
+        ScalabilityOptions options = result.getOptions();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("threadCounts", options.threadCounts());
+        settings.put("threadModes", options.getThreadModes());
+        settings.put("workloads", options.getWorkloads());
+        settings.put("operationsPerThread", options.getOperationsPerThread());
+        settings.put("warmupOperationsPerThread", options.getWarmupOperationsPerThread());
+        settings.put("users", options.getUsers());
+        settings.put("contentionThresholdMs", options.getContentionThreshold().toMillis());
+        settings.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+
+        List<Map<String, Object>> points = new ArrayList<>();
+        for (ScalabilityPoint point : result.getPoints()) {
+            points.add(point(point));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", OffsetDateTime.now().toString());
+        report.put("settings", settings);
+        report.put("statsConsistent", result.isStatsConsistent());
+        report.put("points", points);
+        return report;
+    }
+
+    private Map<String, Object> point(ScalabilityPoint point) {
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        for (WriteOperation operation : WriteOperation.values()) {
+            Histogram histogram = point.getLatency(operation);
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("count", histogram.getTotalCount());
+            latency.put("mean", round(histogram.getMean() / 1000.0));
+            latency.put("p50", round(histogram.getValueAtPercentile(50.0) / 1000.0));
+            latency.put("p99", round(histogram.getValueAtPercentile(99.0) / 1000.0));
+            latency.put("max", round(histogram.getMaxValue() / 1000.0));
+            latencies.put(operation.name().toLowerCase(Locale.ROOT), latency);
+        }
+
+        StatsCheck check = point.getStatsCheck();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("usersChecked", check.getUsersChecked());
+        stats.put("mismatchedUsers", check.getMismatchedUsers());
+        stats.put("mismatches", check.getMismatches());
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("workload", point.getWorkload().name());
+        map.put("threadMode", point.getThreadMode().name());
+        map.put("threads", point.getThreads());
+        map.put("operations", point.getOperations());
+        map.put("errors", point.getErrors());
+        map.put("elapsedMs", round(point.getElapsedNanos() / 1_000_000.0));
+        map.put("throughputPerSecond", round(point.throughput()));
+        map.put("efficiency", round(result.efficiency(point)));
+        map.put("latencyMs", latencies);
+        map.put("contention", point.getContention().toMap());
+        map.put("stats", stats);
+        return map;
+    }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%-10s %-8s %7s %10s %6s %10s %10s %10s %8s %12s %8s %7s%n",
+                "workload", "mode", "threads", "ops/s", "eff", "p99 create", "p99 update", "p99 publ.",
+                "monitor", "monitor ms", "pinned", "stats"));
+        for (ScalabilityPoint point : result.getPoints()) {
+            ContentionSummary contention = point.getContention();
+            table.append(String.format(Locale.ROOT, "%-10s %-8s %7d %10.0f %6.2f %10.2f %10.2f %10.2f %8d %12.2f %8d %7s%n",
+                    point.getWorkload(), point.getThreadMode(), point.getThreads(), point.throughput(),
+                    result.efficiency(point),
+                    point.getLatency(WriteOperation.CREATE).getValueAtPercentile(99.0) / 1000.0,
+                    point.getLatency(WriteOperation.UPDATE).getValueAtPercentile(99.0) / 1000.0,
+                    point.getLatency(WriteOperation.PUBLISH).getValueAtPercentile(99.0) / 1000.0,
+                    contention.getCount(ContentionProfiler.MONITOR_ENTER),
+                    contention.getDuration(ContentionProfiler.MONITOR_ENTER).toNanos() / 1_000_000.0,
+                    contention.getCount(ContentionProfiler.VIRTUAL_THREAD_PINNED),
+                    point.getStatsCheck().isConsistent() ? "ok" : "WRONG"));
+        }
+        return table.append("Latencies in milliseconds, eff = throughput / (threads x single thread throughput).\n").toString();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
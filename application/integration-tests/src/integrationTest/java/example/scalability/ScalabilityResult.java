@@ -0,0 +1,43 @@
+package example.scalability;
+
+import java.util.List;
+import java.util.Optional;
+
+public class ScalabilityResult {
+
+    private final ScalabilityOptions options;
+    private final List<ScalabilityPoint> points;
+
+    public ScalabilityResult(ScalabilityOptions options, List<ScalabilityPoint> points) {
+        this.options = options;
+        this.points = points;
+    }
+
+    /**
+     * Throughput relative to perfect linear scaling from the single thread point of the
+     * same thread mode and workload (1.0 = linear)
+     */
+    public double efficiency(ScalabilityPoint point) {
+        Optional<ScalabilityPoint> single = points.stream()
+                .filter(candidate -> candidate.getThreadMode() == point.getThreadMode()
+                        && candidate.getWorkload() == point.getWorkload()
+                        && candidate.getThreads() == 1)
+                .findFirst();
+        return single.map(ScalabilityPoint::throughput)
+                .filter(throughput -> throughput > 0)
+                .map(throughput -> point.throughput() / (throughput * point.getThreads()))
+                .orElse(Double.NaN);
+    }
+
+    public boolean isStatsConsistent() {
+        return points.stream().allMatch(point -> point.getStatsCheck().isConsistent());
+    }
+
+    public ScalabilityOptions getOptions() {
+        return options;
+    }
+
+    public List<ScalabilityPoint> getPoints() {
+        return points;
+    }
+}
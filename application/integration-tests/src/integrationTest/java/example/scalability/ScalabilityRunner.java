@@ -0,0 +1,196 @@
+package example.scalability;
+
+import example.domain.model.PostByUser;
+import example.domain.model.PostStatus;
+import example.domain.model.User;
+import example.domain.model.UserStats;
+import example.domain.ports.input.CreatePostRequest;
+import example.domain.ports.input.CreateUserRequest;
+import example.domain.ports.input.UpdatePostRequest;
+import example.domain.ports.output.UserStatsUpdatePort;
+import example.domain.services.PostService;
+import example.domain.services.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the write path (create, update, publish) at every point of the curve.
+ * <p>
+ * Each point gets fresh users, so the hot user's partition only holds the posts of that
+ * point. Workers warm up unrecorded, then wait on a common start gate; contention is
+ * recorded for the measured phase only. Afterwards the write-behind stats are flushed
+ * and checked against the posts actually stored.
+ */
+public class ScalabilityRunner {
+    private static final Logger log = LoggerFactory.getLogger(ScalabilityRunner.class);
+
+    private static final WriteOperation[] CYCLE = WriteOperation.values();
+
+    private final PostService postService;
+    private final UserService userService;
+    private final UserStatsUpdatePort userStatsUpdatePort;
+    private final ScalabilityOptions options;
+
+    public ScalabilityRunner(PostService postService, UserService userService,
+                             UserStatsUpdatePort userStatsUpdatePort, ScalabilityOptions options) {
+        this.postService = postService;
+        this.userService = userService;
+        this.userStatsUpdatePort = userStatsUpdatePort;
+        this.options = options;
+    }
+
+    public ScalabilityResult run() throws Exception {
+        List<ScalabilityPoint> points = new ArrayList<>();
+        for (Workload workload : options.getWorkloads()) {
+            for (ThreadMode threadMode : options.getThreadModes()) {
+                for (int threads : options.threadCounts()) {
+                    ScalabilityPoint point = measure(threadMode, workload, threads);
+                    log.info("{} {} x{}: {} ops/s, p99 create {} us, {} errors, {} monitor waits, stats {}",
+                            workload, threadMode, threads, Math.round(point.throughput()),
+                            point.getLatency(WriteOperation.CREATE).getValueAtPercentile(99.0), point.getErrors(),
+                            point.getContention().getCount(ContentionProfiler.MONITOR_ENTER),
+                            point.getStatsCheck().isConsistent() ? "consistent" : "INCONSISTENT");
+                    points.add(point);
+                }
+            }
+        }
+        return new ScalabilityResult(options, points);
+    }
+
+    private ScalabilityPoint measure(ThreadMode threadMode, Workload workload, int threads) throws Exception {
+        List<UUID> users = createUsers(workload == Workload.HOT_USER ? 1 : options.getUsers());
+        ScalabilityPoint point = new ScalabilityPoint(threadMode, workload, threads);
+
+        if (options.getWarmupOperationsPerThread() > 0) {
+            execute(threadMode, threads, worker -> work(worker, workload, users, options.getWarmupOperationsPerThread(), null));
+        }
+
+        ContentionProfiler profiler = ContentionProfiler.start(options.getContentionThreshold());
+        long elapsed;
+        try {
+            elapsed = execute(threadMode, threads, worker -> work(worker, workload, users, options.getOperationsPerThread(), point));
+        } finally {
+            point.setContention(profiler.stop());
+        }
+        point.setElapsedNanos(elapsed);
+        point.setStatsCheck(checkStats(users));
+        return point;
+    }
+
+    /**
+     * Run one task per worker behind a start gate, returning the nanoseconds from opening
+     * the gate until the last worker finished
+     */
+    private long execute(ThreadMode threadMode, int threads, Worker worker) throws Exception {
+        ExecutorService executor = threadMode.newExecutor(threads);
+        try {
+            CountDownLatch ready = new CountDownLatch(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    worker.run(index);
+                    return null;
+                }));
+            }
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Worker failed", e.getCause());
+                }
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param point where latencies are recorded, {@code null} during warmup
+     */
+    private void work(int worker, Workload workload, List<UUID> users, int operations, ScalabilityPoint point) {
+        CreatePostRequest createRequest = new CreatePostRequest();
+        createRequest.setContent("Scalability content of worker " + worker);
+        UpdatePostRequest updateRequest = new UpdatePostRequest();
+        updateRequest.setContent("Updated by worker " + worker);
+
+        UUID userId = null;
+        UUID postId = null;
+        for (int i = 0; i < operations; i++) {
+            WriteOperation operation = CYCLE[i % CYCLE.length];
+            if (operation != WriteOperation.CREATE && postId == null) {
+                // The cycle's create failed, there is nothing to update or publish
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                switch (operation) {
+                    case CREATE -> {
+                        userId = workload.userFor(worker, i / CYCLE.length, users);
+                        postId = null;
+                        createRequest.setTitle("Post " + worker + "-" + i);
+                        PostByUser post = postService.createPost(userId, createRequest);
+                        postId = post.getPostId();
+                    }
+                    case UPDATE -> postService.updatePost(userId, postId, updateRequest);
+                    case PUBLISH -> postService.publishPost(userId, postId);
+                }
+                if (point != null) {
+                    point.record(operation, System.nanoTime() - start);
+                }
+            } catch (RuntimeException e) {
+                log.debug("{} failed for user {}: {}", operation, userId, e.getMessage());
+                if (point != null) {
+                    point.recordError();
+                }
+            }
+        }
+    }
+
+    private StatsCheck checkStats(List<UUID> users) {
+        userStatsUpdatePort.flush();
+        StatsCheck check = new StatsCheck();
+        for (UUID userId : users) {
+            List<PostByUser> posts = postService.getUserPosts(userId, 0);
+            int published = (int) posts.stream().filter(post -> post.getStatus() == PostStatus.PUBLISHED).count();
+            int draft = (int) posts.stream().filter(post -> post.getStatus() == PostStatus.DRAFT).count();
+            UserStats stats = userService.getUserWithStats(userId).getStats();
+            check.check(userId, posts.size(), published, draft,
+                    stats.getTotalPosts(), stats.getPublishedPosts(), stats.getDraftPosts());
+        }
+        return check;
+    }
+
+    private List<UUID> createUsers(int count) {
+        List<UUID> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CreateUserRequest request = new CreateUserRequest();
+            String id = UUID.randomUUID().toString();
+            request.setName("Scalability " + id);
+            request.setEmail("scalability-" + id + "@example.com");
+            User user = userService.createUser(request);
+            users.add(user.getId());
+        }
+        return users;
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(int worker);
+    }
+}
@@ -0,0 +1,46 @@
+package example.scalability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stats correctness after a point of the curve: every user's {@code user_stats} counters
+ * (pending write-behind deltas flushed) compared with a count of the user's posts.
+ */
+public class StatsCheck {
+
+    private static final int MAX_REPORTED = 10;
+
+    private int usersChecked;
+    private int mismatchedUsers;
+    private final List<String> mismatches = new ArrayList<>();
+
+    void check(Object userId, int expectedTotal, int expectedPublished, int expectedDraft,
+               int total, int published, int draft) {
+        usersChecked++;
+        if (expectedTotal == total && expectedPublished == published && expectedDraft == draft) {
+            return;
+        }
+        mismatchedUsers++;
+        if (mismatches.size() < MAX_REPORTED) {
+            mismatches.add(String.format("%s expected total=%d published=%d draft=%d but was %d/%d/%d",
+                    userId, expectedTotal, expectedPublished, expectedDraft, total, published, draft));
+        }
+    }
+
+    public boolean isConsistent() {
+        return mismatchedUsers == 0;
+    }
+
+    public int getUsersChecked() {
+        return usersChecked;
+    }
+
+    public int getMismatchedUsers() {
+        return mismatchedUsers;
+    }
+
+    public List<String> getMismatches() {
+        return mismatches;
+    }
+}
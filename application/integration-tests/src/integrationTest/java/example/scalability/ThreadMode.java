@@ -0,0 +1,29 @@
+package example.scalability;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * How the suite's workers are run.
+ */
+public enum ThreadMode {
+
+    PLATFORM {
+        @Override
+        public ExecutorService newExecutor(int threads) {
+            return Executors.newFixedThreadPool(threads);
+        }
+    },
+
+    /**
+     * One virtual thread per worker; monitors held across blocking calls pin the carrier
+     */
+    VIRTUAL {
+        @Override
+        public ExecutorService newExecutor(int threads) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+    };
+
+    public abstract ExecutorService newExecutor(int threads);
+}
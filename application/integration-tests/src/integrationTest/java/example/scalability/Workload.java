@@ -0,0 +1,32 @@
+package example.scalability;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Which users the workers write to.
+ */
+public enum Workload {
+
+    /**
+     * Every worker writes to the same user: one partition, one stats row
+     */
+    HOT_USER {
+        @Override
+        public UUID userFor(int worker, int cycle, List<UUID> users) {
+            return users.get(0);
+        }
+    },
+
+    /**
+     * Workers spread their posts over all users
+     */
+    MANY_USERS {
+        @Override
+        public UUID userFor(int worker, int cycle, List<UUID> users) {
+            return users.get(Math.floorMod(worker * 31 + cycle, users.size()));
+        }
+    };
+
+    public abstract UUID userFor(int worker, int cycle, List<UUID> users);
+}
@@ -0,0 +1,11 @@
+package example.scalability;
+
+/**
+ * Write path exercised by the scalability suite. Each worker cycles through them on its
+ * own post: create a draft, update it, publish it.
+ */
+public enum WriteOperation {
+    CREATE,
+    UPDATE,
+    PUBLISH
+}